@@ -20,12 +20,14 @@ package grakn.core.common.collection;
 
 import grakn.core.common.exception.GraknCheckedException;
 
+import javax.annotation.Nullable;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.Charset;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Arrays;
 import java.util.UUID;
 
 import static grakn.core.common.exception.ErrorMessage.ThingWrite.ILLEGAL_STRING_SIZE;
@@ -34,6 +36,7 @@ import static java.util.Arrays.copyOfRange;
 public class Bytes {
 
     public static final int SHORT_SIZE = 2;
+    public static final int CHAR_SIZE = 2;
     public static final int SHORT_UNSIGNED_MAX_VALUE = 65_535; // (2 ^ SHORT_SIZE x 8) - 1
     public static final int INTEGER_SIZE = 4;
     public static final int LONG_SIZE = 8;
@@ -68,6 +71,35 @@ public class Bytes {
         return true;
     }
 
+    /**
+     * Compares two byte arrays lexicographically, treating every byte as unsigned.
+     * This is the same ordering as the default bytewise comparator of RocksDB.
+     */
+    public static int compareBytes(byte[] bytes1, byte[] bytes2) {
+        final int length = Math.min(bytes1.length, bytes2.length);
+        for (int i = 0; i < length; i++) {
+            final int cmp = Integer.compare(bytes1[i] & 0xFF, bytes2[i] & 0xFF);
+            if (cmp != 0) return cmp;
+        }
+        return Integer.compare(bytes1.length, bytes2.length);
+    }
+
+    /**
+     * Returns the smallest key greater than every key that starts with {@code prefix},
+     * or null if there is none, i.e. if every byte of the prefix is 0xff.
+     */
+    @Nullable
+    public static byte[] prefixUpperBound(byte[] prefix) {
+        for (int i = prefix.length - 1; i >= 0; i--) {
+            if (prefix[i] != (byte) 0xff) {
+                final byte[] upperBound = Arrays.copyOf(prefix, i + 1);
+                upperBound[i]++;
+                return upperBound;
+            }
+        }
+        return null;
+    }
+
     public static byte[] unsignedShortToBytes(int num) {
         final byte[] bytes = new byte[SHORT_SIZE];
         bytes[1] = (byte) (num);
@@ -194,6 +226,29 @@ public class Bytes {
         return new String(x, encoding);
     }
 
+    /**
+     * Encodes a string as its UTF-16 code units in big-endian order, without a length. The encodings of two strings
+     * compare bytewise exactly as {@link String#compareTo} compares the strings, and the encoding of a prefix of a
+     * string is a prefix of the encoding of the string.
+     */
+    public static byte[] stringToSortedBytes(String value) {
+        final byte[] bytes = new byte[value.length() * CHAR_SIZE];
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            bytes[i * CHAR_SIZE] = (byte) (c >> 8);
+            bytes[i * CHAR_SIZE + 1] = (byte) c;
+        }
+        return bytes;
+    }
+
+    public static String sortedBytesToString(byte[] bytes) {
+        final char[] chars = new char[bytes.length / CHAR_SIZE];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) (((bytes[i * CHAR_SIZE] & 0xff) << 8) | (bytes[i * CHAR_SIZE + 1] & 0xff));
+        }
+        return new String(chars);
+    }
+
     public static byte booleanToByte(boolean value) {
         return (byte) (value ? 1 : 0);
     }
@@ -23,6 +23,8 @@ import grakn.core.common.concurrent.actor.EventLoopGroup;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ExecutorService {
 
@@ -32,12 +34,21 @@ public class ExecutorService {
     private final ForkJoinPool forkJoinPool;
     private final EventLoopGroup eventLoopGroup;
     private final ScheduledThreadPoolExecutor scheduledThreadPool;
+    private final ThreadPoolExecutor plannerThreadPool;
 
     private ExecutorService(int parallelisationFactor) {
         forkJoinPool = (ForkJoinPool) Executors.newWorkStealingPool(parallelisationFactor);
         eventLoopGroup = new EventLoopGroup(parallelisationFactor, "grakn-elg");
         scheduledThreadPool = new ScheduledThreadPoolExecutor(1);
         scheduledThreadPool.setRemoveOnCancelPolicy(true);
+        AtomicInteger plannerThreadCount = new AtomicInteger(0);
+        plannerThreadPool = (ThreadPoolExecutor) Executors.newFixedThreadPool(
+                Math.max(1, parallelisationFactor / 4), runnable -> {
+                    Thread thread = new Thread(runnable, "grakn-planner-" + plannerThreadCount.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
     }
 
     public static synchronized void init(int parallelisationFactor) {
@@ -58,6 +69,11 @@ public class ExecutorService {
         return singleton.scheduledThreadPool;
     }
 
+    public static ThreadPoolExecutor plannerThreadPool() {
+        assert singleton != null;
+        return singleton.plannerThreadPool;
+    }
+
     public static EventLoopGroup eventLoopGroup() {
         assert singleton != null;
         return singleton.eventLoopGroup;
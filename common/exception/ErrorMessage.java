@@ -161,6 +161,8 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Transaction(9, "Transaction can not be null.");
         public static final Transaction BAD_TRANSACTION_TYPE =
                 new Transaction(10, "The transaction type '%s' was not recognised.");
+        public static final Transaction TRANSACTION_CONFLICT =
+                new Transaction(11, "The transaction conflicted with a concurrent transaction that committed first, and was rolled back.");
 
         private static final String codePrefix = "TXN";
         private static final String messagePrefix = "Invalid Transaction Operation";
@@ -478,6 +480,8 @@ public abstract class ErrorMessage extends grakn.common.exception.ErrorMessage {
                 new Migrator(3, "The type '%s' (originally '%s') is not defined in the schema.");
         public static final Migrator INVALID_DATA =
                 new Migrator(4, "The data being imported is invalid.");
+        public static final Migrator UNRESOLVED_REFERENCES =
+                new Migrator(5, "The data being imported refers to things that it does not contain.");
 
         private static final String codePrefix = "MIG";
         private static final String messagePrefix = "Migrator failure";
@@ -50,6 +50,12 @@ public class FilteredIterator<T> implements ResourceIterator<T> {
         return result;
     }
 
+    @Override
+    public void seek(byte[] key) {
+        iterator.seek(key);
+        next = null;
+    }
+
     @Override
     public void recycle() {
         iterator.recycle();
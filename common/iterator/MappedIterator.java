@@ -40,6 +40,11 @@ public class MappedIterator<T, U> implements ResourceIterator<U> {
         return function.apply(iterator.next());
     }
 
+    @Override
+    public void seek(byte[] key) {
+        iterator.seek(key);
+    }
+
     @Override
     public void recycle() {
         iterator.recycle();
@@ -34,6 +34,7 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static grakn.common.collection.Collections.list;
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static grakn.core.common.iterator.Iterators.iterate;
 import static java.util.Spliterator.IMMUTABLE;
 import static java.util.Spliterator.ORDERED;
@@ -140,5 +141,14 @@ public interface ResourceIterator<T> extends Iterator<T> {
         return new ErrorHandledIterator<>(this, exceptionFn);
     }
 
+    /**
+     * Positions this iterator at the first remaining element whose storage key is at or after {@code key},
+     * which must start with the prefix being iterated. Only iterators over storage keys, and the iterators
+     * that map or filter them one element at a time, support seeking.
+     */
+    default void seek(byte[] key) {
+        throw GraknException.of(ILLEGAL_OPERATION);
+    }
+
     void recycle();
 }
@@ -28,6 +28,16 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     public static final int DEFAULT_BATCH_SIZE = 50;
     public static final int DEFAULT_SESSION_IDLE_TIMEOUT_MILLIS = 10_000;
     public static final int DEFAULT_SCHEMA_LOCK_ACQUIRE_TIMEOUT_MILLIS = 10_000;
+    public static final boolean DEFAULT_WRITE_BUFFERED = false;
+    public static final boolean DEFAULT_BULK_LOAD = false;
+    public static final boolean DEFAULT_PUSH_STREAMING = false;
+    public static final boolean DEFAULT_STRING_NGRAM_INDEX = false;
+    public static final int DEFAULT_SORT_BUFFER_SIZE = 100_000;
+    public static final boolean DEFAULT_APPROXIMATE_MEDIAN = false;
+    public static final boolean DEFAULT_EXACT_COUNT = true;
+    public static final int DEFAULT_MATCH_BUFFER_SIZE = 100_000;
+    public static final boolean DEFAULT_QUERY_CACHE = true;
+    public static final boolean DEFAULT_REASONER_CACHE = true;
 
     private PARENT parent;
     private Boolean infer = null;
@@ -35,6 +45,16 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
     private Integer batchSize = null;
     private Integer sessionIdlTimeoutMillis = null;
     private Integer schemaLockAcquireTimeoutMillis = null;
+    private Boolean writeBuffered = null;
+    private Boolean bulkLoad = null;
+    private Boolean pushStreaming = null;
+    private Boolean stringNGramIndex = null;
+    private Integer sortBufferSize = null;
+    private Boolean approximateMedian = null;
+    private Boolean exactCount = null;
+    private Integer matchBufferSize = null;
+    private Boolean queryCache = null;
+    private Boolean reasonerCache = null;
 
     abstract SELF getThis();
 
@@ -99,6 +119,116 @@ public abstract class Options<PARENT extends Options<?, ?>, SELF extends Options
         return getThis();
     }
 
+    public boolean writeBuffered() {
+        if (writeBuffered != null) return writeBuffered;
+        else if (parent != null) return parent.writeBuffered();
+        else return DEFAULT_WRITE_BUFFERED;
+    }
+
+    public SELF writeBuffered(boolean writeBuffered) {
+        this.writeBuffered = writeBuffered;
+        return getThis();
+    }
+
+    public boolean bulkLoad() {
+        if (bulkLoad != null) return bulkLoad;
+        else if (parent != null) return parent.bulkLoad();
+        else return DEFAULT_BULK_LOAD;
+    }
+
+    public SELF bulkLoad(boolean bulkLoad) {
+        this.bulkLoad = bulkLoad;
+        return getThis();
+    }
+
+    public boolean pushStreaming() {
+        if (pushStreaming != null) return pushStreaming;
+        else if (parent != null) return parent.pushStreaming();
+        else return DEFAULT_PUSH_STREAMING;
+    }
+
+    public SELF pushStreaming(boolean pushStreaming) {
+        this.pushStreaming = pushStreaming;
+        return getThis();
+    }
+
+    public boolean stringNGramIndex() {
+        if (stringNGramIndex != null) return stringNGramIndex;
+        else if (parent != null) return parent.stringNGramIndex();
+        else return DEFAULT_STRING_NGRAM_INDEX;
+    }
+
+    public SELF stringNGramIndex(boolean stringNGramIndex) {
+        this.stringNGramIndex = stringNGramIndex;
+        return getThis();
+    }
+
+    public int sortBufferSize() {
+        if (sortBufferSize != null) return sortBufferSize;
+        else if (parent != null) return parent.sortBufferSize();
+        else return DEFAULT_SORT_BUFFER_SIZE;
+    }
+
+    public SELF sortBufferSize(int sortBufferSize) {
+        this.sortBufferSize = sortBufferSize;
+        return getThis();
+    }
+
+    public boolean approximateMedian() {
+        if (approximateMedian != null) return approximateMedian;
+        else if (parent != null) return parent.approximateMedian();
+        else return DEFAULT_APPROXIMATE_MEDIAN;
+    }
+
+    public SELF approximateMedian(boolean approximateMedian) {
+        this.approximateMedian = approximateMedian;
+        return getThis();
+    }
+
+    public boolean exactCount() {
+        if (exactCount != null) return exactCount;
+        else if (parent != null) return parent.exactCount();
+        else return DEFAULT_EXACT_COUNT;
+    }
+
+    public SELF exactCount(boolean exactCount) {
+        this.exactCount = exactCount;
+        return getThis();
+    }
+
+    public int matchBufferSize() {
+        if (matchBufferSize != null) return matchBufferSize;
+        else if (parent != null) return parent.matchBufferSize();
+        else return DEFAULT_MATCH_BUFFER_SIZE;
+    }
+
+    public SELF matchBufferSize(int matchBufferSize) {
+        this.matchBufferSize = matchBufferSize;
+        return getThis();
+    }
+
+    public boolean queryCache() {
+        if (queryCache != null) return queryCache;
+        else if (parent != null) return parent.queryCache();
+        else return DEFAULT_QUERY_CACHE;
+    }
+
+    public SELF queryCache(boolean queryCache) {
+        this.queryCache = queryCache;
+        return getThis();
+    }
+
+    public boolean reasonerCache() {
+        if (reasonerCache != null) return reasonerCache;
+        else if (parent != null) return parent.reasonerCache();
+        else return DEFAULT_REASONER_CACHE;
+    }
+
+    public SELF reasonerCache(boolean reasonerCache) {
+        this.reasonerCache = reasonerCache;
+        return getThis();
+    }
+
     public static class Database extends Options<Options<?, ?>, Database> {
 
         @Override
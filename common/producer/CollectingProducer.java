@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.common.producer;
+
+import grakn.core.common.concurrent.ManagedBlockingQueue;
+import grakn.core.common.exception.GraknException;
+
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * Collects the answers of producers without passing them through a queue. Every
+ * producer runs at the same time, and every answer is accumulated on the worker
+ * thread that produced it, into a partial result owned by that thread. Once all
+ * producers are done, the partial results are combined and finished. Demand is
+ * requested in batches, ahead of the answers that are received, so that the
+ * producers never stop for lack of demand.
+ */
+public class CollectingProducer<T, A, R> {
+
+    private static final int REQUEST_SIZE = 1 << 16;
+
+    private final List<Producer<T>> producers;
+    private final Collector<? super T, A, R> collector;
+    private final BiConsumer<A, ? super T> accumulator;
+    private final ConcurrentLinkedQueue<A> partials;
+    private final ThreadLocal<A> partial;
+    private final AtomicInteger pending;
+    private final AtomicBoolean isDone;
+    private final ManagedBlockingQueue<Optional<Throwable>> done;
+
+    public CollectingProducer(List<Producer<T>> producers, Collector<? super T, A, R> collector) {
+        this.producers = producers;
+        this.collector = collector;
+        this.accumulator = collector.accumulator();
+        this.partials = new ConcurrentLinkedQueue<>();
+        this.partial = ThreadLocal.withInitial(() -> {
+            A partial = collector.supplier().get();
+            partials.add(partial);
+            return partial;
+        });
+        this.pending = new AtomicInteger(producers.size());
+        this.isDone = new AtomicBoolean(false);
+        this.done = new ManagedBlockingQueue<>();
+    }
+
+    public R collect() {
+        try {
+            if (!producers.isEmpty()) {
+                producers.forEach(producer -> producer.produce(new Queue(producer), 2 * REQUEST_SIZE));
+                Optional<Throwable> error = done.take();
+                if (error.isPresent()) throw GraknException.of(error.get());
+            }
+        } catch (InterruptedException e) {
+            throw GraknException.of(e);
+        } finally {
+            producers.forEach(Producer::recycle);
+        }
+        A result = collector.supplier().get();
+        for (A partial : partials) result = collector.combiner().apply(result, partial);
+        return collector.finisher().apply(result);
+    }
+
+    private void done(@Nullable Throwable error) {
+        if ((error != null || pending.decrementAndGet() == 0) && isDone.compareAndSet(false, true)) {
+            try {
+                done.put(Optional.ofNullable(error));
+            } catch (InterruptedException e) {
+                throw GraknException.of(e);
+            }
+        }
+    }
+
+    private class Queue implements Producer.Queue<T> {
+
+        private final Producer<T> producer;
+        private final AtomicLong received;
+        private final AtomicBoolean isProducerDone;
+
+        private Queue(Producer<T> producer) {
+            this.producer = producer;
+            this.received = new AtomicLong(0);
+            this.isProducerDone = new AtomicBoolean(false);
+        }
+
+        @Override
+        public void put(T item) {
+            if (isDone.get()) return;
+            accumulator.accept(partial.get(), item);
+            if (received.incrementAndGet() % REQUEST_SIZE == 0 && !isProducerDone.get()) {
+                producer.produce(this, REQUEST_SIZE);
+            }
+        }
+
+        @Override
+        public void done(Producer<T> producer) {
+            // a producer that was asked for more answers after it ran out may report that it is done again
+            if (isProducerDone.compareAndSet(false, true)) CollectingProducer.this.done(null);
+        }
+
+        @Override
+        public void done(Producer<T> producer, Throwable e) {
+            if (isProducerDone.compareAndSet(false, true)) CollectingProducer.this.done(e);
+        }
+    }
+}
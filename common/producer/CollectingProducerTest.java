@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.common.producer;
+
+import grakn.core.common.concurrent.ExecutorService;
+import grakn.core.common.exception.GraknException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static grakn.core.common.iterator.Iterators.iterate;
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.fail;
+
+public class CollectingProducerTest {
+
+    @BeforeClass
+    public static void setUp() {
+        ExecutorService.init(Runtime.getRuntime().availableProcessors());
+    }
+
+    private static List<Producer<Integer>> producers(List<List<Integer>> partitions) {
+        List<Producer<Integer>> producers = new ArrayList<>();
+        partitions.forEach(partition -> producers.add(Producers.producer(iterate(partition))));
+        return producers;
+    }
+
+    private static List<List<Integer>> partitions(int producers, int size) {
+        List<List<Integer>> partitions = new ArrayList<>();
+        for (int i = 0; i < producers; i++) {
+            partitions.add(IntStream.range(i * size, (i + 1) * size).boxed().collect(Collectors.toList()));
+        }
+        return partitions;
+    }
+
+    @Test
+    public void collected_answers_are_the_same_as_a_single_pass() {
+        // enough answers per producer that demand is requested again while they are produced
+        List<List<Integer>> partitions = partitions(8, 200_000);
+        List<Integer> all = new ArrayList<>();
+        partitions.forEach(all::addAll);
+
+        assertEquals(all.stream().mapToLong(i -> i).sum(),
+                     (long) Producers.collect(producers(partitions), Collectors.summingLong(i -> i)));
+        assertEquals(all.stream().collect(Collectors.toSet()),
+                     Producers.collect(producers(partitions), Collectors.toSet()));
+        assertEquals(all.size(), (long) Producers.collect(producers(partitions), Collectors.counting()));
+    }
+
+    @Test
+    public void producers_without_answers_collect_an_empty_result() {
+        assertEquals(0, (long) Producers.collect(new ArrayList<Producer<Integer>>(), Collectors.counting()));
+        assertEquals(0, (long) Producers.collect(producers(partitions(4, 0)), Collectors.counting()));
+    }
+
+    @Test
+    public void errors_of_producers_are_thrown_by_the_collector() {
+        List<Producer<Integer>> producers = producers(partitions(3, 1000));
+        producers.add(Producers.producer(iterate(IntStream.range(0, 1000).boxed().collect(Collectors.toList()))
+                                                 .map(i -> {
+                                                     if (i == 500) throw new IllegalStateException();
+                                                     return i;
+                                                 })));
+        try {
+            Producers.collect(producers, Collectors.counting());
+            fail();
+        } catch (GraknException e) {
+            assertEquals(IllegalStateException.class, e.getCause().getClass());
+        }
+    }
+}
@@ -22,6 +22,7 @@ import grakn.core.common.iterator.Iterators;
 import grakn.core.common.iterator.ResourceIterator;
 
 import java.util.List;
+import java.util.stream.Collector;
 
 import static grakn.common.collection.Collections.list;
 
@@ -48,4 +49,8 @@ public class Producers {
     public static <T> IterableProducer<T> iterable(List<Producer<T>> producers, int bufferMinSize, int bufferMaxSize) {
         return new IterableProducer<>(producers, bufferMinSize, bufferMaxSize);
     }
+
+    public static <T, A, R> R collect(List<Producer<T>> producers, Collector<? super T, A, R> collector) {
+        return new CollectingProducer<>(producers, collector).collect();
+    }
 }
@@ -21,6 +21,7 @@ package grakn.core.concept;
 import grakn.core.common.exception.ErrorMessage;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Label;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.thing.Thing;
 import grakn.core.concept.thing.impl.ThingImpl;
@@ -28,6 +29,7 @@ import grakn.core.concept.type.AttributeType;
 import grakn.core.concept.type.EntityType;
 import grakn.core.concept.type.RelationType;
 import grakn.core.concept.type.ThingType;
+import grakn.core.concept.type.Type;
 import grakn.core.concept.type.impl.AttributeTypeImpl;
 import grakn.core.concept.type.impl.EntityTypeImpl;
 import grakn.core.concept.type.impl.RelationTypeImpl;
@@ -160,6 +162,12 @@ public final class ConceptManager {
         else return null;
     }
 
+    public Type getType(Label label) {
+        final TypeVertex vertex = graphMgr.schema().getType(label);
+        if (vertex != null) return TypeImpl.of(graphMgr, vertex);
+        else return null;
+    }
+
     public Thing getThing(byte[] iid) {
         final ThingVertex thingVertex = graphMgr.data().get(VertexIID.Thing.of(iid));
         if (thingVertex != null) return ThingImpl.of(thingVertex);
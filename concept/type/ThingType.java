@@ -38,6 +38,8 @@ public interface ThingType extends Type {
 
     Stream<? extends Thing> getInstances();
 
+    Stream<? extends Thing> getInstancesExplicit();
+
     void setAbstract();
 
     void unsetAbstract();
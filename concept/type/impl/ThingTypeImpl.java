@@ -124,6 +124,11 @@ public abstract class ThingTypeImpl extends TypeImpl implements ThingType {
     @Override
     public abstract Stream<? extends ThingTypeImpl> getSubtypesExplicit();
 
+    @Override
+    public Stream<ThingImpl> getInstancesExplicit() {
+        return graphMgr.data().get(vertex).stream().map(ThingImpl::of);
+    }
+
     @Override
     public void setOwns(AttributeType attributeType) {
         setOwns(attributeType, false);
@@ -24,6 +24,7 @@ import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Label;
 import grakn.core.graph.iid.EdgeIID;
+import grakn.core.graph.iid.IndexIID;
 import grakn.core.graph.iid.PrefixIID;
 import grakn.core.graph.iid.VertexIID;
 import grakn.core.graph.util.Encoding;
@@ -37,23 +38,37 @@ import grakn.core.graph.vertex.Vertex;
 import grakn.core.graph.vertex.impl.AttributeVertexImpl;
 import grakn.core.graph.vertex.impl.ThingVertexImpl;
 
+import javax.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import static grakn.common.collection.Collections.pair;
 import static grakn.common.util.Objects.className;
+import static grakn.core.common.collection.Bytes.DATETIME_SIZE;
+import static grakn.core.common.collection.Bytes.DOUBLE_SIZE;
+import static grakn.core.common.collection.Bytes.LONG_SIZE;
 import static grakn.core.common.collection.Bytes.bytesToLong;
+import static grakn.core.common.collection.Bytes.compareBytes;
 import static grakn.core.common.collection.Bytes.join;
 import static grakn.core.common.collection.Bytes.longToBytes;
+import static grakn.core.common.collection.Bytes.prefixUpperBound;
 import static grakn.core.common.collection.Bytes.stripPrefix;
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_ARGUMENT;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.common.exception.ErrorMessage.ThingWrite.ILLEGAL_STRING_SIZE;
+import static grakn.core.common.iterator.Iterators.iterate;
 import static grakn.core.common.iterator.Iterators.link;
 import static grakn.core.common.iterator.Iterators.tree;
 import static grakn.core.graph.iid.VertexIID.Thing.generate;
@@ -77,6 +92,8 @@ import static java.util.stream.Stream.concat;
 
 public class DataGraph implements Graph {
 
+    private static final int COMMIT_PARTITIONS = Runtime.getRuntime().availableProcessors();
+
     private final Storage.Data storage;
     private final SchemaGraph schemaGraph;
     private final KeyGenerator.Data.Buffered keyGenerator;
@@ -85,6 +102,7 @@ public class DataGraph implements Graph {
     private final AttributesByIID attributesByIID;
     private final Statistics statistics;
     private boolean isModified;
+    private final boolean isStringNGramIndexed;
 
     public DataGraph(Storage.Data storage, SchemaGraph schemaGraph) {
         this.storage = storage;
@@ -94,6 +112,7 @@ public class DataGraph implements Graph {
         thingsByTypeIID = new ConcurrentHashMap<>();
         attributesByIID = new AttributesByIID();
         statistics = new Statistics(schemaGraph, storage);
+        isStringNGramIndexed = storage.get(IndexIID.StringNGram.marker()) != null;
     }
 
     @Override
@@ -105,6 +124,13 @@ public class DataGraph implements Graph {
         return schemaGraph;
     }
 
+    /**
+     * Returns whether the n-grams of string attributes are indexed, which is decided by the database when it opens.
+     */
+    public boolean isStringNGramIndexed() {
+        return isStringNGramIndexed;
+    }
+
     public DataGraph.Statistics stats() {
         return statistics;
     }
@@ -192,6 +218,123 @@ public class DataGraph implements Graph {
         else return link(thingsByTypeIID.get(typeVertex.iid()).iterator(), storageIterator).distinct();
     }
 
+    /**
+     * Returns whether any instance of {@code type} was created in this graph and is not yet committed. Such
+     * instances are iterated before those in storage, so they do not follow the order of the storage keys.
+     */
+    public boolean hasBufferedThings(TypeVertex type) {
+        final Set<ThingVertex> buffered = thingsByTypeIID.get(type.iid());
+        return buffered != null && !buffered.isEmpty();
+    }
+
+    /**
+     * Returns the attributes of {@code type} with values between {@code lower} and {@code upper}, both inclusive,
+     * where either bound may be null for an open range. The keys of the attributes of a type are ordered by value
+     * for every value type with a fixed-size sorted encoding, i.e. long, double and datetime, so this only scans
+     * the keys within the range, and seeks past the edges of each attribute rather than reading them.
+     */
+    public ResourceIterator<AttributeVertex<?>> get(TypeVertex type, @Nullable VertexIID.Attribute<?> lower,
+                                                    @Nullable VertexIID.Attribute<?> upper) {
+        assert storage.isOpen();
+        assert type.isAttributeType();
+        assert lower == null || lower.type().equals(type.iid());
+        assert upper == null || upper.type().equals(type.iid());
+
+        final byte[] prefix = join(ATTRIBUTE.prefix().bytes(), type.iid().bytes(), type.valueType().bytes());
+        final int keyLength;
+        switch (type.valueType()) {
+            case LONG:
+                keyLength = prefix.length + LONG_SIZE;
+                break;
+            case DOUBLE:
+                keyLength = prefix.length + DOUBLE_SIZE;
+                break;
+            case DATETIME:
+                keyLength = prefix.length + DATETIME_SIZE;
+                break;
+            default:
+                throw GraknException.of(ILLEGAL_ARGUMENT);
+        }
+        final byte[] lowerKey = lower != null ? lower.bytes() : null;
+        final byte[] upperKey = upper != null ? upper.bytes() : null;
+        final ResourceIterator<AttributeVertex<?>> storageIterator = new AttributeRangeIterator(prefix, keyLength, lowerKey, upperKey);
+        if (!thingsByTypeIID.containsKey(type.iid())) return storageIterator;
+        final ResourceIterator<AttributeVertex<?>> bufferedIterator = iterate(thingsByTypeIID.get(type.iid()))
+                .map(ThingVertex::asAttribute).filter(a -> isInRange(a.iid().bytes(), lowerKey, upperKey));
+        return link(bufferedIterator, storageIterator).distinct();
+    }
+
+    private static boolean isInRange(byte[] key, @Nullable byte[] lower, @Nullable byte[] upper) {
+        return (lower == null || compareBytes(key, lower) >= 0) && (upper == null || compareBytes(key, upper) <= 0);
+    }
+
+    /**
+     * Returns the string attributes of {@code type} with values between {@code lower} and {@code upper}, both
+     * inclusive, in the order of their values, where either bound may be null for an open range.
+     */
+    public ResourceIterator<AttributeVertex<String>> getStrings(TypeVertex type, @Nullable String lower,
+                                                                @Nullable String upper) {
+        assert storage.isOpen();
+        assert type.isAttributeType() && type.valueType().equals(Encoding.ValueType.STRING);
+
+        final byte[] lowerKey = lower != null ? IndexIID.SortedString.of(type.iid(), lower).bytes() : null;
+        final byte[] upperKey = upper != null ? IndexIID.SortedString.of(type.iid(), upper).bytes() : null;
+        final ResourceIterator<AttributeVertex<String>> storageIterator = new SortedStringIterator(
+                IndexIID.SortedString.prefix(type.iid()), lowerKey, upperKey
+        );
+        return mergeBuffered(type, storageIterator, v -> (lower == null || v.compareTo(lower) >= 0) &&
+                (upper == null || v.compareTo(upper) <= 0));
+    }
+
+    /**
+     * Returns the string attributes of {@code type} with values starting with {@code prefix}, in the order of their
+     * values.
+     */
+    public ResourceIterator<AttributeVertex<String>> getStrings(TypeVertex type, String prefix) {
+        assert storage.isOpen();
+        assert type.isAttributeType() && type.valueType().equals(Encoding.ValueType.STRING);
+
+        final ResourceIterator<AttributeVertex<String>> storageIterator = new SortedStringIterator(
+                IndexIID.SortedString.prefix(type.iid(), prefix), null, null
+        );
+        return mergeBuffered(type, storageIterator, v -> v.startsWith(prefix));
+    }
+
+    private ResourceIterator<AttributeVertex<String>> mergeBuffered(TypeVertex type,
+                                                                   ResourceIterator<AttributeVertex<String>> storageIterator,
+                                                                   Predicate<String> valueFilter) {
+        if (!thingsByTypeIID.containsKey(type.iid())) return storageIterator;
+        final List<AttributeVertex<String>> buffered = iterate(thingsByTypeIID.get(type.iid()))
+                .map(v -> v.asAttribute().asString()).filter(a -> valueFilter.test(a.value())).toList();
+        if (buffered.isEmpty()) return storageIterator;
+        buffered.sort((first, second) -> first.value().compareTo(second.value()));
+        return new SortedStringMergeIterator(iterate(buffered), storageIterator);
+    }
+
+    /**
+     * Returns the string attributes of {@code type} whose values contain every n-gram of each of {@code subStrings},
+     * ignoring case, which include every attribute that contains all of {@code subStrings}. The attributes found are
+     * only candidates, which the caller is expected to filter. Returns null if the n-grams of strings are not indexed,
+     * or if none of {@code subStrings} is as long as an n-gram, as every attribute of the type is then a candidate.
+     */
+    @Nullable
+    public ResourceIterator<AttributeVertex<String>> getStringCandidates(TypeVertex type, Collection<String> subStrings) {
+        assert storage.isOpen();
+        assert type.isAttributeType() && type.valueType().equals(Encoding.ValueType.STRING);
+        if (!isStringNGramIndexed()) return null;
+
+        final Set<String> grams = new HashSet<>();
+        subStrings.forEach(subString -> grams.addAll(IndexIID.StringNGram.grams(subString)));
+        if (grams.isEmpty()) return null;
+
+        final ResourceIterator<AttributeVertex<String>> storageIterator = new NGramIntersectionIterator(type, grams);
+        if (!thingsByTypeIID.containsKey(type.iid())) return storageIterator;
+        final ResourceIterator<AttributeVertex<String>> bufferedIterator = iterate(thingsByTypeIID.get(type.iid()))
+                .map(v -> v.asAttribute().asString())
+                .filter(a -> IndexIID.StringNGram.grams(a.value()).containsAll(grams));
+        return link(bufferedIterator, storageIterator).distinct();
+    }
+
     public AttributeVertex<Boolean> get(TypeVertex type, boolean value) {
         assert storage.isOpen();
         assert type.isAttributeType();
@@ -424,21 +567,270 @@ public class DataGraph implements Graph {
      * does not actually include {@code AttributeVertex}). We then write the every
      * {@code ThingVertex} onto the storage. Once all commit operations for every
      * {@code ThingVertex} is done, we the write all the {@code AttributeVertex}
-     * as the last step. Since the write operations to storage are serialised
-     * anyways, we don't need to parallelise the streams to commit the vertices.
+     * as the last step. If the storage buffers its writes, the vertices are
+     * committed in partitions that the storage writes concurrently (see
+     * {@link #commitPartitioned}). Otherwise, the write operations to storage
+     * are serialised anyways, so we don't parallelise the streams to commit the
+     * vertices.
      */
     @Override
     public void commit() {
         thingsByIID.values().parallelStream().filter(v -> v.status().equals(Encoding.Status.BUFFERED) && !v.isInferred()).forEach(
                 vertex -> vertex.iid(generate(storage.dataKeyGenerator(), vertex.type().iid(), vertex.type().properLabel()))
         ); // thingByIID no longer contains valid mapping from IID to TypeVertex
-        thingsByIID.values().stream().filter(v -> !v.isInferred()).forEach(Vertex::commit);
-        attributesByIID.valueStream().forEach(Vertex::commit);
+        if (storage.isWriteBuffered()) {
+            commitPartitioned(thingsByIID.values().stream().filter(v -> !v.isInferred()));
+            commitPartitioned(attributesByIID.valueStream());
+        } else {
+            thingsByIID.values().stream().filter(v -> !v.isInferred()).forEach(Vertex::commit);
+            attributesByIID.valueStream().forEach(Vertex::commit);
+        }
         statistics.commit();
 
         clear(); // we now flush the indexes after commit, and we do not expect this Graph.Thing to be used again
     }
 
+    /**
+     * Commits vertices sorted by their IIDs, in contiguous partitions of one per
+     * processor. Every partition writes its keys in sorted order, and the storage
+     * applies the partitions in order, so the writes of a commit are applied in
+     * the same order no matter how the partitions were scheduled.
+     */
+    private void commitPartitioned(Stream<? extends ThingVertex> vertices) {
+        final List<ThingVertex> sorted = new ArrayList<>();
+        vertices.forEach(sorted::add);
+        if (sorted.isEmpty()) return;
+        sorted.sort((first, second) -> compareBytes(first.iid().bytes(), second.iid().bytes()));
+        final int size = (sorted.size() + COMMIT_PARTITIONS - 1) / COMMIT_PARTITIONS;
+        final List<Runnable> partitions = new ArrayList<>();
+        for (int from = 0; from < sorted.size(); from += size) {
+            final List<ThingVertex> partition = sorted.subList(from, Math.min(from + size, sorted.size()));
+            partitions.add(() -> partition.forEach(Vertex::commit));
+        }
+        storage.writePartitions(partitions);
+    }
+
+    /**
+     * Iterates the keys of the attributes of one type from a lower bound, until a key passes the upper bound.
+     * The keys of the edges of an attribute follow the key of the attribute itself, and are skipped over by
+     * seeking to the first key past the attribute.
+     */
+    private class AttributeRangeIterator implements ResourceIterator<AttributeVertex<?>> {
+
+        private final ResourceIterator<byte[]> keys;
+        private final int keyLength;
+        private final byte[] upper;
+        private AttributeVertex<?> next;
+
+        AttributeRangeIterator(byte[] prefix, int keyLength, @Nullable byte[] lower, @Nullable byte[] upper) {
+            this.keys = storage.iterate(prefix, (key, value) -> key);
+            this.keyLength = keyLength;
+            this.upper = upper;
+            if (lower != null) keys.seek(lower);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null || fetchAndCheck();
+        }
+
+        private boolean fetchAndCheck() {
+            while (keys.hasNext()) {
+                final byte[] key = keys.next();
+                if (key.length == keyLength) {
+                    if (upper != null && compareBytes(key, upper) > 0) break;
+                    next = convert(VertexIID.Attribute.of(key));
+                    return true;
+                } else {
+                    final byte[] attribute = Arrays.copyOf(key, keyLength);
+                    if (upper != null && compareBytes(attribute, upper) > 0) break;
+                    final byte[] pastEdges = prefixUpperBound(attribute);
+                    if (pastEdges == null) break;
+                    keys.seek(pastEdges);
+                }
+            }
+            keys.recycle();
+            return false;
+        }
+
+        @Override
+        public AttributeVertex<?> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final AttributeVertex<?> vertex = next;
+            next = null;
+            return vertex;
+        }
+
+        @Override
+        public void recycle() {
+            keys.recycle();
+        }
+    }
+
+    /**
+     * Iterates the sorted index of string attributes from a lower bound, until a key passes the upper bound.
+     */
+    private class SortedStringIterator implements ResourceIterator<AttributeVertex<String>> {
+
+        private final ResourceIterator<Pair<byte[], byte[]>> entries;
+        private final byte[] upper;
+        private AttributeVertex<String> next;
+
+        SortedStringIterator(byte[] prefix, @Nullable byte[] lower, @Nullable byte[] upper) {
+            this.entries = storage.iterate(prefix, (key, value) -> pair(key, value));
+            this.upper = upper;
+            if (lower != null) entries.seek(lower);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null || fetchAndCheck();
+        }
+
+        private boolean fetchAndCheck() {
+            if (entries.hasNext()) {
+                final Pair<byte[], byte[]> entry = entries.next();
+                if (upper == null || compareBytes(entry.first(), upper) <= 0) {
+                    next = convert(VertexIID.Attribute.of(entry.second())).asString();
+                    return true;
+                }
+            }
+            entries.recycle();
+            return false;
+        }
+
+        @Override
+        public AttributeVertex<String> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final AttributeVertex<String> vertex = next;
+            next = null;
+            return vertex;
+        }
+
+        @Override
+        public void recycle() {
+            entries.recycle();
+        }
+    }
+
+    /**
+     * Merges two iterators of string attributes that are each in the order of their values, returning the
+     * attributes present in both only once.
+     */
+    private static class SortedStringMergeIterator implements ResourceIterator<AttributeVertex<String>> {
+
+        private final ResourceIterator<AttributeVertex<String>> first;
+        private final ResourceIterator<AttributeVertex<String>> second;
+        private AttributeVertex<String> firstNext;
+        private AttributeVertex<String> secondNext;
+
+        SortedStringMergeIterator(ResourceIterator<AttributeVertex<String>> first,
+                                  ResourceIterator<AttributeVertex<String>> second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (firstNext == null && first.hasNext()) firstNext = first.next();
+            if (secondNext == null && second.hasNext()) secondNext = second.next();
+            return firstNext != null || secondNext != null;
+        }
+
+        @Override
+        public AttributeVertex<String> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final AttributeVertex<String> vertex;
+            final int comparison;
+            if (firstNext == null) comparison = 1;
+            else if (secondNext == null) comparison = -1;
+            else comparison = firstNext.value().compareTo(secondNext.value());
+            if (comparison <= 0) {
+                vertex = firstNext;
+                firstNext = null;
+                if (comparison == 0) secondNext = null;
+            } else {
+                vertex = secondNext;
+                secondNext = null;
+            }
+            return vertex;
+        }
+
+        @Override
+        public void recycle() {
+            first.recycle();
+            second.recycle();
+        }
+    }
+
+    /**
+     * Intersects the attributes indexed under each of a set of n-grams. The attributes under an n-gram are sorted
+     * by IID, so each n-gram in turn seeks to the latest candidate, until all of them agree on one.
+     */
+    private class NGramIntersectionIterator implements ResourceIterator<AttributeVertex<String>> {
+
+        private final byte[][] prefixes;
+        private final List<ResourceIterator<byte[]>> postings;
+        private byte[] target;
+        private AttributeVertex<String> next;
+        private boolean isDone;
+
+        NGramIntersectionIterator(TypeVertex type, Set<String> grams) {
+            assert !grams.isEmpty();
+            this.prefixes = new byte[grams.size()][];
+            this.postings = new ArrayList<>(grams.size());
+            int i = 0;
+            for (String gram : grams) {
+                prefixes[i] = IndexIID.StringNGram.prefix(type.iid(), gram);
+                postings.add(storage.iterate(prefixes[i], (key, value) -> key));
+                i++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null || (!isDone && fetchAndCheck());
+        }
+
+        private boolean fetchAndCheck() {
+            byte[] candidate = target;
+            int agreed = 0;
+            for (int i = 0; agreed < prefixes.length; i = (i + 1) % prefixes.length) {
+                final ResourceIterator<byte[]> posting = postings.get(i);
+                if (candidate != null) posting.seek(join(prefixes[i], candidate));
+                if (!posting.hasNext()) {
+                    recycle();
+                    return false;
+                }
+                final byte[] attribute = stripPrefix(posting.next(), prefixes[i].length);
+                if (candidate != null && Arrays.equals(attribute, candidate)) {
+                    agreed++;
+                } else {
+                    candidate = attribute;
+                    agreed = 1;
+                }
+            }
+            // no IID is a prefix of another, so the IID followed by a zero byte is the first key past it
+            target = join(candidate, new byte[]{0});
+            next = convert(VertexIID.Attribute.of(candidate)).asString();
+            return true;
+        }
+
+        @Override
+        public AttributeVertex<String> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final AttributeVertex<String> vertex = next;
+            next = null;
+            return vertex;
+        }
+
+        @Override
+        public void recycle() {
+            isDone = true;
+            postings.forEach(ResourceIterator::recycle);
+        }
+    }
+
     private static class AttributesByIID {
 
         private final ConcurrentMap<VertexIID.Attribute.Boolean, AttributeVertex<Boolean>> booleans;
@@ -600,6 +992,20 @@ public class DataGraph implements Graph {
             return needsBackgroundCounting;
         }
 
+        /**
+         * Returns true if the counts of attribute vertices and has edges are exact in this transaction. These are
+         * counted by the background counter after a transaction commits, so they are exact only once every count
+         * job committed before the snapshot of this transaction has been processed, and only if this transaction
+         * has not created or deleted attributes or has edges itself. Counts of other vertices are always exact.
+         */
+        public boolean isAttributeCountExact() {
+            if (!attributeVertexCountJobs.isEmpty() || !hasEdgeCountJobs.isEmpty()) return false;
+            ResourceIterator<byte[]> countJobs = storage.iterate(StatisticsBytes.countJobKey(), (key, value) -> key);
+            boolean hasCountJobs = countJobs.hasNext();
+            countJobs.recycle();
+            return !hasCountJobs;
+        }
+
         public void vertexCreated(VertexIID.Type typeIID) {
             deltaVertexCount.compute(typeIID, (k, v) -> (v == null ? 0 : v) + 1);
         }
@@ -709,7 +1115,8 @@ public class DataGraph implements Graph {
             hasEdgeCountJobs.forEach((hasEdge, countWorkValue) -> storage.putUntracked(
                     hasEdgeCountJobKey(hasEdge.first(), hasEdge.second()), countWorkValue.bytes()
             ));
-            if (!deltaVertexCount.isEmpty()) {
+            // has edges are only counted later, in the background, but the snapshot moves on with the commit
+            if (!deltaVertexCount.isEmpty() || !attributeVertexCountJobs.isEmpty() || !hasEdgeCountJobs.isEmpty()) {
                 storage.mergeUntracked(snapshotKey(), longToBytes(1));
             }
         }
@@ -38,6 +38,7 @@ import graql.lang.pattern.Pattern;
 import graql.lang.pattern.variable.ThingVariable;
 
 import javax.annotation.Nullable;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -173,6 +174,29 @@ public class SchemaGraph implements Graph {
         return link(iterate(rulesByIID.values()), persistedRules).distinct();
     }
 
+    /**
+     * Returns the labels of the rules that may conclude a concept of the given type, from the index of rules by the
+     * types of the concepts they conclude, or null if the rules in storage have not been indexed yet.
+     */
+    @Nullable
+    public Set<String> rulesConcluding(Label type) {
+        if (storage.get(IndexIID.RuleConclusion.marker()) == null) return null;
+        return storage.iterate(IndexIID.RuleConclusion.prefix(type.scopedName()),
+                               (key, value) -> IndexIID.RuleConclusion.rule(key)).toSet();
+    }
+
+    /**
+     * Replaces the index of rules by the types of the concepts they conclude, with the given types of every rule.
+     */
+    public void indexRuleConclusions(Map<String, Set<Label>> conclusions) {
+        assert storage.isSchema();
+        storage.iterate(IndexIID.RuleConclusion.prefix(), (key, value) -> key).toList().forEach(storage::delete);
+        conclusions.forEach((rule, types) -> types.forEach(
+                type -> storage.put(IndexIID.RuleConclusion.of(type.scopedName(), rule).bytes())
+        ));
+        storage.put(IndexIID.RuleConclusion.marker());
+    }
+
     public ResourceIterator<TypeVertex> thingTypes() {
         return tree(rootThingType(), v -> v.ins().edge(SUB).from());
     }
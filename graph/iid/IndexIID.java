@@ -23,9 +23,13 @@ import grakn.core.graph.util.Encoding;
 
 import javax.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Set;
 
+import static grakn.core.common.collection.Bytes.CHAR_SIZE;
 import static grakn.core.common.collection.Bytes.DOUBLE_SIZE;
 import static grakn.core.common.collection.Bytes.LONG_SIZE;
+import static grakn.core.common.collection.Bytes.SHORT_SIZE;
 import static grakn.core.common.collection.Bytes.booleanToByte;
 import static grakn.core.common.collection.Bytes.byteToBoolean;
 import static grakn.core.common.collection.Bytes.bytesToDateTime;
@@ -36,7 +40,11 @@ import static grakn.core.common.collection.Bytes.join;
 import static grakn.core.common.collection.Bytes.longToSortedBytes;
 import static grakn.core.common.collection.Bytes.sortedBytesToDouble;
 import static grakn.core.common.collection.Bytes.sortedBytesToLong;
+import static grakn.core.common.collection.Bytes.sortedBytesToString;
 import static grakn.core.common.collection.Bytes.stringToBytes;
+import static grakn.core.common.collection.Bytes.stringToSortedBytes;
+import static grakn.core.common.collection.Bytes.unsignedBytesToShort;
+import static grakn.core.common.collection.Bytes.unsignedShortToBytes;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.graph.util.Encoding.ValueType.STRING_ENCODING;
 import static grakn.core.graph.util.Encoding.ValueType.TIME_ZONE_ID;
@@ -104,6 +112,55 @@ public abstract class IndexIID extends IID {
         }
     }
 
+    /**
+     * The index of rules by the types of the concepts they may conclude, which holds a key for every such type of a
+     * rule, made of the scoped label of the type followed by the label of the rule. The index is keyed by labels,
+     * rather than IIDs, as it is rebuilt before the types written by a schema transaction are given their IIDs.
+     */
+    public static class RuleConclusion extends IndexIID {
+
+        RuleConclusion(byte[] bytes) {
+            super(bytes);
+        }
+
+        public static RuleConclusion of(String typeLabel, String ruleLabel) {
+            return new RuleConclusion(join(prefix(typeLabel), ruleLabel.getBytes(STRING_ENCODING)));
+        }
+
+        public static byte[] prefix() {
+            return Encoding.Index.Prefix.RULE_CONCLUSION.prefix().bytes();
+        }
+
+        public static byte[] prefix(String typeLabel) {
+            final byte[] label = typeLabel.getBytes(STRING_ENCODING);
+            return join(prefix(), unsignedShortToBytes(label.length), label);
+        }
+
+        public static String rule(byte[] key) {
+            final int labelLength = unsignedBytesToShort(copyOfRange(key, PrefixIID.LENGTH, PrefixIID.LENGTH + SHORT_SIZE));
+            return new String(copyOfRange(key, PrefixIID.LENGTH + SHORT_SIZE + labelLength, key.length), STRING_ENCODING);
+        }
+
+        /**
+         * Returns the key that is present once the rules in storage have been indexed.
+         */
+        public static byte[] marker() {
+            return prefix();
+        }
+
+        @Override
+        public String toString() {
+            if (readableString == null) {
+                final int labelLength = unsignedBytesToShort(copyOfRange(bytes, PrefixIID.LENGTH, PrefixIID.LENGTH + SHORT_SIZE));
+                final int ruleIndex = PrefixIID.LENGTH + SHORT_SIZE + labelLength;
+                readableString = "[" + PrefixIID.LENGTH + ": " + Encoding.Index.Prefix.RULE_CONCLUSION.toString() + "]" +
+                        "[" + labelLength + ": " + new String(copyOfRange(bytes, PrefixIID.LENGTH + SHORT_SIZE, ruleIndex), STRING_ENCODING) + "]" +
+                        "[" + (bytes.length - ruleIndex) + ": " + rule(bytes) + "]";
+            }
+            return readableString;
+        }
+    }
+
     public static class Attribute extends IndexIID {
 
         static final int VALUE_INDEX = PrefixIID.LENGTH + VertexIID.Attribute.VALUE_TYPE_LENGTH;
@@ -176,4 +233,117 @@ public abstract class IndexIID extends IID {
             return readableString;
         }
     }
+
+    /**
+     * The index of string attributes sorted by value, which maps each value of a type to the IID of its attribute.
+     * Values are encoded with {@link grakn.core.common.collection.Bytes#stringToSortedBytes}, so the index of a type
+     * is in the order of {@link java.lang.String#compareTo}, and the values starting with a prefix are contiguous.
+     */
+    public static class SortedString extends IndexIID {
+
+        static final int VALUE_INDEX = PrefixIID.LENGTH + VertexIID.Type.LENGTH;
+
+        SortedString(byte[] bytes) {
+            super(bytes);
+        }
+
+        public static SortedString of(VertexIID.Type typeIID, String value) {
+            return new SortedString(prefix(typeIID, value));
+        }
+
+        public static byte[] prefix(VertexIID.Type typeIID) {
+            return join(Encoding.Index.Prefix.ATTRIBUTE_STRING.prefix().bytes(), typeIID.bytes);
+        }
+
+        public static byte[] prefix(VertexIID.Type typeIID, String valuePrefix) {
+            return join(prefix(typeIID), stringToSortedBytes(valuePrefix));
+        }
+
+        /**
+         * Returns the key that is present once every string attribute in storage has been indexed.
+         */
+        public static byte[] marker() {
+            return Encoding.Index.Prefix.ATTRIBUTE_STRING.prefix().bytes();
+        }
+
+        @Override
+        public String toString() {
+            if (readableString == null) {
+                readableString = "[" + PrefixIID.LENGTH + ": " + Encoding.Index.Prefix.ATTRIBUTE_STRING.toString() + "]" +
+                        "[" + VertexIID.Type.LENGTH + ": " + VertexIID.Type.of(copyOfRange(bytes, PrefixIID.LENGTH, VALUE_INDEX)).toString() + "]" +
+                        "[" + (bytes.length - VALUE_INDEX) + ": " + sortedBytesToString(copyOfRange(bytes, VALUE_INDEX, bytes.length)) + "]";
+            }
+            return readableString;
+        }
+    }
+
+    /**
+     * The index of the n-grams of string attributes, which holds a key for every distinct n-gram of the case-folded
+     * value of an attribute, followed by the IID of the attribute. The IIDs of the attributes of a type that share
+     * an n-gram are therefore sorted, and the attributes containing several n-grams are found by intersecting them.
+     */
+    public static class StringNGram extends IndexIID {
+
+        public static final int N = 3;
+        static final int GRAM_INDEX = PrefixIID.LENGTH + VertexIID.Type.LENGTH;
+        static final int ATTRIBUTE_INDEX = GRAM_INDEX + N * CHAR_SIZE;
+
+        StringNGram(byte[] bytes) {
+            super(bytes);
+        }
+
+        public static StringNGram of(VertexIID.Type typeIID, String gram, VertexIID.Attribute.String attIID) {
+            return new StringNGram(join(prefix(typeIID, gram), attIID.bytes));
+        }
+
+        public static byte[] prefix(VertexIID.Type typeIID, String gram) {
+            assert gram.length() == N;
+            return join(Encoding.Index.Prefix.ATTRIBUTE_NGRAM.prefix().bytes(), typeIID.bytes, stringToSortedBytes(gram));
+        }
+
+        public static VertexIID.Attribute.String attribute(byte[] key) {
+            return VertexIID.Attribute.String.extract(key, ATTRIBUTE_INDEX);
+        }
+
+        /**
+         * Returns the distinct n-grams of the case-folded {@code value}. A string that contains another string,
+         * ignoring case, contains every n-gram of it.
+         */
+        public static Set<String> grams(String value) {
+            final String folded = fold(value);
+            final Set<String> grams = new HashSet<>();
+            for (int i = 0; i + N <= folded.length(); i++) grams.add(folded.substring(i, i + N));
+            return grams;
+        }
+
+        /**
+         * Folds the case of every character, such that two characters fold to the same character if and only if
+         * {@link java.lang.String#regionMatches(boolean, int, String, int, int)} matches them when ignoring case.
+         */
+        private static String fold(String value) {
+            final char[] chars = new char[value.length()];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = Character.toLowerCase(Character.toUpperCase(value.charAt(i)));
+            }
+            return new String(chars);
+        }
+
+        /**
+         * Returns the key that is present while the n-grams of every string attribute in storage are indexed.
+         */
+        public static byte[] marker() {
+            return Encoding.Index.Prefix.ATTRIBUTE_NGRAM.prefix().bytes();
+        }
+
+        @Override
+        public String toString() {
+            if (readableString == null) {
+                readableString = "[" + PrefixIID.LENGTH + ": " + Encoding.Index.Prefix.ATTRIBUTE_NGRAM.toString() + "]" +
+                        "[" + VertexIID.Type.LENGTH + ": " + VertexIID.Type.of(copyOfRange(bytes, PrefixIID.LENGTH, GRAM_INDEX)).toString() + "]" +
+                        "[" + (N * CHAR_SIZE) + ": " + sortedBytesToString(copyOfRange(bytes, GRAM_INDEX, ATTRIBUTE_INDEX)) + "]" +
+                        "[" + (bytes.length - ATTRIBUTE_INDEX) + ": " + attribute(bytes).toString() + "]";
+            }
+            return readableString;
+        }
+    }
 }
@@ -43,6 +43,7 @@ public class Encoding {
 
     public static final String ROCKS_DATA = "data";
     public static final String ROCKS_SCHEMA = "schema";
+    public static final String TRAVERSAL_PLANS = "traversal_plans";
 
     public enum Key {
         PERSISTED(0, true),
@@ -148,7 +149,10 @@ public class Encoding {
         // leave large open range for future indices
         INDEX_TYPE(0, PrefixType.INDEX),
         INDEX_RULE(10, PrefixType.INDEX),
+        INDEX_RULE_CONCLUSION(11, PrefixType.INDEX),
         INDEX_ATTRIBUTE(20, PrefixType.INDEX),
+        INDEX_ATTRIBUTE_STRING(30, PrefixType.INDEX),
+        INDEX_ATTRIBUTE_NGRAM(40, PrefixType.INDEX),
         STATISTICS_THINGS(50, PrefixType.STATISTICS),
         STATISTICS_COUNT_JOB(51, PrefixType.STATISTICS),
         STATISTICS_COUNTED(52, PrefixType.STATISTICS),
@@ -721,7 +725,10 @@ public class Encoding {
         enum Prefix {
             TYPE(Encoding.Prefix.INDEX_TYPE),
             RULE(Encoding.Prefix.INDEX_RULE),
-            ATTRIBUTE(Encoding.Prefix.INDEX_ATTRIBUTE);
+            RULE_CONCLUSION(Encoding.Prefix.INDEX_RULE_CONCLUSION),
+            ATTRIBUTE(Encoding.Prefix.INDEX_ATTRIBUTE),
+            ATTRIBUTE_STRING(Encoding.Prefix.INDEX_ATTRIBUTE_STRING),
+            ATTRIBUTE_NGRAM(Encoding.Prefix.INDEX_ATTRIBUTE_NGRAM);
 
             private final Encoding.Prefix prefix;
 
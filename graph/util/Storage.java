@@ -22,6 +22,7 @@ import grakn.core.common.exception.ErrorMessage;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 
+import java.util.List;
 import java.util.function.BiFunction;
 
 import static grakn.common.util.Objects.className;
@@ -45,8 +46,19 @@ public interface Storage {
 
     void putUntracked(byte[] key, byte[] value);
 
+    void deleteUntracked(byte[] key);
+
     void mergeUntracked(byte[] key, byte[] value);
 
+    boolean isWriteBuffered();
+
+    /**
+     * Runs every partition of writes concurrently, each into its own buffer, and
+     * orders their writes as if the partitions had run one after another, in the
+     * order given. The storage must be write-buffered.
+     */
+    void writePartitions(List<Runnable> partitions);
+
     <G> ResourceIterator<G> iterate(byte[] key, BiFunction<byte[], byte[], G> constructor);
 
     GraknException exception(ErrorMessage error);
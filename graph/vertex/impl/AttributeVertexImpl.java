@@ -128,6 +128,10 @@ public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl impleme
     private void commitVertex() {
         graph.storage().putUntracked(attributeIID.bytes());
         graph.storage().putUntracked(EdgeIID.InwardsISA.of(type().iid(), iid).bytes());
+        commitIndex();
+    }
+
+    void commitIndex() {
         graph.storage().putUntracked(index().bytes(), attributeIID.bytes());
         // TODO: we should make use of attribute indexes to look up attributes by value (without type) quickly
     }
@@ -259,6 +263,32 @@ public abstract class AttributeVertexImpl<VALUE> extends ThingVertexImpl impleme
             return IndexIID.Attribute.of(value(), type().iid());
         }
 
+        /**
+         * String attributes are also indexed in the order of their values, and by their n-grams if the graph
+         * maintains an n-gram index, as their own keys are not in value order.
+         */
+        @Override
+        void commitIndex() {
+            super.commitIndex();
+            graph.storage().putUntracked(IndexIID.SortedString.of(type().iid(), value()).bytes(), iid().bytes());
+            if (graph.isStringNGramIndexed()) {
+                for (java.lang.String gram : IndexIID.StringNGram.grams(value())) {
+                    graph.storage().putUntracked(IndexIID.StringNGram.of(type().iid(), gram, iid().asString()).bytes());
+                }
+            }
+        }
+
+        @Override
+        void deleteVertexFromIndex() {
+            super.deleteVertexFromIndex();
+            graph.storage().deleteUntracked(IndexIID.SortedString.of(type().iid(), value()).bytes());
+            if (graph.isStringNGramIndexed()) {
+                for (java.lang.String gram : IndexIID.StringNGram.grams(value())) {
+                    graph.storage().deleteUntracked(IndexIID.StringNGram.of(type().iid(), gram, iid().asString()).bytes());
+                }
+            }
+        }
+
         @Override
         public boolean isString() { return true; }
 
@@ -30,18 +30,23 @@ public class LogicCache {
 
     private CommonCache<Traversal, Map<Reference, Set<Label>>> typeResolverCache;
     private CommonCache<String, Rule> ruleCache;
+    private CommonCache<Label, Set<String>> ruleIndexCache;
 
     public LogicCache() {
         this.ruleCache = new CommonCache<>();
         this.typeResolverCache = new CommonCache<>();
+        this.ruleIndexCache = new CommonCache<>();
     }
 
     public LogicCache(int size, int timeOutMinutes) {
         this.ruleCache = new CommonCache<>(size, timeOutMinutes);
         this.typeResolverCache = new CommonCache<>(size, timeOutMinutes);
+        this.ruleIndexCache = new CommonCache<>(size, timeOutMinutes);
     }
 
     public CommonCache<Traversal, Map<Reference, Set<Label>>> resolver() { return typeResolverCache; }
 
     CommonCache<String, Rule> rule() { return ruleCache; }
+
+    CommonCache<Label, Set<String>> ruleIndex() { return ruleIndexCache; }
 }
@@ -36,13 +36,20 @@ import graql.lang.pattern.constraint.TypeConstraint;
 import graql.lang.pattern.variable.BoundVariable;
 import graql.lang.pattern.variable.ThingVariable;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static grakn.common.collection.Collections.set;
 import static grakn.core.common.exception.ErrorMessage.RuleWrite.TYPES_NOT_FOUND;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static grakn.core.common.iterator.Iterators.link;
+import static grakn.core.common.iterator.Iterators.single;
 
 public class LogicManager {
 
@@ -51,6 +58,9 @@ public class LogicManager {
     private final TypeResolver typeResolver;
     private LogicCache logicCache;
 
+    // rules that may conclude a concept of any type are indexed under the root type
+    private static final Label ANY_TYPE = Label.of(Encoding.Vertex.Type.Root.THING.label());
+
     public LogicManager(GraphManager graphMgr, ConceptManager conceptMgr, TraversalEngine traversalEng, LogicCache logicCache) {
         this.graphMgr = graphMgr;
         this.conceptMgr = conceptMgr;
@@ -86,9 +96,25 @@ public class LogicManager {
         });
     }
 
+    /**
+     * Returns the rules that may conclude a concept of any of the given types, or of any type if none are given.
+     * The rules are looked up in the index of rules by the types they conclude, which is only rebuilt when the schema
+     * is committed, so a schema write transaction, or a database whose rules have not been indexed yet, gets all rules.
+     */
+    public ResourceIterator<Rule> rulesConcluding(Set<Label> types) {
+        if (types.isEmpty() || !graphMgr.schema().isReadOnly()) return rules();
+        Set<String> labels = new HashSet<>();
+        for (Label type : link(iterate(types), single(ANY_TYPE)).distinct().toList()) {
+            Set<String> rules = logicCache.ruleIndex().get(type, t -> graphMgr.schema().rulesConcluding(t));
+            if (rules == null) return rules();
+            labels.addAll(rules);
+        }
+        return iterate(labels).map(this::getRule).noNulls();
+    }
+
     /**
      * On commit we must clear the rule cache and revalidate rules
-     * Rule indexes should also be deleted and regenerated at approximate the same time
+     * Rule indexes are then deleted and regenerated from the validated rules
      * Note: does not need to by synchronized as only called by one schema transaction at a time
      */
     public void validateRules() {
@@ -100,6 +126,16 @@ public class LogicManager {
         // validate new rules are stratifiable (eg. do not cause cycles through a negation)
         graphMgr.schema().bufferedRules().filter(structure -> structure.status().equals(Encoding.Status.BUFFERED))
                 .forEach(structure -> getRule(structure.label()).validateCycles());
+        indexRules();
+    }
+
+    private void indexRules() {
+        Map<String, Set<Label>> conclusions = new HashMap<>();
+        rules().forEachRemaining(rule -> {
+            Set<Label> types = rule.conclusion().concludedTypes();
+            conclusions.put(rule.getLabel(), types.isEmpty() ? set(ANY_TYPE) : types);
+        });
+        graphMgr.schema().indexRuleConclusions(conclusions);
     }
 
     public TypeResolver typeResolver() {
@@ -239,6 +239,18 @@ public class Rule {
 
         public abstract Map<Identifier, Concept> putConclusion(ConceptMap whenConcepts, TraversalEngine traversalEng, ConceptManager conceptMgr);
 
+        /**
+         * @return the labels of the types of the concept this conclusion concludes, or an empty set if it may be of
+         * any type
+         */
+        public abstract Set<Label> concludedTypes();
+
+        static Set<Label> concludedTypes(TypeVariable type) {
+            if (!type.resolvedTypes().isEmpty()) return type.resolvedTypes();
+            else if (type.label().isPresent()) return set(type.label().get().properLabel());
+            else return set();
+        }
+
         public boolean isRelation() {
             return false;
         }
@@ -337,6 +349,11 @@ public class Rule {
                 return thenConcepts;
             }
 
+            @Override
+            public Set<Label> concludedTypes() {
+                return concludedTypes(isa().type());
+            }
+
             public RelationConstraint relation() {
                 return relation;
             }
@@ -489,6 +506,11 @@ public class Rule {
                     return thenConcepts;
                 }
 
+                @Override
+                public Set<Label> concludedTypes() {
+                    return concludedTypes(isa().type());
+                }
+
                 @Override
                 public boolean isExplicitHas() {
                     return true;
@@ -584,6 +606,11 @@ public class Rule {
                     return thenConcepts;
                 }
 
+                @Override
+                public Set<Label> concludedTypes() {
+                    return has().attribute().resolvedTypes();
+                }
+
                 @Override
                 public boolean isVariableHas() {
                     return true;
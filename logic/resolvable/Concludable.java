@@ -37,6 +37,7 @@ import grakn.core.pattern.constraint.thing.ThingConstraint;
 import grakn.core.pattern.constraint.thing.ValueConstraint;
 import grakn.core.pattern.constraint.type.LabelConstraint;
 import grakn.core.pattern.equivalence.AlphaEquivalence;
+import grakn.core.pattern.equivalence.AlphaEquivalent;
 import grakn.core.pattern.variable.ThingVariable;
 import grakn.core.pattern.variable.TypeVariable;
 import grakn.core.pattern.variable.Variable;
@@ -63,13 +64,12 @@ import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Pattern.INVALID_CASTING;
 import static graql.lang.common.GraqlToken.Predicate.Equality.EQ;
 
-public abstract class Concludable extends Resolvable {
+public abstract class Concludable extends Resolvable implements AlphaEquivalent<Concludable> {
 
     private Map<Rule, Set<Unifier>> applicableRules = null;
 
     private Concludable(Conjunction conjunction) {
         super(conjunction);
-        applicableRules = new HashMap<>(); // TODO Implement
     }
 
     public abstract Set<Constraint> concludableConstraints();
@@ -89,14 +89,13 @@ public abstract class Concludable extends Resolvable {
     }
 
     /*
-    TODO this should be improved by indexing rules by possible types, so rather than retrieving all rules
-    TODO and attempting to unify them, we only read rules that are relevant
+    Only the rules indexed under the types this concludable may conclude are read, and attempted to unify with
      */
     private void computeApplicableRules(ConceptManager conceptMgr, LogicManager logicMgr) {
         assert applicableRules == null;
         applicableRules = new HashMap<>();
-        logicMgr.rules().forEachRemaining(rule -> Iterators.iterate(unify(rule.conclusion(), conceptMgr))
-                .forEachRemaining(unifier -> {
+        logicMgr.rulesConcluding(concludedTypes(conceptMgr)).forEachRemaining(
+                rule -> Iterators.iterate(unify(rule.conclusion(), conceptMgr)).forEachRemaining(unifier -> {
                     applicableRules.putIfAbsent(rule, new HashSet<>());
                     applicableRules.get(rule).add(unifier);
                 }));
@@ -104,8 +103,27 @@ public abstract class Concludable extends Resolvable {
 
     abstract ResourceIterator<Unifier> unify(Rule.Conclusion conclusion, ConceptManager conceptMgr);
 
+    /**
+     * @return the labels of the types of the concepts a rule must conclude to be applicable to this concludable, or
+     * an empty set if they may be of any type
+     */
+    abstract Set<Label> concludedTypes(ConceptManager conceptMgr);
+
+    Set<Label> concludedTypes(ThingVariable concluded, ConceptManager conceptMgr) {
+        Set<Label> types;
+        TypeVariable type = concluded.isa().map(IsaConstraint::type).orElse(null);
+        if (type != null && !type.resolvedTypes().isEmpty()) types = type.resolvedTypes();
+        else if (type != null && type.label().isPresent()) types = set(type.label().get().properLabel());
+        else types = concluded.resolvedTypes();
+        return Stream.concat(types.stream(), subtypeLabels(types, conceptMgr)).collect(Collectors.toSet());
+    }
+
+    @Override
     public abstract AlphaEquivalence alphaEquals(Concludable that);
 
+    @Override
+    public abstract int alphaHash();
+
     public boolean isRelation() { return false; }
 
     public boolean isHas() { return false; }
@@ -296,6 +314,11 @@ public abstract class Concludable extends Resolvable {
             return set(c);
         }
 
+        @Override
+        Set<Label> concludedTypes(ConceptManager conceptMgr) {
+            return concludedTypes(relation.owner(), conceptMgr);
+        }
+
         @Override
         ResourceIterator<Unifier> unify(Rule.Conclusion conclusion, ConceptManager conceptMgr) {
             if (conclusion.isRelation()) return unify(conclusion.asRelation(), conceptMgr);
@@ -399,6 +422,11 @@ public abstract class Concludable extends Resolvable {
             if (!that.isRelation()) return AlphaEquivalence.invalid();
             return relation().alphaEquals(that.asRelation().relation());
         }
+
+        @Override
+        public int alphaHash() {
+            return relation().alphaHash();
+        }
     }
 
     /**
@@ -454,6 +482,11 @@ public abstract class Concludable extends Resolvable {
             return set(constraints);
         }
 
+        @Override
+        Set<Label> concludedTypes(ConceptManager conceptMgr) {
+            return concludedTypes(has.attribute(), conceptMgr);
+        }
+
         @Override
         ResourceIterator<Unifier> unify(Rule.Conclusion conclusion, ConceptManager conceptMgr) {
             if (conclusion.isHas()) return unify(conclusion.asHas(), conceptMgr);
@@ -507,6 +540,11 @@ public abstract class Concludable extends Resolvable {
             return has().alphaEquals(that.asHas().has());
         }
 
+        @Override
+        public int alphaHash() {
+            return has().alphaHash();
+        }
+
     }
 
     /**
@@ -546,6 +584,11 @@ public abstract class Concludable extends Resolvable {
             return set(constraints);
         }
 
+        @Override
+        Set<Label> concludedTypes(ConceptManager conceptMgr) {
+            return concludedTypes(isa.owner(), conceptMgr);
+        }
+
         @Override
         ResourceIterator<Unifier> unify(Rule.Conclusion conclusion, ConceptManager conceptMgr) {
             if (conclusion.isIsa()) return unify(conclusion.asIsa(), conceptMgr);
@@ -590,6 +633,11 @@ public abstract class Concludable extends Resolvable {
             if (!that.isIsa()) return AlphaEquivalence.invalid();
             return isa().alphaEquals(that.asIsa().isa());
         }
+
+        @Override
+        public int alphaHash() {
+            return isa().alphaHash();
+        }
     }
 
     /**
@@ -635,6 +683,11 @@ public abstract class Concludable extends Resolvable {
             return new HashSet<>(equalsConstraints(values));
         }
 
+        @Override
+        Set<Label> concludedTypes(ConceptManager conceptMgr) {
+            return concludedTypes(attribute, conceptMgr);
+        }
+
         @Override
         ResourceIterator<Unifier> unify(Rule.Conclusion conclusion, ConceptManager conceptMgr) {
             if (conclusion.isValue()) return unify(conclusion.asValue(), conceptMgr);
@@ -668,6 +721,11 @@ public abstract class Concludable extends Resolvable {
             if (!that.isAttribute()) return AlphaEquivalence.invalid();
             return AlphaEquivalence.valid().validIfAlphaEqual(values, that.asAttribute().values);
         }
+
+        @Override
+        public int alphaHash() {
+            return AlphaEquivalence.alphaHash(values);
+        }
     }
 
     private static class Extractor {
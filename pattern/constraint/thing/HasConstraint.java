@@ -109,6 +109,11 @@ public class HasConstraint extends ThingConstraint implements AlphaEquivalent<Ha
         return AlphaEquivalence.valid().validIfAlphaEqual(attribute, that.attribute);
     }
 
+    @Override
+    public int alphaHash() {
+        return attribute.alphaHash();
+    }
+
     @Override
     public HasConstraint clone(Conjunction.Cloner cloner) {
         return cloner.cloneVariable(owner).has(cloner.cloneVariable(attribute));
@@ -112,6 +112,11 @@ public class IsaConstraint extends ThingConstraint implements AlphaEquivalent<Is
                 .validIfAlphaEqual(type, that.type);
     }
 
+    @Override
+    public int alphaHash() {
+        return Objects.hash(isExplicit(), type.alphaHash());
+    }
+
     @Override
     public IsaConstraint clone(Conjunction.Cloner cloner) {
         return cloner.cloneVariable(owner).isa(cloner.cloneVariable(type), isExplicit);
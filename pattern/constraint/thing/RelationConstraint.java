@@ -148,6 +148,11 @@ public class RelationConstraint extends ThingConstraint implements AlphaEquivale
                 }).filter(AlphaEquivalence::isValid).findFirst().orElse(AlphaEquivalence.invalid()));
     }
 
+    @Override
+    public int alphaHash() {
+        return AlphaEquivalence.alphaHash(players());
+    }
+
     public static class RolePlayer implements AlphaEquivalent<RolePlayer> {
 
         private final TypeVariable roleType;
@@ -221,6 +226,11 @@ public class RelationConstraint extends ThingConstraint implements AlphaEquivale
                     .validIfAlphaEqual(player, that.player);
         }
 
+        @Override
+        public int alphaHash() {
+            return Objects.hash(AlphaEquivalence.alphaHash(roleType), player.alphaHash());
+        }
+
         public RolePlayer clone(Conjunction.Cloner cloner) {
             TypeVariable roleTypeClone = roleType == null ? null : cloner.cloneVariable(roleType);
             ThingVariable playerClone = cloner.cloneVariable(player);
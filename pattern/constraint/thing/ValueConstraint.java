@@ -193,6 +193,11 @@ public abstract class ValueConstraint<T> extends ThingConstraint implements Alph
                 .validIf(this.value.equals(that.value));
     }
 
+    @Override
+    public int alphaHash() {
+        return Objects.hash(predicate, value);
+    }
+
     public static class Long extends ValueConstraint<java.lang.Long> {
 
         public Long(ThingVariable owner, GraqlToken.Predicate.Equality predicate, long value) {
@@ -393,6 +398,11 @@ public abstract class ValueConstraint<T> extends ThingConstraint implements Alph
                     .validIfAlphaEqual(this.value, that.asVariable().value);
         }
 
+        @Override
+        public int alphaHash() {
+            return Objects.hash(predicate, value.alphaHash());
+        }
+
         @Override
         public Variable clone(Conjunction.Cloner cloner) {
             return cloner.cloneVariable(owner).valueVariable(predicate(), cloner.cloneVariable(value));
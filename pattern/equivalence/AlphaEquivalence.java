@@ -39,6 +39,16 @@ public abstract class AlphaEquivalence {
         return new Invalid();
     }
 
+    public static <T extends AlphaEquivalent<T>> int alphaHash(@Nullable T member) {
+        return member == null ? 0 : member.alphaHash();
+    }
+
+    public static <T extends AlphaEquivalent<T>> int alphaHash(Set<T> set) {
+        int hash = 0;
+        for (T member : set) hash += member.alphaHash();
+        return hash;
+    }
+
     public abstract AlphaEquivalence validIf(boolean invalidate);
 
     public abstract <T extends AlphaEquivalent<T>> AlphaEquivalence validIfAlphaEqual(T member1, T member2);
@@ -204,6 +214,11 @@ public abstract class AlphaEquivalence {
             }
         }
 
+        @Override
+        public int alphaHash() {
+            return AlphaEquivalence.alphaHash(set);
+        }
+
         private int size() {
             return set.size();
         }
@@ -250,4 +250,21 @@ public class AlphaEquivalenceTest {
         ThingVariable q = parseVariables("q", "$q(parent: $s, child: $t) isa $pship", "$pship type parentship").asThing();
         assertFalse(r.alphaEquals(q).isValid());
     }
+
+    @Test
+    public void test_alpha_hash_equal_for_equivalent_relations() {
+        ThingVariable r = parseVariables("r", "$r(parent: $p, child: $c) isa parentship", "$p isa person", "$c has age 30").asThing();
+        ThingVariable q = parseVariables("q", "$q(child: $t, parent: $s) isa parentship", "$t has age 30", "$s isa person").asThing();
+        assertTrue(r.alphaEquals(q).isValid());
+        assertEquals(r.alphaHash(), q.alphaHash());
+    }
+
+    @Test
+    public void test_alpha_hash_differs_for_different_values_and_labels() {
+        ThingVariable p = parseVariables("p", "$p has age 30", "$p isa person").asThing();
+        ThingVariable q = parseVariables("q", "$q has age 20", "$q isa person").asThing();
+        ThingVariable r = parseVariables("r", "$r has age 30", "$r isa dog").asThing();
+        assertFalse(p.alphaHash() == q.alphaHash());
+        assertFalse(p.alphaHash() == r.alphaHash());
+    }
 }
@@ -20,4 +20,10 @@ package grakn.core.pattern.equivalence;
 public interface AlphaEquivalent<T extends AlphaEquivalent<T>> {
 
     AlphaEquivalence alphaEquals(T that);
+
+    /**
+     * A hash of the structure of this pattern, which is the same for the patterns that are alpha equivalent to it:
+     * it does not depend on the names of its variables, nor on the order of the members of its sets.
+     */
+    int alphaHash();
 }
@@ -267,4 +267,11 @@ public class ThingVariable extends Variable implements AlphaEquivalent<ThingVari
                 .validIfAlphaEqual(this.valueConstraints, that.valueConstraints)
                 .addMapping(this, that);
     }
+
+    @Override
+    public int alphaHash() {
+        return Objects.hash(id().isNamedReference(), resolvedTypes(), AlphaEquivalence.alphaHash(isaConstraint),
+                            AlphaEquivalence.alphaHash(relationConstraints), AlphaEquivalence.alphaHash(hasConstraints),
+                            AlphaEquivalence.alphaHash(valueConstraints));
+    }
 }
@@ -287,4 +287,10 @@ public class TypeVariable extends Variable implements AlphaEquivalent<TypeVariab
                 .validIfAlphaEqual(valueTypeConstraint, that.valueTypeConstraint)
                 .addMapping(this, that);
     }
+
+    @Override
+    public int alphaHash() {
+        return Objects.hash(id().isNamedReference(), AlphaEquivalence.alphaHash(labelConstraint),
+                            AlphaEquivalence.alphaHash(valueTypeConstraint));
+    }
 }
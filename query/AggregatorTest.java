@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.query;
+
+import grakn.core.concept.answer.Numeric;
+import grakn.core.query.Matcher.Aggregator.MedianCalculator;
+import grakn.core.query.Matcher.Aggregator.STDCalculator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class AggregatorTest {
+
+    private static List<Long> values(int count, long seed) {
+        Random random = new Random(seed);
+        List<Long> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) values.add((long) random.nextInt(1_000_000) - 500_000);
+        return values;
+    }
+
+    @Test
+    public void merged_medians_are_the_median_of_all_values() {
+        for (int count : new int[]{1, 2, 99, 1000}) {
+            List<Long> values = values(count, count);
+            MedianCalculator single = new MedianCalculator();
+            values.forEach(value -> single.accumulate(Numeric.ofLong(value)));
+
+            MedianCalculator merged = new MedianCalculator();
+            for (int part = 0; part < 5; part++) {
+                MedianCalculator partial = new MedianCalculator();
+                for (int i = part; i < values.size(); i += 5) partial.accumulate(Numeric.ofLong(values.get(i)));
+                merged = merged.merge(partial);
+            }
+            assertEquals(single.median().asNumber().doubleValue(), merged.median().asNumber().doubleValue());
+        }
+        assertTrue(new MedianCalculator().merge(new MedianCalculator()).median().isNaN());
+    }
+
+    @Test
+    public void merged_standard_deviations_are_the_standard_deviation_of_all_values() {
+        for (int count : new int[]{2, 3, 99, 1000}) {
+            List<Long> values = values(count, count);
+            STDCalculator single = new STDCalculator();
+            values.forEach(value -> single.accumulate(value));
+
+            // partitions of unequal sizes, including empty ones, merged in either direction
+            STDCalculator merged = new STDCalculator();
+            int start = 0;
+            for (int part = 0; start < values.size(); part++) {
+                int end = Math.min(values.size(), start + part * part);
+                STDCalculator partial = new STDCalculator();
+                for (int i = start; i < end; i++) partial.accumulate(values.get(i));
+                merged = part % 2 == 0 ? merged.merge(partial) : partial.merge(merged);
+                start = end;
+            }
+            double expected = single.std().asDouble();
+            assertEquals(expected, merged.std().asDouble(), Math.abs(expected) * 1e-9);
+        }
+        STDCalculator one = new STDCalculator();
+        one.accumulate(1);
+        assertTrue(one.merge(new STDCalculator()).std().isNaN());
+    }
+}
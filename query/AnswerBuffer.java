@@ -0,0 +1,212 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Label;
+import grakn.core.concept.Concept;
+import grakn.core.concept.ConceptManager;
+import grakn.core.concept.answer.ConceptMap;
+import graql.lang.pattern.variable.Reference;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static grakn.core.common.iterator.Iterators.iterate;
+
+/**
+ * Holds answers in the order they are added, keeping up to a given number of them in memory and spilling the rest
+ * to a temporary file. A spilled answer is encoded by the IIDs of its things and the labels of its types, and is read
+ * back through the {@link ConceptManager} of the transaction. Answers are added by a single thread, and are iterated
+ * once all of them have been added.
+ *
+ * A buffer that spills is held in the set of spilling buffers of its transaction until its spill is deleted, once
+ * its answers are exhausted or recycled, or the buffer is closed. The spills of buffers that are abandoned are
+ * deleted when the transaction closes.
+ */
+class AnswerBuffer {
+
+    private static final byte THING = 0;
+    private static final byte TYPE = 1;
+
+    private final int bufferSize;
+    private final ConceptManager conceptMgr;
+    private final List<ConceptMap> buffered;
+    private final Set<AnswerBuffer> spilling;
+    private Path spill;
+    private DataOutputStream out;
+    private Spilled reader;
+    private long spilled;
+
+    AnswerBuffer(int bufferSize, ConceptManager conceptMgr, Set<AnswerBuffer> spilling) {
+        this.bufferSize = bufferSize;
+        this.conceptMgr = conceptMgr;
+        this.buffered = new ArrayList<>();
+        this.spilling = spilling;
+        this.spilled = 0;
+    }
+
+    void add(ConceptMap answer) {
+        if (buffered.size() < bufferSize) {
+            buffered.add(answer);
+            return;
+        }
+        try {
+            if (out == null) {
+                spilling.add(this);
+                spill = Files.createTempFile("grakn-answers-", ".spill");
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(spill)));
+            }
+            write(out, answer);
+            spilled++;
+        } catch (IOException e) {
+            delete();
+            throw GraknException.of(e);
+        }
+    }
+
+    ResourceIterator<ConceptMap> iterator() {
+        if (out == null) return iterate(buffered);
+        try {
+            out.close();
+            reader = new Spilled();
+            return iterate(buffered).link(reader);
+        } catch (IOException e) {
+            delete();
+            throw GraknException.of(e);
+        }
+    }
+
+    /**
+     * Deletes the spill of this buffer, closing the answers read from it if they have not been exhausted.
+     */
+    void close() {
+        if (reader != null) reader.recycle();
+        else delete();
+    }
+
+    private void delete() {
+        try {
+            if (out != null) out.close();
+            if (spill != null) Files.deleteIfExists(spill);
+        } catch (IOException e) {
+            throw GraknException.of(e);
+        } finally {
+            spilling.remove(this);
+        }
+    }
+
+    static void write(DataOutputStream out, ConceptMap answer) throws IOException {
+        out.writeInt(answer.concepts().size());
+        for (Map.Entry<Reference.Name, ? extends Concept> entry : answer.concepts().entrySet()) {
+            out.writeUTF(entry.getKey().name());
+            final Concept concept = entry.getValue();
+            if (concept.isThing()) {
+                final byte[] iid = concept.asThing().getIID();
+                out.writeByte(THING);
+                out.writeInt(iid.length);
+                out.write(iid);
+            } else if (concept.isType()) {
+                final Label label = concept.asType().getLabel();
+                out.writeByte(TYPE);
+                out.writeUTF(label.name());
+                out.writeBoolean(label.scope().isPresent());
+                if (label.scope().isPresent()) out.writeUTF(label.scope().get());
+            } else {
+                throw GraknException.of(ILLEGAL_STATE);
+            }
+        }
+    }
+
+    static ConceptMap read(DataInputStream in, ConceptManager conceptMgr) throws IOException {
+        final int size = in.readInt();
+        final Map<Reference.Name, Concept> concepts = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final Reference.Name name = Reference.named(in.readUTF());
+            final Concept concept;
+            if (in.readByte() == THING) {
+                final byte[] iid = new byte[in.readInt()];
+                in.readFully(iid);
+                concept = conceptMgr.getThing(iid);
+            } else {
+                final String labelName = in.readUTF();
+                final String scope = in.readBoolean() ? in.readUTF() : null;
+                concept = conceptMgr.getType(Label.of(labelName, scope));
+            }
+            if (concept == null) throw GraknException.of(ILLEGAL_STATE);
+            concepts.put(name, concept);
+        }
+        return new ConceptMap(concepts);
+    }
+
+    private class Spilled implements ResourceIterator<ConceptMap> {
+
+        private final DataInputStream in;
+        private long remaining;
+
+        private Spilled() throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(spill)));
+            this.remaining = spilled;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (remaining > 0) return true;
+            recycle();
+            return false;
+        }
+
+        @Override
+        public ConceptMap next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            try {
+                remaining--;
+                return read(in, conceptMgr);
+            } catch (IOException e) {
+                recycle();
+                throw GraknException.of(e);
+            }
+        }
+
+        @Override
+        public void recycle() {
+            remaining = 0;
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            } finally {
+                delete();
+            }
+        }
+    }
+}
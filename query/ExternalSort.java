@@ -0,0 +1,204 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.core.common.exception.GraknException;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.concept.ConceptManager;
+import grakn.core.concept.answer.ConceptMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static grakn.core.common.iterator.Iterators.iterate;
+
+/**
+ * Sorts answers that may not fit in memory. Answers are buffered up to a given number, and every full buffer is
+ * sorted and spilled to a temporary file as a run. The runs are then merged lazily, holding only the next answer of
+ * each run in memory. Answers are spilled in the encoding of {@link AnswerBuffer}.
+ *
+ * A sort belongs to one transaction, and its runs are deleted once they are merged, or when the iterator merging them
+ * is recycled. The runs of iterators that are abandoned are deleted when the transaction closes, or otherwise when the
+ * JVM exits.
+ */
+public class ExternalSort {
+
+    private final ConceptManager conceptMgr;
+    private final Set<Merger> mergers;
+
+    ExternalSort(ConceptManager conceptMgr) {
+        this.conceptMgr = conceptMgr;
+        this.mergers = ConcurrentHashMap.newKeySet();
+    }
+
+    ResourceIterator<ConceptMap> sort(ResourceIterator<ConceptMap> answers, Comparator<ConceptMap> comparator,
+                                      int bufferSize) {
+        final List<ConceptMap> buffer = new ArrayList<>();
+        final List<Path> runs = new ArrayList<>();
+        try {
+            while (answers.hasNext()) {
+                buffer.add(answers.next());
+                if (buffer.size() >= bufferSize) {
+                    runs.add(spill(buffer, comparator));
+                    buffer.clear();
+                }
+            }
+            buffer.sort(comparator);
+            if (runs.isEmpty()) return iterate(buffer);
+            if (!buffer.isEmpty()) runs.add(spill(buffer, comparator));
+            final Merger merger = new Merger(runs, comparator);
+            mergers.add(merger);
+            return merger;
+        } catch (IOException e) {
+            runs.forEach(ExternalSort::delete);
+            throw GraknException.of(e);
+        } catch (RuntimeException e) {
+            runs.forEach(ExternalSort::delete);
+            throw e;
+        }
+    }
+
+    /**
+     * Closes the runs of every iterator that has not been exhausted or recycled, and deletes them.
+     */
+    void close() {
+        mergers.forEach(Merger::recycle);
+    }
+
+    private static Path spill(List<ConceptMap> buffer, Comparator<ConceptMap> comparator) throws IOException {
+        buffer.sort(comparator);
+        final Path run = Files.createTempFile("grakn-sort-", ".run");
+        run.toFile().deleteOnExit();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run)))) {
+            for (ConceptMap answer : buffer) AnswerBuffer.write(out, answer);
+        }
+        return run;
+    }
+
+    private static void delete(Path run) {
+        try {
+            Files.deleteIfExists(run);
+        } catch (IOException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    private class Run {
+
+        private final Path path;
+        private final DataInputStream in;
+        private final int index;
+        private ConceptMap head;
+
+        Run(Path path, int index) throws IOException {
+            this.path = path;
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)));
+            this.index = index;
+        }
+
+        boolean advance() throws IOException {
+            try {
+                head = AnswerBuffer.read(in, conceptMgr);
+                return true;
+            } catch (EOFException e) {
+                close();
+                return false;
+            }
+        }
+
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                throw GraknException.of(e);
+            } finally {
+                delete(path);
+            }
+        }
+    }
+
+    /**
+     * Merges the sorted runs, taking the smallest head of all runs each time. Runs that compare equal are taken in
+     * the order they were spilled, so the sort is stable.
+     */
+    private class Merger implements ResourceIterator<ConceptMap> {
+
+        private final PriorityQueue<Run> heads;
+        private final List<Run> runs;
+
+        Merger(List<Path> paths, Comparator<ConceptMap> comparator) throws IOException {
+            heads = new PriorityQueue<>((run1, run2) -> {
+                final int comparison = comparator.compare(run1.head, run2.head);
+                return comparison != 0 ? comparison : Integer.compare(run1.index, run2.index);
+            });
+            runs = new ArrayList<>();
+            try {
+                for (int i = 0; i < paths.size(); i++) {
+                    final Run run = new Run(paths.get(i), i);
+                    runs.add(run);
+                    if (run.advance()) heads.add(run);
+                }
+            } catch (IOException | RuntimeException e) {
+                recycle();
+                for (int i = runs.size(); i < paths.size(); i++) delete(paths.get(i));
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public ConceptMap next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            final Run run = heads.poll();
+            final ConceptMap answer = run.head;
+            try {
+                if (run.advance()) heads.add(run);
+            } catch (IOException e) {
+                recycle();
+                throw GraknException.of(e);
+            }
+            if (heads.isEmpty()) recycle();
+            return answer;
+        }
+
+        @Override
+        public void recycle() {
+            heads.clear();
+            runs.forEach(Run::close);
+            mergers.remove(this);
+        }
+    }
+}
@@ -19,8 +19,12 @@
 package grakn.core.query;
 
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.iterator.Iterators;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Options;
+import grakn.core.common.producer.Producer;
+import grakn.core.common.producer.Producers;
+import grakn.core.concept.ConceptManager;
 import grakn.core.concept.answer.ConceptMap;
 import grakn.core.concept.answer.ConceptMapGroup;
 import grakn.core.concept.answer.Numeric;
@@ -28,6 +32,7 @@ import grakn.core.concept.answer.NumericGroup;
 import grakn.core.concept.thing.Attribute;
 import grakn.core.pattern.Disjunction;
 import grakn.core.reasoner.Reasoner;
+import grakn.core.traversal.Traversal;
 import grakn.core.traversal.common.Identifier;
 import graql.lang.common.GraqlArg;
 import graql.lang.common.GraqlToken;
@@ -36,12 +41,14 @@ import graql.lang.pattern.variable.UnboundVariable;
 import graql.lang.query.GraqlMatch;
 import graql.lang.query.builder.Sortable;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
@@ -50,7 +57,6 @@ import java.util.function.Supplier;
 import java.util.stream.Collector;
 
 import static grakn.common.collection.Collections.set;
-import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_OPERATION;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Internal.UNRECOGNISED_VALUE;
 import static grakn.core.common.exception.ErrorMessage.ThingRead.AGGREGATE_ATTRIBUTE_NOT_NUMBER;
@@ -65,41 +71,121 @@ import static java.util.stream.Collectors.groupingBy;
 public class Matcher {
 
     private final Reasoner reasoner;
+    private final ConceptManager conceptMgr;
     private final GraqlMatch query;
     private final Disjunction disjunction;
+    private final List<Traversal> traversals;
     private final List<Identifier.Variable.Name> filter;
     private final Options.Query options;
+    private final ExternalSort externalSort;
 
-    public Matcher(Reasoner reasoner, GraqlMatch query, Options.Query options) {
+    public Matcher(Reasoner reasoner, ConceptManager conceptMgr, ExternalSort externalSort, GraqlMatch query,
+                   Options.Query options) {
+        this(reasoner, conceptMgr, externalSort, query, Disjunction.create(query.conjunction().normalise()), null,
+             options);
+    }
+
+    private Matcher(Reasoner reasoner, ConceptManager conceptMgr, ExternalSort externalSort, GraqlMatch query,
+                    @Nullable Disjunction disjunction, @Nullable List<Traversal> traversals, Options.Query options) {
         this.reasoner = reasoner;
+        this.conceptMgr = conceptMgr;
+        this.externalSort = externalSort;
         this.query = query;
-        this.disjunction = Disjunction.create(query.conjunction().normalise());
+        this.disjunction = disjunction;
+        this.traversals = traversals;
         this.filter = iterate(query.filter()).map(v -> Identifier.Variable.of(v.reference().asName())).toList();
         this.options = options;
     }
 
-    public static Matcher create(Reasoner reasoner, GraqlMatch query, Options.Query options) {
-        return new Matcher(reasoner, query, options);
+    public static Matcher create(Reasoner reasoner, ConceptManager conceptMgr, ExternalSort externalSort,
+                                 GraqlMatch query, Options.Query options) {
+        return new Matcher(reasoner, conceptMgr, externalSort, query, options);
+    }
+
+    /**
+     * Creates a matcher of a query compiled from its template, whose traversals are bound to the literals of the
+     * query. It only executes the query, and returns no answers if they may be inferred, in which case the query has
+     * to be matched as it was written instead.
+     */
+    static Matcher create(Reasoner reasoner, ConceptManager conceptMgr, ExternalSort externalSort,
+                          QueryCache.Compiled compiled, QueryTemplate template, Options.Query options) {
+        return new Matcher(reasoner, conceptMgr, externalSort, compiled.query(), null,
+                           compiled.traversals(template::bind), options);
     }
 
-    public static Matcher.Aggregator create(Reasoner reasoner, GraqlMatch.Aggregate query, Options.Query options) {
-        Matcher matcher = new Matcher(reasoner, query.match(), options);
+    public static Matcher.Aggregator create(Reasoner reasoner, ConceptManager conceptMgr, ExternalSort externalSort,
+                                            GraqlMatch.Aggregate query, Options.Query options) {
+        Matcher matcher = new Matcher(reasoner, conceptMgr, externalSort, query.match(), options);
         return new Aggregator(matcher, query);
     }
 
-    public static Matcher.Group create(Reasoner reasoner, GraqlMatch.Group query, Options.Query options) {
-        Matcher matcher = new Matcher(reasoner, query.match(), options);
+    public static Matcher.Group create(Reasoner reasoner, ConceptManager conceptMgr, ExternalSort externalSort,
+                                       GraqlMatch.Group query, Options.Query options) {
+        Matcher matcher = new Matcher(reasoner, conceptMgr, externalSort, query.match(), options);
         return new Group(matcher, query);
     }
 
-    public static Matcher.Group.Aggregator create(Reasoner reasoner, GraqlMatch.Group.Aggregate query, Options.Query options) {
-        Matcher matcher = new Matcher(reasoner, query.group().match(), options);
+    public static Matcher.Group.Aggregator create(Reasoner reasoner, ConceptManager conceptMgr,
+                                                  ExternalSort externalSort, GraqlMatch.Group.Aggregate query,
+                                                  Options.Query options) {
+        Matcher matcher = new Matcher(reasoner, conceptMgr, externalSort, query.group().match(), options);
         Group group = new Group(matcher, query.group());
         return new Group.Aggregator(group, query);
     }
 
     public ResourceIterator<ConceptMap> execute(boolean isParallel) {
-        return filter(reasoner.execute(disjunction, filter, isParallel));
+        if (traversals != null) return executeCompiled(isParallel);
+        if (query.sort().isPresent() && query.sort().get().order() == GraqlArg.Order.ASC) {
+            Identifier.Variable.Name sortVar = Identifier.Variable.of(query.sort().get().var().reference().asName());
+            ResourceIterator<ConceptMap> sorted = reasoner.executeSorted(disjunction, filter, sortVar);
+            if (sorted != null) return offsetAndLimit(filter(sorted));
+        }
+        ResourceIterator<ConceptMap> answers = filter(reasoner.execute(disjunction, filter, isParallel));
+        if (query.sort().isPresent()) answers = sort(answers, query.sort().get());
+        return offsetAndLimit(answers);
+    }
+
+    @Nullable
+    private ResourceIterator<ConceptMap> executeCompiled(boolean isParallel) {
+        assert traversals != null;
+        if (traversals.size() == 1 && query.sort().isPresent() && query.sort().get().order() == GraqlArg.Order.ASC) {
+            Identifier.Variable.Name sortVar = Identifier.Variable.of(query.sort().get().var().reference().asName());
+            ResourceIterator<ConceptMap> sorted = reasoner.executeSorted(traversals.get(0), sortVar);
+            if (sorted != null) return offsetAndLimit(filter(sorted));
+        }
+        ResourceIterator<ConceptMap> answers = reasoner.execute(traversals, isParallel);
+        if (answers == null) return null;
+        answers = filter(answers);
+        if (query.sort().isPresent()) answers = sort(answers, query.sort().get());
+        return offsetAndLimit(answers);
+    }
+
+    /**
+     * Counts the answers without building them, from the statistics of the graph where they suffice, or returns
+     * null if the answers cannot be counted this way.
+     */
+    @Nullable
+    Long count(boolean isParallel) {
+        if (query.sort().isPresent() || query.offset().isPresent() || query.limit().isPresent()) return null;
+        return reasoner.count(disjunction, filter, options.exactCount(), isParallel);
+    }
+
+    /**
+     * Collects the answers as they are produced. In parallel, every worker of the producers accumulates the answers
+     * it produces into its own partial result, and the partial results are combined once all answers are produced.
+     * Sorted, offset or limited answers are collected from the answer iterator instead.
+     */
+    <A, R> R aggregate(Collector<ConceptMap, A, R> collector, boolean isParallel) {
+        if (!isParallel || query.sort().isPresent() || query.offset().isPresent() || query.limit().isPresent()) {
+            return execute(isParallel).stream().collect(collector);
+        }
+        List<Producer<ConceptMap>> producers = reasoner.producers(disjunction, filter);
+        if (!query.filter().isEmpty()) {
+            Set<Reference.Name> vars = iterate(query.filter()).map(f -> f.reference().asName()).toSet();
+            Set<ConceptMap> produced = ConcurrentHashMap.newKeySet();
+            producers = iterate(producers).map(p -> p.map(a -> a.filter(vars)).filter(produced::add)).toList();
+        }
+        return Producers.collect(producers, collector);
     }
 
     private ResourceIterator<ConceptMap> filter(ResourceIterator<ConceptMap> answers) {
@@ -107,14 +193,50 @@ public class Matcher {
             Set<Reference.Name> vars = iterate(query.filter()).map(f -> f.reference().asName()).toSet();
             answers = answers.map(a -> a.filter(vars)).distinct();
         }
-        if (query.sort().isPresent()) answers = sort(answers, query.sort().get());
+        return answers;
+    }
+
+    private ResourceIterator<ConceptMap> offsetAndLimit(ResourceIterator<ConceptMap> answers) {
         if (query.offset().isPresent()) answers = answers.offset(query.offset().get());
         if (query.limit().isPresent()) answers = answers.limit(query.limit().get());
         return answers;
     }
 
+    /**
+     * Sorts the answers that the traversal could not produce in sorted order. If the query has a limit within the
+     * sort buffer size, only the answers up to the offset plus the limit are kept in a bounded heap. Otherwise the
+     * answers are sorted in memory up to the sort buffer size, and beyond it by an external merge sort on disk.
+     */
     private ResourceIterator<ConceptMap> sort(ResourceIterator<ConceptMap> answers, Sortable.Sorting sorting) {
-        // TODO: Replace this temporary implementation of Graql Match Sort query with a native sorting traversal
+        Comparator<ConceptMap> comparator = comparator(sorting);
+        if (query.limit().isPresent()) {
+            long size = query.offset().orElse(0L) + query.limit().get();
+            if (size <= options.sortBufferSize()) return top(answers, comparator, (int) size);
+        }
+        return externalSort.sort(answers, comparator, options.sortBufferSize());
+    }
+
+    private static ResourceIterator<ConceptMap> top(ResourceIterator<ConceptMap> answers,
+                                                    Comparator<ConceptMap> comparator, int size) {
+        if (size == 0) {
+            answers.recycle();
+            return Iterators.empty();
+        }
+        PriorityQueue<ConceptMap> heap = new PriorityQueue<>(size, comparator.reversed());
+        answers.forEachRemaining(answer -> {
+            if (heap.size() < size) {
+                heap.add(answer);
+            } else if (comparator.compare(answer, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(answer);
+            }
+        });
+        List<ConceptMap> sorted = new ArrayList<>(heap);
+        sorted.sort(comparator);
+        return iterate(sorted);
+    }
+
+    private static Comparator<ConceptMap> comparator(Sortable.Sorting sorting) {
         Reference.Name var = sorting.var().reference().asName();
         Comparator<ConceptMap> comparator = (answer1, answer2) -> {
             Attribute att1, att2;
@@ -148,8 +270,7 @@ public class Matcher {
                 throw GraknException.of(ILLEGAL_STATE);
             }
         };
-        comparator = (sorting.order() == GraqlArg.Order.DESC) ? comparator.reversed() : comparator;
-        return iterate(answers.stream().sorted(comparator).iterator());
+        return (sorting.order() == GraqlArg.Order.DESC) ? comparator.reversed() : comparator;
     }
 
     public static class Aggregator {
@@ -163,18 +284,16 @@ public class Matcher {
         }
 
         public Numeric execute(boolean isParallel) {
-            ResourceIterator<ConceptMap> answers = matcher.execute(isParallel);
             GraqlToken.Aggregate.Method method = query.method();
-            UnboundVariable var = query.var();
-            return aggregate(answers, method, var);
-        }
-
-        static Numeric aggregate(ResourceIterator<ConceptMap> answers,
-                                 GraqlToken.Aggregate.Method method, UnboundVariable var) {
-            return answers.stream().collect(aggregator(method, var));
+            if (method == GraqlToken.Aggregate.Method.COUNT) {
+                Long count = matcher.count(isParallel);
+                if (count != null) return Numeric.ofLong(count);
+            }
+            return matcher.aggregate(aggregator(method, query.var(), matcher.options), isParallel);
         }
 
-        static Collector<ConceptMap, ?, Numeric> aggregator(GraqlToken.Aggregate.Method method, UnboundVariable var) {
+        static Collector<ConceptMap, ?, Numeric> aggregator(GraqlToken.Aggregate.Method method, UnboundVariable var,
+                                                            Options.Query options) {
             Collector<ConceptMap, ?, Numeric> aggregator;
             switch (method) {
                 case COUNT:
@@ -187,7 +306,7 @@ public class Matcher {
                     aggregator = mean(var);
                     break;
                 case MEDIAN:
-                    aggregator = median(var);
+                    aggregator = options.approximateMedian() ? approximateMedian(var) : median(var);
                     break;
                 case MIN:
                     aggregator = min(var);
@@ -328,7 +447,7 @@ public class Matcher {
 
                 @Override
                 public BinaryOperator<MedianCalculator> combiner() {
-                    return (t, u) -> { throw GraknException.of(ILLEGAL_OPERATION); };
+                    return MedianCalculator::merge;
                 }
 
                 @Override
@@ -343,6 +462,39 @@ public class Matcher {
             };
         }
 
+        static Collector<ConceptMap, ?, Numeric> approximateMedian(UnboundVariable var) {
+            return new Collector<ConceptMap, QuantileSketch, Numeric>() {
+
+                @Override
+                public Supplier<QuantileSketch> supplier() {
+                    return QuantileSketch::new;
+                }
+
+                @Override
+                public BiConsumer<QuantileSketch, ConceptMap> accumulator() {
+                    return (sketch, answer) -> sketch.accumulate(numeric(answer, var).asNumber().doubleValue());
+                }
+
+                @Override
+                public BinaryOperator<QuantileSketch> combiner() {
+                    return QuantileSketch::merge;
+                }
+
+                @Override
+                public Function<QuantileSketch, Numeric> finisher() {
+                    return sketch -> {
+                        if (sketch.count() == 0) return Numeric.ofNaN();
+                        else return Numeric.ofDouble(sketch.quantile(0.5));
+                    };
+                }
+
+                @Override
+                public Set<Characteristics> characteristics() {
+                    return set();
+                }
+            };
+        }
+
         static Collector<ConceptMap, ?, Numeric> min(UnboundVariable var) {
             return new Collector<ConceptMap, OptionalAccumulator<Numeric>, Numeric>() {
 
@@ -394,7 +546,7 @@ public class Matcher {
 
                 @Override
                 public BinaryOperator<STDCalculator> combiner() {
-                    return (t, u) -> { throw GraknException.of(ILLEGAL_OPERATION); };
+                    return STDCalculator::merge;
                 }
 
                 @Override
@@ -460,7 +612,7 @@ public class Matcher {
             else return Numeric.ofDouble(x.asDouble() + y.asDouble());
         }
 
-        private static class MedianCalculator {
+        static class MedianCalculator {
 
             PriorityQueue<Numeric> maxHeap; //lower half
             PriorityQueue<Numeric> minHeap; //higher half
@@ -479,6 +631,12 @@ public class Matcher {
                 }
             }
 
+            MedianCalculator merge(MedianCalculator other) {
+                other.maxHeap.forEach(this::accumulate);
+                other.minHeap.forEach(this::accumulate);
+                return this;
+            }
+
             Numeric median() {
                 if (maxHeap.isEmpty() && minHeap.isEmpty()) {
                     return Numeric.ofNaN();
@@ -497,7 +655,7 @@ public class Matcher {
          * https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Online_algorithm
          * // TODO: We may find a faster algorithm that does not cost so much as the division in the loop
          */
-        private static class STDCalculator {
+        static class STDCalculator {
             long n = 0;
             double mean = 0d, M2 = 0d;
 
@@ -509,6 +667,20 @@ public class Matcher {
                 M2 += delta * delta2;
             }
 
+            /**
+             * Combines the moments of two disjoint samples, as in the parallel algorithm of Chan et al.
+             * https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Parallel_algorithm
+             */
+            STDCalculator merge(STDCalculator other) {
+                if (other.n == 0) return this;
+                long total = n + other.n;
+                double delta = other.mean - mean;
+                M2 += other.M2 + delta * delta * ((double) n * other.n / total);
+                mean += delta * other.n / total;
+                n = total;
+                return this;
+            }
+
             Numeric std() {
                 if (n < 2) return Numeric.ofNaN();
                 else return Numeric.ofDouble(sqrt(M2 / (double) (n - 1)));
@@ -595,11 +767,10 @@ public class Matcher {
             }
 
             public ResourceIterator<NumericGroup> execute(boolean isParallel) {
-                // TODO: Replace this temporary implementation of Graql Match Group query with a native grouping traversal
                 List<NumericGroup> numericGroups = new ArrayList<>();
-                group.matcher.execute(isParallel).stream()
-                        .collect(groupingBy(a -> a.get(query.group().var()), aggregator(query.method(), query.var())))
-                        .forEach((o, n) -> numericGroups.add(new NumericGroup(o, n)));
+                group.matcher.aggregate(groupingBy(
+                        a -> a.get(query.group().var()), aggregator(query.method(), query.var(), group.matcher.options)
+                ), isParallel).forEach((o, n) -> numericGroups.add(new NumericGroup(o, n)));
                 return iterate(numericGroups);
             }
         }
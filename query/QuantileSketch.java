@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.core.common.exception.GraknException;
+
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static java.lang.Math.ceil;
+import static java.lang.Math.log;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+
+/**
+ * A mergeable sketch of the distribution of a stream of values, which answers quantiles with a bounded relative
+ * error instead of keeping every value. Values are counted in buckets whose bounds grow geometrically by
+ * {@code (1 + a) / (1 - a)}, for a relative accuracy {@code a}, so any value of a bucket is within {@code a} of
+ * the value that represents it. Positive and negative values are bucketed separately by their magnitude, and values
+ * too close to zero to be bucketed are counted as zero. Sketches are merged by adding up their bucket counts.
+ * https://arxiv.org/abs/1908.10693
+ */
+class QuantileSketch {
+
+    static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final double gamma;
+    private final double logGamma;
+    private final Buckets positives;
+    private final Buckets negatives;
+    private long zeros;
+
+    QuantileSketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    QuantileSketch(double relativeAccuracy) {
+        assert relativeAccuracy > 0 && relativeAccuracy < 1;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = log(gamma);
+        this.positives = new Buckets();
+        this.negatives = new Buckets();
+        this.zeros = 0;
+    }
+
+    void accumulate(double value) {
+        if (Double.isNaN(value)) return;
+        if (value >= Double.MIN_NORMAL) positives.add(index(value), 1);
+        else if (value <= -Double.MIN_NORMAL) negatives.add(index(-value), 1);
+        else zeros++;
+    }
+
+    QuantileSketch merge(QuantileSketch other) {
+        assert gamma == other.gamma;
+        positives.merge(other.positives);
+        negatives.merge(other.negatives);
+        zeros += other.zeros;
+        return this;
+    }
+
+    long count() {
+        return negatives.total + zeros + positives.total;
+    }
+
+    /**
+     * @param quantile between 0 and 1
+     * @return the value at the given quantile, or NaN if the sketch is empty
+     */
+    double quantile(double quantile) {
+        assert quantile >= 0 && quantile <= 1;
+        if (count() == 0) return Double.NaN;
+        long rank = (long) (quantile * (count() - 1));
+        if (rank < negatives.total) return -value(negatives.indexAtRank(negatives.total - 1 - rank));
+        else if (rank < negatives.total + zeros) return 0;
+        else return value(positives.indexAtRank(rank - negatives.total - zeros));
+    }
+
+    private int index(double magnitude) {
+        return (int) ceil(log(magnitude) / logGamma);
+    }
+
+    private double value(int index) {
+        return 2 * pow(gamma, index) / (gamma + 1);
+    }
+
+    /**
+     * Counts of a contiguous range of bucket indices, which grows to fit the indices that are added.
+     */
+    private static class Buckets {
+
+        private static final int INITIAL_SIZE = 128;
+
+        private long[] counts = new long[0];
+        private int offset = 0;
+        private long total = 0;
+
+        void add(int index, long count) {
+            if (counts.length == 0) {
+                counts = new long[INITIAL_SIZE];
+                offset = index - INITIAL_SIZE / 2;
+            } else if (index < offset || index >= offset + counts.length) {
+                grow(index);
+            }
+            counts[index - offset] += count;
+            total += count;
+        }
+
+        private void grow(int index) {
+            int first = min(index, offset), last = max(index, offset + counts.length - 1);
+            int size = max(last - first + 1, counts.length * 2);
+            int newOffset = index < offset ? last - size + 1 : first;
+            long[] grown = new long[size];
+            System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+            counts = grown;
+            offset = newOffset;
+        }
+
+        void merge(Buckets other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) add(other.offset + i, other.counts[i]);
+            }
+        }
+
+        int indexAtRank(long rank) {
+            assert rank < total;
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > rank) return offset + i;
+            }
+            throw GraknException.of(ILLEGAL_STATE);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.query;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertTrue;
+
+public class QuantileSketchTest {
+
+    private static final double[] QUANTILES = {0, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1};
+
+    private static List<Double> values(int count, long seed) {
+        Random random = new Random(seed);
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 50 == 0) values.add(0d);
+            else values.add((random.nextBoolean() ? 1 : -1) * Math.exp(random.nextGaussian() * 5));
+        }
+        return values;
+    }
+
+    @Test
+    public void merged_sketches_answer_the_same_quantiles_as_a_single_sketch() {
+        List<Double> values = values(10_000, 0);
+        QuantileSketch single = new QuantileSketch();
+        values.forEach(single::accumulate);
+
+        QuantileSketch merged = new QuantileSketch();
+        for (int part = 0; part < 7; part++) {
+            QuantileSketch partial = new QuantileSketch();
+            for (int i = part; i < values.size(); i += 7) partial.accumulate(values.get(i));
+            merged.merge(partial);
+        }
+        merged.merge(new QuantileSketch());
+
+        assertEquals(single.count(), merged.count());
+        for (double quantile : QUANTILES) {
+            assertEquals(single.quantile(quantile), merged.quantile(quantile));
+        }
+    }
+
+    @Test
+    public void quantiles_are_within_the_relative_accuracy_of_the_exact_quantiles() {
+        List<Double> values = values(10_000, 1);
+        QuantileSketch sketch = new QuantileSketch();
+        values.forEach(sketch::accumulate);
+
+        List<Double> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        for (double quantile : QUANTILES) {
+            double exact = sorted.get((int) (quantile * (sorted.size() - 1)));
+            double approximate = sketch.quantile(quantile);
+            assertTrue(Math.abs(approximate - exact) <= QuantileSketch.DEFAULT_RELATIVE_ACCURACY * Math.abs(exact));
+        }
+    }
+
+    @Test
+    public void empty_sketches_have_no_quantiles() {
+        assertTrue(Double.isNaN(new QuantileSketch().quantile(0.5)));
+        assertTrue(Double.isNaN(new QuantileSketch().merge(new QuantileSketch()).quantile(0.5)));
+    }
+}
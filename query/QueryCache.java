@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.core.common.cache.CommonCache;
+import grakn.core.logic.LogicManager;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
+import grakn.core.traversal.Traversal;
+import grakn.core.traversal.common.Identifier;
+import graql.lang.Graql;
+import graql.lang.query.GraqlMatch;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+import static grakn.core.common.iterator.Iterators.iterate;
+
+/**
+ * Caches the match queries of a database compiled from their templates, so that a query that only differs from an
+ * earlier one by its literals is neither parsed nor type resolved again, and is executed from the traversals of the
+ * earlier one with its own literals bound to them. As the types the traversals are resolved to depend on the schema,
+ * the cache is dropped with the rest of the database cache whenever the schema is committed. A template that cannot
+ * be compiled is cached as such, and its queries are matched as they were written.
+ */
+public class QueryCache {
+
+    private final CommonCache<String, Optional<Compiled>> compiledCache;
+
+    public QueryCache() {
+        compiledCache = new CommonCache<>();
+    }
+
+    public QueryCache(int size, int timeOutMinutes) {
+        compiledCache = new CommonCache<>(size, timeOutMinutes);
+    }
+
+    Optional<Compiled> compiled(QueryTemplate template, LogicManager logicMgr) {
+        return compiledCache.get(template.text(), text -> Compiled.of(template, logicMgr));
+    }
+
+    /**
+     * A match query parsed from a template, with a traversal resolved from each of its conjunctions. Only queries
+     * without negations compile, as negations are matched against the answers of their conjunction, and only if every
+     * conjunction is satisfiable and every literal of the template is a parameter value of the traversals.
+     */
+    static class Compiled {
+
+        private final GraqlMatch query;
+        private final List<Traversal> traversals;
+
+        private Compiled(GraqlMatch query, List<Traversal> traversals) {
+            this.query = query;
+            this.traversals = traversals;
+        }
+
+        private static Optional<Compiled> of(QueryTemplate template, LogicManager logicMgr) {
+            GraqlMatch query;
+            Disjunction disjunction;
+            List<Traversal> traversals = new ArrayList<>();
+            try {
+                query = Graql.parseQuery(template.text()).asMatch();
+                disjunction = Disjunction.create(query.conjunction().normalise());
+                if (iterate(disjunction.conjunctions()).anyMatch(conj -> !conj.negations().isEmpty())) {
+                    return Optional.empty();
+                }
+                List<Identifier.Variable.Name> filter = iterate(query.filter())
+                        .map(v -> Identifier.Variable.of(v.reference().asName())).toList();
+                for (Conjunction conjunction : disjunction.conjunctions()) {
+                    if (!logicMgr.typeResolver().resolve(conjunction).isSatisfiable()) return Optional.empty();
+                    traversals.add(conjunction.traversal(filter));
+                }
+            } catch (Exception e) {
+                // the query is matched as it was written instead, which reports the error against its own literals
+                return Optional.empty();
+            }
+
+            BitSet bound = new BitSet(template.literals());
+            traversals.forEach(traversal -> traversal.bind(value -> {
+                int index = template.index(value);
+                if (index >= 0) bound.set(index);
+                return value;
+            }));
+            if (bound.cardinality() != template.literals()) return Optional.empty();
+            // the structures split themselves into graphs once, here, rather than in concurrent executions
+            traversals.forEach(traversal -> traversal.structure().asGraphs());
+            return Optional.of(new Compiled(query, traversals));
+        }
+
+        GraqlMatch query() {
+            return query;
+        }
+
+        List<Traversal> traversals(UnaryOperator<Traversal.Parameters.Value> binder) {
+            return iterate(traversals).map(traversal -> traversal.bind(binder)).toList();
+        }
+    }
+}
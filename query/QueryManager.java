@@ -29,6 +29,7 @@ import grakn.core.concept.answer.Numeric;
 import grakn.core.concept.answer.NumericGroup;
 import grakn.core.logic.LogicManager;
 import grakn.core.reasoner.Reasoner;
+import graql.lang.Graql;
 import graql.lang.query.GraqlDefine;
 import graql.lang.query.GraqlDelete;
 import graql.lang.query.GraqlInsert;
@@ -37,7 +38,11 @@ import graql.lang.query.GraqlUndefine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static grabl.tracing.client.GrablTracingThreadStatic.traceOnThread;
 import static grakn.common.collection.Collections.list;
@@ -54,12 +59,46 @@ public class QueryManager {
     private final Reasoner reasoner;
     private final ConceptManager conceptMgr;
     private final Context.Transaction transactionCtx;
+    private final QueryCache queryCache;
+    private final ExternalSort externalSort;
+    private final Set<AnswerBuffer> answerBuffers;
 
-    public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner, Context.Transaction transactionCtx) {
+    public QueryManager(ConceptManager conceptMgr, LogicManager logicMgr, Reasoner reasoner,
+                        Context.Transaction transactionCtx, QueryCache queryCache) {
         this.conceptMgr = conceptMgr;
         this.logicMgr = logicMgr;
         this.reasoner = reasoner;
         this.transactionCtx = transactionCtx;
+        this.queryCache = queryCache;
+        this.externalSort = new ExternalSort(conceptMgr);
+        this.answerBuffers = ConcurrentHashMap.newKeySet();
+    }
+
+    public ResourceIterator<ConceptMap> match(String query, Options.Query options) {
+        return match(query, true, options);
+    }
+
+    /**
+     * Matches a query from its text, which is compiled once for every query that only differs from it by its string
+     * and long literals, unless the query cache is disabled or the schema may be written by the transaction. The
+     * query is parsed and matched as it was written whenever it does not compile, or its answers may be inferred.
+     */
+    public ResourceIterator<ConceptMap> match(String query, boolean isParallel, Options.Query options) {
+        if (options.queryCache() && !transactionCtx.isSchemaWrite()) {
+            try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match-compiled")) {
+                QueryTemplate template = QueryTemplate.of(query);
+                Optional<QueryCache.Compiled> compiled = queryCache.compiled(template, logicMgr);
+                if (compiled.isPresent()) {
+                    ResourceIterator<ConceptMap> answers = Matcher.create(
+                            reasoner, conceptMgr, externalSort, compiled.get(), template, options
+                    ).execute(isParallel);
+                    if (answers != null) return answers.onError(conceptMgr::exception);
+                }
+            } catch (Exception exception) {
+                throw conceptMgr.exception(exception);
+            }
+        }
+        return match(Graql.parseQuery(query).asMatch(), isParallel, options);
     }
 
     public ResourceIterator<ConceptMap> match(GraqlMatch query) {
@@ -77,7 +116,7 @@ public class QueryManager {
     public ResourceIterator<ConceptMap> match(GraqlMatch query, boolean isParallel, Options.Query options) {
         // TODO: Note that Query Options are not yet utilised during match query
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match")) {
-            return Matcher.create(reasoner, query, options).execute(isParallel).onError(conceptMgr::exception);
+            return Matcher.create(reasoner, conceptMgr, externalSort, query, options).execute(isParallel).onError(conceptMgr::exception);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
@@ -97,7 +136,7 @@ public class QueryManager {
 
     public Numeric match(GraqlMatch.Aggregate query, boolean isParallel, Options.Query options) {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match-aggregate")) {
-            return Matcher.create(reasoner, query, options).execute(isParallel);
+            return Matcher.create(reasoner, conceptMgr, externalSort, query, options).execute(isParallel);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
@@ -117,7 +156,7 @@ public class QueryManager {
 
     public ResourceIterator<ConceptMapGroup> match(GraqlMatch.Group query, boolean isParallel, Options.Query options) {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match-group")) {
-            return Matcher.create(reasoner, query, options).execute(isParallel).onError(conceptMgr::exception);
+            return Matcher.create(reasoner, conceptMgr, externalSort, query, options).execute(isParallel).onError(conceptMgr::exception);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
@@ -137,7 +176,7 @@ public class QueryManager {
 
     public ResourceIterator<NumericGroup> match(GraqlMatch.Group.Aggregate query, boolean isParallel, Options.Query options) {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "match-group-aggregate")) {
-            return Matcher.create(reasoner, query, options).execute(isParallel).onError(conceptMgr::exception);
+            return Matcher.create(reasoner, conceptMgr, externalSort, query, options).execute(isParallel).onError(conceptMgr::exception);
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
@@ -152,10 +191,16 @@ public class QueryManager {
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "insert")) {
             final Context.Query context = new Context.Query(transactionCtx, options);
             if (query.match().isPresent()) {
-                List<ConceptMap> matched = match(query.match().get(), options).toList();
-                return iterate(iterate(matched).map(answer -> Inserter.create(
-                        conceptMgr, query.variables(), answer, context
-                ).execute()).toList());
+                final AnswerBuffer inserted = new AnswerBuffer(options.matchBufferSize(), conceptMgr, answerBuffers);
+                try {
+                    write(match(query.match().get(), options), options, matched -> Inserter.create(
+                            conceptMgr, query.variables(), matched, context
+                    ).execute(), inserted::add);
+                    return inserted.iterator();
+                } catch (Exception exception) {
+                    inserted.close();
+                    throw exception;
+                }
             } else {
                 return iterate(list(Inserter.create(conceptMgr, query.variables(), context).execute()));
             }
@@ -172,13 +217,34 @@ public class QueryManager {
         if (transactionCtx.sessionType().isSchema()) throw conceptMgr.exception(SESSION_SCHEMA_VIOLATION);
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "delete")) {
             final Context.Query context = new Context.Query(transactionCtx, options);
-            final List<ConceptMap> matched = match(query.match(), options).toList();
-            matched.forEach(existing -> Deleter.create(conceptMgr, query.variables(), existing, context).execute());
+            write(match(query.match(), options), options, existing -> {
+                Deleter.create(conceptMgr, query.variables(), existing, context).execute();
+                return existing;
+            }, existing -> {});
         } catch (Exception exception) {
             throw conceptMgr.exception(exception);
         }
     }
 
+    /**
+     * Writes every matched answer, once all answers are matched, so that the writes never feed back into the match.
+     * The matched answers are held in an {@link AnswerBuffer}, which spills them to disk beyond the match buffer
+     * size, and deleted once they are written or the writes fail. Only the match runs in parallel: the answers are
+     * written one after another on the calling thread, as writes to the same transaction check and update the same
+     * concepts, such as the keys an inserted thing owns or the things that are deleted.
+     */
+    private void write(ResourceIterator<ConceptMap> matches, Options.Query options,
+                       Function<ConceptMap, ConceptMap> writeFn, Consumer<ConceptMap> writtenFn) {
+        final AnswerBuffer matched = new AnswerBuffer(options.matchBufferSize(), conceptMgr, answerBuffers);
+        try {
+            matches.forEachRemaining(matched::add);
+            matched.iterator().forEachRemaining(answer -> writtenFn.accept(writeFn.apply(answer)));
+        } finally {
+            matches.recycle();
+            matched.close();
+        }
+    }
+
     public void define(GraqlDefine query) {
         if (transactionCtx.sessionType().isData()) throw conceptMgr.exception(SESSION_DATA_VIOLATION);
         try (ThreadTrace ignored = traceOnThread(TRACE_PREFIX + "define")) {
@@ -196,4 +262,13 @@ public class QueryManager {
             throw conceptMgr.exception(exception);
         }
     }
+
+    /**
+     * Releases the resources held by the answers of queries that have not been consumed, such as the runs spilled by
+     * external sorts and the answers spilled by match-insert queries, when the transaction closes.
+     */
+    public void close() {
+        externalSort.close();
+        answerBuffers.forEach(AnswerBuffer::close);
+    }
 }
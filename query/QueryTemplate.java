@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.core.traversal.Traversal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * The text of a query with its string and long literals replaced by placeholders, which is the same for every query
+ * that only differs from it by those literals, and the literals it was made from. A placeholder is a literal of the
+ * same kind that a query cannot be expected to contain: a string of the index of the literal between two private use
+ * characters, or a long counting up from {@code Long.MIN_VALUE + 1}. The template of a query that does contain one is
+ * the query itself. The longs of {@code limit} and {@code offset}, the strings of {@code regex}, that are part of the
+ * schema rather than a predicate, and strings with escape sequences are not replaced, nor are literals of any other
+ * kind.
+ */
+class QueryTemplate {
+
+    private static final int MAX_LITERALS = 1_024;
+    private static final char STRING_PLACEHOLDER = '\uE000';
+    private static final long LONG_PLACEHOLDER = Long.MIN_VALUE + 1;
+    private static final String[] UNPARAMETERISED = {"limit", "offset", "regex"};
+
+    private final String text;
+    private final List<Object> literals;
+
+    private QueryTemplate(String text, List<Object> literals) {
+        this.text = text;
+        this.literals = literals;
+    }
+
+    static QueryTemplate of(String query) {
+        StringBuilder text = new StringBuilder(query.length());
+        List<Object> literals = new ArrayList<>();
+        boolean hasPlaceholder = false;
+        String word = null;
+        int i = 0;
+        while (i < query.length()) {
+            char c = query.charAt(i);
+            int end;
+            if (c == '#') {
+                end = query.indexOf('\n', i);
+                if (end < 0) end = query.length();
+                text.append(query, i, end);
+            } else if (c == '"' || c == '\'') {
+                end = i + 1;
+                while (end < query.length() && query.charAt(end) != c) end += query.charAt(end) == '\\' ? 2 : 1;
+                end = Math.min(end + 1, query.length());
+                String value = query.substring(i + 1, end - 1);
+                if (value.indexOf(STRING_PLACEHOLDER) >= 0) hasPlaceholder = true;
+                if (isParameterisable(word) && value.indexOf('\\') < 0 && literals.size() < MAX_LITERALS) {
+                    text.append('"').append(stringPlaceholder(literals.size())).append('"');
+                    literals.add(value);
+                } else {
+                    text.append(query, i, end);
+                }
+                word = null;
+            } else if (c == '$' || isWordStart(c)) {
+                end = i + 1;
+                while (end < query.length() && isWordPart(query.charAt(end))) end++;
+                text.append(query, i, end);
+                word = c == '$' ? null : query.substring(i, end);
+            } else if (isDigit(c) || (c == '-' || c == '+') && i + 1 < query.length() && isDigit(query.charAt(i + 1))) {
+                // a number runs on into the digits, signs, dots and colons of the doubles and dates it may be part of
+                end = i + 1;
+                while (end < query.length() && (isWordPart(query.charAt(end)) || query.charAt(end) == '.' ||
+                        query.charAt(end) == ':' || query.charAt(end) == '+')) end++;
+                Long value = longValue(query.substring(i, end));
+                if (value != null && value >= LONG_PLACEHOLDER && value < LONG_PLACEHOLDER + MAX_LITERALS) {
+                    hasPlaceholder = true;
+                }
+                if (value != null && isParameterisable(word) && literals.size() < MAX_LITERALS) {
+                    text.append(' ').append(longPlaceholder(literals.size()));
+                    literals.add(value);
+                } else {
+                    text.append(query, i, end);
+                }
+                word = null;
+            } else {
+                end = i + 1;
+                text.append(c);
+                if (!Character.isWhitespace(c)) word = null;
+            }
+            i = end;
+        }
+        if (hasPlaceholder) return new QueryTemplate(query, new ArrayList<>());
+        else return new QueryTemplate(text.toString(), literals);
+    }
+
+    private static boolean isParameterisable(String previousWord) {
+        if (previousWord == null) return true;
+        for (String word : UNPARAMETERISED) {
+            if (word.equals(previousWord)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWordStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private static boolean isWordPart(char c) {
+        return isWordStart(c) || Character.isDigit(c) || c == '-';
+    }
+
+    private static Long longValue(String token) {
+        int start = token.charAt(0) == '-' || token.charAt(0) == '+' ? 1 : 0;
+        for (int i = start; i < token.length(); i++) {
+            if (!isDigit(token.charAt(i))) return null;
+        }
+        try {
+            return Long.parseLong(token);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String stringPlaceholder(int index) {
+        return STRING_PLACEHOLDER + Integer.toString(index) + STRING_PLACEHOLDER;
+    }
+
+    private static long longPlaceholder(int index) {
+        return LONG_PLACEHOLDER + index;
+    }
+
+    String text() {
+        return text;
+    }
+
+    int literals() {
+        return literals.size();
+    }
+
+    /**
+     * @return the index of the literal the value of a traversal built from this template is a placeholder for, or -1
+     * if it is not a placeholder
+     */
+    int index(Traversal.Parameters.Value value) {
+        if (value.isLong()) {
+            long index = value.getLong() - LONG_PLACEHOLDER;
+            if (value.getLong() < LONG_PLACEHOLDER || index >= literals.size()) return -1;
+            return literals.get((int) index) instanceof Long ? (int) index : -1;
+        } else if (value.isString()) {
+            return index(value.getString());
+        } else if (value.isRegex()) {
+            return index(value.getRegex().pattern());
+        } else {
+            return -1;
+        }
+    }
+
+    private int index(String value) {
+        if (value.length() < 3 || value.charAt(0) != STRING_PLACEHOLDER ||
+                value.charAt(value.length() - 1) != STRING_PLACEHOLDER) return -1;
+        try {
+            int index = Integer.parseInt(value.substring(1, value.length() - 1));
+            return index >= 0 && index < literals.size() && literals.get(index) instanceof String ? index : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Binds the value of a traversal built from this template, or from another template of the same text, to the
+     * literal of this template that it is a placeholder for.
+     */
+    Traversal.Parameters.Value bind(Traversal.Parameters.Value value) {
+        int index = index(value);
+        if (index < 0) return value;
+        Object literal = literals.get(index);
+        if (value.isLong()) return new Traversal.Parameters.Value((long) literal);
+        else if (value.isRegex()) return new Traversal.Parameters.Value(Pattern.compile((String) literal));
+        else return new Traversal.Parameters.Value((String) literal);
+    }
+}
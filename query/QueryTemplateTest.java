@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.core.traversal.Traversal;
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNotSame;
+import static junit.framework.TestCase.assertSame;
+
+public class QueryTemplateTest {
+
+    @Test
+    public void queries_that_differ_by_string_and_long_literals_have_the_same_template() {
+        QueryTemplate template1 = QueryTemplate.of("match $x isa person, has name \"alice\", has age 30;");
+        QueryTemplate template2 = QueryTemplate.of("match $x isa person, has name 'bob', has age 4;");
+        assertEquals(template1.text(), template2.text());
+        assertEquals(2, template1.literals());
+        assertEquals(2, template2.literals());
+    }
+
+    @Test
+    public void other_literals_and_modifiers_stay_in_the_template() {
+        String query = "match $x isa event-2, has score 1.5, has date 2020-01-01T10:00:00, has flag true, " +
+                "has ref 0x966e80018000000000000000; $t regex \"a.*\"; sort $x; offset 10; limit 20;";
+        QueryTemplate template = QueryTemplate.of(query);
+        assertEquals(query, template.text());
+        assertEquals(0, template.literals());
+    }
+
+    @Test
+    public void placeholders_are_bound_to_the_literals_of_the_query() {
+        QueryTemplate template = QueryTemplate.of("match $x has name like \"^a.*\", has age 30;");
+        QueryTemplate other = QueryTemplate.of("match $x has name like \"^b.*\", has age 40;");
+        Traversal.Parameters.Value regex = new Traversal.Parameters.Value(Pattern.compile("\uE0000\uE000"));
+        Traversal.Parameters.Value age = new Traversal.Parameters.Value(Long.MIN_VALUE + 2);
+        assertEquals(0, template.index(regex));
+        assertEquals(1, template.index(age));
+        assertEquals("^b.*", other.bind(regex).getRegex().pattern());
+        assertEquals(40L, (long) other.bind(age).getLong());
+
+        Traversal.Parameters.Value value = new Traversal.Parameters.Value(30L);
+        assertSame(value, other.bind(value));
+        assertNotSame(age, other.bind(age));
+    }
+
+    @Test
+    public void a_query_containing_a_placeholder_is_its_own_template() {
+        String query = "match $x has age " + (Long.MIN_VALUE + 1) + ", has name \"carol\";";
+        QueryTemplate template = QueryTemplate.of(query);
+        assertEquals(query, template.text());
+        assertEquals(0, template.literals());
+    }
+}
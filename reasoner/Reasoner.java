@@ -30,28 +30,44 @@ import grakn.core.common.producer.Producers;
 import grakn.core.concept.Concept;
 import grakn.core.concept.ConceptManager;
 import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graph.DataGraph;
+import grakn.core.graph.vertex.TypeVertex;
 import grakn.core.logic.LogicManager;
+import grakn.core.logic.Rule;
 import grakn.core.pattern.Conjunction;
 import grakn.core.pattern.Disjunction;
+import grakn.core.pattern.constraint.thing.IsaConstraint;
+import grakn.core.pattern.variable.ThingVariable;
 import grakn.core.pattern.variable.Variable;
 import grakn.core.reasoner.resolution.ResolutionRecorder;
 import grakn.core.reasoner.resolution.ResolverRegistry;
+import grakn.core.traversal.Traversal;
 import grakn.core.traversal.TraversalEngine;
 import grakn.core.traversal.common.Identifier;
+import grakn.core.traversal.common.VertexMap;
+import graql.lang.pattern.variable.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collector;
 
 import static grakn.common.collection.Collections.list;
+import static grakn.common.collection.Collections.set;
 import static grakn.core.common.concurrent.ExecutorService.PARALLELISATION_FACTOR;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Pattern.UNSATISFIABLE_CONJUNCTION;
 import static grakn.core.common.exception.ErrorMessage.ThingRead.CONTRADICTORY_BOUND_VARIABLE;
 import static grakn.core.common.iterator.Iterators.iterate;
-import static grakn.core.common.iterator.Iterators.link;
+import static grakn.core.common.iterator.Iterators.tree;
 import static grakn.core.common.producer.Producers.iterable;
+import static grakn.core.graph.util.Encoding.Edge.Type.SUB;
+import static java.util.stream.Collectors.counting;
+import static java.util.stream.Collectors.toSet;
 
 public class Reasoner {
     private static final Logger LOG = LoggerFactory.getLogger(Reasoner.class);
@@ -61,16 +77,24 @@ public class Reasoner {
     private final LogicManager logicMgr;
     private final Context.Transaction context;
     private final ResolverRegistry resolverRegistry;
+    private final boolean mayInfer;
     private final Actor<ResolutionRecorder> resolutionRecorder; // for explanations
 
-    public Reasoner(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr, Context.Transaction context) {
+    public Reasoner(TraversalEngine traversalEng, ConceptManager conceptMgr, LogicManager logicMgr,
+                    Context.Transaction context, ReasonerCache reasonerCache) {
         this.conceptMgr = conceptMgr;
         this.traversalEng = traversalEng;
         this.logicMgr = logicMgr;
         this.context = context;
+        // the rules cannot change in a transaction that infers, as schema write transactions never do
+        this.mayInfer = !context.isSchemaWrite() && context.options().infer() && hasRules(logicMgr);
         this.resolutionRecorder = Actor.create(ExecutorService.eventLoopGroup(), ResolutionRecorder::new);
+        // only read transactions see no data of their own, so only their answers hold for others of their snapshot
+        final boolean isTabled = context.transactionType().isRead() && context.options().reasonerCache();
+        final ReasonerCache.Snapshot answerTable = isTabled
+                ? reasonerCache.snapshot(traversalEng.graph().data().stats().snapshot()) : null;
         this.resolverRegistry = new ResolverRegistry(
-                ExecutorService.eventLoopGroup(), resolutionRecorder, traversalEng, conceptMgr, logicMgr
+                ExecutorService.eventLoopGroup(), resolutionRecorder, traversalEng, conceptMgr, logicMgr, answerTable
         );
     }
 
@@ -81,6 +105,182 @@ public class Reasoner {
         else return iterable(conjunctions.flatMap(conj -> producers(conj, filter)).toList()).iterator();
     }
 
+    /**
+     * Returns the answers of the traversals of conjunctions that are already resolved and satisfiable, and have no
+     * negations, or null if answers may be inferred, as they are only resolved from the conjunctions themselves.
+     */
+    @Nullable
+    public ResourceIterator<ConceptMap> execute(List<Traversal> traversals, boolean isParallel) {
+        if (mayInfer()) return null;
+        if (!isParallel) {
+            return iterate(traversals).flatMap(traversal -> traversalEng.iterator(traversal).map(conceptMgr::conceptMap));
+        } else {
+            return iterable(iterate(traversals).map(
+                    traversal -> traversalEng.producer(traversal, PARALLELISATION_FACTOR).map(conceptMgr::conceptMap)
+            ).toList()).iterator();
+        }
+    }
+
+    /**
+     * Returns the producers of the answers of every conjunction of the disjunction, to be consumed together.
+     */
+    public List<Producer<ConceptMap>> producers(Disjunction disjunction, List<Identifier.Variable.Name> filter) {
+        return iterate(disjunction.conjunctions()).flatMap(conj -> producers(conj, filter)).toList();
+    }
+
+    /**
+     * Counts the answers straight from the traversals, without building a ConceptMap for each answer, or returns
+     * null if the answers cannot be counted this way, because they may be inferred or be filtered by negations.
+     * Traversal answers are only deduplicated when a filter does not retrieve every named variable, in which case
+     * only the vertices of the filtered variables are kept, as the matched answers would be. The answers of a
+     * single {@code isa} or {@code has} are counted from the statistics of the graph instead, unless their counts
+     * are not exact and an exact count is required.
+     */
+    @Nullable
+    public Long count(Disjunction disjunction, List<Identifier.Variable.Name> filter, boolean isExact,
+                      boolean isParallel) {
+        if (mayInfer() || iterate(disjunction.conjunctions()).anyMatch(conj -> !conj.negations().isEmpty())) {
+            return null;
+        }
+
+        List<Conjunction> conjunctions = new ArrayList<>();
+        for (Conjunction conjunction : disjunction.conjunctions()) {
+            final Conjunction conj = logicMgr.typeResolver().resolve(conjunction);
+            if (conj.isSatisfiable()) {
+                conjunctions.add(conj);
+            } else if (!filter.isEmpty() && iterate(filter).anyMatch(id -> conj.variable(id).isThing()) ||
+                    iterate(conjunction.variables()).anyMatch(Variable::isThing)) {
+                throw GraknException.of(UNSATISFIABLE_CONJUNCTION, conjunction);
+            }
+        }
+
+        if (disjunction.conjunctions().size() == 1 && conjunctions.size() == 1) {
+            final Long count = countFromStatistics(conjunctions.get(0), filter, isExact);
+            if (count != null) return count;
+        }
+
+        final List<Traversal> traversals = iterate(conjunctions).map(conj -> conj.traversal(filter)).toList();
+        final boolean isDistinct = disjunction.conjunctions().size() == 1 && iterate(conjunctions).allMatch(
+                conj -> filter.containsAll(
+                        iterate(conj.variables()).map(Variable::id).filter(Identifier::isNamedReference).toSet()
+                )
+        );
+        if (filter.isEmpty() || isDistinct) {
+            return collect(traversals, vertices -> vertices, counting(), isParallel);
+        } else {
+            final Set<Reference.Name> references = iterate(filter).map(Identifier.Variable.Name::reference).toSet();
+            return (long) collect(traversals, vertices -> vertices.filter(references), toSet(), isParallel).size();
+        }
+    }
+
+    /**
+     * Counts the answers of a conjunction of a single thing that only has an {@code isa}, or of an owner that only
+     * has an {@code isa} and a {@code has} of an attribute that only has an {@code isa}, where every type is given
+     * by its label, from the vertex and has edge counts of the statistics. Returns null for any other conjunction.
+     */
+    @Nullable
+    private Long countFromStatistics(Conjunction conjunction, List<Identifier.Variable.Name> filter, boolean isExact) {
+        final Set<ThingVariable> things = iterate(conjunction.variables())
+                .filter(Variable::isThing).map(Variable::asThing).toSet();
+        final boolean isOnlyLabelled = iterate(conjunction.variables()).filter(Variable::isType).allMatch(
+                type -> type.reference().isLabel() && type.constraints().size() == 1 &&
+                        type.asType().label().isPresent()
+        );
+        if (!isOnlyLabelled || !iterate(things).allMatch(thing -> thing.id().isNamedReference()) ||
+                !filter.isEmpty() && !filter.containsAll(iterate(things).map(Variable::id).toSet())) {
+            return null;
+        }
+
+        final DataGraph.Statistics statistics = traversalEng.graph().data().stats();
+        if (things.size() == 1) {
+            final ThingVariable thing = things.iterator().next();
+            if (thing.constraints().size() != 1 || !thing.isa().isPresent()) return null;
+            final Set<TypeVertex> types = isaTypes(thing.isa().get());
+            if (types == null) return null;
+            if (isExact && iterate(types).anyMatch(TypeVertex::isAttributeType) &&
+                    !statistics.isAttributeCountExact()) return null;
+            return statistics.thingVertexSum(types.stream());
+        } else if (things.size() == 2) {
+            final ThingVariable owner = iterate(things).filter(thing -> !thing.has().isEmpty()).firstOrNull();
+            if (owner == null || owner.constraints().size() != 2 || owner.has().size() != 1 ||
+                    !owner.isa().isPresent()) return null;
+            final ThingVariable attribute = owner.has().iterator().next().attribute();
+            if (attribute.constraints().size() != 1 || !attribute.isa().isPresent()) return null;
+            final Set<TypeVertex> ownerTypes = isaTypes(owner.isa().get());
+            final Set<TypeVertex> attributeTypes = isaTypes(attribute.isa().get());
+            if (ownerTypes == null || attributeTypes == null) return null;
+            if (isExact && !statistics.isAttributeCountExact()) return null;
+            // has edges are counted by their concrete attribute types, which the root attribute type never is
+            final TypeVertex rootAttributeType = traversalEng.graph().schema().rootAttributeType();
+            final Set<TypeVertex> ownedTypes = iterate(attributeTypes)
+                    .filter(type -> !type.equals(rootAttributeType)).toSet();
+            return ownerTypes.stream().mapToLong(ownerType -> statistics.hasEdgeSum(ownerType, ownedTypes)).sum();
+        } else {
+            return null;
+        }
+    }
+
+    @Nullable
+    private Set<TypeVertex> isaTypes(IsaConstraint isa) {
+        final TypeVertex type = traversalEng.graph().schema().getType(isa.type().label().get().properLabel());
+        if (type == null) return null;
+        else if (isa.isExplicit()) return set(type);
+        else return tree(type, t -> t.ins().edge(SUB).from()).toSet();
+    }
+
+    private <T, A, R> R collect(List<Traversal> traversals, Function<VertexMap, T> mappingFn,
+                                Collector<? super T, A, R> collector, boolean isParallel) {
+        if (isParallel) {
+            return Producers.collect(iterate(traversals).map(
+                    traversal -> traversalEng.producer(traversal, PARALLELISATION_FACTOR).map(mappingFn)
+            ).toList(), collector);
+        } else {
+            return iterate(traversals).flatMap(traversal -> traversalEng.iterator(traversal).map(mappingFn))
+                    .stream().collect(collector);
+        }
+    }
+
+    /**
+     * Returns the answers in ascending order of the values of the attribute {@code sortVar}, if a traversal can
+     * produce them in that order from storage, or null otherwise. Only a disjunction of a single conjunction can
+     * be sorted this way, and only while no answers may be inferred, as inferred answers would follow the others.
+     */
+    @Nullable
+    public ResourceIterator<ConceptMap> executeSorted(Disjunction disjunction, List<Identifier.Variable.Name> filter,
+                                                      Identifier.Variable.Name sortVar) {
+        if (disjunction.conjunctions().size() != 1 || mayInfer()) return null;
+        final Conjunction conjunction = disjunction.conjunctions().iterator().next();
+        if (!logicMgr.typeResolver().resolve(conjunction).isSatisfiable()) return null;
+
+        final ResourceIterator<VertexMap> vertices = traversalEng.sortedIterator(conjunction.traversal(filter), sortVar);
+        if (vertices == null) return null;
+        return filterNegations(conjunction, vertices.map(conceptMgr::conceptMap));
+    }
+
+    /**
+     * Returns the answers of the traversal of a conjunction that is already resolved and satisfiable, and has no
+     * negations, in ascending order of the values of the attribute {@code sortVar}, as the disjunction of that
+     * conjunction alone would be sorted, or null if they cannot be sorted this way.
+     */
+    @Nullable
+    public ResourceIterator<ConceptMap> executeSorted(Traversal traversal, Identifier.Variable.Name sortVar) {
+        if (mayInfer()) return null;
+        final ResourceIterator<VertexMap> vertices = traversalEng.sortedIterator(traversal, sortVar);
+        if (vertices == null) return null;
+        return vertices.map(conceptMgr::conceptMap);
+    }
+
+    private boolean mayInfer() {
+        return mayInfer;
+    }
+
+    private static boolean hasRules(LogicManager logicMgr) {
+        final ResourceIterator<Rule> rules = logicMgr.rules();
+        final boolean hasRules = rules.hasNext();
+        rules.recycle();
+        return hasRules;
+    }
+
     private ResourceIterator<Producer<ConceptMap>> producers(Conjunction conjunction) {
         return producers(conjunction, list());
     }
@@ -92,8 +292,9 @@ public class Reasoner {
         List<Producer<ConceptMap>> answerProducers = new ArrayList<>();
         final Conjunction conj = logicMgr.typeResolver().resolve(conjunction);
         if (conj.isSatisfiable()) {
-            answerProducers.add(traversalEng.producer(conj.traversal(filter), PARALLELISATION_FACTOR).map(conceptMgr::conceptMap));
-            if (!context.isSchemaWrite()) answerProducers.add(this.resolve(conj));
+            // the resolver answers the conjunction from its retrievables too, so it replaces its traversal
+            if (mayInfer()) answerProducers.add(resolve(conj, filter));
+            else answerProducers.add(traversalEng.producer(conj.traversal(filter), PARALLELISATION_FACTOR).map(conceptMgr::conceptMap));
         } else if (!filter.isEmpty() && iterate(filter).anyMatch(id -> conj.variable(id).isThing()) ||
                 iterate(conjunction.variables()).anyMatch(Variable::isThing)) {
             throw GraknException.of(UNSATISFIABLE_CONJUNCTION, conjunction);
@@ -125,8 +326,8 @@ public class Reasoner {
         ResourceIterator<ConceptMap> answers;
         final Conjunction conj = logicMgr.typeResolver().resolve(conjunction);
         if (conj.isSatisfiable()) {
-            answers = traversalEng.iterator(conjunction.traversal(filter)).map(conceptMgr::conceptMap);
-            if (!context.isSchemaWrite()) answers = link(answers, iterable(resolve(conj)).iterator());
+            if (mayInfer()) answers = iterable(resolve(conj, filter)).iterator();
+            else answers = traversalEng.iterator(conjunction.traversal(filter)).map(conceptMgr::conceptMap);
         } else if (!filter.isEmpty() && iterate(filter).anyMatch(id -> conj.variable(id).isThing()) ||
                 iterate(conjunction.variables()).anyMatch(Variable::isThing)) {
             throw GraknException.of(UNSATISFIABLE_CONJUNCTION, conjunction);
@@ -134,6 +335,10 @@ public class Reasoner {
             return Iterators.empty();
         }
 
+        return filterNegations(conjunction, answers);
+    }
+
+    private ResourceIterator<ConceptMap> filterNegations(Conjunction conjunction, ResourceIterator<ConceptMap> answers) {
         if (conjunction.negations().isEmpty()) return answers;
         else return answers.filter(answer -> !iterate(conjunction.negations()).flatMap(
                 negation -> iterator(negation.disjunction(), answer)
@@ -166,9 +371,10 @@ public class Reasoner {
         return resolverRegistry;
     }
 
-    private Producer<ConceptMap> resolve(Conjunction conjunction) {
-        return Producers.empty();
-        // TODO enable reasoner when ready!
-        // return new ReasonerProducer(conjunction, resolverRegistry);
+    private Producer<ConceptMap> resolve(Conjunction conjunction, List<Identifier.Variable.Name> filter) {
+        Producer<ConceptMap> answers = new ReasonerProducer(conjunction, resolverRegistry);
+        if (filter.isEmpty()) return answers;
+        Set<Reference.Name> names = iterate(filter).map(Identifier.Variable.Name::reference).toSet();
+        return answers.map(answer -> answer.filter(names));
     }
 }
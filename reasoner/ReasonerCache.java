@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.reasoner;
+
+import grakn.core.common.cache.CommonCache;
+import grakn.core.common.parameters.Label;
+import grakn.core.concept.Concept;
+import grakn.core.concept.ConceptManager;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graph.iid.VertexIID;
+import grakn.core.logic.resolvable.Concludable;
+import grakn.core.pattern.equivalence.AlphaEquivalence;
+import graql.lang.pattern.variable.Reference;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+import static grakn.core.common.iterator.Iterators.iterate;
+
+/**
+ * Tables the answers of concludables for every transaction of a database, by the concludables they are alpha
+ * equivalent to and the concepts their variables are bound to, so that the answers a transaction has resolved are
+ * looked up by the transactions after it rather than resolved again. Answers are tabled for the snapshot counter of
+ * the statistics of the data, which every commit that writes data moves on, and are only looked up by transactions of
+ * the same snapshot. As the answers inferred depend on the rules, the table is dropped with the rest of the database
+ * cache whenever the schema is committed.
+ */
+public class ReasonerCache {
+
+    private final CommonCache<Integer, Table> tables;
+
+    public ReasonerCache() {
+        tables = new CommonCache<>();
+    }
+
+    public ReasonerCache(int size, int timeOutMinutes) {
+        tables = new CommonCache<>(size, timeOutMinutes);
+    }
+
+    public Snapshot snapshot(long snapshot) {
+        return new Snapshot(snapshot);
+    }
+
+    /**
+     * The answers tabled for one snapshot of the data
+     */
+    public class Snapshot {
+
+        private final long snapshot;
+
+        private Snapshot(long snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        public Optional<List<ConceptMap>> answers(Concludable concludable, ConceptMap bounds, ConceptManager conceptMgr) {
+            Table table = tables.getIfPresent(concludable.alphaHash());
+            if (table == null) return Optional.empty();
+            return table.answers(concludable, bounds, snapshot).map(
+                    answers -> iterate(answers).map(answer -> answer.concepts(conceptMgr)).toList()
+            );
+        }
+
+        /**
+         * Tables the answers of a concludable unless any of them, or its bounds, contain a thing that was inferred,
+         * as inferred things only exist in the transaction that inferred them
+         */
+        public void table(Concludable concludable, ConceptMap bounds, Set<ConceptMap> answers) {
+            if (isInferred(bounds) || iterate(answers).anyMatch(ReasonerCache::isInferred)) return;
+            tables.get(concludable.alphaHash(), hash -> new Table()).table(concludable, bounds, answers, snapshot);
+        }
+    }
+
+    private static boolean isInferred(ConceptMap conceptMap) {
+        return iterate(conceptMap.concepts().values()).anyMatch(
+                concept -> concept != null && concept.isThing() && concept.asThing().isInferred()
+        );
+    }
+
+    /**
+     * The answers of the concludables of one alpha hash, of the latest snapshot any of them has been tabled for
+     */
+    private static class Table {
+
+        private final Map<Concludable, Map<Identities, Set<Identities>>> answers;
+        private long snapshot;
+
+        private Table() {
+            answers = new HashMap<>();
+            snapshot = -1;
+        }
+
+        private synchronized Optional<Set<Identities>> answers(Concludable concludable, ConceptMap bounds, long snapshot) {
+            if (snapshot != this.snapshot) return Optional.empty();
+            for (Map.Entry<Concludable, Map<Identities, Set<Identities>>> tabled : answers.entrySet()) {
+                AlphaEquivalence alphaEquality = tabled.getKey().alphaEquals(concludable);
+                if (alphaEquality.isValid()) {
+                    Map<Reference.Name, Reference.Name> mapping = alphaEquality.asValid().namedVariableMapping();
+                    Map<Reference.Name, Reference.Name> inverse = new HashMap<>();
+                    mapping.forEach((from, to) -> inverse.put(to, from));
+                    Set<Identities> boundAnswers = tabled.getValue().get(Identities.of(bounds, inverse::get));
+                    if (boundAnswers == null) return Optional.empty();
+                    return Optional.of(iterate(boundAnswers).map(answer -> answer.rename(mapping::get)).toSet());
+                }
+            }
+            return Optional.empty();
+        }
+
+        private synchronized void table(Concludable concludable, ConceptMap bounds, Set<ConceptMap> answers, long snapshot) {
+            if (snapshot < this.snapshot) return;
+            else if (snapshot > this.snapshot) {
+                this.answers.clear();
+                this.snapshot = snapshot;
+            }
+
+            Set<Reference.Name> named = iterate(concludable.conjunction().variables())
+                    .filter(variable -> variable.reference().isName())
+                    .map(variable -> variable.reference().asName()).toSet();
+            Function<Reference.Name, Reference.Name> mapping = reference -> named.contains(reference) ? reference : null;
+            Map<Identities, Set<Identities>> tabled = null;
+            for (Map.Entry<Concludable, Map<Identities, Set<Identities>>> entry : this.answers.entrySet()) {
+                AlphaEquivalence alphaEquality = entry.getKey().alphaEquals(concludable);
+                if (alphaEquality.isValid()) {
+                    Map<Reference.Name, Reference.Name> toEntry = new HashMap<>();
+                    alphaEquality.asValid().namedVariableMapping().forEach((from, to) -> toEntry.put(to, from));
+                    mapping = toEntry::get;
+                    tabled = entry.getValue();
+                    break;
+                }
+            }
+            if (tabled == null) {
+                tabled = new HashMap<>();
+                this.answers.put(concludable, tabled);
+            }
+            Function<Reference.Name, Reference.Name> toTabled = mapping;
+            // the answers tabled by others for the same bounds and snapshot are just as sound, so they are kept too
+            tabled.computeIfAbsent(Identities.of(bounds, toTabled), b -> new HashSet<>())
+                    .addAll(iterate(answers).map(answer -> Identities.of(answer, toTabled)).toSet());
+        }
+    }
+
+    /**
+     * The concepts of a concept map by their IIDs and labels, which identify them in any transaction
+     */
+    private static class Identities {
+
+        private final Map<Reference.Name, VertexIID.Thing> things;
+        private final Map<Reference.Name, Label> types;
+        private final int hash;
+
+        private Identities(Map<Reference.Name, VertexIID.Thing> things, Map<Reference.Name, Label> types) {
+            this.things = things;
+            this.types = types;
+            this.hash = Objects.hash(things, types);
+        }
+
+        private static Identities of(ConceptMap conceptMap, Function<Reference.Name, Reference.Name> rename) {
+            Map<Reference.Name, VertexIID.Thing> things = new HashMap<>();
+            Map<Reference.Name, Label> types = new HashMap<>();
+            conceptMap.concepts().forEach((reference, concept) -> {
+                Reference.Name renamed = rename.apply(reference);
+                if (concept == null || renamed == null) return;
+                if (concept.isThing()) things.put(renamed, VertexIID.Thing.of(concept.asThing().getIID()));
+                else if (concept.isType()) types.put(renamed, concept.asType().getLabel());
+            });
+            return new Identities(things, types);
+        }
+
+        private Identities rename(Function<Reference.Name, Reference.Name> rename) {
+            Map<Reference.Name, VertexIID.Thing> renamedThings = new HashMap<>();
+            Map<Reference.Name, Label> renamedTypes = new HashMap<>();
+            things.forEach((reference, iid) -> renamedThings.put(rename.apply(reference), iid));
+            types.forEach((reference, label) -> renamedTypes.put(rename.apply(reference), label));
+            return new Identities(renamedThings, renamedTypes);
+        }
+
+        private ConceptMap concepts(ConceptManager conceptMgr) {
+            Map<Reference.Name, Concept> concepts = new HashMap<>();
+            things.forEach((reference, iid) -> concepts.put(reference, conceptMgr.getThing(iid.bytes())));
+            types.forEach((reference, label) -> concepts.put(reference, conceptMgr.getType(label)));
+            return new ConceptMap(concepts);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Identities that = (Identities) o;
+            return things.equals(that.things) && types.equals(that.types);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import static grakn.core.reasoner.resolution.answer.AnswerState.DownstreamVars.R
 public class ReasonerProducer implements Producer<ConceptMap> {
 
     private final Actor<RootResolver> rootResolver;
+    private final ResolverRegistry resolverRegistry;
     private Request resolveRequest;
     private boolean done;
     private Queue<ConceptMap> queue = null;
@@ -38,6 +39,7 @@ public class ReasonerProducer implements Producer<ConceptMap> {
     private boolean iterationInferredAnswer;
 
     public ReasonerProducer(Conjunction conjunction, ResolverRegistry resolverRegistry) {
+        this.resolverRegistry = resolverRegistry;
         this.rootResolver = resolverRegistry.createRoot(conjunction, this::requestAnswered, this::requestFailed);
         this.iteration = 0;
         this.resolveRequest = new Request(new Request.Path(rootResolver), Root.create(), ResolutionAnswer.Derivation.EMPTY);
@@ -70,6 +72,7 @@ public class ReasonerProducer implements Producer<ConceptMap> {
             // fully terminated finding answers
             if (!done) {
                 done = true;
+                resolverRegistry.tableAnswers(rootResolver, iteration);
                 queue.done(this);
             }
         } else {
@@ -80,6 +83,7 @@ public class ReasonerProducer implements Producer<ConceptMap> {
 
     private void nextIteration() {
         iteration++;
+        iterationInferredAnswer = false;
         resolveRequest = new Request(new Request.Path(rootResolver), Root.create(), ResolutionAnswer.Derivation.EMPTY);
     }
 
@@ -23,6 +23,7 @@ import grakn.core.common.concurrent.actor.Actor;
 import grakn.core.common.concurrent.actor.EventLoopGroup;
 import grakn.core.common.exception.GraknException;
 import grakn.core.concept.ConceptManager;
+import grakn.core.concept.answer.ConceptMap;
 import grakn.core.logic.LogicManager;
 import grakn.core.logic.Rule;
 import grakn.core.logic.resolvable.Concludable;
@@ -30,6 +31,7 @@ import grakn.core.logic.resolvable.Resolvable;
 import grakn.core.logic.resolvable.Retrievable;
 import grakn.core.pattern.Conjunction;
 import grakn.core.pattern.equivalence.AlphaEquivalence;
+import grakn.core.reasoner.ReasonerCache;
 import grakn.core.reasoner.resolution.framework.ResolutionAnswer;
 import grakn.core.reasoner.resolution.resolver.ConcludableResolver;
 import grakn.core.reasoner.resolution.resolver.ResolvableResolver;
@@ -41,9 +43,14 @@ import graql.lang.pattern.variable.Reference;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -55,16 +62,28 @@ public class ResolverRegistry {
     private final static Logger LOG = LoggerFactory.getLogger(ResolverRegistry.class);
 
     private final ConceptManager conceptMgr;
-    private final HashMap<Concludable, Actor<ConcludableResolver>> concludableActors;
+    private final HashMap<Integer, Map<Concludable, Actor<ConcludableResolver>>> concludableActors;
     private final LogicManager logicMgr;
     private final HashMap<Rule, Actor<RuleResolver>> rules;
     private final Actor<ResolutionRecorder> resolutionRecorder;
     private final TraversalEngine traversalEngine;
+    @Nullable
+    private final ReasonerCache.Snapshot answerTable;
     private EventLoopGroup elg;
 
     public ResolverRegistry(EventLoopGroup elg, Actor<ResolutionRecorder> resolutionRecorder, TraversalEngine traversalEngine,
                             ConceptManager conceptMgr, LogicManager logicMgr) {
+        this(elg, resolutionRecorder, traversalEngine, conceptMgr, logicMgr, null);
+    }
+
+    /**
+     * @param answerTable the answers tabled for the snapshot of the transaction, or null if the transaction neither
+     *                    looks up nor tables answers
+     */
+    public ResolverRegistry(EventLoopGroup elg, Actor<ResolutionRecorder> resolutionRecorder, TraversalEngine traversalEngine,
+                            ConceptManager conceptMgr, LogicManager logicMgr, @Nullable ReasonerCache.Snapshot answerTable) {
         this.elg = elg;
+        this.answerTable = answerTable;
         this.resolutionRecorder = resolutionRecorder;
         this.traversalEngine = traversalEngine;
         this.conceptMgr = conceptMgr;
@@ -91,6 +110,26 @@ public class ResolverRegistry {
         return Actor.create(elg, self -> new RootResolver(self, pattern, onAnswer, onExhausted, resolutionRecorder, this, traversalEngine, conceptMgr, logicMgr));
     }
 
+    public Optional<List<ConceptMap>> tabledAnswers(Concludable concludable, ConceptMap bounds) {
+        if (answerTable == null) return Optional.empty();
+        return answerTable.answers(concludable, bounds, conceptMgr);
+    }
+
+    public void tableAnswers(Concludable concludable, ConceptMap bounds, Set<ConceptMap> answers) {
+        if (answerTable != null) answerTable.table(concludable, bounds, answers);
+    }
+
+    /**
+     * Tells every concludable resolver to table the answers it has resolved for a root, once the root has found all
+     * of its answers, in the last iteration it took
+     */
+    public void tableAnswers(Actor<RootResolver> root, int iteration) {
+        if (answerTable == null) return;
+        List<Actor<ConcludableResolver>> actors = new ArrayList<>();
+        concludableActors.values().forEach(alphaHashActors -> actors.addAll(alphaHashActors.values()));
+        actors.forEach(actor -> actor.tell(resolver -> resolver.tableAnswers(root, iteration)));
+    }
+
     // for testing
     public void setEventLoopGroup(EventLoopGroup eventLoopGroup) {
         this.elg = eventLoopGroup;
@@ -98,14 +137,16 @@ public class ResolverRegistry {
 
     private Pair<Actor<? extends ResolvableResolver<?>>, Map<Reference.Name, Reference.Name>> registerRetrievable(Retrievable retrievable) {
         LOG.debug("Register retrieval for retrievable actor: '{}'", retrievable.conjunction());
-        Actor<RetrievableResolver> retrievableActor = Actor.create(elg, self -> new RetrievableResolver(self, retrievable, this, traversalEngine));
+        Actor<RetrievableResolver> retrievableActor = Actor.create(elg, self -> new RetrievableResolver(self, retrievable, this, traversalEngine, conceptMgr, logicMgr));
         return new Pair<>(retrievableActor, identity(retrievable));
     }
 
     private Pair<Actor<? extends ResolvableResolver<?>>, Map<Reference.Name, Reference.Name>> registerConcludable(Concludable concludable) {
         LOG.debug("Register retrieval for concludable actor: '{}'", concludable.conjunction());
-        for (Map.Entry<Concludable, Actor<ConcludableResolver>> c : concludableActors.entrySet()) {
-            // TODO This needs to be optimised from a linear search to use an alpha hash
+        // only the concludables of the same alpha hash may be alpha equivalent to it
+        Map<Concludable, Actor<ConcludableResolver>> alphaHashActors =
+                concludableActors.computeIfAbsent(concludable.alphaHash(), hash -> new HashMap<>());
+        for (Map.Entry<Concludable, Actor<ConcludableResolver>> c : alphaHashActors.entrySet()) {
             AlphaEquivalence alphaEquality = c.getKey().alphaEquals(concludable);
             if (alphaEquality.isValid()) {
                 return new Pair<>(c.getValue(), alphaEquality.asValid().namedVariableMapping());
@@ -113,7 +154,7 @@ public class ResolverRegistry {
         }
         Actor<ConcludableResolver> concludableActor = Actor.create(elg, self ->
                 new ConcludableResolver(self, concludable, resolutionRecorder, this, traversalEngine, conceptMgr, logicMgr));
-        concludableActors.put(concludable, concludableActor);
+        alphaHashActors.put(concludable, concludableActor);
         return new Pair<>(concludableActor, identity(concludable));
     }
 
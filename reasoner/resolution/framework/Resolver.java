@@ -24,7 +24,10 @@ import grakn.core.traversal.TraversalEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 public abstract class Resolver<T extends Resolver<T>> extends Actor.State<T> {
@@ -51,6 +54,10 @@ public abstract class Resolver<T extends Resolver<T>> extends Actor.State<T> {
 
     public abstract void receiveRequest(Request fromUpstream, int iteration);
 
+    public void receiveRequests(List<Request> fromUpstream, int iteration) {
+        fromUpstream.forEach(request -> receiveRequest(request, iteration));
+    }
+
     protected abstract void receiveAnswer(Response.Answer fromDownstream, int iteration);
 
     protected abstract void receiveExhausted(Response.Exhausted fromDownstream, int iteration);
@@ -74,6 +81,22 @@ public abstract class Resolver<T extends Resolver<T>> extends Actor.State<T> {
         receiver.tell(actor -> actor.receiveRequest(request, iteration));
     }
 
+    /**
+     * Sends the requests to their downstream resolvers as one message to each resolver, rather than one message for
+     * each request, so that the requests for many answer bounds cost a resolver a single scheduling on its event loop
+     */
+    protected void requestFromDownstream(List<Request> requests, Request fromUpstream, int iteration) {
+        Map<Actor<? extends Resolver<?>>, List<Request>> batches = new LinkedHashMap<>();
+        for (Request request : requests) {
+            requestRouter.put(request, fromUpstream);
+            batches.computeIfAbsent(request.receiver(), receiver -> new ArrayList<>()).add(request);
+        }
+        batches.forEach((receiver, batch) -> {
+            LOG.trace("{} : Sending a batch of {} answer Requests to downstream: {}", name, batch.size(), receiver);
+            receiver.tell(actor -> actor.receiveRequests(batch, iteration));
+        });
+    }
+
     protected void respondToUpstream(Response response, int iteration) {
         Actor<? extends Resolver<?>> receiver = response.sourceRequest().sender();
         assert receiver != null;
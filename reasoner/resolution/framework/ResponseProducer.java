@@ -20,14 +20,17 @@ package grakn.core.reasoner.resolution.framework;
 
 import grakn.core.concept.answer.ConceptMap;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 public class ResponseProducer {
     private final Set<ConceptMap> produced;
     private final Iterator<ConceptMap> traversalProducer;
     private final Set<Request> downstreamProducer;
+    private final Set<Request> awaitingDownstream;
     private final int iteration;
     private Iterator<Request> downstreamProducerSelector;
 
@@ -40,6 +43,7 @@ public class ResponseProducer {
         this.iteration = iteration;
         this.produced = produced;
         downstreamProducer = new HashSet<>();
+        awaitingDownstream = new HashSet<>();
         downstreamProducerSelector = downstreamProducer.iterator();
     }
 
@@ -51,6 +55,10 @@ public class ResponseProducer {
         return produced.contains(conceptMap);
     }
 
+    public Set<ConceptMap> produced() {
+        return produced;
+    }
+
     public boolean hasTraversalProducer() {
         return traversalProducer.hasNext();
     }
@@ -68,6 +76,10 @@ public class ResponseProducer {
         return downstreamProducerSelector.next();
     }
 
+    public List<Request> downstreamProducers() {
+        return new ArrayList<>(downstreamProducer);
+    }
+
     public void addDownstreamProducer(Request request) {
         assert !(downstreamProducer.contains(request)) : "downstream answer producer already contains this request";
 
@@ -80,6 +92,27 @@ public class ResponseProducer {
         // only update the iterator when removing an element, to avoid resetting and reusing first request too often
         // note: this is a large performance win when processing large batches of requests
         if (removed) downstreamProducerSelector = downstreamProducer.iterator();
+        awaitingDownstream.remove(request);
+    }
+
+    /**
+     * Records that a request has been sent to a downstream producer, and no response has been received for it yet
+     */
+    public void awaitDownstream(Request request) {
+        assert downstreamProducer.contains(request);
+        awaitingDownstream.add(request);
+    }
+
+    public void receivedFromDownstream(Request request) {
+        awaitingDownstream.remove(request);
+    }
+
+    public boolean isAwaitingDownstream() {
+        return !awaitingDownstream.isEmpty();
+    }
+
+    public boolean isExhausted() {
+        return !hasTraversalProducer() && !hasDownstreamProducer();
     }
 
     public int iteration() {
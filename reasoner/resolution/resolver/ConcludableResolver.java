@@ -24,7 +24,6 @@ import grakn.core.concept.answer.ConceptMap;
 import grakn.core.logic.LogicManager;
 import grakn.core.logic.resolvable.Concludable;
 import grakn.core.logic.resolvable.Unifier;
-import grakn.core.reasoner.resolution.MockTransaction;
 import grakn.core.reasoner.resolution.ResolutionRecorder;
 import grakn.core.reasoner.resolution.ResolverRegistry;
 import grakn.core.reasoner.resolution.answer.AnswerState;
@@ -39,6 +38,7 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -56,6 +56,8 @@ public class ConcludableResolver extends ResolvableResolver<ConcludableResolver>
     private final Map<Actor<RootResolver>, IterationState> iterationStates;
     private final Actor<ResolutionRecorder> resolutionRecorder;
     private final Map<Request, ResponseProducer> responseProducers;
+    private final Map<Request, Integer> rulesRegistered;
+    private final ResolvableTraversal resolvableTraversal;
     private boolean isInitialised;
 
     public ConcludableResolver(Actor<ConcludableResolver> self, Concludable concludable,
@@ -69,6 +71,8 @@ public class ConcludableResolver extends ResolvableResolver<ConcludableResolver>
         this.applicableRules = new HashMap<>();
         this.iterationStates = new HashMap<>();
         this.responseProducers = new HashMap<>();
+        this.rulesRegistered = new HashMap<>();
+        this.resolvableTraversal = new ResolvableTraversal(concludable.conjunction(), traversalEngine, conceptMgr, logicMgr);
         this.isInitialised = false;
     }
 
@@ -98,6 +102,7 @@ public class ConcludableResolver extends ResolvableResolver<ConcludableResolver>
         Request toDownstream = fromDownstream.sourceRequest();
         Request fromUpstream = fromUpstream(toDownstream);
         ResponseProducer responseProducer = responseProducers.get(fromUpstream);
+        responseProducer.receivedFromDownstream(toDownstream);
 
         ConceptMap conceptMap = fromDownstream.answer().derived().withInitial();
         if (!responseProducer.hasProduced(conceptMap)) {
@@ -119,7 +124,7 @@ public class ConcludableResolver extends ResolvableResolver<ConcludableResolver>
             LOG.trace("{}: Recording deduplicated answer derivation: {}", name(), deduplicated);
             resolutionRecorder.tell(actor -> actor.record(deduplicated));
 
-            tryAnswer(fromUpstream, responseProducer, iteration);
+            if (!responseProducer.isAwaitingDownstream()) tryAnswer(fromUpstream, responseProducer, iteration);
         }
     }
 
@@ -131,7 +136,7 @@ public class ConcludableResolver extends ResolvableResolver<ConcludableResolver>
         ResponseProducer responseProducer = responseProducers.get(fromUpstream);
 
         responseProducer.removeDownstreamProducer(fromDownstream.sourceRequest());
-        tryAnswer(fromUpstream, responseProducer, iteration);
+        if (!responseProducer.isAwaitingDownstream()) tryAnswer(fromUpstream, responseProducer, iteration);
     }
 
     @Override
@@ -152,7 +157,10 @@ public class ConcludableResolver extends ResolvableResolver<ConcludableResolver>
         iterationStates.putIfAbsent(root, new IterationState(iteration));
         IterationState iterationState = iterationStates.get(root);
 
-        Iterator<ConceptMap> traversal = (new MockTransaction(3L)).query(concludable.conjunction(), request.answerBounds().conceptMap());
+        Optional<List<ConceptMap>> tabled = registry.tabledAnswers(concludable, request.answerBounds().conceptMap());
+        if (tabled.isPresent()) return new ResponseProducer(tabled.get().iterator(), iteration);
+
+        Iterator<ConceptMap> traversal = resolvableTraversal.iterator(request.answerBounds().conceptMap());
         ResponseProducer responseProducer = new ResponseProducer(traversal, iteration);
         mayRegisterRules(request, iterationState, responseProducer);
         return responseProducer;
@@ -166,16 +174,35 @@ public class ConcludableResolver extends ResolvableResolver<ConcludableResolver>
         Actor<RootResolver> root = request.path().root();
         assert iterationStates.containsKey(root);
         IterationState iterationState = iterationStates.get(root);
-        if (iterationState.iteration() > newIteration) {
+        if (iterationState.iteration() < newIteration) {
             iterationState.nextIteration(newIteration);
         }
 
-        Iterator<ConceptMap> traversal = (new MockTransaction(3L)).query(concludable.conjunction(), request.answerBounds().conceptMap());
+        Optional<List<ConceptMap>> tabled = registry.tabledAnswers(concludable, request.answerBounds().conceptMap());
+        if (tabled.isPresent()) return responseProducerPrevious.newIteration(tabled.get().iterator(), newIteration);
+
+        Iterator<ConceptMap> traversal = resolvableTraversal.iterator(request.answerBounds().conceptMap());
         ResponseProducer responseProducerNewIter = responseProducerPrevious.newIteration(traversal, newIteration);
         mayRegisterRules(request, iterationState, responseProducerNewIter);
         return responseProducerNewIter;
     }
 
+    /**
+     * Tables the answers of the requests of a root that are exhausted in the last iteration the root took, as the
+     * answers produced for them over all iterations are then complete. Requests that were cut off by loop termination
+     * in that iteration are not tabled, as their rules were not registered, so they only hold the answers of their
+     * traversal.
+     */
+    public void tableAnswers(Actor<RootResolver> root, int iteration) {
+        responseProducers.forEach((request, responseProducer) -> {
+            final Integer registered = rulesRegistered.get(request);
+            if (request.path().root().equals(root) && responseProducer.iteration() == iteration &&
+                    registered != null && registered == iteration && responseProducer.isExhausted()) {
+                registry.tableAnswers(concludable, request.answerBounds().conceptMap(), responseProducer.produced());
+            }
+        });
+    }
+
     @Override
     protected void exception(Exception e) {
         LOG.error("Actor exception", e);
@@ -195,8 +222,12 @@ public class ConcludableResolver extends ResolvableResolver<ConcludableResolver>
             }
         }
 
+        // the rules are requested together, in one batch for each rule, and only once all of them have responded
+        if (responseProducer.isAwaitingDownstream()) return;
         if (responseProducer.hasDownstreamProducer()) {
-            requestFromDownstream(responseProducer.nextDownstreamProducer(), fromUpstream, iteration);
+            List<Request> toDownstream = responseProducer.downstreamProducers();
+            toDownstream.forEach(responseProducer::awaitDownstream);
+            requestFromDownstream(toDownstream, fromUpstream, iteration);
         } else {
             respondToUpstream(new Response.Exhausted(fromUpstream), iteration);
         }
@@ -236,6 +267,7 @@ public class ConcludableResolver extends ResolvableResolver<ConcludableResolver>
                 }
             }
             iterationState.recordReceived(request.answerBounds().conceptMap());
+            rulesRegistered.put(request, responseProducer.iteration());
         }
     }
 
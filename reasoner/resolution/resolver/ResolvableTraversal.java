@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.reasoner.resolution.resolver;
+
+import grakn.common.collection.Pair;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Label;
+import grakn.core.concept.Concept;
+import grakn.core.concept.ConceptManager;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.graph.iid.VertexIID;
+import grakn.core.logic.LogicManager;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.variable.Variable;
+import grakn.core.traversal.Traversal;
+import grakn.core.traversal.TraversalEngine;
+import grakn.core.traversal.common.Identifier;
+import graql.lang.pattern.variable.Reference;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static grakn.common.collection.Collections.list;
+import static grakn.common.collection.Collections.pair;
+import static grakn.core.common.iterator.Iterators.empty;
+
+/**
+ * The traversal of the conjunction of a resolvable, from the concepts that a request binds its variables to. A
+ * traversal is resolved once for each set of variables that requests bind things to, with the types of those things,
+ * and the labels they bind types to, and is then executed for each request with the IIDs of its own things as
+ * parameters, so that requests that only differ by the things they are bound to share the same plans. The types of
+ * the things are part of the key, as resolving the types of the conjunction narrows a variable bound to a thing to
+ * the type of that thing.
+ */
+class ResolvableTraversal {
+
+    private final Conjunction conjunction;
+    private final TraversalEngine traversalEng;
+    private final ConceptManager conceptMgr;
+    private final LogicManager logicMgr;
+    private final Map<Pair<Map<Reference.Name, Label>, Map<Reference.Name, Label>>, Optional<Traversal>> traversals;
+
+    ResolvableTraversal(Conjunction conjunction, TraversalEngine traversalEng, ConceptManager conceptMgr,
+                        LogicManager logicMgr) {
+        this.conjunction = conjunction;
+        this.traversalEng = traversalEng;
+        this.conceptMgr = conceptMgr;
+        this.logicMgr = logicMgr;
+        this.traversals = new HashMap<>();
+    }
+
+    ResourceIterator<ConceptMap> iterator(ConceptMap bounds) {
+        Map<Reference.Name, Label> things = new HashMap<>();
+        Map<Reference.Name, Label> types = new HashMap<>();
+        Map<Identifier.Variable, VertexIID.Thing> iids = new HashMap<>();
+        bounds.concepts().forEach((reference, concept) -> {
+            Variable variable = conjunction.variable(Identifier.Variable.of(reference));
+            if (concept == null || variable == null) return;
+            if (variable.isThing() && concept.isThing()) {
+                things.put(reference, concept.asThing().getType().getLabel());
+                iids.put(variable.id(), VertexIID.Thing.of(concept.asThing().getIID()));
+            } else if (variable.isType() && concept.isType() && !variable.asType().label().isPresent()) {
+                types.put(reference, concept.asType().getLabel());
+            }
+        });
+        Optional<Traversal> traversal = traversals.computeIfAbsent(pair(things, types), key -> traversal(bounds, key));
+        if (!traversal.isPresent()) return empty();
+        return traversalEng.iterator(traversal.get().bind(iids)).map(conceptMgr::conceptMap);
+    }
+
+    private Optional<Traversal> traversal(ConceptMap bounds,
+                                          Pair<Map<Reference.Name, Label>, Map<Reference.Name, Label>> bound) {
+        Conjunction clone = conjunction.clone();
+        clone.forEach(variable -> {
+            if (!variable.reference().isName()) return;
+            Reference.Name reference = variable.reference().asName();
+            if (bound.first().containsKey(reference)) {
+                Concept concept = bounds.get(reference);
+                variable.asThing().iid(concept.asThing().getIID());
+            } else if (bound.second().containsKey(reference)) {
+                variable.asType().label(bound.second().get(reference));
+            }
+        });
+        if (!logicMgr.typeResolver().resolve(clone).isSatisfiable()) return Optional.empty();
+        return Optional.of(clone.traversal(list()));
+    }
+}
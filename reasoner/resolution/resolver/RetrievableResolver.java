@@ -18,23 +18,41 @@
 package grakn.core.reasoner.resolution.resolver;
 
 import grakn.core.common.concurrent.actor.Actor;
+import grakn.core.common.exception.GraknException;
+import grakn.core.concept.ConceptManager;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.logic.LogicManager;
 import grakn.core.logic.resolvable.Retrievable;
 import grakn.core.reasoner.resolution.ResolverRegistry;
+import grakn.core.reasoner.resolution.answer.AnswerState;
 import grakn.core.reasoner.resolution.framework.Request;
+import grakn.core.reasoner.resolution.framework.ResolutionAnswer;
 import grakn.core.reasoner.resolution.framework.Response;
 import grakn.core.reasoner.resolution.framework.ResponseProducer;
 import grakn.core.traversal.TraversalEngine;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.Map;
+
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+
 public class RetrievableResolver extends ResolvableResolver<RetrievableResolver> {
     private static final Logger LOG = LoggerFactory.getLogger(RetrievableResolver.class);
 
-    public RetrievableResolver(Actor<RetrievableResolver> self, Retrievable retrievable, ResolverRegistry registry, TraversalEngine traversalEngine) {
+    private final Retrievable retrievable;
+    private final ResolvableTraversal resolvableTraversal;
+    private final Map<Request, ResponseProducer> responseProducers;
+
+    public RetrievableResolver(Actor<RetrievableResolver> self, Retrievable retrievable, ResolverRegistry registry,
+                               TraversalEngine traversalEngine, ConceptManager conceptMgr, LogicManager logicMgr) {
         super(self, RetrievableResolver.class.getSimpleName() + "(pattern: " + retrievable + ")", registry, traversalEngine);
+        this.retrievable = retrievable;
+        this.resolvableTraversal = new ResolvableTraversal(retrievable.conjunction(), traversalEngine, conceptMgr, logicMgr);
+        this.responseProducers = new HashMap<>();
     }
 
-
     @Override
     protected void exception(Exception e) {
         LOG.error("Actor exception", e);
@@ -42,31 +60,77 @@ public class RetrievableResolver extends ResolvableResolver<RetrievableResolver>
 
     @Override
     public void receiveRequest(Request fromUpstream, int iteration) {
-        // TODO
+        LOG.trace("{}: received Request: {}", name(), fromUpstream);
+
+        ResponseProducer responseProducer = mayUpdateAndGetResponseProducer(fromUpstream, iteration);
+        if (iteration < responseProducer.iteration()) {
+            // short circuit if the request came from a prior iteration
+            respondToUpstream(new Response.Exhausted(fromUpstream), iteration);
+        } else {
+            assert iteration == responseProducer.iteration();
+            tryAnswer(fromUpstream, responseProducer, iteration);
+        }
     }
 
+    // a retrievable is answered by its traversal alone, and so never requests from downstream
+
     @Override
     protected void receiveAnswer(Response.Answer fromDownstream, int iteration) {
-        // TODO
+        throw GraknException.of(ILLEGAL_STATE);
     }
 
     @Override
     protected void receiveExhausted(Response.Exhausted fromDownstream, int iteration) {
-        // TODO
+        throw GraknException.of(ILLEGAL_STATE);
     }
 
     @Override
     protected void initialiseDownstreamActors() {
-        // TODO
     }
 
     @Override
     protected ResponseProducer responseProducerCreate(Request fromUpstream, int iteration) {
-        return null; // TODO
+        LOG.debug("{}: Creating a new ResponseProducer for request: {}", name(), fromUpstream);
+        return new ResponseProducer(resolvableTraversal.iterator(fromUpstream.answerBounds().conceptMap()), iteration);
     }
 
     @Override
     protected ResponseProducer responseProducerReiterate(Request fromUpstream, ResponseProducer responseProducer, int newIteration) {
-        return null; // TODO
+        assert newIteration > responseProducer.iteration();
+        LOG.debug("{}: Updating ResponseProducer for iteration '{}'", name(), newIteration);
+        return responseProducer.newIteration(resolvableTraversal.iterator(fromUpstream.answerBounds().conceptMap()), newIteration);
+    }
+
+    private void tryAnswer(Request fromUpstream, ResponseProducer responseProducer, int iteration) {
+        while (responseProducer.hasTraversalProducer()) {
+            ConceptMap conceptMap = responseProducer.traversalProducer().next();
+            LOG.trace("{}: has found via traversal: {}", name(), conceptMap);
+            if (!responseProducer.hasProduced(conceptMap)) {
+                responseProducer.recordProduced(conceptMap);
+                assert fromUpstream.answerBounds().isMapped();
+                AnswerState.UpstreamVars.Derived derivedAnswer = fromUpstream.answerBounds().asMapped().aggregateToUpstream(conceptMap);
+                ResolutionAnswer answer = new ResolutionAnswer(derivedAnswer, retrievable.toString(), ResolutionAnswer.Derivation.EMPTY, self(), false);
+                respondToUpstream(new Response.Answer(fromUpstream, answer), iteration);
+                return;
+            }
+        }
+        respondToUpstream(new Response.Exhausted(fromUpstream), iteration);
+    }
+
+    private ResponseProducer mayUpdateAndGetResponseProducer(Request fromUpstream, int iteration) {
+        if (!responseProducers.containsKey(fromUpstream)) {
+            responseProducers.put(fromUpstream, responseProducerCreate(fromUpstream, iteration));
+        } else {
+            ResponseProducer responseProducer = responseProducers.get(fromUpstream);
+            assert responseProducer.iteration() == iteration ||
+                    responseProducer.iteration() + 1 == iteration;
+
+            if (responseProducer.iteration() + 1 == iteration) {
+                // when the same request for the next iteration the first time, re-initialise required state
+                ResponseProducer responseProducerNextIter = responseProducerReiterate(fromUpstream, responseProducer, iteration);
+                responseProducers.put(fromUpstream, responseProducerNextIter);
+            }
+        }
+        return responseProducers.get(fromUpstream);
     }
 }
@@ -28,7 +28,6 @@ import grakn.core.logic.resolvable.Concludable;
 import grakn.core.logic.resolvable.Resolvable;
 import grakn.core.logic.resolvable.Retrievable;
 import grakn.core.pattern.Conjunction;
-import grakn.core.reasoner.resolution.MockTransaction;
 import grakn.core.reasoner.resolution.ResolutionRecorder;
 import grakn.core.reasoner.resolution.ResolverRegistry;
 import grakn.core.reasoner.resolution.answer.Mapping;
@@ -169,7 +168,8 @@ public class RootResolver extends Resolver<RootResolver> {
     @Override
     protected ResponseProducer responseProducerCreate(Request request, int iteration) {
         LOG.debug("{}: Creating a new ResponseProducer for request: {}", name(), request);
-        Iterator<ConceptMap> traversal = (new MockTransaction(3L)).query(conjunction, new ConceptMap());
+        // the answers of the conjunction are all resolved through its plan, so it has no traversal of its own
+        Iterator<ConceptMap> traversal = Iterators.empty();
         ResponseProducer responseProducer = new ResponseProducer(traversal, iteration);
         Request toDownstream = new Request(request.path().append(plan.get(0).first()),
                                            UpstreamVars.Initial.of(request.answerBounds().conceptMap())
@@ -186,7 +186,8 @@ public class RootResolver extends Resolver<RootResolver> {
         LOG.debug("{}: Updating ResponseProducer for iteration '{}'", name(), newIteration);
 
         assert newIteration > responseProducerPrevious.iteration();
-        Iterator<ConceptMap> traversal = (new MockTransaction(3L)).query(conjunction, new ConceptMap());
+        // the answers of the conjunction are all resolved through its plan, so it has no traversal of its own
+        Iterator<ConceptMap> traversal = Iterators.empty();
         ResponseProducer responseProducerNewIter = responseProducerPrevious.newIteration(traversal, newIteration);
         Request toDownstream = new Request(request.path().append(plan.get(0).first()),
                                            UpstreamVars.Initial.of(request.answerBounds().conceptMap()).
@@ -203,18 +204,6 @@ public class RootResolver extends Resolver<RootResolver> {
     }
 
     private void tryAnswer(Request fromUpstream, int iteration) {
-        while (responseProducer.hasTraversalProducer()) {
-            ConceptMap conceptMap = responseProducer.traversalProducer().next();
-            LOG.trace("{}: has found via traversal: {}", name(), conceptMap);
-            if (!responseProducer.hasProduced(conceptMap)) {
-                responseProducer.recordProduced(conceptMap);
-                assert fromUpstream.answerBounds().isRoot();
-                ResolutionAnswer answer = new ResolutionAnswer(fromUpstream.answerBounds().asRoot().aggregateToUpstream(conceptMap),
-                                                               conjunction.toString(), ResolutionAnswer.Derivation.EMPTY, self(), false);
-                submitAnswer(answer);
-            }
-        }
-
         if (responseProducer.hasDownstreamProducer()) {
             requestFromDownstream(responseProducer.nextDownstreamProducer(), fromUpstream, iteration);
         } else {
@@ -29,7 +29,6 @@ import grakn.core.logic.Rule;
 import grakn.core.logic.resolvable.Concludable;
 import grakn.core.logic.resolvable.Resolvable;
 import grakn.core.logic.resolvable.Retrievable;
-import grakn.core.reasoner.resolution.MockTransaction;
 import grakn.core.reasoner.resolution.ResolverRegistry;
 import grakn.core.reasoner.resolution.answer.AnswerState;
 import grakn.core.reasoner.resolution.answer.Mapping;
@@ -167,7 +166,8 @@ public class RuleResolver extends Resolver<RuleResolver> {
 
     @Override
     protected ResponseProducer responseProducerCreate(Request request, int iteration) {
-        Iterator<ConceptMap> traversal = (new MockTransaction(3L)).query(rule.when(), new ConceptMap());
+        // the answers of the rule are all resolved through its plan, so it has no traversal of its own
+        Iterator<ConceptMap> traversal = Iterators.empty();
         ResponseProducer responseProducer = new ResponseProducer(traversal, iteration);
         Request toDownstream = new Request(request.path().append(plan.get(0).first()),
                                            AnswerState.UpstreamVars.Initial.of(request.answerBounds().conceptMap())
@@ -183,7 +183,8 @@ public class RuleResolver extends Resolver<RuleResolver> {
         assert newIteration > responseProducerPrevious.iteration();
         LOG.debug("{}: Updating ResponseProducer for iteration '{}'", name(), newIteration);
 
-        Iterator<ConceptMap> traversal = (new MockTransaction(3L)).query(rule.when(), new ConceptMap());
+        // the answers of the rule are all resolved through its plan, so it has no traversal of its own
+        Iterator<ConceptMap> traversal = Iterators.empty();
         ResponseProducer responseProducerNewIter = responseProducerPrevious.newIteration(traversal, newIteration);
         Request toDownstream = new Request(request.path().append(plan.get(0).first()),
                                            AnswerState.UpstreamVars.Initial.of(request.answerBounds().conceptMap())
@@ -200,22 +201,6 @@ public class RuleResolver extends Resolver<RuleResolver> {
     }
 
     private void tryAnswer(Request fromUpstream, ResponseProducer responseProducer, int iteration) {
-        while (responseProducer.hasTraversalProducer()) {
-            ConceptMap conceptMap = responseProducer.traversalProducer().next();
-            LOG.trace("{}: has found via traversal: {}", name(), conceptMap);
-            if (!responseProducer.hasProduced(conceptMap)) {
-                responseProducer.recordProduced(conceptMap);
-                assert fromUpstream.answerBounds().isUnified();
-                Optional<AnswerState.UpstreamVars.Derived> derivedAnswer = fromUpstream.answerBounds().asUnified()
-                        .aggregateToUpstream(MockTransaction.asIdentifiedMap(conceptMap));
-                if (derivedAnswer.isPresent()) {
-                    ResolutionAnswer answer = new ResolutionAnswer(derivedAnswer.get(), rule.when().toString(),
-                                                                   ResolutionAnswer.Derivation.EMPTY, self(), true);
-                    respondToUpstream(new Response.Answer(fromUpstream, answer), iteration);
-                }
-            }
-        }
-
         if (responseProducer.hasDownstreamProducer()) {
             requestFromDownstream(responseProducer.nextDownstreamProducer(), fromUpstream, iteration);
         } else {
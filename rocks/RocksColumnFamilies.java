@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ */
+
+package grakn.core.rocks;
+
+import grakn.core.common.exception.GraknException;
+import grakn.core.graph.iid.VertexIID;
+import grakn.core.graph.util.Encoding;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
+import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.UInt64AddOperator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+
+/**
+ * The column families of a single RocksDB database, one per {@link Encoding.PrefixType} group of keys.
+ *
+ * Every key written by the graph starts with the byte of its {@link Encoding.Prefix}, so the column family of a
+ * key is resolved from its first byte. Each column family is tuned for the way its keys are accessed: things and
+ * their edges share a fixed-length prefix extractor over {@link VertexIID.Thing#DEFAULT_LENGTH}, so that adjacency
+ * scans are served by prefix bloom filters, and statistics counters fold successive merges in the memtable.
+ *
+ * Databases written before column families were introduced hold every key in the default column family. Such keys
+ * are moved into their own column family when the database is opened, and the default column family only keeps the
+ * keys whose prefix has no column family of its own.
+ */
+class RocksColumnFamilies {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RocksColumnFamilies.class);
+    private static final int MIGRATION_BATCH_SIZE = 10_000;
+
+    enum Family {
+        DEFAULT(new String(RocksDB.DEFAULT_COLUMN_FAMILY, StandardCharsets.UTF_8), null),
+        INDEX("index", Encoding.PrefixType.INDEX),
+        STATISTICS("statistics", Encoding.PrefixType.STATISTICS),
+        TYPE("type", Encoding.PrefixType.TYPE),
+        THING("thing", Encoding.PrefixType.THING),
+        RULE("rule", Encoding.PrefixType.RULE);
+
+        private final String name;
+        private final Encoding.PrefixType prefixType;
+
+        Family(String name, Encoding.PrefixType prefixType) {
+            this.name = name;
+            this.prefixType = prefixType;
+        }
+
+        static Family of(Encoding.PrefixType prefixType) {
+            for (Family family : values()) {
+                if (family.prefixType == prefixType) return family;
+            }
+            return DEFAULT;
+        }
+
+        byte[] bytes() {
+            return name.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    private static final Family[] FAMILY_BY_PREFIX = familyByPrefix();
+
+    private final OptimisticTransactionDB db;
+    private final List<ColumnFamilyHandle> handles;
+    private final Config config;
+
+    private RocksColumnFamilies(OptimisticTransactionDB db, List<ColumnFamilyHandle> handles, Config config) {
+        assert handles.size() == Family.values().length;
+        this.db = db;
+        this.handles = handles;
+        this.config = config;
+    }
+
+    private static Family[] familyByPrefix() {
+        final Family[] families = new Family[256];
+        for (int i = 0; i < families.length; i++) families[i] = Family.DEFAULT;
+        for (Encoding.Prefix prefix : Encoding.Prefix.values()) {
+            families[prefix.key() & 0xff] = Family.of(prefix.type());
+        }
+        return families;
+    }
+
+    static RocksColumnFamilies open(Config config, Path directory) {
+        final List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+        for (Family family : Family.values()) {
+            descriptors.add(new ColumnFamilyDescriptor(family.bytes(), config.options(family)));
+        }
+        final List<ColumnFamilyHandle> handles = new ArrayList<>();
+        try {
+            final OptimisticTransactionDB db = OptimisticTransactionDB.open(
+                    config.dbOptions, directory.toString(), descriptors, handles
+            );
+            final RocksColumnFamilies columnFamilies = new RocksColumnFamilies(db, handles, config);
+            columnFamilies.mayMigrate(directory);
+            return columnFamilies;
+        } catch (RocksDBException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    static Family family(byte[] key) {
+        return key.length == 0 ? Family.DEFAULT : FAMILY_BY_PREFIX[key[0] & 0xff];
+    }
+
+    OptimisticTransactionDB db() {
+        return db;
+    }
+
+    Config config() {
+        return config;
+    }
+
+    ColumnFamilyHandle handle(Family family) {
+        return handles.get(family.ordinal());
+    }
+
+    ColumnFamilyHandle handle(byte[] key) {
+        return handle(family(key));
+    }
+
+    /**
+     * Returns whether an iteration over {@code prefix} may be restricted to the keys that share the prefix extracted
+     * from it, in which case the iterator can skip every SST file whose prefix bloom filter excludes the prefix.
+     * Shorter prefixes span many extracted prefixes and must be iterated in total order.
+     */
+    static boolean isPrefixSeekable(byte[] prefix) {
+        return family(prefix) == Family.THING && prefix.length >= VertexIID.Thing.DEFAULT_LENGTH;
+    }
+
+    /**
+     * Moves every key left in the default column family by a database that predates column families into the
+     * column family of its prefix. Each batch deletes the keys it moves, so an interrupted migration resumes
+     * where it stopped on the next open. Keys whose prefix has no column family of its own belong in the default
+     * column family, and are left there, so the migration is only reported and compacted when it moved any keys.
+     */
+    private void mayMigrate(Path directory) throws RocksDBException {
+        final ColumnFamilyHandle defaultHandle = handle(Family.DEFAULT);
+        long migrated = 0;
+        try (RocksIterator iterator = db.newIterator(defaultHandle);
+             WriteOptions writeOptions = new WriteOptions()) {
+            iterator.seekToFirst();
+            while (iterator.isValid()) {
+                try (WriteBatch batch = new WriteBatch()) {
+                    for (int i = 0; i < MIGRATION_BATCH_SIZE && iterator.isValid(); i++, iterator.next()) {
+                        final byte[] key = iterator.key();
+                        final Family family = family(key);
+                        if (family == Family.DEFAULT) continue;
+                        if (migrated == 0) LOG.info("Migrating '{}' into column families", directory);
+                        batch.put(handle(family), key, iterator.value());
+                        batch.delete(defaultHandle, key);
+                        migrated++;
+                    }
+                    if (batch.count() > 0) db.write(writeOptions, batch);
+                }
+            }
+            iterator.status();
+        }
+        if (migrated == 0) return;
+        db.compactRange(defaultHandle);
+        LOG.info("Migrated {} keys of '{}' into column families", migrated, directory);
+    }
+
+    void close() {
+        handles.forEach(ColumnFamilyHandle::close);
+        db.close();
+    }
+
+    /**
+     * The RocksDB options shared by every database of a server. All column families of all databases share a
+     * single block cache, so that memory is given to whichever keyspace is hottest.
+     */
+    static class Config {
+
+        private static final long BLOCK_CACHE_SIZE = 256L * 1024 * 1024;
+        private static final int BLOOM_FILTER_BITS_PER_KEY = 10;
+        private static final double MEMTABLE_PREFIX_BLOOM_SIZE_RATIO = 0.1;
+        private static final long MAX_SUCCESSIVE_MERGES = 64;
+
+        private final DBOptions dbOptions;
+        private final LRUCache blockCache;
+        private final UInt64AddOperator mergeOperator;
+        private final List<ColumnFamilyOptions> familyOptions;
+        private final List<org.rocksdb.Options> sstOptions;
+
+        Config() {
+            dbOptions = new DBOptions().setCreateIfMissing(true).setCreateMissingColumnFamilies(true);
+            blockCache = new LRUCache(BLOCK_CACHE_SIZE);
+            mergeOperator = new UInt64AddOperator();
+            familyOptions = new ArrayList<>();
+            sstOptions = new ArrayList<>();
+            for (Family family : Family.values()) {
+                final ColumnFamilyOptions options = familyOptions(family);
+                familyOptions.add(options);
+                sstOptions.add(new org.rocksdb.Options(dbOptions, options));
+            }
+        }
+
+        private ColumnFamilyOptions familyOptions(Family family) {
+            final BlockBasedTableConfig tableConfig = new BlockBasedTableConfig()
+                    .setBlockCache(blockCache)
+                    .setFilterPolicy(new BloomFilter(BLOOM_FILTER_BITS_PER_KEY, false))
+                    .setCacheIndexAndFilterBlocks(true)
+                    .setPinL0FilterAndIndexBlocksInCache(true);
+            final ColumnFamilyOptions options = new ColumnFamilyOptions().setMergeOperator(mergeOperator);
+            switch (family) {
+                case THING:
+                    options.useFixedLengthPrefixExtractor(VertexIID.Thing.DEFAULT_LENGTH);
+                    options.setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_SIZE_RATIO);
+                    options.setCompressionType(CompressionType.LZ4_COMPRESSION);
+                    options.setBottommostCompressionType(CompressionType.ZSTD_COMPRESSION);
+                    break;
+                case INDEX:
+                    options.setCompressionType(CompressionType.LZ4_COMPRESSION);
+                    options.setBottommostCompressionType(CompressionType.ZSTD_COMPRESSION);
+                    break;
+                case STATISTICS:
+                    options.setMaxSuccessiveMerges(MAX_SUCCESSIVE_MERGES);
+                    options.setCompressionType(CompressionType.NO_COMPRESSION);
+                    break;
+                case TYPE:
+                case RULE:
+                case DEFAULT:
+                    options.setCompressionType(CompressionType.NO_COMPRESSION);
+                    break;
+                default:
+                    throw GraknException.of(ILLEGAL_STATE);
+            }
+            return options.setTableFormatConfig(tableConfig);
+        }
+
+        ColumnFamilyOptions options(Family family) {
+            return familyOptions.get(family.ordinal());
+        }
+
+        /**
+         * Returns the options to write external SST files with, for ingestion into the column family.
+         */
+        org.rocksdb.Options sstOptions(Family family) {
+            return sstOptions.get(family.ordinal());
+        }
+
+        void close() {
+            sstOptions.forEach(org.rocksdb.Options::close);
+            familyOptions.forEach(ColumnFamilyOptions::close);
+            mergeOperator.close();
+            blockCache.close();
+            dbOptions.close();
+        }
+    }
+}
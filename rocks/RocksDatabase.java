@@ -25,13 +25,24 @@ import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Arguments;
 import grakn.core.common.parameters.Options;
 import grakn.core.graph.SchemaGraph;
+import grakn.core.graph.iid.IndexIID;
+import grakn.core.graph.iid.VertexIID;
 import grakn.core.graph.util.Encoding;
 import grakn.core.graph.util.KeyGenerator;
 import grakn.core.logic.LogicCache;
+import grakn.core.query.QueryCache;
+import grakn.core.reasoner.ReasonerCache;
 import grakn.core.traversal.TraversalCache;
+import grakn.core.traversal.planner.PlanStore;
+import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
-import org.rocksdb.Status;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
@@ -40,24 +51,35 @@ import java.nio.file.Path;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.StampedLock;
 import java.util.stream.Stream;
 
+import static grakn.core.common.collection.Bytes.join;
+import static grakn.core.common.concurrent.ExecutorService.scheduledThreadPool;
+import static grakn.core.common.collection.Bytes.prefixUpperBound;
 import static grakn.core.common.exception.ErrorMessage.Database.DATABASE_CLOSED;
 import static grakn.core.common.exception.ErrorMessage.Internal.DIRTY_INITIALISATION;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.Internal.UNEXPECTED_INTERRUPTION;
+import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CONFLICT;
 import static grakn.core.common.parameters.Arguments.Session.Type.SCHEMA;
 import static grakn.core.common.parameters.Arguments.Transaction.Type.READ;
 import static grakn.core.common.parameters.Arguments.Transaction.Type.WRITE;
 import static java.util.Comparator.reverseOrder;
+import static java.util.concurrent.TimeUnit.MINUTES;
 
 public class RocksDatabase implements Grakn.Database {
 
-    protected final OptimisticTransactionDB rocksSchema;
-    protected final OptimisticTransactionDB rocksData;
+    private static final Logger LOG = LoggerFactory.getLogger(RocksDatabase.class);
+    private static final int STRING_INDEX_BATCH_SIZE = 10_000;
+    private static final int PLAN_STORE_SAVE_MINUTES = 5;
+
+    protected final RocksColumnFamilies rocksSchema;
+    protected final RocksColumnFamilies rocksData;
     protected final ConcurrentMap<UUID, Pair<RocksSession, Long>> sessions;
     protected final String name;
     protected StatisticsBackgroundCounter statisticsBackgroundCounter;
@@ -65,7 +87,10 @@ public class RocksDatabase implements Grakn.Database {
     private final KeyGenerator.Schema.Persisted schemaKeyGenerator;
     private final KeyGenerator.Data.Persisted dataKeyGenerator;
     private final StampedLock dataWriteSchemaLock;
+    private final StampedLock dataCommitLock;
     private final RocksGrakn grakn;
+    private final PlanStore planStore;
+    private final ScheduledFuture<?> planStoreSaveTask;
     private Cache cache;
 
     private final Factory.Session sessionFactory;
@@ -79,14 +104,88 @@ public class RocksDatabase implements Grakn.Database {
         dataKeyGenerator = new KeyGenerator.Data.Persisted();
         sessions = new ConcurrentHashMap<>();
         dataWriteSchemaLock = new StampedLock();
+        dataCommitLock = new StampedLock();
+
+        rocksSchema = RocksColumnFamilies.open(this.grakn.rocksConfig(), directory().resolve(Encoding.ROCKS_SCHEMA));
+        rocksData = RocksColumnFamilies.open(this.grakn.rocksConfig(), directory().resolve(Encoding.ROCKS_DATA));
+        mayIndexStrings(grakn.options().stringNGramIndex());
+        planStore = PlanStore.load(directory().resolve(Encoding.TRAVERSAL_PLANS));
+        planStoreSaveTask = scheduledThreadPool().scheduleWithFixedDelay(
+                planStore::save, PLAN_STORE_SAVE_MINUTES, PLAN_STORE_SAVE_MINUTES, MINUTES
+        );
+        isOpen = new AtomicBoolean(true);
+    }
 
+    /**
+     * Indexes the string attributes in storage that are not yet indexed in the order of their values, as they were
+     * written before the index existed, and adds or drops the n-gram index of string attributes to match
+     * {@code stringNGramIndex}. The marker of an index is written once it is complete and deleted before it is
+     * dropped, so transactions never read an incomplete index, and an interrupted backfill restarts on the next open.
+     */
+    private void mayIndexStrings(boolean stringNGramIndex) {
+        final OptimisticTransactionDB db = rocksData.db();
+        final byte[] sortedMarker = IndexIID.SortedString.marker();
+        final byte[] nGramMarker = IndexIID.StringNGram.marker();
         try {
-            rocksSchema = OptimisticTransactionDB.open(this.grakn.rocksOptions(), directory().resolve(Encoding.ROCKS_SCHEMA).toString());
-            rocksData = OptimisticTransactionDB.open(this.grakn.rocksOptions(), directory().resolve(Encoding.ROCKS_DATA).toString());
+            final boolean indexSorted = db.get(rocksData.handle(sortedMarker), sortedMarker) == null;
+            final boolean hasNGrams = db.get(rocksData.handle(nGramMarker), nGramMarker) != null;
+            if (hasNGrams && !stringNGramIndex) {
+                final ColumnFamilyHandle handle = rocksData.handle(nGramMarker);
+                db.delete(handle, nGramMarker);
+                db.deleteRange(handle, nGramMarker, prefixUpperBound(nGramMarker));
+            }
+            final boolean indexNGrams = stringNGramIndex && !hasNGrams;
+            if (!indexSorted && !indexNGrams) return;
+
+            LOG.info("Indexing the string attributes of database '{}'", name);
+            final byte[] attributePrefix = Encoding.Prefix.VERTEX_ATTRIBUTE.bytes();
+            try (ReadOptions readOptions = new ReadOptions().setTotalOrderSeek(true);
+                 RocksIterator iterator = db.newIterator(rocksData.handle(attributePrefix), readOptions);
+                 WriteOptions writeOptions = new WriteOptions();
+                 WriteBatch batch = new WriteBatch()) {
+                iterator.seek(attributePrefix);
+                while (iterator.isValid() && iterator.key()[0] == attributePrefix[0]) {
+                    final byte[] key = iterator.key();
+                    final VertexIID.Attribute<?> attIID = VertexIID.Attribute.extract(key, 0);
+                    final byte[] skipTo;
+                    if (attIID.valueType() != Encoding.ValueType.STRING) {
+                        skipTo = prefixUpperBound(join(attributePrefix, attIID.type().bytes()));
+                    } else {
+                        if (attIID.bytes().length == key.length) {
+                            indexString(batch, attIID.asString(), indexSorted, indexNGrams);
+                            if (batch.count() >= STRING_INDEX_BATCH_SIZE) {
+                                db.write(writeOptions, batch);
+                                batch.clear();
+                            }
+                        }
+                        skipTo = prefixUpperBound(attIID.bytes());
+                    }
+                    if (skipTo == null) break;
+                    iterator.seek(skipTo);
+                }
+                iterator.status();
+                if (indexSorted) batch.put(rocksData.handle(sortedMarker), sortedMarker, new byte[0]);
+                if (indexNGrams) batch.put(rocksData.handle(nGramMarker), nGramMarker, new byte[0]);
+                db.write(writeOptions, batch);
+            }
+            LOG.info("Indexed the string attributes of database '{}'", name);
         } catch (RocksDBException e) {
             throw GraknException.of(e);
         }
-        isOpen = new AtomicBoolean(true);
+    }
+
+    private void indexString(WriteBatch batch, VertexIID.Attribute.String attIID, boolean indexSorted,
+                             boolean indexNGrams) throws RocksDBException {
+        if (indexSorted) {
+            final byte[] key = IndexIID.SortedString.of(attIID.type(), attIID.value()).bytes();
+            batch.put(rocksData.handle(key), key, attIID.bytes());
+        }
+        if (indexNGrams) {
+            for (String gram : IndexIID.StringNGram.grams(attIID.value())) {
+                final byte[] key = IndexIID.StringNGram.of(attIID.type(), gram, attIID).bytes();
+                batch.put(rocksData.handle(key), key, new byte[0]);
+            }
+        }
     }
 
     static RocksDatabase createAndOpen(RocksGrakn grakn, String name, Factory.Session sessionFactory) {
@@ -204,15 +303,23 @@ public class RocksDatabase implements Grakn.Database {
         return grakn.directory().resolve(name);
     }
 
+    /**
+     * @return how far the statistics background counter lags behind, in transactions yet to be counted
+     */
+    public long statisticsLag() {
+        StatisticsBackgroundCounter counter = statisticsBackgroundCounter;
+        return counter != null ? counter.lag() : 0;
+    }
+
     public Options.Database options() {
         return grakn.options();
     }
 
-    OptimisticTransactionDB rocksData() {
+    RocksColumnFamilies rocksData() {
         return rocksData;
     }
 
-    OptimisticTransactionDB rocksSchema() {
+    RocksColumnFamilies rocksSchema() {
         return rocksSchema;
     }
 
@@ -237,6 +344,19 @@ public class RocksDatabase implements Grakn.Database {
         return dataWriteSchemaLock;
     }
 
+    /**
+     * Get the lock that orders the commits of data transactions against the
+     * ingestion of bulk-loaded files. Data commits hold it for read, and a
+     * bulk-load commit holds it for write from the first file it ingests until
+     * its transaction has committed, so that no other transaction commits in
+     * between and is overwritten by the files ingested after it.
+     *
+     * @return a {@code StampedLock} to protect data commits from concurrent bulk-load ingestion
+     */
+    StampedLock dataCommitLock() {
+        return dataCommitLock;
+    }
+
     @Override
     public String name() {
         return name;
@@ -279,6 +399,8 @@ public class RocksDatabase implements Grakn.Database {
         sessions.values().forEach(p -> p.first().close());
         statisticsBgCounterStop();
         cacheClose();
+        planStoreSaveTask.cancel(false);
+        planStore.save();
         rocksData.close();
         rocksSchema.close();
     }
@@ -298,6 +420,8 @@ public class RocksDatabase implements Grakn.Database {
 
         private final TraversalCache traversalCache;
         private final LogicCache logicCache;
+        private final QueryCache queryCache;
+        private final ReasonerCache reasonerCache;
         private final SchemaGraph schemaGraph;
         private final RocksStorage schemaStorage;
         private long borrowerCount;
@@ -306,8 +430,10 @@ public class RocksDatabase implements Grakn.Database {
         private Cache(RocksDatabase database) {
             this.schemaStorage = new RocksStorage(database.rocksSchema(), true);
             schemaGraph = new SchemaGraph(schemaStorage, true);
-            traversalCache = new TraversalCache();
+            traversalCache = new TraversalCache(database.planStore);
             logicCache = new LogicCache();
+            queryCache = new QueryCache();
+            reasonerCache = new ReasonerCache();
             borrowerCount = 0L;
             invalidated = false;
         }
@@ -320,6 +446,14 @@ public class RocksDatabase implements Grakn.Database {
             return logicCache;
         }
 
+        public QueryCache query() {
+            return queryCache;
+        }
+
+        public ReasonerCache reasoner() {
+            return reasonerCache;
+        }
+
         public SchemaGraph schemaGraph() {
             return schemaGraph;
         }
@@ -353,37 +487,47 @@ public class RocksDatabase implements Grakn.Database {
         private final RocksSession.Data session;
         private final Thread thread;
         private final Semaphore countJobNotifications;
+        private final AtomicLong notified;
+        private volatile long counted;
         private boolean isStopped;
 
         StatisticsBackgroundCounter(RocksSession.Data session) {
             this.session = session;
             countJobNotifications = new Semaphore(0);
+            notified = new AtomicLong(0);
+            counted = 0;
             thread = NamedThreadFactory.create(session.database().name + "::statistics-background-counter")
                     .newThread(this::countFn);
             thread.start();
         }
 
         public void needsBackgroundCounting() {
+            notified.incrementAndGet();
             countJobNotifications.release();
         }
 
+        /**
+         * Returns how far the counter lags behind, as the number of committed transactions with count jobs that
+         * have not been counted yet. Counting is caught up when the lag is zero.
+         */
+        public long lag() {
+            return notified.get() - counted;
+        }
+
         private void countFn() {
             do {
+                long notifiedBeforeCounting = notified.get();
                 try (RocksTransaction.Data tx = session.transaction(WRITE)) {
                     tx.graphMgr.data().stats().processCountJobs();
                     tx.commit();
+                    counted = notifiedBeforeCounting;
                 } catch (GraknException e) {
                     if (e.code().isPresent() && e.code().get().equals(DATABASE_CLOSED.code())) {
                         break;
+                    } else if (e.code().isPresent() && e.code().get().equals(TRANSACTION_CONFLICT.code())) {
+                        countJobNotifications.release();
                     } else {
-                        // TODO: Add specific code indicating rocksdb conflict to GraknException status code
-                        boolean txConflicted = e.getCause() instanceof RocksDBException &&
-                                ((RocksDBException) e.getCause()).getStatus().getCode() == Status.Code.Busy;
-                        if (txConflicted) {
-                            countJobNotifications.release();
-                        } else {
-                            throw e;
-                        }
+                        throw e;
                     }
                 }
                 waitForCountJob();
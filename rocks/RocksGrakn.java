@@ -26,7 +26,6 @@ import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Arguments;
 import grakn.core.common.parameters.Options;
 import org.rocksdb.RocksDB;
-import org.rocksdb.UInt64AddOperator;
 
 import java.nio.file.Path;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -46,7 +45,7 @@ public class RocksGrakn implements Grakn {
 
     private final Path directory;
     private final Options.Database options;
-    private final org.rocksdb.Options rocksConfig;
+    private final RocksColumnFamilies.Config rocksConfig;
     private final RocksDatabaseManager databaseMgr;
     private final AtomicBoolean isOpen;
 
@@ -54,9 +53,7 @@ public class RocksGrakn implements Grakn {
         this.directory = directory;
         this.options = options;
         this.databaseMgr = databaseMgrFactory.databaseManager(this);
-        this.rocksConfig = new org.rocksdb.Options()
-                .setCreateIfMissing(true)
-                .setMergeOperator(new UInt64AddOperator());
+        this.rocksConfig = new RocksColumnFamilies.Config();
 
         ExecutorService.init(MAX_THREADS);
         databaseMgr.loadAll();
@@ -67,6 +64,10 @@ public class RocksGrakn implements Grakn {
         return open(directory, new Options.Database(), new RocksFactory());
     }
 
+    public static RocksGrakn open(Path directory, Options.Database options) {
+        return open(directory, options, new RocksFactory());
+    }
+
     public static RocksGrakn open(Path directory, Factory graknFactory) {
         return open(directory, new Options.Database(), graknFactory);
     }
@@ -79,7 +80,7 @@ public class RocksGrakn implements Grakn {
         return directory;
     }
 
-    org.rocksdb.Options rocksOptions() {
+    RocksColumnFamilies.Config rocksConfig() {
         return rocksConfig;
     }
 
@@ -19,20 +19,34 @@
 package grakn.core.rocks;
 
 import grakn.core.common.iterator.ResourceIterator;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.Slice;
 
 import java.util.NoSuchElementException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiFunction;
 
 import static grakn.core.common.collection.Bytes.bytesHavePrefix;
+import static grakn.core.common.collection.Bytes.prefixUpperBound;
 
+/**
+ * An iterator over the keys of a storage that start with a given prefix.
+ *
+ * Prefixes long enough for the prefix bloom filters of their column family are iterated in prefix mode, so the
+ * underlying RocksDB iterator never leaves the prefix, and is recycled once this iterator is closed. All other
+ * prefixes are iterated with their own read options, bounded by the first key past the prefix, so the underlying
+ * RocksDB iterator stops at the end of the prefix rather than reading on into the next block.
+ */
 public final class RocksIterator<T> implements ResourceIterator<T>, AutoCloseable {
 
     private final byte[] prefix;
+    private final boolean isPrefixSeek;
     private final RocksStorage storage;
     private final AtomicBoolean isOpen;
     private final BiFunction<byte[], byte[], T> constructor;
     private org.rocksdb.RocksIterator internalRocksIterator;
+    private ReadOptions readOptions;
+    private Slice upperBound;
     private State state;
     private T next;
 
@@ -42,13 +56,21 @@ public final class RocksIterator<T> implements ResourceIterator<T>, AutoCloseabl
         this.storage = storage;
         this.prefix = prefix;
         this.constructor = constructor;
+        this.isPrefixSeek = RocksColumnFamilies.isPrefixSeekable(prefix);
 
         isOpen = new AtomicBoolean(true);
         state = State.INIT;
     }
 
     private void initalise() {
-        this.internalRocksIterator = storage.getInternalRocksIterator();
+        if (isPrefixSeek) {
+            this.internalRocksIterator = storage.getInternalRocksIterator(prefix);
+        } else {
+            final byte[] upperBoundKey = prefixUpperBound(prefix);
+            if (upperBoundKey != null) this.upperBound = new Slice(upperBoundKey);
+            this.readOptions = storage.boundedReadOptions(upperBound);
+            this.internalRocksIterator = storage.getInternalRocksIterator(prefix, readOptions);
+        }
         this.internalRocksIterator.seek(prefix);
     }
 
@@ -66,6 +88,21 @@ public final class RocksIterator<T> implements ResourceIterator<T>, AutoCloseabl
         return true;
     }
 
+    /**
+     * Positions this iterator at the first remaining key, at or after {@code key}, that starts with the
+     * prefix of this iterator. This lets a caller skip over a run of keys it knows it does not need
+     * without fetching and constructing each of them.
+     */
+    @Override
+    public void seek(byte[] key) {
+        assert bytesHavePrefix(key, prefix);
+        if (state == State.COMPLETED) return;
+        if (state == State.INIT) initalise();
+        internalRocksIterator.seek(key);
+        next = null;
+        state = State.EMPTY;
+    }
+
     public final T peek() {
         if (!hasNext()) throw new NoSuchElementException();
         return next;
@@ -79,7 +116,15 @@ public final class RocksIterator<T> implements ResourceIterator<T>, AutoCloseabl
     @Override
     public void close() {
         if (isOpen.compareAndSet(true, false)) {
-            if (state != State.INIT) storage.recycle(internalRocksIterator);
+            if (state != State.INIT) {
+                if (isPrefixSeek) {
+                    storage.recycle(prefix, internalRocksIterator);
+                } else {
+                    internalRocksIterator.close();
+                    readOptions.close();
+                    if (upperBound != null) upperBound.close();
+                }
+            }
             state = State.COMPLETED;
             storage.remove(this);
         }
@@ -19,29 +19,51 @@
 package grakn.core.rocks;
 
 import grakn.core.common.concurrent.ManagedReadWriteLock;
+import grakn.core.common.collection.Bytes;
 import grakn.core.common.exception.ErrorMessage;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.graph.util.KeyGenerator;
 import grakn.core.graph.util.Storage;
 import org.rocksdb.AbstractImmutableNativeReference;
-import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.EnvOptions;
+import org.rocksdb.IngestExternalFileOptions;
 import org.rocksdb.OptimisticTransactionOptions;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Slice;
 import org.rocksdb.Snapshot;
+import org.rocksdb.SstFileWriter;
 import org.rocksdb.Transaction;
+import org.rocksdb.WBWIRocksIterator;
+import org.rocksdb.WriteBatchWithIndex;
 import org.rocksdb.WriteOptions;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
 import java.util.function.BiFunction;
 
 import static grakn.core.common.collection.Bytes.bytesHavePrefix;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CLOSED;
+import static java.util.Collections.singletonList;
 
 public class RocksStorage implements Storage {
 
@@ -49,27 +71,65 @@ public class RocksStorage implements Storage {
 
     protected final Transaction storageTransaction;
     private final boolean isReadOnly;
+    private final RocksColumnFamilies columnFamilies;
+    private volatile boolean isWriteBuffered;
+    private final ConcurrentMap<Thread, WriteSegment> writeSegments;
+    private final ConcurrentLinkedQueue<WriteSegment> partitionSegments;
+    private final ThreadLocal<WriteSegment> partitionSegment;
+    private final AtomicLong writeSequence;
     private final Set<RocksIterator<?>> iterators;
-    private final ConcurrentLinkedQueue<org.rocksdb.RocksIterator> recycled;
+    private final ConcurrentLinkedQueue<org.rocksdb.RocksIterator>[] recycled;
     private final OptimisticTransactionOptions transactionOptions;
     private final WriteOptions writeOptions;
     private final ReadOptions readOptions;
+    private final ReadOptions prefixReadOptions;
     private final Snapshot snapshot;
     private final ManagedReadWriteLock readWriteLock;
     private final AtomicBoolean isOpen;
 
-    public RocksStorage(OptimisticTransactionDB rocksDB, boolean isReadOnly) {
+    public RocksStorage(RocksColumnFamilies columnFamilies, boolean isReadOnly) {
+        this(columnFamilies, isReadOnly, false);
+    }
+
+    /**
+     * Constructs a storage on top of a new RocksDB optimistic transaction.
+     *
+     * If {@code isWriteBuffered} is true, writes are not sent to the RocksDB
+     * transaction as they happen. Instead, every thread writes into its own
+     * {@code WriteSegment}, and the segments are applied onto the transaction
+     * at commit, in the order the writes were made across all threads. The RocksDB transaction is then never mutated while the storage
+     * is open, so reads no longer need to take the read lock. In exchange, a
+     * thread can only read its own uncommitted writes, and never those of
+     * other threads writing into the same transaction.
+     *
+     * Every key is read from and written to the column family of its prefix.
+     * Iterators over prefixes long enough to be served by the prefix bloom
+     * filters of their column family only visit keys sharing that prefix, and
+     * all other iterators seek in total order up to an exclusive upper bound
+     * just past their prefix.
+     */
+    @SuppressWarnings("unchecked")
+    public RocksStorage(RocksColumnFamilies columnFamilies, boolean isReadOnly, boolean isWriteBuffered) {
+        assert !isReadOnly || !isWriteBuffered;
+        this.columnFamilies = columnFamilies;
         this.isReadOnly = isReadOnly;
+        writeSegments = new ConcurrentHashMap<>();
+        partitionSegments = new ConcurrentLinkedQueue<>();
+        partitionSegment = new ThreadLocal<>();
+        writeSequence = new AtomicLong();
         iterators = ConcurrentHashMap.newKeySet();
-        recycled = new ConcurrentLinkedQueue<>();
+        recycled = new ConcurrentLinkedQueue[RocksColumnFamilies.Family.values().length];
+        for (int i = 0; i < recycled.length; i++) recycled[i] = new ConcurrentLinkedQueue<>();
         readWriteLock = new ManagedReadWriteLock();
         writeOptions = new WriteOptions();
         transactionOptions = new OptimisticTransactionOptions().setSetSnapshot(true);
-        storageTransaction = rocksDB.beginTransaction(writeOptions, transactionOptions);
+        storageTransaction = columnFamilies.db().beginTransaction(writeOptions, transactionOptions);
         snapshot = storageTransaction.getSnapshot();
-        readOptions = new ReadOptions().setSnapshot(snapshot);
+        readOptions = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(true);
+        prefixReadOptions = new ReadOptions().setSnapshot(snapshot).setPrefixSameAsStart(true);
 
         isOpen = new AtomicBoolean(true);
+        if (isWriteBuffered) bufferWrites();
     }
 
     @Override
@@ -80,10 +140,11 @@ public class RocksStorage implements Storage {
     @Override
     public byte[] get(byte[] key) {
         validateTransactionIsOpen();
+        if (isWriteBuffered) return getBuffered(key);
         try {
             // We don't need to check isOpen.get() as tx.commit() does not involve this method
             if (!isReadOnly) readWriteLock.lockRead();
-            return storageTransaction.get(readOptions, key);
+            return storageTransaction.get(columnFamilies.handle(key), readOptions, key);
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
@@ -91,6 +152,16 @@ public class RocksStorage implements Storage {
         }
     }
 
+    private byte[] getBuffered(byte[] key) {
+        try {
+            final WriteSegment segment = currentWriteSegment();
+            if (segment == null) return storageTransaction.get(columnFamilies.handle(key), readOptions, key);
+            else return segment.get(key);
+        } catch (RocksDBException e) {
+            throw exception(e);
+        }
+    }
+
     @Override
     public byte[] getLastKey(byte[] prefix) {
         validateTransactionIsOpen();
@@ -98,7 +169,7 @@ public class RocksStorage implements Storage {
         upperBound[upperBound.length - 1] = (byte) (upperBound[upperBound.length - 1] + 1);
         assert upperBound[upperBound.length - 1] != Byte.MIN_VALUE;
 
-        try (org.rocksdb.RocksIterator iterator = getInternalRocksIterator()) {
+        try (org.rocksdb.RocksIterator iterator = getInternalRocksIterator(prefix, readOptions)) {
             iterator.seekForPrev(upperBound);
             if (bytesHavePrefix(iterator.key(), prefix)) return iterator.key();
             else return null;
@@ -108,9 +179,13 @@ public class RocksStorage implements Storage {
     @Override
     public void delete(byte[] key) {
         validateTransactionIsOpen();
+        if (isWriteBuffered) {
+            localWriteSegment().delete(key);
+            return;
+        }
         try {
             if (isOpen.get()) readWriteLock.lockWrite();
-            storageTransaction.delete(key);
+            storageTransaction.delete(columnFamilies.handle(key), key);
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
@@ -126,9 +201,13 @@ public class RocksStorage implements Storage {
     @Override
     public void put(byte[] key, byte[] value) {
         validateTransactionIsOpen();
+        if (isWriteBuffered) {
+            localWriteSegment().put(key, value);
+            return;
+        }
         try {
             if (isOpen.get()) readWriteLock.lockWrite();
-            storageTransaction.put(key, value);
+            storageTransaction.put(columnFamilies.handle(key), key, value);
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
@@ -144,9 +223,30 @@ public class RocksStorage implements Storage {
     @Override
     public void putUntracked(byte[] key, byte[] value) {
         validateTransactionIsOpen();
+        if (isWriteBuffered) {
+            localWriteSegment().putUntracked(key, value);
+            return;
+        }
+        try {
+            readWriteLock.lockWrite();
+            storageTransaction.putUntracked(columnFamilies.handle(key), key, value);
+        } catch (RocksDBException | InterruptedException e) {
+            throw exception(e);
+        } finally {
+            if (isOpen()) readWriteLock.unlockWrite();
+        }
+    }
+
+    @Override
+    public void deleteUntracked(byte[] key) {
+        validateTransactionIsOpen();
+        if (isWriteBuffered) {
+            localWriteSegment().deleteUntracked(key);
+            return;
+        }
         try {
             readWriteLock.lockWrite();
-            storageTransaction.putUntracked(key, value);
+            storageTransaction.deleteUntracked(columnFamilies.handle(key), key);
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
@@ -157,9 +257,13 @@ public class RocksStorage implements Storage {
     @Override
     public void mergeUntracked(byte[] key, byte[] value) {
         validateTransactionIsOpen();
+        if (isWriteBuffered) {
+            localWriteSegment().mergeUntracked(key, value);
+            return;
+        }
         try {
             readWriteLock.lockWrite();
-            storageTransaction.mergeUntracked(key, value);
+            storageTransaction.mergeUntracked(columnFamilies.handle(key), key, value);
         } catch (RocksDBException | InterruptedException e) {
             throw exception(e);
         } finally {
@@ -167,6 +271,42 @@ public class RocksStorage implements Storage {
         }
     }
 
+    private synchronized void bufferWrites() {
+        assert !isReadOnly;
+        isWriteBuffered = true;
+    }
+
+    @Override
+    public boolean isWriteBuffered() {
+        return isWriteBuffered;
+    }
+
+    /**
+     * Runs every partition on the common fork-join pool, with the writes of each
+     * partition buffered in a segment of its own. Once all partitions are done,
+     * their writes are numbered again from the sequence of this storage, one
+     * partition after another, so that they are applied at commit in the order
+     * of the partitions, and the order each partition made them in.
+     */
+    @Override
+    public void writePartitions(List<Runnable> partitions) {
+        assert isWriteBuffered;
+        final List<WriteSegment> segments = new ArrayList<>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) segments.add(new WriteSegment());
+        IntStream.range(0, partitions.size()).parallel().forEach(i -> {
+            partitionSegment.set(segments.get(i));
+            try {
+                partitions.get(i).run();
+            } finally {
+                partitionSegment.remove();
+            }
+        });
+        for (WriteSegment segment : segments) {
+            segment.resequence();
+            partitionSegments.add(segment);
+        }
+    }
+
     @Override
     public <G> ResourceIterator<G> iterate(byte[] key, BiFunction<byte[], byte[], G> constructor) {
         validateTransactionIsOpen();
@@ -190,11 +330,16 @@ public class RocksStorage implements Storage {
     public void close() {
         if (isOpen.compareAndSet(true, false)) {
             iterators.parallelStream().forEach(RocksIterator::close);
-            recycled.forEach(AbstractImmutableNativeReference::close);
+            for (ConcurrentLinkedQueue<org.rocksdb.RocksIterator> queue : recycled) {
+                queue.forEach(AbstractImmutableNativeReference::close);
+            }
+            writeSegments.values().forEach(WriteSegment::close);
+            partitionSegments.forEach(WriteSegment::close);
             snapshot.close();
             storageTransaction.close();
             transactionOptions.close();
             readOptions.close();
+            prefixReadOptions.close();
             writeOptions.close();
         }
     }
@@ -203,28 +348,364 @@ public class RocksStorage implements Storage {
         if (!isOpen()) throw GraknException.of(TRANSACTION_CLOSED);
     }
 
-    org.rocksdb.RocksIterator getInternalRocksIterator() {
+    /**
+     * Returns an iterator in prefix mode over the column family of {@code prefix}, which must be
+     * {@link RocksColumnFamilies#isPrefixSeekable(byte[]) prefix seekable}. Such iterators hold
+     * no per-prefix state, so they are recycled across prefixes once their owner is closed.
+     */
+    org.rocksdb.RocksIterator getInternalRocksIterator(byte[] prefix) {
+        assert RocksColumnFamilies.isPrefixSeekable(prefix);
         if (isReadOnly) {
-            final org.rocksdb.RocksIterator iterator = recycled.poll();
+            final org.rocksdb.RocksIterator iterator = recycled[RocksColumnFamilies.family(prefix).ordinal()].poll();
             if (iterator != null) return iterator;
         }
-        return storageTransaction.getIterator(readOptions);
+        return getInternalRocksIterator(prefix, prefixReadOptions);
+    }
+
+    org.rocksdb.RocksIterator getInternalRocksIterator(byte[] prefix, ReadOptions options) {
+        final org.rocksdb.RocksIterator iterator = storageTransaction.getIterator(options, columnFamilies.handle(prefix));
+        if (isWriteBuffered) {
+            final WriteSegment segment = currentWriteSegment();
+            if (segment != null) return segment.iterator(columnFamilies.handle(prefix), iterator);
+        }
+        return iterator;
+    }
+
+    /**
+     * Returns new read options on the snapshot of this storage that stop iteration at {@code upperBound},
+     * to be closed by the caller once its iterator is closed.
+     */
+    ReadOptions boundedReadOptions(@Nullable Slice upperBound) {
+        final ReadOptions options = new ReadOptions().setSnapshot(snapshot).setTotalOrderSeek(true);
+        if (upperBound != null) options.setIterateUpperBound(upperBound);
+        return options;
     }
 
-    public void recycle(org.rocksdb.RocksIterator rocksIterator) {
-        recycled.add(rocksIterator);
+    public void recycle(byte[] prefix, org.rocksdb.RocksIterator rocksIterator) {
+        recycled[RocksColumnFamilies.family(prefix).ordinal()].add(rocksIterator);
     }
 
     void remove(RocksIterator<?> iterator) {
         iterators.remove(iterator);
     }
 
+    @Nullable
+    private WriteSegment currentWriteSegment() {
+        final WriteSegment segment = partitionSegment.get();
+        return segment != null ? segment : writeSegments.get(Thread.currentThread());
+    }
+
+    private WriteSegment localWriteSegment() {
+        final WriteSegment segment = partitionSegment.get();
+        if (segment != null) return segment;
+        return writeSegments.computeIfAbsent(Thread.currentThread(), t -> new WriteSegment());
+    }
+
+    /**
+     * Returns the buffered writes of every thread, in the order they were made.
+     */
+    private List<BufferedWrite> bufferedWrites() {
+        final List<BufferedWrite> writes = new ArrayList<>();
+        for (WriteSegment segment : writeSegments.values()) writes.addAll(segment.writes);
+        for (WriteSegment segment : partitionSegments) writes.addAll(segment.writes);
+        writes.sort(Comparator.comparingLong(write -> write.sequence));
+        return writes;
+    }
+
+    /**
+     * Applies every thread's buffered writes onto the RocksDB transaction, in
+     * the order they were made across all threads, so that the last write to a
+     * key wins, just as it would have without buffering.
+     *
+     * This method is not thread-safe, and must only be called once all threads
+     * have stopped writing into this storage, i.e. at commit.
+     */
+    void applyWriteSegments() throws RocksDBException {
+        for (BufferedWrite write : bufferedWrites()) write.applyTo(storageTransaction, columnFamilies);
+    }
+
+    /**
+     * Writes every buffered put and delete into an external SST file per column
+     * family, sorted by key, to be ingested into the database at commit. The
+     * files are not visible to anyone until they are ingested, so nothing is
+     * left behind if the commit fails before then.
+     *
+     * The puts and deletes are not tracked by the transaction, so they are not
+     * validated against the writes of other transactions: bulk loading is meant
+     * for data that nobody else writes to. Merges cannot be written into the
+     * file without reading the existing value from the database, so they are
+     * applied onto the transaction instead. The segments are cleared afterwards,
+     * so the transaction only commits the merges.
+     *
+     * This method is not thread-safe, and must only be called at commit.
+     */
+    IngestFiles writeIngestFiles(Path directory) throws RocksDBException {
+        final Map<RocksColumnFamilies.Family, SortedMap<byte[], byte[]>> writes = new EnumMap<>(RocksColumnFamilies.Family.class);
+        for (BufferedWrite write : bufferedWrites()) {
+            if (write.type == BufferedWrite.Type.MERGE_UNTRACKED) {
+                write.applyTo(storageTransaction, columnFamilies);
+                continue;
+            }
+            final boolean isDelete = write.type == BufferedWrite.Type.DELETE || write.type == BufferedWrite.Type.DELETE_UNTRACKED;
+            writes.computeIfAbsent(RocksColumnFamilies.family(write.key), f -> new TreeMap<>(Bytes::compareBytes))
+                    .put(write.key, isDelete ? null : write.value);
+        }
+        clearWriteSegments();
+        final IngestFiles files = new IngestFiles(directory, writes);
+        try {
+            for (Map.Entry<RocksColumnFamilies.Family, SortedMap<byte[], byte[]>> familyWrites : writes.entrySet()) {
+                files.files.put(familyWrites.getKey(), writeIngestFile(directory, familyWrites.getKey(), familyWrites.getValue()));
+            }
+        } catch (RuntimeException | RocksDBException e) {
+            files.delete();
+            throw e;
+        }
+        return files;
+    }
+
+    private Path writeIngestFile(Path directory, RocksColumnFamilies.Family family,
+                                 SortedMap<byte[], byte[]> writes) throws RocksDBException {
+        Path file = null;
+        try (EnvOptions envOptions = new EnvOptions();
+             SstFileWriter writer = new SstFileWriter(envOptions, columnFamilies.config().sstOptions(family))) {
+            file = Files.createTempFile(directory, "bulk-", ".sst");
+            writer.open(file.toString());
+            for (Map.Entry<byte[], byte[]> write : writes.entrySet()) {
+                if (write.getValue() != null) writer.put(write.getKey(), write.getValue());
+                else writer.delete(write.getKey());
+            }
+            writer.finish();
+            return file;
+        } catch (IOException | RocksDBException e) {
+            if (file != null) deleteIfExists(file);
+            if (e instanceof RocksDBException) throw (RocksDBException) e;
+            else throw exception(e);
+        }
+    }
+
+    /**
+     * The external SST files of a bulk-load transaction, one per column family,
+     * and the sorted puts and deletes written into them.
+     *
+     * RocksJava only ingests files into one column family at a time, so the
+     * families are ingested one after another. If any of them fails to be
+     * ingested, or the transaction fails to commit afterwards, the families
+     * already ingested are reverted to the values their keys have in the
+     * snapshot of this storage. Ingested files are given sequence numbers after
+     * every open snapshot, so the snapshot still reads the values from before.
+     */
+    class IngestFiles {
+
+        private final Path directory;
+        private final Map<RocksColumnFamilies.Family, SortedMap<byte[], byte[]>> writes;
+        private final Map<RocksColumnFamilies.Family, Path> files;
+        private final List<RocksColumnFamilies.Family> ingested;
+
+        private IngestFiles(Path directory, Map<RocksColumnFamilies.Family, SortedMap<byte[], byte[]>> writes) {
+            this.directory = directory;
+            this.writes = writes;
+            this.files = new EnumMap<>(RocksColumnFamilies.Family.class);
+            this.ingested = new ArrayList<>();
+        }
+
+        /**
+         * Ingests every file into its column family, moving it into the database,
+         * and reverts the families already ingested if any of them fails.
+         */
+        void ingest() throws RocksDBException {
+            try {
+                for (Map.Entry<RocksColumnFamilies.Family, Path> file : files.entrySet()) {
+                    ingest(file.getKey(), file.getValue());
+                    ingested.add(file.getKey());
+                }
+            } catch (RocksDBException | RuntimeException e) {
+                revert();
+                throw e;
+            }
+        }
+
+        void revert() throws RocksDBException {
+            for (RocksColumnFamilies.Family family : ingested) {
+                final ColumnFamilyHandle handle = columnFamilies.handle(family);
+                final SortedMap<byte[], byte[]> previous = new TreeMap<>(Bytes::compareBytes);
+                for (byte[] key : writes.get(family).keySet()) {
+                    previous.put(key, columnFamilies.db().get(handle, readOptions, key));
+                }
+                final Path file = writeIngestFile(directory, family, previous);
+                try {
+                    ingest(family, file);
+                } finally {
+                    deleteIfExists(file);
+                }
+            }
+            ingested.clear();
+        }
+
+        private void ingest(RocksColumnFamilies.Family family, Path file) throws RocksDBException {
+            try (IngestExternalFileOptions ingestOptions = new IngestExternalFileOptions().setMoveFiles(true)) {
+                columnFamilies.db().ingestExternalFile(
+                        columnFamilies.handle(family), singletonList(file.toString()), ingestOptions
+                );
+            }
+        }
+
+        void delete() {
+            files.values().forEach(RocksStorage.this::deleteIfExists);
+        }
+    }
+
+    private void deleteIfExists(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            throw exception(e);
+        }
+    }
+
+    void clearWriteSegments() {
+        writeSegments.values().forEach(WriteSegment::close);
+        writeSegments.clear();
+        partitionSegments.forEach(WriteSegment::close);
+        partitionSegments.clear();
+    }
+
+    /**
+     * The writes of a single thread into a write-buffered storage.
+     *
+     * Every write is appended in order with the next sequence number of the
+     * storage, so that the writes of all threads can be applied in the order
+     * they were made. Tracked writes are also held in a
+     * {@code WriteBatchWithIndex}, so that the owning thread can read its own
+     * writes on top of the transaction. Untracked writes are never read back
+     * before commit. A segment is only ever written to by the thread that owns it,
+     * or by the partition of writes that owns it.
+     */
+    private class WriteSegment {
+
+        private final WriteBatchWithIndex tracked;
+        private final List<BufferedWrite> writes;
+
+        WriteSegment() {
+            tracked = new WriteBatchWithIndex(true);
+            writes = new ArrayList<>();
+        }
+
+        /**
+         * Reads a key from the writes of this segment, and otherwise from the
+         * transaction, which also holds the writes made before buffering.
+         */
+        byte[] get(byte[] key) throws RocksDBException {
+            final ColumnFamilyHandle handle = columnFamilies.handle(key);
+            try (WBWIRocksIterator iterator = tracked.newIterator(handle)) {
+                iterator.seek(key);
+                if (iterator.isValid()) {
+                    final WBWIRocksIterator.WriteEntry entry = iterator.entry();
+                    if (Arrays.equals(entry.getKey().data(), key)) {
+                        return entry.getType() == WBWIRocksIterator.WriteType.PUT ? entry.getValue().data() : null;
+                    }
+                }
+            }
+            return storageTransaction.get(handle, readOptions, key);
+        }
+
+        org.rocksdb.RocksIterator iterator(ColumnFamilyHandle handle, org.rocksdb.RocksIterator baseIterator) {
+            return tracked.newIteratorWithBase(handle, baseIterator);
+        }
+
+        void put(byte[] key, byte[] value) {
+            try {
+                tracked.put(columnFamilies.handle(key), key, value);
+            } catch (RocksDBException e) {
+                throw exception(e);
+            }
+            append(key, value, BufferedWrite.Type.PUT);
+        }
+
+        void delete(byte[] key) {
+            try {
+                tracked.delete(columnFamilies.handle(key), key);
+            } catch (RocksDBException e) {
+                throw exception(e);
+            }
+            append(key, null, BufferedWrite.Type.DELETE);
+        }
+
+        void putUntracked(byte[] key, byte[] value) {
+            append(key, value, BufferedWrite.Type.PUT_UNTRACKED);
+        }
+
+        void deleteUntracked(byte[] key) {
+            append(key, null, BufferedWrite.Type.DELETE_UNTRACKED);
+        }
+
+        void mergeUntracked(byte[] key, byte[] value) {
+            append(key, value, BufferedWrite.Type.MERGE_UNTRACKED);
+        }
+
+        private void append(byte[] key, @Nullable byte[] value, BufferedWrite.Type type) {
+            writes.add(new BufferedWrite(writeSequence.getAndIncrement(), key, value, type));
+        }
+
+        void resequence() {
+            for (BufferedWrite write : writes) write.sequence = writeSequence.getAndIncrement();
+        }
+
+        void close() {
+            tracked.close();
+            writes.clear();
+        }
+    }
+
+    private static class BufferedWrite {
+
+        private long sequence;
+        private final byte[] key;
+        private final byte[] value;
+        private final Type type;
+
+        private BufferedWrite(long sequence, byte[] key, @Nullable byte[] value, Type type) {
+            this.sequence = sequence;
+            this.key = key;
+            this.value = value;
+            this.type = type;
+        }
+
+        void applyTo(Transaction transaction, RocksColumnFamilies columnFamilies) throws RocksDBException {
+            final ColumnFamilyHandle handle = columnFamilies.handle(key);
+            switch (type) {
+                case PUT:
+                    transaction.put(handle, key, value);
+                    break;
+                case DELETE:
+                    transaction.delete(handle, key);
+                    break;
+                case PUT_UNTRACKED:
+                    transaction.putUntracked(handle, key, value);
+                    break;
+                case DELETE_UNTRACKED:
+                    transaction.deleteUntracked(handle, key);
+                    break;
+                case MERGE_UNTRACKED:
+                    transaction.mergeUntracked(handle, key, value);
+                    break;
+                default:
+                    assert false;
+            }
+        }
+
+        private enum Type {PUT, DELETE, PUT_UNTRACKED, DELETE_UNTRACKED, MERGE_UNTRACKED}
+    }
+
     static abstract class TransactionBounded extends RocksStorage {
 
         private final RocksTransaction transaction;
 
-        TransactionBounded(OptimisticTransactionDB rocksDB, RocksTransaction transaction) {
-            super(rocksDB, transaction.type().isRead());
+        TransactionBounded(RocksColumnFamilies columnFamilies, RocksTransaction transaction) {
+            this(columnFamilies, transaction, false);
+        }
+
+        TransactionBounded(RocksColumnFamilies columnFamilies, RocksTransaction transaction, boolean isWriteBuffered) {
+            super(columnFamilies, transaction.type().isRead(), isWriteBuffered);
             this.transaction = transaction;
         }
 
@@ -244,10 +725,12 @@ public class RocksStorage implements Storage {
             // We disable RocksDB indexing of uncommitted writes, as we're only about to write and never again reading
             // TODO: We should benchmark this
             storageTransaction.disableIndexing();
+            applyWriteSegments();
             storageTransaction.commit();
         }
 
         public void rollback() throws RocksDBException {
+            clearWriteSegments();
             storageTransaction.rollback();
         }
     }
@@ -270,10 +753,50 @@ public class RocksStorage implements Storage {
     public static class Data extends TransactionBounded implements Storage.Data {
 
         private final KeyGenerator.Data dataKeyGenerator;
+        private final RocksDatabase database;
+        private final boolean isBulkLoad;
 
         public Data(RocksDatabase database, RocksTransaction transaction) {
-            super(database.rocksData, transaction);
+            super(database.rocksData, transaction, transaction.type().isWrite() &&
+                    (transaction.options().writeBuffered() || transaction.options().bulkLoad()));
             this.dataKeyGenerator = database.dataKeyGenerator();
+            this.database = database;
+            this.isBulkLoad = transaction.type().isWrite() && transaction.options().bulkLoad();
+        }
+
+        /**
+         * Commits the writes of this storage. In a bulk-load transaction, the
+         * buffered puts and deletes are first written into external SST files,
+         * and only the merges are committed through the RocksDB transaction.
+         * The files are ingested before the merges are committed, while no
+         * other transaction of the database can commit, and are reverted if the
+         * merges fail to commit.
+         */
+        @Override
+        public void commit() throws RocksDBException {
+            if (!isBulkLoad) {
+                final long lock = database.dataCommitLock().readLock();
+                try {
+                    super.commit();
+                } finally {
+                    database.dataCommitLock().unlockRead(lock);
+                }
+                return;
+            }
+            final IngestFiles files = writeIngestFiles(database.directory());
+            final long lock = database.dataCommitLock().writeLock();
+            try {
+                files.ingest();
+                try {
+                    super.commit();
+                } catch (RocksDBException | RuntimeException e) {
+                    files.revert();
+                    throw e;
+                }
+            } finally {
+                database.dataCommitLock().unlockWrite(lock);
+                files.delete();
+            }
         }
 
         @Override
@@ -29,11 +29,14 @@ import grakn.core.graph.GraphManager;
 import grakn.core.graph.SchemaGraph;
 import grakn.core.logic.LogicCache;
 import grakn.core.logic.LogicManager;
+import grakn.core.query.QueryCache;
 import grakn.core.query.QueryManager;
 import grakn.core.reasoner.Reasoner;
+import grakn.core.reasoner.ReasonerCache;
 import grakn.core.traversal.TraversalCache;
 import grakn.core.traversal.TraversalEngine;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Status;
 
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -43,6 +46,7 @@ import static grakn.core.common.exception.ErrorMessage.Transaction.ILLEGAL_COMMI
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_DATA_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.SESSION_SCHEMA_VIOLATION;
 import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CLOSED;
+import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CONFLICT;
 
 public abstract class RocksTransaction implements Grakn.Transaction {
 
@@ -61,12 +65,13 @@ public abstract class RocksTransaction implements Grakn.Transaction {
         this.context = new Context.Transaction(session.context(), options).type(type);
     }
 
-    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache) {
+    void initialise(GraphManager graphMgr, TraversalCache traversalCache, LogicCache logicCache,
+                    QueryCache queryCache, ReasonerCache reasonerCache) {
         traversalEng = new TraversalEngine(graphMgr, traversalCache);
         conceptMgr = new ConceptManager(graphMgr);
         logicMgr = new LogicManager(graphMgr, conceptMgr, traversalEng, logicCache);
-        reasoner = new Reasoner(traversalEng, conceptMgr, logicMgr, context);
-        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, context);
+        reasoner = new Reasoner(traversalEng, conceptMgr, logicMgr, context, reasonerCache);
+        queryMgr = new QueryManager(conceptMgr, logicMgr, reasoner, context, queryCache);
         isOpen = new AtomicBoolean(true);
     }
 
@@ -123,10 +128,23 @@ public abstract class RocksTransaction implements Grakn.Transaction {
     }
 
     protected void closeResources() {
+        queryMgr.close();
         closeStorage();
         session.remove(this);
     }
 
+    /**
+     * A commit that conflicts with a transaction that committed first fails with the Busy status of RocksDB,
+     * which is reported with its own error code so that clients can tell it apart and retry the transaction.
+     */
+    static GraknException commitException(RocksDBException e) {
+        if (e.getStatus() != null && e.getStatus().getCode() == Status.Code.Busy) {
+            return GraknException.of(TRANSACTION_CONFLICT);
+        } else {
+            return GraknException.of(e);
+        }
+    }
+
     abstract void closeStorage();
 
     boolean isSchema() {
@@ -161,7 +179,7 @@ public abstract class RocksTransaction implements Grakn.Transaction {
             DataGraph dataGraph = new DataGraph(dataStorage, schemaGraph);
 
             graphMgr = new GraphManager(schemaGraph, dataGraph);
-            initialise(graphMgr, new TraversalCache(), new LogicCache());
+            initialise(graphMgr, new TraversalCache(), new LogicCache(), new QueryCache(), new ReasonerCache());
         }
 
         @Override
@@ -219,7 +237,7 @@ public abstract class RocksTransaction implements Grakn.Transaction {
                     session.database().cacheInvalidate();
                 } catch (RocksDBException e) {
                     rollback();
-                    throw GraknException.of(e);
+                    throw commitException(e);
                 } finally {
                     graphMgr.clear();
                     closeResources();
@@ -258,7 +276,7 @@ public abstract class RocksTransaction implements Grakn.Transaction {
             DataGraph dataGraph = new DataGraph(dataStorage, cache.schemaGraph());
             graphMgr = new GraphManager(cache.schemaGraph(), dataGraph);
 
-            initialise(graphMgr, cache.traversal(), cache.logic());
+            initialise(graphMgr, cache.traversal(), cache.logic(), cache.query(), cache.reasoner());
         }
 
         @Override
@@ -301,7 +319,7 @@ public abstract class RocksTransaction implements Grakn.Transaction {
                     triggerStatisticBgCounter();
                 } catch (RocksDBException e) {
                     rollback();
-                    throw GraknException.of(e);
+                    throw commitException(e);
                 } finally {
                     graphMgr.data().clear();
                     closeResources();
@@ -24,6 +24,7 @@ import grakn.common.concurrent.NamedThreadFactory;
 import grakn.core.Grakn;
 import grakn.core.common.concurrent.ExecutorService;
 import grakn.core.common.exception.GraknException;
+import grakn.core.common.parameters.Options;
 import grakn.core.rocks.RocksGrakn;
 import grakn.core.server.migrator.MigratorClient;
 import grakn.core.server.rpc.GraknRPCService;
@@ -89,7 +90,8 @@ public class GraknServer implements AutoCloseable {
             LOG.info("Running Grakn Core Server in debug mode.");
         }
 
-        grakn = RocksGrakn.open(command.dataDir());
+        grakn = RocksGrakn.open(command.dataDir(), new Options.Database()
+                .pushStreaming(command.pushStreaming()).stringNGramIndex(command.stringNGramIndex()));
         graknRPCService = new GraknRPCService(grakn);
         migratorRPCService = new MigratorRPCService(grakn);
 
@@ -18,6 +18,7 @@
 
 package grakn.core.server.migrator;
 
+import grakn.common.concurrent.NamedThreadFactory;
 import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Arguments;
@@ -26,6 +27,7 @@ import grakn.core.concept.thing.Entity;
 import grakn.core.concept.thing.Relation;
 import grakn.core.concept.thing.Thing;
 import grakn.core.concept.type.RoleType;
+import grakn.core.concept.type.ThingType;
 import grakn.core.server.Version;
 import grakn.core.server.migrator.proto.DataProto;
 import grakn.core.server.migrator.proto.MigratorProto;
@@ -33,23 +35,36 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
+import static grakn.core.common.exception.ErrorMessage.Internal.UNEXPECTED_INTERRUPTION;
 import static grakn.core.common.exception.ErrorMessage.Migrator.FILE_NOT_WRITABLE;
+import static java.util.stream.Collectors.toList;
 
 public class Exporter implements Migrator {
 
     private static final Logger LOG = LoggerFactory.getLogger(Exporter.class);
+    private static final int CHUNK_SIZE = 1_000;
+    private static final byte[] END_OF_CHUNKS = new byte[0];
     private final Grakn grakn;
     private final String database;
     private final Path filename;
@@ -58,12 +73,14 @@ public class Exporter implements Migrator {
     private final AtomicLong attributeCount = new AtomicLong(0);
     private final AtomicLong ownershipCount = new AtomicLong(0);
     private final AtomicLong playerCount = new AtomicLong(0);
+    private final int parallelisation;
     private long totalThingCount = 0;
 
     public Exporter(final Grakn grakn, final String database, final Path filename) {
         this.grakn = grakn;
         this.database = database;
         this.filename = filename;
+        this.parallelisation = Runtime.getRuntime().availableProcessors();
     }
 
     @Override
@@ -75,6 +92,17 @@ public class Exporter implements Migrator {
                 .build();
     }
 
+    /**
+     * Exports every thing in the database, sharded by concrete thing type.
+     *
+     * Every non-abstract type is a shard, and the shards are iterated in
+     * parallel. Each shard cuts its instances into chunks of {@code CHUNK_SIZE}
+     * things, which are serialised in parallel into their own buffers, so that
+     * a single large type is not read by one thread alone. A single writer
+     * thread then appends the buffers to the file. Every buffer is a complete
+     * sequence of delimited items, so the file remains a valid stream of items,
+     * with the header first and the checksums last.
+     */
     @Override
     public void run() {
         LOG.info("Exporting {} from Grakn {}", database, Version.VERSION);
@@ -89,20 +117,11 @@ public class Exporter implements Migrator {
                         .build();
                 write(outputStream, header);
 
-                final List<Runnable> workers = new ArrayList<>();
-                workers.add(() -> tx.concepts().getRootEntityType().getInstances().forEach(entity -> {
-                    final DataProto.Item item = readEntity(entity);
-                    write(outputStream, item);
-                }));
-                workers.add(() -> tx.concepts().getRootRelationType().getInstances().forEach(relation -> {
-                    final DataProto.Item item = readRelation(relation);
-                    write(outputStream, item);
-                }));
-                workers.add(() -> tx.concepts().getRootAttributeType().getInstances().forEach(attribute -> {
-                    final DataProto.Item item = readAttribute(attribute);
-                    write(outputStream, item);
-                }));
-                workers.parallelStream().forEach(Runnable::run);
+                final List<ThingType> shards = Stream.of(tx.concepts().getRootEntityType().getSubtypes(),
+                                                         tx.concepts().getRootRelationType().getSubtypes(),
+                                                         tx.concepts().getRootAttributeType().getSubtypes())
+                        .<ThingType>flatMap(types -> types).filter(type -> !type.isAbstract()).collect(toList());
+                exportShards(outputStream, shards, session.database().name());
 
                 final DataProto.Item checksums = DataProto.Item.newBuilder().setChecksums(DataProto.Item.Checksums.newBuilder()
                                                                                                   .setEntityCount(entityCount.get())
@@ -124,6 +143,116 @@ public class Exporter implements Migrator {
                  ownershipCount.get());
     }
 
+    private void exportShards(final OutputStream outputStream, final List<ThingType> shards, final String name) {
+        final BlockingQueue<byte[]> chunks = new ArrayBlockingQueue<>(parallelisation * 4);
+        final ExecutorService shardExecutor = Executors.newFixedThreadPool(
+                parallelisation, NamedThreadFactory.create(name + "::exporter-shard"));
+        final ExecutorService chunkExecutor = Executors.newFixedThreadPool(
+                parallelisation, NamedThreadFactory.create(name + "::exporter-chunk"));
+        final ExecutorService writerExecutor = Executors.newSingleThreadExecutor(
+                NamedThreadFactory.create(name + "::exporter-writer"));
+        final Semaphore chunksInFlight = new Semaphore(parallelisation * 4);
+        try {
+            final CompletableFuture<Void> writer = CompletableFuture.runAsync(() -> writeChunks(outputStream, chunks), writerExecutor);
+            final List<CompletableFuture<Void>> shardExports = new ArrayList<>();
+            for (final ThingType shard : shards) {
+                shardExports.add(CompletableFuture.supplyAsync(
+                        () -> exportShard(shard, chunks, chunkExecutor, chunksInFlight), shardExecutor
+                ).thenCompose(chunkExports -> CompletableFuture.allOf(chunkExports.toArray(new CompletableFuture[0]))));
+            }
+            try {
+                await(CompletableFuture.allOf(shardExports.toArray(new CompletableFuture[0])));
+            } finally {
+                put(chunks, END_OF_CHUNKS);
+            }
+            await(writer);
+        } finally {
+            shardExecutor.shutdownNow();
+            chunkExecutor.shutdownNow();
+            writerExecutor.shutdownNow();
+        }
+    }
+
+    private List<CompletableFuture<Void>> exportShard(final ThingType shard, final BlockingQueue<byte[]> chunks,
+                                                     final ExecutorService chunkExecutor, final Semaphore chunksInFlight) {
+        final List<CompletableFuture<Void>> chunkExports = new ArrayList<>();
+        final Iterator<? extends Thing> instances = shard.getInstancesExplicit().iterator();
+        while (instances.hasNext()) {
+            final List<Thing> chunk = new ArrayList<>(CHUNK_SIZE);
+            while (instances.hasNext() && chunk.size() < CHUNK_SIZE) chunk.add(instances.next());
+            acquire(chunksInFlight);
+            chunkExports.add(CompletableFuture.runAsync(() -> {
+                try {
+                    put(chunks, serialise(chunk));
+                } finally {
+                    chunksInFlight.release();
+                }
+            }, chunkExecutor));
+        }
+        return chunkExports;
+    }
+
+    private byte[] serialise(final List<Thing> chunk) {
+        final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        for (final Thing thing : chunk) {
+            final DataProto.Item item;
+            if (thing instanceof Entity) item = readEntity(thing.asEntity());
+            else if (thing instanceof Relation) item = readRelation(thing.asRelation());
+            else if (thing instanceof Attribute) item = readAttribute(thing.asAttribute());
+            else throw GraknException.of(ILLEGAL_STATE);
+            write(buffer, item);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Appends every chunk to the file, until the end of chunks. If a write
+     * fails, we keep taking chunks regardless, so that no thread is left
+     * blocked on the queue, and only fail once the end is reached.
+     */
+    private void writeChunks(final OutputStream outputStream, final BlockingQueue<byte[]> chunks) {
+        try {
+            IOException failure = null;
+            byte[] chunk;
+            while ((chunk = chunks.take()) != END_OF_CHUNKS) {
+                if (failure != null) continue;
+                try {
+                    outputStream.write(chunk);
+                } catch (final IOException e) {
+                    failure = e;
+                }
+            }
+            if (failure != null) throw GraknException.of(FILE_NOT_WRITABLE, filename.toString());
+        } catch (final InterruptedException e) {
+            throw GraknException.of(UNEXPECTED_INTERRUPTION);
+        }
+    }
+
+    private static void put(final BlockingQueue<byte[]> chunks, final byte[] chunk) {
+        try {
+            chunks.put(chunk);
+        } catch (final InterruptedException e) {
+            throw GraknException.of(UNEXPECTED_INTERRUPTION);
+        }
+    }
+
+    private static void acquire(final Semaphore semaphore) {
+        try {
+            semaphore.acquire();
+        } catch (final InterruptedException e) {
+            throw GraknException.of(UNEXPECTED_INTERRUPTION);
+        }
+    }
+
+    private static void await(final CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof GraknException) throw (GraknException) e.getCause();
+            else throw GraknException.of(e.getCause());
+        }
+    }
+
     private DataProto.Item readEntity(final Entity entity) {
         entityCount.incrementAndGet();
         final DataProto.Item.Entity.Builder entityBuilder = DataProto.Item.Entity.newBuilder()
@@ -196,7 +325,7 @@ public class Exporter implements Migrator {
                 .setId(new String(attribute.getIID())));
     }
 
-    private synchronized void write(final OutputStream outputStream, final DataProto.Item item) {
+    private void write(final OutputStream outputStream, final DataProto.Item item) {
         try {
             item.writeDelimitedTo(outputStream);
         } catch (final IOException e) {
@@ -0,0 +1,140 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.server.migrator;
+
+import com.google.protobuf.InvalidProtocolBufferException;
+import grakn.core.common.exception.GraknException;
+import grakn.core.server.migrator.proto.DataProto;
+import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+import static grakn.core.common.collection.Bytes.join;
+import static grakn.core.common.exception.ErrorMessage.Migrator.INVALID_DATA;
+
+/**
+ * An on-disk store for the state of an import that is too large to be held
+ * on the heap. It maps the original ID of every imported thing to its IID
+ * in the new database, and holds the items whose references to other things
+ * could not be resolved when they were first imported.
+ *
+ * The store is backed by a RocksDB instance in a temporary directory, which
+ * is deleted when the store is closed. It is safe for concurrent use.
+ */
+class ImportStorage implements AutoCloseable {
+
+    private static final byte[] IID_PREFIX = new byte[]{0};
+    private static final byte[] DEFERRED_PREFIX = new byte[]{1};
+
+    private final Path directory;
+    private final Options options;
+    private final RocksDB rocksDB;
+
+    ImportStorage() {
+        RocksDB.loadLibrary();
+        try {
+            directory = Files.createTempDirectory("grakn-import-");
+            options = new Options().setCreateIfMissing(true);
+            rocksDB = RocksDB.open(options, directory.toString());
+        } catch (IOException | RocksDBException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    void putIID(String originalID, byte[] iid) {
+        put(join(IID_PREFIX, bytes(originalID)), iid);
+    }
+
+    byte[] getIID(String originalID) {
+        try {
+            return rocksDB.get(join(IID_PREFIX, bytes(originalID)));
+        } catch (RocksDBException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    /**
+     * Stores an item whose references could not all be resolved, keyed by its
+     * original ID, replacing any item previously deferred under the same ID.
+     */
+    void putDeferred(String originalID, DataProto.Item item) {
+        put(join(DEFERRED_PREFIX, bytes(originalID)), item.toByteArray());
+    }
+
+    void deleteDeferred(String originalID) {
+        try {
+            rocksDB.delete(join(DEFERRED_PREFIX, bytes(originalID)));
+        } catch (RocksDBException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    boolean hasDeferred() {
+        try (RocksIterator iterator = rocksDB.newIterator()) {
+            iterator.seek(DEFERRED_PREFIX);
+            return iterator.isValid() && iterator.key()[0] == DEFERRED_PREFIX[0];
+        }
+    }
+
+    /**
+     * Visits every deferred item, as of the time this method is called. The
+     * consumer may put or delete deferred items while they are being visited.
+     */
+    void forEachDeferred(Consumer<DataProto.Item> consumer) {
+        try (RocksIterator iterator = rocksDB.newIterator()) {
+            for (iterator.seek(DEFERRED_PREFIX); iterator.isValid() && iterator.key()[0] == DEFERRED_PREFIX[0]; iterator.next()) {
+                consumer.accept(DataProto.Item.parseFrom(iterator.value()));
+            }
+        } catch (InvalidProtocolBufferException e) {
+            throw GraknException.of(INVALID_DATA);
+        }
+    }
+
+    private void put(byte[] key, byte[] value) {
+        try {
+            rocksDB.put(key, value);
+        } catch (RocksDBException e) {
+            throw GraknException.of(e);
+        }
+    }
+
+    private static byte[] bytes(String originalID) {
+        return originalID.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() {
+        rocksDB.close();
+        options.close();
+        try {
+            Files.walk(directory).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        } catch (IOException e) {
+            throw GraknException.of(e);
+        }
+    }
+}
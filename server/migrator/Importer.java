@@ -18,13 +18,16 @@
 
 package grakn.core.server.migrator;
 
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.Parser;
 import grakn.common.collection.Pair;
+import grakn.common.concurrent.NamedThreadFactory;
 import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
 import grakn.core.concept.thing.Attribute;
-import grakn.core.concept.thing.Entity;
 import grakn.core.concept.thing.Relation;
 import grakn.core.concept.thing.Thing;
 import grakn.core.concept.type.AttributeType;
@@ -39,8 +42,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
@@ -50,42 +55,69 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import static grakn.core.common.exception.ErrorMessage.Internal.UNEXPECTED_INTERRUPTION;
 import static grakn.core.common.exception.ErrorMessage.Migrator.FILE_NOT_READABLE;
 import static grakn.core.common.exception.ErrorMessage.Migrator.INVALID_DATA;
 import static grakn.core.common.exception.ErrorMessage.Migrator.TYPE_NOT_FOUND;
+import static grakn.core.common.exception.ErrorMessage.Migrator.UNRESOLVED_REFERENCES;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
+/**
+ * Imports a file of {@code DataProto.Item}s into a database, in two passes.
+ *
+ * In the first pass, a reader thread splits the file into the raw bytes of
+ * each item, and hands them over through a bounded queue to a number of
+ * writers. Each writer parses the items it receives, and inserts them through
+ * its own bulk-load transaction. The data of a bulk-load transaction is
+ * ingested into storage as the transaction commits, and is visible to
+ * every transaction opened from then on, before the import
+ * completes. The IID of every thing is recorded in an
+ * on-disk {@code ImportStorage} once it is committed. References to things
+ * that have not been committed yet are deferred into the same storage,
+ * along with any relation that has none of its role players available.
+ *
+ * In the second pass, the deferred items are revisited until all of their
+ * references are resolved.
+ */
 public class Importer implements Migrator {
 
     private static final Logger LOG = LoggerFactory.getLogger(MigratorRPCService.class);
     private static final Parser<DataProto.Item> ITEM_PARSER = DataProto.Item.parser();
     private static final int BATCH_SIZE = 20_000;
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int CHECKSUMS_MAX_SIZE = 128;
+    private static final byte[] END_OF_FILE = new byte[0];
     private final Grakn.Session session;
     private final Path filename;
     private final Map<String, String> remapLabels;
+    private final int parallelisation;
 
-    private final Map<String, byte[]> idMap = new HashMap<>();
-    private final List<Pair<byte[], List<String>>> missingOwnerships = new ArrayList<>();
-    private final List<Pair<byte[], List<Pair<String, List<String>>>>> missingRolePlayers = new ArrayList<>();
-    private long totalThingCount = 0;
-    private long entityCount = 0;
-    private long relationCount = 0;
-    private long attributeCount = 0;
-    private long ownershipCount = 0;
-    private long playerCount = 0;
-    private int txWriteCount = 0;
-    private Grakn.Transaction tx;
+    private final AtomicLong entityCount = new AtomicLong(0);
+    private final AtomicLong relationCount = new AtomicLong(0);
+    private final AtomicLong attributeCount = new AtomicLong(0);
+    private final AtomicLong ownershipCount = new AtomicLong(0);
+    private final AtomicLong playerCount = new AtomicLong(0);
+    private volatile long totalThingCount = 0;
 
     public Importer(final Grakn grakn, final String database, final Path filename, final Map<String, String> remapLabels) {
         this.session = grakn.session(database, Arguments.Session.Type.DATA);
         this.filename = filename;
         this.remapLabels = remapLabels;
+        this.parallelisation = Runtime.getRuntime().availableProcessors();
     }
 
     @Override
     public MigratorProto.Job.Progress getProgress() {
-        final long current = attributeCount + relationCount + entityCount;
+        final long current = attributeCount.get() + relationCount.get() + entityCount.get();
         return MigratorProto.Job.Progress.newBuilder()
                 .setCurrent(current)
                 .setTotal(Math.max(current, totalThingCount))
@@ -94,223 +126,437 @@ public class Importer implements Migrator {
 
     @Override
     public void run() {
-        // We scan the file to find the checksum. This is probably not a good idea for files larger than several
-        // gigabytes but that case is rare and the actual import would take so long that even if this took a few
-        // seconds it would still be cheap.
-        try (final InputStream inputStream = new BufferedInputStream(Files.newInputStream(filename))) {
-            DataProto.Item item;
-            while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
-                if (item.getItemCase() == DataProto.Item.ItemCase.ENTITY ||
-                        item.getItemCase() == DataProto.Item.ItemCase.RELATION ||
-                        item.getItemCase() == DataProto.Item.ItemCase.ATTRIBUTE) {
-                    totalThingCount++;
+        final DataProto.Item.Checksums checksums = readTrailingChecksums();
+        if (checksums != null) totalThingCount = thingCount(checksums);
+
+        try (final ImportStorage storage = new ImportStorage()) {
+            importItems(storage);
+            importDeferred(storage);
+        } finally {
+            session.close();
+        }
+
+        LOG.info("Imported {} entities, {} attributes, {} relations ({} players), {} ownerships",
+                 entityCount.get(),
+                 attributeCount.get(),
+                 relationCount.get(),
+                 playerCount.get(),
+                 ownershipCount.get());
+    }
+
+    /**
+     * Reads the {@code Checksums} item, if it is the last item of the file,
+     * without scanning the rest of the file. We try every offset in the tail
+     * of the file, and accept the first one from which exactly one delimited
+     * {@code Checksums} item runs up to the end of the file.
+     */
+    private DataProto.Item.Checksums readTrailingChecksums() {
+        try (final SeekableByteChannel channel = Files.newByteChannel(filename)) {
+            final int length = (int) Math.min(channel.size(), CHECKSUMS_MAX_SIZE);
+            final ByteBuffer tail = ByteBuffer.allocate(length);
+            channel.position(channel.size() - length);
+            while (tail.hasRemaining() && channel.read(tail) >= 0) ;
+            for (int offset = 0; offset < length; offset++) {
+                try {
+                    final CodedInputStream input = CodedInputStream.newInstance(tail.array(), offset, length - offset);
+                    final int size = input.readRawVarint32();
+                    if (input.getTotalBytesRead() + size != length - offset) continue;
+                    final DataProto.Item item = ITEM_PARSER.parseFrom(input);
+                    if (item.getItemCase() == DataProto.Item.ItemCase.CHECKSUMS) return item.getChecksums();
+                } catch (final InvalidProtocolBufferException ignored) {
                 }
             }
+            return null;
         } catch (final IOException e) {
             throw GraknException.of(FILE_NOT_READABLE, filename.toString());
         }
+    }
 
-        tx = session.transaction(Arguments.Transaction.Type.WRITE);
-        try (final InputStream inputStream = new BufferedInputStream(Files.newInputStream(filename))) {
-            DataProto.Item item;
-            while ((item = ITEM_PARSER.parseDelimitedFrom(inputStream)) != null) {
-                switch (item.getItemCase()) {
-                    case HEADER:
-                        final DataProto.Item.Header header = item.getHeader();
-                        LOG.info("Importing {} from Grakn {} to {} in Grakn {}",
-                                 header.getOriginalDatabase(),
-                                 header.getGraknVersion(),
-                                 session.database().name(),
-                                 Version.VERSION);
-                        break;
-                    case ENTITY:
-                        insertEntity(item.getEntity());
-                        break;
-                    case RELATION:
-                        insertRelation(item.getRelation());
-                        break;
-                    case ATTRIBUTE:
-                        insertAttribute(item.getAttribute());
-                        break;
-                }
+    private static long thingCount(final DataProto.Item.Checksums checksums) {
+        return checksums.getEntityCount() + checksums.getRelationCount() + checksums.getAttributeCount();
+    }
+
+    private void importItems(final ImportStorage storage) {
+        final BlockingQueue<byte[]> items = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+        final ExecutorService executor = Executors.newFixedThreadPool(
+                parallelisation, NamedThreadFactory.create(session.database().name() + "::importer")
+        );
+        final List<CompletableFuture<Void>> writers = new ArrayList<>(parallelisation);
+        for (int i = 0; i < parallelisation; i++) {
+            writers.add(CompletableFuture.runAsync(() -> new Writer(storage).importItems(items), executor));
+        }
+
+        try (final DataInputStream inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(filename)))) {
+            byte[] item;
+            while ((item = readDelimited(inputStream)) != null) {
+                enqueue(items, item, writers);
             }
         } catch (final IOException e) {
             throw GraknException.of(FILE_NOT_READABLE, filename.toString());
+        } finally {
+            for (int i = 0; i < parallelisation; i++) enqueue(items, END_OF_FILE, writers);
+            executor.shutdown();
         }
+        await(CompletableFuture.allOf(writers.toArray(new CompletableFuture[0])));
+    }
 
-        insertMissingOwnerships();
-        insertMissingRolePlayers();
-        commit();
-        tx.close();
-        session.close();
+    private static byte[] readDelimited(final DataInputStream inputStream) throws IOException {
+        final int firstByte = inputStream.read();
+        if (firstByte == -1) return null;
+        final byte[] item = new byte[CodedInputStream.readRawVarint32(firstByte, inputStream)];
+        inputStream.readFully(item);
+        return item;
+    }
 
-        LOG.info("Imported {} entities, {} attributes, {} relations ({} players), {} ownerships",
-                 entityCount,
-                 attributeCount,
-                 relationCount,
-                 playerCount,
-                 ownershipCount);
+    /**
+     * Puts an item onto the queue, unless a writer has failed, in which case
+     * nobody may be left to take it, and we rethrow the writer's exception.
+     */
+    private static void enqueue(final BlockingQueue<byte[]> items, final byte[] item,
+                                final List<CompletableFuture<Void>> writers) {
+        try {
+            while (!items.offer(item, 100, MILLISECONDS)) {
+                for (final CompletableFuture<Void> writer : writers) {
+                    if (writer.isCompletedExceptionally()) await(writer);
+                }
+            }
+        } catch (final InterruptedException e) {
+            throw GraknException.of(UNEXPECTED_INTERRUPTION);
+        }
     }
 
-    private void insertEntity(final DataProto.Item.Entity entityMsg) {
-        final EntityType entityType = tx.concepts().getEntityType(relabel(entityMsg.getLabel()));
-        if (entityType != null) {
-            final Entity entity = entityType.create();
-            idMap.put(entityMsg.getId(), entity.getIID());
-            insertOwnedAttributesThatExist(entity, entityMsg.getAttributeList());
-            entityCount++;
-            mayCommit();
-        } else {
-            throw GraknException.of(TYPE_NOT_FOUND, relabel(entityMsg.getLabel()), entityMsg.getLabel());
+    private static void await(final CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof GraknException) throw (GraknException) e.getCause();
+            else throw GraknException.of(e.getCause());
         }
     }
 
-    private void insertRelation(final DataProto.Item.Relation relationMsg) {
-        final RelationType relationType = tx.concepts().getRelationType(relabel(relationMsg.getLabel()));
-        if (relationType != null) {
-            final Map<String, RoleType> roles = getScopedRoleTypes(relationType);
-            final Relation relation = relationType.create();
-            idMap.put(relationMsg.getId(), relation.getIID());
-            insertOwnedAttributesThatExist(relation, relationMsg.getAttributeList());
+    private void importDeferred(final ImportStorage storage) {
+        final Writer writer = new Writer(storage);
+        boolean progressed = true;
+        while (progressed && storage.hasDeferred()) {
+            progressed = writer.importDeferred();
+        }
+        if (storage.hasDeferred()) throw GraknException.of(UNRESOLVED_REFERENCES);
+    }
 
-            final List<Pair<String, List<String>>> missingRolePlayers = new ArrayList<>();
-            for (final DataProto.Item.Relation.Role roleMsg : relationMsg.getRoleList()) {
-                final RoleType role = roles.get(relabel(roleMsg.getLabel()));
-                if (role != null) {
-                    final List<String> missingPlayers = new ArrayList<>();
-                    for (final DataProto.Item.Relation.Role.Player playerMessage : roleMsg.getPlayerList()) {
-                        final Thing player = getThing(playerMessage.getId());
-                        if (player != null) {
-                            relation.addPlayer(role, player);
-                            playerCount++;
-                        } else {
-                            missingPlayers.add(playerMessage.getId());
-                        }
-                    }
-                    missingRolePlayers.add(new Pair<>(relabel(roleMsg.getLabel()), missingPlayers));
-                } else {
-                    throw GraknException.of(TYPE_NOT_FOUND, relabel(roleMsg.getLabel()), roleMsg.getLabel());
+    private Map<String, RoleType> getScopedRoleTypes(final RelationType relationType) {
+        return relationType.getRelates().collect(
+                Collectors.toMap(x -> x.getLabel().scopedName(), x -> x));
+    }
+
+    private String relabel(final String label) {
+        return remapLabels.getOrDefault(label, label);
+    }
+
+    /**
+     * Imports items through a sequence of bulk-load transactions, committing
+     * every {@code BATCH_SIZE} writes. A writer is confined to a single thread.
+     */
+    private class Writer {
+
+        private final ImportStorage storage;
+        private final Map<String, Thing> uncommitted;
+        private Grakn.Transaction tx;
+        private int txWriteCount;
+
+        Writer(final ImportStorage storage) {
+            this.storage = storage;
+            this.uncommitted = new HashMap<>();
+        }
+
+        void importItems(final BlockingQueue<byte[]> items) {
+            tx = newTransaction();
+            try {
+                byte[] bytes;
+                while ((bytes = items.take()) != END_OF_FILE) {
+                    importItem(ITEM_PARSER.parseFrom(bytes));
                 }
+                commit();
+            } catch (final InterruptedException e) {
+                throw GraknException.of(UNEXPECTED_INTERRUPTION);
+            } catch (final InvalidProtocolBufferException e) {
+                throw GraknException.of(INVALID_DATA);
+            } finally {
+                tx.close();
             }
-            this.missingRolePlayers.add(new Pair<>(relation.getIID(), missingRolePlayers));
+        }
 
-            relationCount++;
-            mayCommit();
-        } else {
-            throw GraknException.of(TYPE_NOT_FOUND, relabel(relationMsg.getLabel()), relationMsg.getLabel());
+        /**
+         * Makes one pass over the deferred items, and resolves every reference
+         * that has become available since they were deferred.
+         *
+         * @return true if any reference was resolved in this pass
+         */
+        boolean importDeferred() {
+            final AtomicLong resolved = new AtomicLong(0);
+            tx = newTransaction();
+            try {
+                storage.forEachDeferred(item -> {
+                    if (importDeferred(item)) resolved.incrementAndGet();
+                    mayCommit();
+                });
+                commit();
+            } finally {
+                tx.close();
+            }
+            return resolved.get() > 0;
         }
-    }
 
-    private void insertAttribute(final DataProto.Item.Attribute attributeMsg) {
-        final AttributeType attributeType = tx.concepts().getAttributeType(relabel(attributeMsg.getLabel()));
-        if (attributeType != null) {
-            final DataProto.ValueObject valueMsg = attributeMsg.getValue();
-            final Attribute attribute;
-            switch (valueMsg.getValueCase()) {
-                case STRING:
-                    attribute = attributeType.asString().put(valueMsg.getString());
+        private void importItem(final DataProto.Item item) {
+            switch (item.getItemCase()) {
+                case HEADER:
+                    final DataProto.Item.Header header = item.getHeader();
+                    LOG.info("Importing {} from Grakn {} to {} in Grakn {}",
+                             header.getOriginalDatabase(),
+                             header.getGraknVersion(),
+                             session.database().name(),
+                             Version.VERSION);
                     break;
-                case BOOLEAN:
-                    attribute = attributeType.asBoolean().put(valueMsg.getBoolean());
+                case ENTITY:
+                    insertEntity(item.getEntity());
                     break;
-                case LONG:
-                    attribute = attributeType.asLong().put(valueMsg.getLong());
+                case RELATION:
+                    if (!insertRelation(item.getRelation())) storage.putDeferred(item.getRelation().getId(), item);
                     break;
-                case DOUBLE:
-                    attribute = attributeType.asDouble().put(valueMsg.getDouble());
+                case ATTRIBUTE:
+                    insertAttribute(item.getAttribute());
                     break;
-                case DATETIME:
-                    attribute = attributeType.asDateTime().put(
-                            Instant.ofEpochMilli(valueMsg.getDatetime()).atZone(ZoneId.of("Z")).toLocalDateTime());
+                case CHECKSUMS:
+                    if (totalThingCount == 0) totalThingCount = thingCount(item.getChecksums());
                     break;
+            }
+        }
+
+        private boolean importDeferred(final DataProto.Item item) {
+            switch (item.getItemCase()) {
+                case ENTITY:
+                    final DataProto.Item.Entity entityMsg = item.getEntity();
+                    final List<DataProto.Item.OwnedAttribute> missingOwnedByEntity =
+                            insertOwnerships(getThing(entityMsg.getId()), entityMsg.getAttributeList());
+                    if (missingOwnedByEntity.size() == entityMsg.getAttributeCount()) return false;
+                    deferOwnerships(entityMsg.getId(), item, missingOwnedByEntity);
+                    return true;
+                case ATTRIBUTE:
+                    final DataProto.Item.Attribute attributeMsg = item.getAttribute();
+                    final List<DataProto.Item.OwnedAttribute> missingOwnedByAttribute =
+                            insertOwnerships(getThing(attributeMsg.getId()), attributeMsg.getAttributeList());
+                    if (missingOwnedByAttribute.size() == attributeMsg.getAttributeCount()) return false;
+                    deferOwnerships(attributeMsg.getId(), item, missingOwnedByAttribute);
+                    return true;
+                case RELATION:
+                    final DataProto.Item.Relation relationMsg = item.getRelation();
+                    final Thing relation = getThing(relationMsg.getId());
+                    if (relation == null) {
+                        if (!insertRelation(relationMsg)) return false;
+                        storage.deleteDeferred(relationMsg.getId());
+                        return true;
+                    }
+                    final List<DataProto.Item.Relation.Role> missingPlayers = insertPlayers(
+                            relation.asRelation(), getScopedRoleTypes(relation.asRelation().getType()), relationMsg.getRoleList()
+                    );
+                    final List<DataProto.Item.OwnedAttribute> missingOwnedByRelation =
+                            insertOwnerships(relation, relationMsg.getAttributeList());
+                    if (missingOwnedByRelation.size() == relationMsg.getAttributeCount() &&
+                            missingPlayers.equals(relationMsg.getRoleList())) return false;
+                    deferRelation(relationMsg, missingPlayers, missingOwnedByRelation);
+                    return true;
                 default:
                     throw GraknException.of(INVALID_DATA);
             }
-            idMap.put(attributeMsg.getId(), attribute.getIID());
-            insertOwnedAttributesThatExist(attribute, attributeMsg.getAttributeList());
-            attributeCount++;
-            mayCommit();
-        } else {
-            throw GraknException.of(TYPE_NOT_FOUND, relabel(attributeMsg.getLabel()), attributeMsg.getLabel());
         }
-    }
 
-    private void insertOwnedAttributesThatExist(final Thing thing, final List<DataProto.Item.OwnedAttribute> ownedMsgs) {
-        final List<String> missingOwnerships = new ArrayList<>();
-        for (final DataProto.Item.OwnedAttribute ownedMsg : ownedMsgs) {
-            final Thing attrThing = getThing(ownedMsg.getId());
-            if (attrThing != null) {
-                thing.setHas(attrThing.asAttribute());
-                ownershipCount++;
+        private void insertEntity(final DataProto.Item.Entity entityMsg) {
+            final EntityType entityType = tx.concepts().getEntityType(relabel(entityMsg.getLabel()));
+            if (entityType != null) {
+                final Thing entity = entityType.create();
+                uncommitted.put(entityMsg.getId(), entity);
+                deferOwnerships(entityMsg.getId(), DataProto.Item.newBuilder().setEntity(entityMsg).build(),
+                                insertOwnerships(entity, entityMsg.getAttributeList()));
+                entityCount.incrementAndGet();
+                mayCommit();
             } else {
-                missingOwnerships.add(ownedMsg.getId());
+                throw GraknException.of(TYPE_NOT_FOUND, relabel(entityMsg.getLabel()), entityMsg.getLabel());
             }
-            mayCommit();
         }
-        this.missingOwnerships.add(new Pair<>(thing.getIID(), missingOwnerships));
-    }
 
-    private void insertMissingOwnerships() {
-        for (final Pair<byte[], List<String>> ownership : missingOwnerships) {
-            final Thing thing = tx.concepts().getThing(ownership.first());
-            for (final String originalAttributeId : ownership.second()) {
-                final Thing attrThing = getThing(originalAttributeId);
-                assert thing != null && attrThing != null;
-                thing.setHas(attrThing.asAttribute());
-                ownershipCount++;
+        /**
+         * Inserts a relation with every role player that is available. A relation
+         * cannot be committed without role players, so if none of them are
+         * available, the relation is not inserted at all.
+         *
+         * @return true if the relation was inserted
+         */
+        private boolean insertRelation(final DataProto.Item.Relation relationMsg) {
+            final RelationType relationType = tx.concepts().getRelationType(relabel(relationMsg.getLabel()));
+            if (relationType != null) {
+                final Map<String, RoleType> roles = getScopedRoleTypes(relationType);
+                final List<Pair<RoleType, Thing>> players = new ArrayList<>();
+                final List<DataProto.Item.Relation.Role> missingPlayers = resolvePlayers(roles, relationMsg.getRoleList(), players);
+                if (players.isEmpty()) return false;
+
+                final Relation relation = relationType.create();
+                uncommitted.put(relationMsg.getId(), relation);
+                players.forEach(player -> relation.addPlayer(player.first(), player.second()));
+                playerCount.addAndGet(players.size());
+                deferRelation(relationMsg, missingPlayers, insertOwnerships(relation, relationMsg.getAttributeList()));
+                relationCount.incrementAndGet();
+                mayCommit();
+                return true;
+            } else {
+                throw GraknException.of(TYPE_NOT_FOUND, relabel(relationMsg.getLabel()), relationMsg.getLabel());
+            }
+        }
+
+        private void insertAttribute(final DataProto.Item.Attribute attributeMsg) {
+            final AttributeType attributeType = tx.concepts().getAttributeType(relabel(attributeMsg.getLabel()));
+            if (attributeType != null) {
+                final DataProto.ValueObject valueMsg = attributeMsg.getValue();
+                final Attribute attribute;
+                switch (valueMsg.getValueCase()) {
+                    case STRING:
+                        attribute = attributeType.asString().put(valueMsg.getString());
+                        break;
+                    case BOOLEAN:
+                        attribute = attributeType.asBoolean().put(valueMsg.getBoolean());
+                        break;
+                    case LONG:
+                        attribute = attributeType.asLong().put(valueMsg.getLong());
+                        break;
+                    case DOUBLE:
+                        attribute = attributeType.asDouble().put(valueMsg.getDouble());
+                        break;
+                    case DATETIME:
+                        attribute = attributeType.asDateTime().put(
+                                Instant.ofEpochMilli(valueMsg.getDatetime()).atZone(ZoneId.of("Z")).toLocalDateTime());
+                        break;
+                    default:
+                        throw GraknException.of(INVALID_DATA);
+                }
+                uncommitted.put(attributeMsg.getId(), attribute);
+                deferOwnerships(attributeMsg.getId(), DataProto.Item.newBuilder().setAttribute(attributeMsg).build(),
+                                insertOwnerships(attribute, attributeMsg.getAttributeList()));
+                attributeCount.incrementAndGet();
+                mayCommit();
+            } else {
+                throw GraknException.of(TYPE_NOT_FOUND, relabel(attributeMsg.getLabel()), attributeMsg.getLabel());
             }
-            mayCommit();
         }
-        missingOwnerships.clear();
-    }
 
-    private void insertMissingRolePlayers() {
-        for (final Pair<byte[], List<Pair<String, List<String>>>> rolePlayers : missingRolePlayers) {
-            final Thing thing = tx.concepts().getThing(rolePlayers.first());
+        private List<DataProto.Item.OwnedAttribute> insertOwnerships(final Thing thing,
+                                                                     final List<DataProto.Item.OwnedAttribute> ownedMsgs) {
             assert thing != null;
-            final Relation relation = thing.asRelation();
-            for (final Pair<String, List<String>> pair : rolePlayers.second()) {
-                final Map<String, RoleType> roles = getScopedRoleTypes(relation.getType());
-                final RoleType role = roles.get(pair.first());
-                assert role != null;
-                for (final String originalPlayerId : pair.second()) {
-                    final Thing player = getThing(originalPlayerId);
-                    relation.addPlayer(role, player);
-                    playerCount++;
+            final List<DataProto.Item.OwnedAttribute> missingOwnerships = new ArrayList<>();
+            for (final DataProto.Item.OwnedAttribute ownedMsg : ownedMsgs) {
+                final Thing attrThing = getThing(ownedMsg.getId());
+                if (attrThing != null) {
+                    thing.setHas(attrThing.asAttribute());
+                    ownershipCount.incrementAndGet();
+                    txWriteCount++;
+                } else {
+                    missingOwnerships.add(ownedMsg);
                 }
             }
-            mayCommit();
+            return missingOwnerships;
         }
-        missingRolePlayers.clear();
-    }
 
-    private Thing getThing(final String originalId) {
-        final byte[] newId = idMap.get(originalId);
-        return newId != null ? tx.concepts().getThing(newId) : null;
-    }
+        private List<DataProto.Item.Relation.Role> insertPlayers(final Relation relation, final Map<String, RoleType> roles,
+                                                                 final List<DataProto.Item.Relation.Role> roleMsgs) {
+            final List<Pair<RoleType, Thing>> players = new ArrayList<>();
+            final List<DataProto.Item.Relation.Role> missingPlayers = resolvePlayers(roles, roleMsgs, players);
+            players.forEach(player -> relation.addPlayer(player.first(), player.second()));
+            playerCount.addAndGet(players.size());
+            txWriteCount += players.size();
+            return missingPlayers;
+        }
 
-    private Map<String, RoleType> getScopedRoleTypes(final RelationType relationType) {
-        return relationType.getRelates().collect(
-                Collectors.toMap(x -> x.getLabel().scopedName(), x -> x));
-    }
+        /**
+         * Collects every role player that is available into {@code players}.
+         *
+         * @return the roles with the players that are not available yet
+         */
+        private List<DataProto.Item.Relation.Role> resolvePlayers(final Map<String, RoleType> roles,
+                                                                  final List<DataProto.Item.Relation.Role> roleMsgs,
+                                                                  final List<Pair<RoleType, Thing>> players) {
+            final List<DataProto.Item.Relation.Role> missingPlayers = new ArrayList<>();
+            for (final DataProto.Item.Relation.Role roleMsg : roleMsgs) {
+                final RoleType role = roles.get(relabel(roleMsg.getLabel()));
+                if (role == null) throw GraknException.of(TYPE_NOT_FOUND, relabel(roleMsg.getLabel()), roleMsg.getLabel());
+                final DataProto.Item.Relation.Role.Builder missing = roleMsg.toBuilder().clearPlayer();
+                for (final DataProto.Item.Relation.Role.Player playerMsg : roleMsg.getPlayerList()) {
+                    final Thing player = getThing(playerMsg.getId());
+                    if (player != null) players.add(new Pair<>(role, player));
+                    else missing.addPlayer(playerMsg);
+                }
+                if (missing.getPlayerCount() > 0) missingPlayers.add(missing.build());
+            }
+            return missingPlayers;
+        }
 
-    private String relabel(final String label) {
-        return remapLabels.getOrDefault(label, label);
-    }
+        private void deferOwnerships(final String originalID, final DataProto.Item item,
+                                     final List<DataProto.Item.OwnedAttribute> missingOwnerships) {
+            if (missingOwnerships.isEmpty()) {
+                storage.deleteDeferred(originalID);
+            } else if (item.getItemCase() == DataProto.Item.ItemCase.ENTITY) {
+                storage.putDeferred(originalID, DataProto.Item.newBuilder().setEntity(
+                        item.getEntity().toBuilder().clearAttribute().addAllAttribute(missingOwnerships)
+                ).build());
+            } else {
+                assert item.getItemCase() == DataProto.Item.ItemCase.ATTRIBUTE;
+                storage.putDeferred(originalID, DataProto.Item.newBuilder().setAttribute(
+                        item.getAttribute().toBuilder().clearAttribute().addAllAttribute(missingOwnerships)
+                ).build());
+            }
+        }
 
-    private void mayCommit() {
-        txWriteCount++;
-        if (txWriteCount >= BATCH_SIZE) {
-            commit();
+        private void deferRelation(final DataProto.Item.Relation relationMsg,
+                                   final List<DataProto.Item.Relation.Role> missingPlayers,
+                                   final List<DataProto.Item.OwnedAttribute> missingOwnerships) {
+            if (missingPlayers.isEmpty() && missingOwnerships.isEmpty()) {
+                storage.deleteDeferred(relationMsg.getId());
+            } else {
+                storage.putDeferred(relationMsg.getId(), DataProto.Item.newBuilder().setRelation(
+                        relationMsg.toBuilder().clearRole().addAllRole(missingPlayers)
+                                .clearAttribute().addAllAttribute(missingOwnerships)
+                ).build());
+            }
         }
-    }
 
-    private void commit() {
-        LOG.debug("Commit start, inserted {} things", txWriteCount);
-        final Instant start = Instant.now();
-        tx.commit();
-        LOG.debug("Commit end, took {}s", Duration.between(start, Instant.now()).toMillis());
-        tx = session.transaction(Arguments.Transaction.Type.WRITE);
-        txWriteCount = 0;
+        private Thing getThing(final String originalId) {
+            final Thing thing = uncommitted.get(originalId);
+            if (thing != null) return thing;
+            final byte[] newId = storage.getIID(originalId);
+            return newId != null ? tx.concepts().getThing(newId) : null;
+        }
+
+        private Grakn.Transaction newTransaction() {
+            return session.transaction(Arguments.Transaction.Type.WRITE, new Options.Transaction().bulkLoad(true));
+        }
+
+        private void mayCommit() {
+            txWriteCount++;
+            if (txWriteCount >= BATCH_SIZE) {
+                commit();
+                tx = newTransaction();
+            }
+        }
+
+        /**
+         * Commits the current transaction, and only then records the IIDs of
+         * the things it created, as they are only final once committed, and
+         * only visible to other writers from then on.
+         */
+        private void commit() {
+            LOG.debug("Commit start, inserted {} things", txWriteCount);
+            final Instant start = Instant.now();
+            tx.commit();
+            uncommitted.forEach((originalID, thing) -> storage.putIID(originalID, thing.getIID()));
+            uncommitted.clear();
+            LOG.debug("Commit end, took {}ms", Duration.between(start, Instant.now()).toMillis());
+            txWriteCount = 0;
+        }
     }
 }
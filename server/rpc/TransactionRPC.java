@@ -31,17 +31,20 @@ import grakn.core.server.rpc.query.QueryHandler;
 import grakn.core.server.rpc.util.RequestReader;
 import grakn.protocol.TransactionProto;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static grabl.tracing.client.GrablTracingThreadStatic.traceOnThread;
+import static grakn.core.common.concurrent.ExecutorService.forkJoinPool;
 import static grakn.core.common.exception.ErrorMessage.Server.DUPLICATE_REQUEST;
 import static grakn.core.common.exception.ErrorMessage.Server.ITERATION_WITH_UNKNOWN_ID;
 import static grakn.core.common.exception.ErrorMessage.Server.UNKNOWN_REQUEST_TYPE;
@@ -124,7 +127,7 @@ public class TransactionRPC {
     }
 
     public void respond(TransactionProto.Transaction.Res response) {
-        stream.responder().onNext(response);
+        stream.respond(response);
     }
 
     public <T> void respond(TransactionProto.Transaction.Req request, Iterator<T> iterator,
@@ -137,6 +140,10 @@ public class TransactionRPC {
         iterators.beginIteration(request, iterator, queryOptions.batchSize(), responseBuilderFn);
     }
 
+    void onReady() {
+        iterators.resumePushing();
+    }
+
     private void commit(String requestId) {
         transaction.commit();
         respond(TransactionProto.Transaction.Res.newBuilder().setId(requestId).setCommitRes(
@@ -178,11 +185,15 @@ public class TransactionRPC {
      * Contains a mutable map of iterators of TransactionProto.Transaction.Res for gRPC. These iterators are used for returning
      * lazy, streaming responses such as for Graql query results.
      *
-     * The iterators operate by batching results to reduce total round-trips.
+     * By default, the iterators operate by batching results to reduce total round-trips, and wait for the client to
+     * send a {@code CONTINUE} request between batches. When {@link Options#pushStreaming()} is enabled, answers are
+     * instead computed ahead on worker threads and pushed to the client as fast as gRPC flow control allows, without
+     * any {@code CONTINUE} round-trips.
      */
     private class Iterators {
 
         private final ConcurrentMap<String, BatchingIterator<?>> iterators = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, PushingIterator<?>> pushingIterators = new ConcurrentHashMap<>();
 
         /**
          * Spin up an iterator and begin batch iterating.
@@ -193,13 +204,25 @@ public class TransactionRPC {
 
         <T> void beginIteration(TransactionProto.Transaction.Req request, Iterator<T> iterator, int batchSize, Function<List<T>, TransactionProto.Transaction.Res> responseBuilderFn) {
             final String requestId = request.getId();
-            final int latencyMillis = request.getLatencyMillis();
-            final BatchingIterator<T> batchingIterator = new BatchingIterator<>(requestId, iterator, responseBuilderFn, batchSize, latencyMillis);
-            iterators.compute(requestId, (key, oldValue) -> {
-                if (oldValue == null) return batchingIterator;
-                else throw GraknException.of(DUPLICATE_REQUEST, requestId);
-            });
-            batchingIterator.iterateBatch();
+            if (iterators.containsKey(requestId) || pushingIterators.containsKey(requestId)) {
+                throw GraknException.of(DUPLICATE_REQUEST, requestId);
+            }
+            if (transaction.options().pushStreaming()) {
+                final PushingIterator<T> pushingIterator = new PushingIterator<>(requestId, iterator, responseBuilderFn, batchSize);
+                pushingIterators.compute(requestId, (key, oldValue) -> {
+                    if (oldValue == null) return pushingIterator;
+                    else throw GraknException.of(DUPLICATE_REQUEST, requestId);
+                });
+                pushingIterator.mayProduce();
+            } else {
+                final int latencyMillis = request.getLatencyMillis();
+                final BatchingIterator<T> batchingIterator = new BatchingIterator<>(requestId, iterator, responseBuilderFn, batchSize, latencyMillis);
+                iterators.compute(requestId, (key, oldValue) -> {
+                    if (oldValue == null) return batchingIterator;
+                    else throw GraknException.of(DUPLICATE_REQUEST, requestId);
+                });
+                batchingIterator.iterateBatch();
+            }
         }
 
         /**
@@ -211,8 +234,16 @@ public class TransactionRPC {
             iterator.iterateBatch();
         }
 
+        /**
+         * Resume every pushing iterator that stopped sending because the stream was not ready.
+         */
+        void resumePushing() {
+            pushingIterators.values().forEach(PushingIterator::mayDrain);
+        }
+
         private class BatchingIterator<T> {
             private static final int MAX_LATENCY_MILLIS = 3000;
+            private static final long FLUSH_INTERVAL_NANOS = 1_000_000;
 
             private final String id;
             private final Iterator<T> iterator;
@@ -230,14 +261,14 @@ public class TransactionRPC {
 
             synchronized void iterateBatch() {
                 final List<T> answers = new ArrayList<>();
-                Instant startTime = Instant.now();
+                long flushTime = System.nanoTime();
                 for (int i = 0; i < batchSize && iterator.hasNext(); i++) {
                     answers.add(iterator.next());
-                    Instant currTime = Instant.now();
-                    if (Duration.between(currTime, startTime).toMillis() >= 1) {
+                    final long currTime = System.nanoTime();
+                    if (currTime - flushTime >= FLUSH_INTERVAL_NANOS) {
                         respond(responseBuilderFn.apply(answers));
                         answers.clear();
-                        startTime = currTime;
+                        flushTime = currTime;
                     }
                 }
 
@@ -254,15 +285,14 @@ public class TransactionRPC {
                 respond(continueRes(id));
 
                 // Compensate for network latency
-                answers.clear();
-                final Instant endTime = Instant.now().plusMillis(latencyMillis);
-                while (iterator.hasNext() && Instant.now().isBefore(endTime)) {
+                final long endTime = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(latencyMillis);
+                while (iterator.hasNext() && System.nanoTime() < endTime) {
                     answers.add(iterator.next());
-                    Instant currTime = Instant.now();
-                    if (Duration.between(currTime, startTime).toMillis() >= 1) {
+                    final long currTime = System.nanoTime();
+                    if (currTime - flushTime >= FLUSH_INTERVAL_NANOS) {
                         respond(responseBuilderFn.apply(answers));
                         answers.clear();
-                        startTime = currTime;
+                        flushTime = currTime;
                     }
                 }
 
@@ -276,6 +306,126 @@ public class TransactionRPC {
                 }
             }
         }
+
+        /**
+         * Computes answers ahead of the network on the worker pool into a bounded buffer, and drains the buffer into
+         * responses for as long as the gRPC stream reports that it is ready. Once the stream stops being ready, the
+         * drain stops and is resumed by {@link TransactionStream}'s on-ready callback. Once the buffer is full, the
+         * producer stops and is resumed by the drain. Responses are sized by serialised bytes rather than answer count.
+         */
+        private class PushingIterator<T> {
+
+            private static final int BUFFER_CAPACITY = 4096;
+            private static final int RESPONSE_SIZE_BYTES = 64 * 1024;
+
+            private final String id;
+            private final Iterator<T> iterator;
+            private final Function<List<T>, TransactionProto.Transaction.Res> responseBuilderFn;
+            private final ArrayBlockingQueue<T> buffer;
+            private final AtomicBoolean isProducing;
+            private final AtomicInteger drainRequests;
+            private final AtomicBoolean isDone;
+            private volatile boolean isProduced;
+            private volatile int answersPerResponse;
+
+            PushingIterator(String id, Iterator<T> iterator, Function<List<T>, TransactionProto.Transaction.Res> responseBuilderFn, int batchSize) {
+                this.id = id;
+                this.iterator = iterator;
+                this.responseBuilderFn = responseBuilderFn;
+                this.buffer = new ArrayBlockingQueue<>(BUFFER_CAPACITY);
+                this.isProducing = new AtomicBoolean(false);
+                this.drainRequests = new AtomicInteger(0);
+                this.isDone = new AtomicBoolean(false);
+                this.isProduced = false;
+                this.answersPerResponse = Math.max(1, Math.min(batchSize, BUFFER_CAPACITY / 2));
+            }
+
+            void mayProduce() {
+                if (!isProduced && isOpen.get() && isProducing.compareAndSet(false, true)) {
+                    forkJoinPool().execute(this::produce);
+                }
+            }
+
+            void mayDrain() {
+                if (drainRequests.getAndIncrement() == 0) forkJoinPool().execute(this::drain);
+            }
+
+            /**
+             * Computing answers blocks on the producers of the traversal, which run on the same pool as this
+             * method, so it runs as a managed block, for the pool to make up for this worker with a spare one.
+             */
+            private void produce() {
+                try {
+                    ForkJoinPool.managedBlock(new ForkJoinPool.ManagedBlocker() {
+
+                        private boolean isReleasable = false;
+
+                        @Override
+                        public boolean block() {
+                            produceBuffer();
+                            isReleasable = true;
+                            return true;
+                        }
+
+                        @Override
+                        public boolean isReleasable() {
+                            return isReleasable;
+                        }
+                    });
+                } catch (Throwable e) {
+                    closeWithError(e);
+                } finally {
+                    isProducing.set(false);
+                }
+                mayDrain();
+            }
+
+            private void produceBuffer() {
+                while (isOpen.get() && buffer.remainingCapacity() > 0 && iterator.hasNext()) {
+                    buffer.offer(iterator.next());
+                    if (buffer.size() >= answersPerResponse) mayDrain();
+                }
+                if (!iterator.hasNext()) isProduced = true;
+            }
+
+            private void drain() {
+                int missed = 1;
+                do {
+                    try {
+                        drainBuffer();
+                    } catch (Throwable e) {
+                        closeWithError(e);
+                    }
+                    missed = drainRequests.addAndGet(-missed);
+                } while (missed != 0);
+            }
+
+            private void drainBuffer() {
+                while (isOpen.get() && !isDone.get() && stream.isReady()) {
+                    final boolean produced = isProduced;
+                    if (!produced && buffer.size() < answersPerResponse) break;
+                    final List<T> answers = new ArrayList<>(answersPerResponse);
+                    buffer.drainTo(answers, answersPerResponse);
+                    if (!answers.isEmpty()) {
+                        final TransactionProto.Transaction.Res response = responseBuilderFn.apply(answers);
+                        resize(answers.size(), response.getSerializedSize());
+                        respond(response);
+                    } else if (produced) {
+                        if (isDone.compareAndSet(false, true)) {
+                            respond(done(id));
+                            pushingIterators.remove(id);
+                        }
+                        return;
+                    }
+                }
+                if (buffer.size() <= BUFFER_CAPACITY / 2) mayProduce();
+            }
+
+            private void resize(int answerCount, int responseBytes) {
+                final long resized = (long) answerCount * RESPONSE_SIZE_BYTES / Math.max(1, responseBytes);
+                answersPerResponse = (int) Math.max(1, Math.min(resized, BUFFER_CAPACITY / 2));
+            }
+        }
     }
 
     private class RequestHandlers {
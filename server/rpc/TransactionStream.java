@@ -22,10 +22,12 @@ import grabl.tracing.client.GrablTracingThreadStatic.ThreadTrace;
 import grakn.core.Grakn;
 import grakn.core.common.exception.GraknException;
 import grakn.protocol.TransactionProto.Transaction;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Map;
@@ -51,6 +53,8 @@ public class TransactionStream implements StreamObserver<Transaction.Req> {
 
     private final GraknRPCService graknRPCService;
     private final StreamObserver<Transaction.Res> responder;
+    @Nullable
+    private final ServerCallStreamObserver<Transaction.Res> flowControl;
     /**
      * Whether or not the {@link StreamObserver} is currently open and capable of transmitting responses.
      * This does not necessarily correspond to the {@link Grakn.Transaction} being open.
@@ -63,6 +67,21 @@ public class TransactionStream implements StreamObserver<Transaction.Req> {
         this.responder = responder;
         isOpen = new AtomicBoolean(true);
         transactionRPC = new AtomicReference<>();
+        if (responder instanceof ServerCallStreamObserver) {
+            flowControl = (ServerCallStreamObserver<Transaction.Res>) responder;
+            flowControl.setOnReadyHandler(this::onReady);
+        } else {
+            flowControl = null;
+        }
+    }
+
+    /**
+     * Invoked by gRPC whenever the outbound buffer of the call drains enough for {@link #isReady()}
+     * to flip back to true, so that pushed answer streams can resume sending.
+     */
+    private void onReady() {
+        TransactionRPC t;
+        if ((t = transactionRPC.get()) != null) t.onReady();
     }
 
     @Override
@@ -149,15 +168,30 @@ public class TransactionStream implements StreamObserver<Transaction.Req> {
         }
 
         final int processingTimeMillis = (int) Duration.between(processingStartTime, Instant.now()).toMillis();
-        responder.onNext(Transaction.Res.newBuilder().setId(request.getId()).setOpenRes(
+        respond(Transaction.Res.newBuilder().setId(request.getId()).setOpenRes(
                 Transaction.Open.Res.newBuilder().setProcessingTimeMillis(processingTimeMillis)
         ).build());
     }
 
+    /**
+     * Sends a response on the stream. Responses may be sent by the request thread and by the threads
+     * pushing answers at the same time, so calls to the underlying {@link StreamObserver} are serialised here.
+     */
+    synchronized void respond(Transaction.Res response) {
+        if (isOpen.get()) responder.onNext(response);
+    }
+
+    /**
+     * Returns whether the outbound buffer of the call can accept more responses without queueing them in memory.
+     */
+    boolean isReady() {
+        return flowControl == null || flowControl.isReady();
+    }
+
     /**
      * Sends an OK response that terminates the stream if it is open. Otherwise, performs no action.
      */
-    void close() {
+    synchronized void close() {
         if (isOpen.compareAndSet(true, false)) {
             responder.onCompleted();
         }
@@ -166,14 +200,10 @@ public class TransactionStream implements StreamObserver<Transaction.Req> {
     /**
      * Sends an error response that terminates the stream if it is open. Otherwise, performs no action.
      */
-    void closeWithError(Throwable error) {
+    synchronized void closeWithError(Throwable error) {
         if (isOpen.compareAndSet(true, false)) {
             LOG.error(error.getMessage(), error);
             responder.onError(exception(error));
         }
     }
-
-    StreamObserver<Transaction.Res> responder() {
-        return responder;
-    }
 }
@@ -90,8 +90,7 @@ public class QueryHandler {
     }
 
     private void match(Transaction.Req request, QueryProto.Query.Match.Req req, Options.Query options) {
-        final GraqlMatch query = Graql.parseQuery(req.getQuery()).asMatch();
-        final ResourceIterator<ConceptMap> answers = queryManager.match(query, options);
+        final ResourceIterator<ConceptMap> answers = queryManager.match(req.getQuery(), options);
         transactionRPC.respond(
                 request, answers, options,
                 as -> response(request, QueryProto.Query.Res.newBuilder().setMatchRes(
@@ -79,6 +79,20 @@ public interface ServerCommand {
                 description = "Port number of database server in which GRPC clients will connect to")
         private int port;
 
+        @Option(descriptionKey = "server.push-streaming",
+                names = {"--push-streaming"},
+                negatable = true,
+                defaultValue = "false",
+                description = "Push query answers to clients under gRPC flow control, instead of waiting for client CONTINUE requests")
+        private boolean pushStreaming;
+
+        @Option(descriptionKey = "server.string-ngram-index",
+                names = {"--string-ngram-index"},
+                negatable = true,
+                defaultValue = "false",
+                description = "Index the trigrams of string attributes, to narrow down 'contains' and 'like' predicates")
+        private boolean stringNGramIndex;
+
         @Option(descriptionKey = "grabl.trace",
                 names = {"--grabl-trace"},
                 negatable = true,
@@ -117,6 +131,14 @@ public interface ServerCommand {
             return port;
         }
 
+        public boolean pushStreaming() {
+            return pushStreaming;
+        }
+
+        public boolean stringNGramIndex() {
+            return stringNGramIndex;
+        }
+
         public boolean debug() {
             return debug;
         }
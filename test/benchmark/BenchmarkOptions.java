@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Builds the options to run benchmarks with, which write their results as JSON
+ * to <benchmark>.json, so that they can be compared across commits. Benchmarks
+ * that do not run on JMH write their own results to the same location. Under
+ * 'bazel test', the file is written to the undeclared outputs of the test,
+ * which Bazel collects into bazel-testlogs/<target>/test.outputs; otherwise,
+ * it is written to the working directory.
+ */
+class BenchmarkOptions {
+
+    private static final String OUTPUTS_DIR = "TEST_UNDECLARED_OUTPUTS_DIR";
+
+    static ChainedOptionsBuilder of(Class<?> benchmark) {
+        return of(benchmark.getSimpleName(), benchmark.getSimpleName());
+    }
+
+    static ChainedOptionsBuilder of(String name, String... includes) {
+        ChainedOptionsBuilder options = new OptionsBuilder();
+        for (String include : includes) options = options.include(include);
+        return options.resultFormat(ResultFormatType.JSON).result(results(name).toString());
+    }
+
+    static Path results(String name) {
+        String outputs = System.getenv(OUTPUTS_DIR);
+        Path directory = outputs != null ? Paths.get(outputs) : Paths.get(System.getProperty("user.dir"));
+        return directory.resolve(name + ".json");
+    }
+}
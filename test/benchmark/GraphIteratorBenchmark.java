@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.benchmark;
+
+import grakn.core.Grakn;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Label;
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.rocks.RocksTransaction;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.Traversal;
+import grakn.core.traversal.procedure.GraphProcedure;
+import grakn.core.traversal.procedure.ProcedureVertex;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import static grakn.common.collection.Collections.set;
+import static grakn.core.concept.type.AttributeType.ValueType.STRING;
+
+/**
+ * Measures the cost of producing a single answer from a GraphIterator, for a
+ * procedure equivalent to: match $p isa person, has name $n;
+ *
+ * Run with the GC profiler, and compare gc.alloc.rate.norm (bytes allocated per
+ * answer) across revisions to observe the allocation rate of the iterator.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class GraphIteratorBenchmark {
+
+    static final int PERSONS = 10_000;
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("graph-iterator-benchmark");
+    private static final String database = "graph-iterator-benchmark";
+
+    private Grakn grakn;
+    private Grakn.Session session;
+    private RocksTransaction transaction;
+    private GraphProcedure procedure;
+
+    @Test
+    public void run() throws RunnerException {
+        new Runner(BenchmarkOptions.of(GraphIteratorBenchmark.class).addProfiler(GCProfiler.class).build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                tx.concepts().putEntityType("person").setOwns(tx.concepts().putAttributeType("name", STRING));
+                tx.commit();
+            }
+        }
+        session = grakn.session(database, Arguments.Session.Type.DATA);
+        try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            EntityType person = tx.concepts().getEntityType("person");
+            AttributeType.String name = tx.concepts().getAttributeType("name").asString();
+            for (int i = 0; i < PERSONS; i++) {
+                Entity entity = person.create();
+                entity.setHas(name.put("name-" + i));
+            }
+            tx.commit();
+        }
+        transaction = (RocksTransaction) session.transaction(Arguments.Transaction.Type.READ);
+
+        GraphProcedure.Builder builder = GraphProcedure.builder(2);
+        ProcedureVertex.Type personType = builder.labelledType("person", true);
+        builder.setLabel(personType, "person");
+        ProcedureVertex.Thing p = builder.namedThing("p");
+        ProcedureVertex.Thing n = builder.namedThing("n");
+        n.props().types(set(Label.of("name")));
+        builder.backwardIsa(1, personType, p, true);
+        builder.forwardHas(2, p, n);
+        procedure = builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transaction.close();
+        session.close();
+        grakn.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PERSONS)
+    public void iterate_answers(Blackhole blackhole) {
+        transaction.traversal().iterator(procedure, new Traversal.Parameters()).forEachRemaining(blackhole::consume);
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.benchmark;
+
+import grakn.core.Grakn;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.thing.Attribute;
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.test.integration.util.Util;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static grakn.core.concept.type.AttributeType.ValueType.LONG;
+import static grakn.core.concept.type.AttributeType.ValueType.STRING;
+
+/**
+ * Measures how insert throughput into a single write transaction scales with
+ * the number of threads sharing it, with and without write-buffered storage.
+ *
+ * Every thread inserts a person that owns a name and an age, and then looks
+ * up an attribute by value, which reads from storage. Every invocation inserts
+ * INSERTS_PER_TRANSACTION persons, split across the threads, and commits.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InsertBenchmark {
+
+    static final int INSERTS_PER_TRANSACTION = 10_000;
+    static final int AGES = 100;
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("insert-benchmark");
+    private static final String database = "insert-benchmark";
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"false", "true"})
+    public boolean writeBuffered;
+
+    private Grakn grakn;
+    private Grakn.Session session;
+    private ExecutorService executor;
+    private long inserted;
+
+    @Test
+    public void run() throws RunnerException {
+        new Runner(BenchmarkOptions.of(InsertBenchmark.class).build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                EntityType person = tx.concepts().putEntityType("person");
+                person.setOwns(tx.concepts().putAttributeType("name", STRING));
+                person.setOwns(tx.concepts().putAttributeType("age", LONG));
+                tx.commit();
+            }
+        }
+        session = grakn.session(database, Arguments.Session.Type.DATA);
+        executor = Executors.newFixedThreadPool(threads);
+        inserted = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        session.close();
+        grakn.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSERTS_PER_TRANSACTION)
+    public void insert() {
+        Options.Transaction options = new Options.Transaction().writeBuffered(writeBuffered);
+        try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE, options)) {
+            EntityType person = tx.concepts().getEntityType("person");
+            AttributeType.String name = tx.concepts().getAttributeType("name").asString();
+            AttributeType.Long age = tx.concepts().getAttributeType("age").asLong();
+            int perThread = INSERTS_PER_TRANSACTION / threads;
+            List<CompletableFuture<Void>> workers = new ArrayList<>(threads);
+            for (int t = 0; t < threads; t++) {
+                long offset = inserted + (long) t * perThread;
+                int count = t == threads - 1 ? INSERTS_PER_TRANSACTION - perThread * (threads - 1) : perThread;
+                workers.add(CompletableFuture.runAsync(() -> {
+                    for (long i = offset; i < offset + count; i++) {
+                        Entity entity = person.create();
+                        entity.setHas(name.put("name-" + i));
+                        Attribute.Long existing = age.get(i % AGES);
+                        entity.setHas(existing != null ? existing : age.put(i % AGES));
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(workers.toArray(new CompletableFuture[0])).join();
+            tx.commit();
+        }
+        inserted += INSERTS_PER_TRANSACTION;
+    }
+}
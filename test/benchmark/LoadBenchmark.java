@@ -0,0 +1,521 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.benchmark;
+
+import com.google.protobuf.ByteString;
+import grakn.core.Grakn;
+import grakn.core.common.concurrent.ExecutorService;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.thing.Relation;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.concept.type.RelationType;
+import grakn.core.concept.type.RoleType;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.server.rpc.GraknRPCService;
+import grakn.core.test.integration.util.Util;
+import grakn.protocol.GraknGrpc;
+import grakn.protocol.QueryProto;
+import grakn.protocol.SessionProto;
+import grakn.protocol.TransactionProto.Transaction;
+import graql.lang.Graql;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.netty.NettyChannelBuilder;
+import io.grpc.netty.NettyServerBuilder;
+import io.grpc.stub.StreamObserver;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static grakn.core.common.exception.ErrorMessage.Transaction.TRANSACTION_CONFLICT;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Drives an embedded server through the gRPC service that clients use, with a
+ * mix of operations from concurrent clients, over a social network of persons
+ * and the friendships between them:
+ *
+ * read:   match a person by name, and their age
+ * match:  match the friends of the friends of a person
+ * insert: insert a person who is a friend of an existing person, and commit
+ * update: replace the age of one of a few 'hot' persons, and commit
+ *
+ * Every client opens its own session, and runs one transaction per operation
+ * over its own transaction stream. Updates of the same hot person conflict
+ * with each other when they run at the same time, and the conflicting commits
+ * are counted apart from the errors. After a warm-up, the harness reports the
+ * throughput, the p50, p99 and p999 latencies of the successful operations, and
+ * the conflict rate of each operation, as CSV rows on stdout and as JSON to
+ * LoadBenchmark.json (see BenchmarkOptions).
+ *
+ * The load is configured with system properties, e.g. with
+ * bazel test //test/benchmark:benchmark-load --jvmopt=-Dload.clients=32
+ *
+ * load.clients:        concurrent clients (default: available processors)
+ * load.persons:        persons in the dataset (default: 10,000)
+ * load.friends:        friendships of every person (default: 5)
+ * load.hot:            persons that are updated (default: 10)
+ * load.mix:            weights of the operations (default: read:50,match:20,insert:20,update:10)
+ * load.warmup.seconds: duration of the warm-up (default: 10)
+ * load.seconds:        duration of the measurement (default: 60)
+ */
+public class LoadBenchmark {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadBenchmark.class);
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("load-benchmark");
+    private static final String database = "load-benchmark";
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", Runtime.getRuntime().availableProcessors());
+    private static final int PERSONS = Integer.getInteger("load.persons", 10_000);
+    private static final int FRIENDS = Integer.getInteger("load.friends", 5);
+    private static final int HOT = Integer.getInteger("load.hot", 10);
+    private static final String MIX = System.getProperty("load.mix", "read:50,match:20,insert:20,update:10");
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup.seconds", 10);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 60);
+    private static final int BATCH_SIZE = 10_000;
+    private static final int AGES = 100;
+
+    enum Operation {
+        READ, MATCH, INSERT, UPDATE;
+
+        String label() {
+            return name().toLowerCase();
+        }
+    }
+
+    @Test
+    public void load() throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            populate(grakn);
+            GraknRPCService service = new GraknRPCService(grakn);
+            Server server = NettyServerBuilder.forPort(0).executor(ExecutorService.forkJoinPool())
+                    .addService(service).build().start();
+            ManagedChannel channel = NettyChannelBuilder.forAddress("localhost", server.getPort()).usePlaintext().build();
+            try {
+                Map<Operation, Integer> mix = mix(MIX);
+                run(channel, mix, WARMUP_SECONDS);
+                Map<Operation, Recorder> results = run(channel, mix, SECONDS);
+                report(results);
+                results.forEach((operation, recorder) -> assertEquals(
+                        "Operation '" + operation.label() + "' failed", 0, recorder.errors
+                ));
+            } finally {
+                channel.shutdown().awaitTermination(10, TimeUnit.SECONDS);
+                service.close();
+                server.shutdown().awaitTermination(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    private static Map<Operation, Integer> mix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] weight = entry.trim().split(":");
+            weights.put(Operation.valueOf(weight[0].trim().toUpperCase()), Integer.parseInt(weight[1].trim()));
+        }
+        return weights;
+    }
+
+    private static String name(Object person) {
+        return "person-" + person;
+    }
+
+    private static void populate(Grakn grakn) {
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                tx.query().define(Graql.parseQuery(
+                        "define " +
+                                "name sub attribute, value string; " +
+                                "age sub attribute, value long; " +
+                                "person sub entity, owns name @key, owns age, plays friendship:friend; " +
+                                "friendship sub relation, relates friend;"
+                ).asDefine());
+                tx.commit();
+            }
+        }
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            List<byte[]> persons = new ArrayList<>(PERSONS);
+            for (int from = 0; from < PERSONS; from += BATCH_SIZE) {
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    EntityType person = tx.concepts().getEntityType("person");
+                    AttributeType.String name = tx.concepts().getAttributeType("name").asString();
+                    AttributeType.Long age = tx.concepts().getAttributeType("age").asLong();
+                    for (int i = from; i < Math.min(from + BATCH_SIZE, PERSONS); i++) {
+                        Entity entity = person.create();
+                        entity.setHas(name.put(name(i)));
+                        entity.setHas(age.put((long) (i % AGES)));
+                        persons.add(entity.getIID());
+                    }
+                    tx.commit();
+                }
+            }
+            Random random = new Random(0);
+            long friendships = (long) PERSONS * FRIENDS;
+            for (long from = 0; from < friendships; from += BATCH_SIZE) {
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    RelationType friendship = tx.concepts().getRelationType("friendship");
+                    RoleType friend = friendship.getRelates("friend");
+                    for (long i = from; i < Math.min(from + BATCH_SIZE, friendships); i++) {
+                        Relation relation = friendship.create();
+                        relation.addPlayer(friend, tx.concepts().getThing(persons.get((int) (i / FRIENDS))));
+                        relation.addPlayer(friend, tx.concepts().getThing(persons.get(random.nextInt(PERSONS))));
+                    }
+                    tx.commit();
+                }
+            }
+        }
+    }
+
+    private static Map<Operation, Recorder> run(ManagedChannel channel, Map<Operation, Integer> mix, int seconds) {
+        java.util.concurrent.ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+        try {
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            List<CompletableFuture<Map<Operation, Recorder>>> clients = new ArrayList<>(CLIENTS);
+            for (int c = 0; c < CLIENTS; c++) {
+                Client client = new Client(channel, c, mix);
+                clients.add(CompletableFuture.supplyAsync(() -> client.run(end), executor));
+            }
+            Map<Operation, Recorder> results = new EnumMap<>(Operation.class);
+            for (Operation operation : mix.keySet()) results.put(operation, new Recorder(seconds));
+            clients.forEach(client -> client.join().forEach((operation, recorder) -> results.get(operation).merge(recorder)));
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void report(Map<Operation, Recorder> results) throws IOException {
+        LOG.info("operation,operations,per_second,p50_ms,p99_ms,p999_ms,conflicts,conflict_rate,errors");
+        StringBuilder json = new StringBuilder();
+        json.append(String.format("{\"clients\":%d,\"persons\":%d,\"friends\":%d,\"hot\":%d,\"seconds\":%d,\"operations\":{",
+                                  CLIENTS, PERSONS, FRIENDS, HOT, SECONDS));
+        boolean isFirst = true;
+        for (Map.Entry<Operation, Recorder> entry : results.entrySet()) {
+            Recorder r = entry.getValue();
+            r.sort();
+            LOG.info(String.format("%s,%d,%.1f,%.3f,%.3f,%.3f,%d,%.4f,%d", entry.getKey().label(),
+                                   r.size, r.throughput(), r.percentileMillis(0.5), r.percentileMillis(0.99),
+                                   r.percentileMillis(0.999), r.conflicts, r.conflictRate(), r.errors));
+            if (!isFirst) json.append(",");
+            json.append(String.format(
+                    "\"%s\":{\"operations\":%d,\"per_second\":%.1f,\"p50_ms\":%.3f,\"p99_ms\":%.3f,\"p999_ms\":%.3f," +
+                            "\"conflicts\":%d,\"conflict_rate\":%.4f,\"errors\":%d}",
+                    entry.getKey().label(), r.size, r.throughput(), r.percentileMillis(0.5), r.percentileMillis(0.99),
+                    r.percentileMillis(0.999), r.conflicts, r.conflictRate(), r.errors
+            ));
+            isFirst = false;
+        }
+        json.append("}}");
+        Files.write(BenchmarkOptions.results(LoadBenchmark.class.getSimpleName()),
+                    json.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Latencies of the successful runs of an operation, in nanoseconds, and the
+     * numbers of its runs that conflicted or failed.
+     */
+    private static class Recorder {
+
+        private final int seconds;
+        private long[] latencies;
+        private int size;
+        private long conflicts;
+        private long errors;
+
+        Recorder(int seconds) {
+            this.seconds = seconds;
+            this.latencies = new long[1024];
+            this.size = 0;
+            this.conflicts = 0;
+            this.errors = 0;
+        }
+
+        void success(long nanos) {
+            if (size == latencies.length) latencies = Arrays.copyOf(latencies, size * 2);
+            latencies[size++] = nanos;
+        }
+
+        void merge(Recorder other) {
+            if (size + other.size > latencies.length) latencies = Arrays.copyOf(latencies, size + other.size);
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            conflicts += other.conflicts;
+            errors += other.errors;
+        }
+
+        void sort() {
+            Arrays.sort(latencies, 0, size);
+        }
+
+        double throughput() {
+            return (double) size / seconds;
+        }
+
+        double percentileMillis(double percentile) {
+            if (size == 0) return Double.NaN;
+            int rank = (int) Math.ceil(percentile * size) - 1;
+            return latencies[Math.max(rank, 0)] / 1_000_000.0;
+        }
+
+        double conflictRate() {
+            long attempts = size + conflicts + errors;
+            return attempts == 0 ? 0 : (double) conflicts / attempts;
+        }
+    }
+
+    /**
+     * A client with its own session, that runs operations picked at random by
+     * their weights, one after another, until the given time.
+     */
+    private static class Client {
+
+        private final GraknGrpc.GraknBlockingStub blockingStub;
+        private final GraknGrpc.GraknStub stub;
+        private final int id;
+        private final Random random;
+        private final Operation[] operations;
+        private final int[] cumulativeWeights;
+        private long inserted;
+
+        Client(ManagedChannel channel, int id, Map<Operation, Integer> mix) {
+            this.blockingStub = GraknGrpc.newBlockingStub(channel);
+            this.stub = GraknGrpc.newStub(channel);
+            this.id = id;
+            this.random = new Random(id);
+            this.operations = mix.keySet().toArray(new Operation[0]);
+            this.cumulativeWeights = new int[operations.length];
+            int total = 0;
+            for (int i = 0; i < operations.length; i++) cumulativeWeights[i] = total += mix.get(operations[i]);
+            this.inserted = 0;
+        }
+
+        Map<Operation, Recorder> run(long end) {
+            Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+            for (Operation operation : operations) recorders.put(operation, new Recorder(0));
+            ByteString session = blockingStub.sessionOpen(SessionProto.Session.Open.Req.newBuilder().setDatabase(database)
+                                                                  .setType(SessionProto.Session.Type.DATA).build()).getSessionId();
+            try {
+                while (System.nanoTime() < end) {
+                    Operation operation = next();
+                    long start = System.nanoTime();
+                    try {
+                        run(session, operation);
+                        recorders.get(operation).success(System.nanoTime() - start);
+                    } catch (StatusRuntimeException e) {
+                        if (isConflict(e)) {
+                            recorders.get(operation).conflicts++;
+                        } else {
+                            recorders.get(operation).errors++;
+                            LOG.error("Operation '{}' failed", operation.label(), e);
+                        }
+                    }
+                }
+            } finally {
+                blockingStub.sessionClose(SessionProto.Session.Close.Req.newBuilder().setSessionId(session).build());
+            }
+            return recorders;
+        }
+
+        private Operation next() {
+            int weight = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+            for (int i = 0; i < operations.length; i++) {
+                if (weight < cumulativeWeights[i]) return operations[i];
+            }
+            throw new IllegalStateException();
+        }
+
+        private static boolean isConflict(StatusRuntimeException e) {
+            String description = e.getStatus().getDescription();
+            return description != null && description.contains(TRANSACTION_CONFLICT.code());
+        }
+
+        private void run(ByteString session, Operation operation) {
+            switch (operation) {
+                case READ:
+                    try (TransactionClient tx = new TransactionClient(stub, session, Transaction.Type.READ)) {
+                        tx.stream(match(String.format("match $p isa person, has name \"%s\"; $p has age $a;",
+                                                      name(random.nextInt(PERSONS)))));
+                    }
+                    return;
+                case MATCH:
+                    try (TransactionClient tx = new TransactionClient(stub, session, Transaction.Type.READ)) {
+                        tx.stream(match(String.format("match $p isa person, has name \"%s\"; " +
+                                                              "(friend: $p, friend: $f) isa friendship; " +
+                                                              "(friend: $f, friend: $g) isa friendship;",
+                                                      name(random.nextInt(PERSONS)))));
+                    }
+                    return;
+                case INSERT:
+                    try (TransactionClient tx = new TransactionClient(stub, session, Transaction.Type.WRITE)) {
+                        tx.stream(insert(String.format("match $p isa person, has name \"%s\"; " +
+                                                               "insert $q isa person, has name \"%s\", has age %d; " +
+                                                               "(friend: $p, friend: $q) isa friendship;",
+                                                       name(random.nextInt(PERSONS)), name(id + "-" + inserted++),
+                                                       random.nextInt(AGES))));
+                        tx.commit();
+                    }
+                    return;
+                case UPDATE:
+                    try (TransactionClient tx = new TransactionClient(stub, session, Transaction.Type.WRITE)) {
+                        String person = name(random.nextInt(HOT));
+                        tx.single(QueryProto.Query.Req.newBuilder().setDeleteReq(QueryProto.Query.Delete.Req.newBuilder().setQuery(
+                                String.format("match $p isa person, has name \"%s\", has age $a; delete $p has $a;", person)
+                        )));
+                        tx.stream(insert(String.format("match $p isa person, has name \"%s\"; insert $p has age %d;",
+                                                       person, random.nextInt(AGES))));
+                        tx.commit();
+                    }
+                    return;
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        private static QueryProto.Query.Req.Builder match(String query) {
+            return QueryProto.Query.Req.newBuilder().setMatchReq(QueryProto.Query.Match.Req.newBuilder().setQuery(query));
+        }
+
+        private static QueryProto.Query.Req.Builder insert(String query) {
+            return QueryProto.Query.Req.newBuilder().setInsertReq(QueryProto.Query.Insert.Req.newBuilder().setQuery(query));
+        }
+    }
+
+    /**
+     * A transaction over its own transaction stream, that sends one request at
+     * a time and waits for its responses.
+     */
+    private static class TransactionClient implements StreamObserver<Transaction.Res>, AutoCloseable {
+
+        private static final Transaction.Res CLOSED = Transaction.Res.newBuilder().setId("closed").build();
+
+        private final StreamObserver<Transaction.Req> requests;
+        private final LinkedBlockingQueue<Transaction.Res> responses;
+        private volatile StatusRuntimeException error;
+        private boolean isClosed;
+
+        TransactionClient(GraknGrpc.GraknStub stub, ByteString session, Transaction.Type type) {
+            this.responses = new LinkedBlockingQueue<>();
+            this.isClosed = false;
+            this.requests = stub.transaction(this);
+            request(Transaction.Req.newBuilder().setOpenReq(
+                    Transaction.Open.Req.newBuilder().setSessionId(session).setType(type)
+            ));
+            response();
+        }
+
+        /**
+         * Sends a query whose answers are streamed, and counts them.
+         */
+        long stream(QueryProto.Query.Req.Builder query) {
+            String id = request(Transaction.Req.newBuilder().setQueryReq(query));
+            long answers = 0;
+            while (true) {
+                Transaction.Res res = response();
+                if (res.getDone()) {
+                    return answers;
+                } else if (res.getContinue()) {
+                    requests.onNext(Transaction.Req.newBuilder().setId(id).setContinue(true).build());
+                } else if (res.getQueryRes().getResCase() == QueryProto.Query.Res.ResCase.MATCH_RES) {
+                    answers += res.getQueryRes().getMatchRes().getAnswersCount();
+                } else {
+                    answers += res.getQueryRes().getInsertRes().getAnswersCount();
+                }
+            }
+        }
+
+        /**
+         * Sends a query that is answered by a single response.
+         */
+        void single(QueryProto.Query.Req.Builder query) {
+            request(Transaction.Req.newBuilder().setQueryReq(query));
+            response();
+        }
+
+        void commit() {
+            request(Transaction.Req.newBuilder().setCommitReq(Transaction.Commit.Req.getDefaultInstance()));
+            response();
+            // the server completes the stream once the transaction is committed
+            isClosed = true;
+        }
+
+        private String request(Transaction.Req.Builder request) {
+            String id = UUID.randomUUID().toString();
+            requests.onNext(request.setId(id).build());
+            return id;
+        }
+
+        private Transaction.Res response() {
+            try {
+                Transaction.Res res = responses.take();
+                if (res != CLOSED) return res;
+                isClosed = true;
+                if (error != null) throw error;
+                else throw Status.INTERNAL.withDescription("The transaction stream was completed").asRuntimeException();
+            } catch (InterruptedException e) {
+                throw Status.CANCELLED.withCause(e).asRuntimeException();
+            }
+        }
+
+        @Override
+        public void onNext(Transaction.Res res) {
+            responses.add(res);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = Status.fromThrowable(t).asRuntimeException();
+            responses.add(CLOSED);
+        }
+
+        @Override
+        public void onCompleted() {
+            responses.add(CLOSED);
+        }
+
+        @Override
+        public void close() {
+            // the client never cancels the stream, as the server would then close the session of the transaction
+            if (!isClosed) requests.onCompleted();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.benchmark;
+
+import grakn.core.Grakn;
+import grakn.core.common.concurrent.ExecutorService;
+import grakn.core.common.concurrent.actor.Actor;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.logic.resolvable.Concludable;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
+import grakn.core.reasoner.resolution.ResolutionRecorder;
+import grakn.core.reasoner.resolution.ResolverRegistry;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.rocks.RocksTransaction;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time to register the concludables of a generated rule set in a
+ * new ResolverRegistry, which finds the resolver of every concludable that is
+ * alpha equivalent to one registered before it. Each rule body, over the types
+ * of the SyntheticSchema, with variables of its own, is one of:
+ *
+ * { $xi isa entity-t; $xi has name-t $ni; }
+ * { (source: $xi, target: $yi) isa link; $yi isa entity-t; }
+ * { $xi has score v; }
+ *
+ * for a type t and a score v picked at random, so that the share of rules with
+ * a concludable alpha equivalent to that of another falls as the rules grow.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ResolverRegistryBenchmark {
+
+    static final int ENTITY_TYPES = 10;
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("resolver-registry-benchmark");
+    private static final String database = "resolver-registry-benchmark";
+
+    @Param({"100", "1000", "10000"})
+    public int rules;
+
+    private Grakn grakn;
+    private Grakn.Session session;
+    private RocksTransaction transaction;
+    private List<Concludable> concludables;
+
+    @Test
+    public void run() throws RunnerException {
+        new Runner(BenchmarkOptions.of(ResolverRegistryBenchmark.class).build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        new SyntheticSchema(ENTITY_TYPES, 0, 0, 0).define(grakn, database);
+        session = grakn.session(database, Arguments.Session.Type.DATA);
+        transaction = (RocksTransaction) session.transaction(Arguments.Transaction.Type.READ);
+
+        Random random = new Random(0);
+        concludables = new ArrayList<>();
+        for (int i = 0; i < rules; i++) {
+            Disjunction when = Disjunction.create(Graql.parseQuery("match " + when(i, random)).asMatch().conjunction().normalise());
+            for (Conjunction conjunction : when.conjunctions()) {
+                concludables.addAll(Concludable.create(transaction.logic().typeResolver().resolve(conjunction)));
+            }
+        }
+    }
+
+    private String when(int rule, Random random) {
+        int type = random.nextInt(ENTITY_TYPES);
+        switch (random.nextInt(3)) {
+            case 0:
+                return String.format("$x%d isa %s; $x%d has %s $n%d;", rule, SyntheticSchema.entityType(type),
+                                     rule, SyntheticSchema.nameType(type), rule);
+            case 1:
+                return String.format("(%s: $x%d, %s: $y%d) isa %s; $y%d isa %s;", SyntheticSchema.SOURCE, rule,
+                                     SyntheticSchema.TARGET, rule, SyntheticSchema.LINK, rule,
+                                     SyntheticSchema.entityType(type));
+            default:
+                return String.format("$x%d has %s %d;", rule, SyntheticSchema.SCORE, random.nextInt(rules));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transaction.close();
+        session.close();
+        grakn.close();
+    }
+
+    @Benchmark
+    public void register(Blackhole blackhole) {
+        ResolverRegistry registry = new ResolverRegistry(
+                ExecutorService.eventLoopGroup(), Actor.create(ExecutorService.eventLoopGroup(), ResolutionRecorder::new),
+                transaction.traversal(), transaction.concepts(), transaction.logic()
+        );
+        for (Concludable concludable : concludables) blackhole.consume(registry.registerResolvable(concludable));
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.benchmark;
+
+import grakn.core.Grakn;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.test.integration.util.Util;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the storage operations that every query is made
+ * of, over a dataset of the SyntheticSchema:
+ *
+ * insert:                  create an entity that has a new name and an existing score, in
+ *                          write transactions of INSERTS_PER_TRANSACTION entities each
+ * get_by_iid:              get an entity by its IID, picked at random
+ * attribute_get_or_create: put a name, where half of the names already exist
+ *
+ * The inserted entities are kept across iterations, so the dataset grows by
+ * the number of inserted entities while the benchmark runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StorageBenchmark {
+
+    static final int ENTITY_TYPES = 10;
+    static final int ENTITIES_PER_TYPE = 10_000;
+    static final int LINKS_PER_ENTITY = 2;
+    static final int OPERATIONS = 10_000;
+    static final int INSERTS_PER_TRANSACTION = 1_000;
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("storage-benchmark");
+    private static final String database = "storage-benchmark";
+
+    private Grakn grakn;
+    private Grakn.Session session;
+    private Grakn.Transaction transaction;
+    private List<byte[]> iids;
+    private int[] lookups;
+    private String[] names;
+    private long inserted;
+
+    @Test
+    public void run() throws RunnerException {
+        new Runner(BenchmarkOptions.of(StorageBenchmark.class).build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        SyntheticSchema schema = new SyntheticSchema(ENTITY_TYPES, ENTITIES_PER_TYPE, LINKS_PER_ENTITY, 0);
+        schema.define(grakn, database);
+        session = grakn.session(database, Arguments.Session.Type.DATA);
+        iids = schema.populate(session);
+        transaction = session.transaction(Arguments.Transaction.Type.READ);
+
+        Random random = new Random(0);
+        lookups = new int[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) lookups[i] = random.nextInt(iids.size());
+        names = new String[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            names[i] = random.nextBoolean() ? SyntheticSchema.name(0, random.nextInt(ENTITIES_PER_TYPE)) : "new-" + i;
+        }
+        inserted = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transaction.close();
+        session.close();
+        grakn.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(INSERTS_PER_TRANSACTION)
+    public void insert() {
+        try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            AttributeType.Long score = tx.concepts().getAttributeType(SyntheticSchema.SCORE).asLong();
+            for (int i = 0; i < INSERTS_PER_TRANSACTION; i++, inserted++) {
+                int type = (int) (inserted % ENTITY_TYPES);
+                EntityType entityType = tx.concepts().getEntityType(SyntheticSchema.entityType(type));
+                AttributeType.String name = tx.concepts().getAttributeType(SyntheticSchema.nameType(type)).asString();
+                Entity entity = entityType.create();
+                entity.setHas(name.put(SyntheticSchema.name(type, ENTITIES_PER_TYPE + inserted)));
+                entity.setHas(score.get(inserted % SyntheticSchema.SCORES));
+            }
+            tx.commit();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void get_by_iid(Blackhole blackhole) {
+        for (int lookup : lookups) blackhole.consume(transaction.concepts().getThing(iids.get(lookup)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public void attribute_get_or_create(Blackhole blackhole) {
+        try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            AttributeType.String name = tx.concepts().getAttributeType(SyntheticSchema.nameType(0)).asString();
+            for (String value : names) blackhole.consume(name.put(value));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.benchmark;
+
+import grakn.core.Grakn;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.concept.thing.Entity;
+import grakn.core.concept.thing.Relation;
+import grakn.core.concept.thing.Thing;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.concept.type.EntityType;
+import grakn.core.concept.type.RelationType;
+import grakn.core.concept.type.RoleType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static grakn.core.concept.type.AttributeType.ValueType.LONG;
+import static grakn.core.concept.type.AttributeType.ValueType.STRING;
+
+/**
+ * Generates a schema and a dataset of a given size, the same for the same
+ * arguments, to be shared by the benchmarks:
+ *
+ * entity-t sub entity, owns name-t, owns score, plays link:source, plays link:target;
+ * link sub relation, relates source, relates target;
+ *
+ * for every type t, with entitiesPerType entities that each have a unique name
+ * "name-t-i" and one of a hundred scores, and linksPerEntity links from every
+ * entity to entities picked at random, of any type.
+ */
+class SyntheticSchema {
+
+    static final String SCORE = "score";
+    static final String LINK = "link";
+    static final String SOURCE = "source";
+    static final String TARGET = "target";
+    static final int SCORES = 100;
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private final int entityTypes;
+    private final int entitiesPerType;
+    private final int linksPerEntity;
+    private final Random random;
+
+    SyntheticSchema(int entityTypes, int entitiesPerType, int linksPerEntity, long seed) {
+        this.entityTypes = entityTypes;
+        this.entitiesPerType = entitiesPerType;
+        this.linksPerEntity = linksPerEntity;
+        this.random = new Random(seed);
+    }
+
+    static String entityType(int type) {
+        return "entity-" + type;
+    }
+
+    static String nameType(int type) {
+        return "name-" + type;
+    }
+
+    static String name(int type, long index) {
+        return "name-" + type + "-" + index;
+    }
+
+    int entityTypes() {
+        return entityTypes;
+    }
+
+    int entitiesPerType() {
+        return entitiesPerType;
+    }
+
+    void define(Grakn grakn, String database) {
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                RelationType link = tx.concepts().putRelationType(LINK);
+                link.setRelates(SOURCE);
+                link.setRelates(TARGET);
+                AttributeType score = tx.concepts().putAttributeType(SCORE, LONG);
+                for (int t = 0; t < entityTypes; t++) {
+                    EntityType entityType = tx.concepts().putEntityType(entityType(t));
+                    entityType.setOwns(tx.concepts().putAttributeType(nameType(t), STRING));
+                    entityType.setOwns(score);
+                    entityType.setPlays(link.getRelates(SOURCE));
+                    entityType.setPlays(link.getRelates(TARGET));
+                }
+                tx.commit();
+            }
+        }
+    }
+
+    /**
+     * Inserts the entities and the links between them, committing every
+     * BATCH_SIZE entities or links.
+     *
+     * @return the IIDs of the entities, by type and then by index
+     */
+    List<byte[]> populate(Grakn.Session session) {
+        List<byte[]> iids = new ArrayList<>(entityTypes * entitiesPerType);
+        for (int t = 0; t < entityTypes; t++) {
+            for (int from = 0; from < entitiesPerType; from += BATCH_SIZE) {
+                try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    EntityType entityType = tx.concepts().getEntityType(entityType(t));
+                    AttributeType.String name = tx.concepts().getAttributeType(nameType(t)).asString();
+                    AttributeType.Long score = tx.concepts().getAttributeType(SCORE).asLong();
+                    for (int i = from; i < Math.min(from + BATCH_SIZE, entitiesPerType); i++) {
+                        Entity entity = entityType.create();
+                        entity.setHas(name.put(name(t, i)));
+                        entity.setHas(score.put((long) (i % SCORES)));
+                        iids.add(entity.getIID());
+                    }
+                    tx.commit();
+                }
+            }
+        }
+        long links = (long) iids.size() * linksPerEntity;
+        for (long from = 0; from < links; from += BATCH_SIZE) {
+            try (Grakn.Transaction tx = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                RelationType link = tx.concepts().getRelationType(LINK);
+                RoleType source = link.getRelates(SOURCE);
+                RoleType target = link.getRelates(TARGET);
+                for (long i = from; i < Math.min(from + BATCH_SIZE, links); i++) {
+                    Thing sourcePlayer = tx.concepts().getThing(iids.get((int) (i / linksPerEntity)));
+                    Thing targetPlayer = tx.concepts().getThing(iids.get(random.nextInt(iids.size())));
+                    Relation relation = link.create();
+                    relation.addPlayer(source, sourcePlayer);
+                    relation.addPlayer(target, targetPlayer);
+                }
+                tx.commit();
+            }
+        }
+        return iids;
+    }
+}
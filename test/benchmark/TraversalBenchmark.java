@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.test.benchmark;
+
+import grakn.core.Grakn;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.concept.thing.Thing;
+import grakn.core.concept.type.AttributeType;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.rocks.RocksTransaction;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.planner.Planner;
+import grakn.core.traversal.structure.Structure;
+import graql.lang.Graql;
+import graql.lang.query.GraqlMatch;
+import org.junit.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * Measures the time of the traversals of a match query, over a dataset of the
+ * SyntheticSchema, from a start entity picked at random:
+ *
+ * scan_has:       iterate the names of the start entity, next to its score
+ * scan_relations: iterate the links the start entity plays in
+ * match:          match the entities that are a number of links away from the start entity:
+ *                 match $x0 isa entity-t, has name-t "name-t-i";
+ *                       (source: $x0, target: $x1) isa link; ... (source: $xn-1, target: $xn) isa link;
+ * plan:           solve the plan of the same query, from a new planner each time
+ *
+ * The time of scan_has, scan_relations and match is per start entity.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TraversalBenchmark {
+
+    static final int ENTITY_TYPES = 10;
+    static final int ENTITIES_PER_TYPE = 10_000;
+    static final int LINKS_PER_ENTITY = 2;
+    static final int STARTS = 100;
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("traversal-benchmark");
+    private static final String database = "traversal-benchmark";
+
+    private Grakn grakn;
+    private Grakn.Session session;
+    private RocksTransaction transaction;
+    private List<Thing> starts;
+    private List<AttributeType.String> startNameTypes;
+    private List<String> startNames;
+
+    @Test
+    public void run() throws RunnerException {
+        new Runner(BenchmarkOptions.of(TraversalBenchmark.class).build()).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        SyntheticSchema schema = new SyntheticSchema(ENTITY_TYPES, ENTITIES_PER_TYPE, LINKS_PER_ENTITY, 0);
+        schema.define(grakn, database);
+        session = grakn.session(database, Arguments.Session.Type.DATA);
+        List<byte[]> iids = schema.populate(session);
+        transaction = (RocksTransaction) session.transaction(Arguments.Transaction.Type.READ);
+
+        Random random = new Random(0);
+        starts = new ArrayList<>(STARTS);
+        startNameTypes = new ArrayList<>(STARTS);
+        startNames = new ArrayList<>(STARTS);
+        for (int i = 0; i < STARTS; i++) {
+            int start = random.nextInt(iids.size());
+            int type = start / ENTITIES_PER_TYPE;
+            starts.add(transaction.concepts().getThing(iids.get(start)));
+            startNameTypes.add(transaction.concepts().getAttributeType(SyntheticSchema.nameType(type)).asString());
+            startNames.add(SyntheticSchema.name(type, start % ENTITIES_PER_TYPE));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        transaction.close();
+        session.close();
+        grakn.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STARTS)
+    public void scan_has(Blackhole blackhole) {
+        for (int i = 0; i < STARTS; i++) starts.get(i).getHas(startNameTypes.get(i)).forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STARTS)
+    public void scan_relations(Blackhole blackhole) {
+        for (Thing start : starts) start.getRelations().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STARTS)
+    public void match(Queries queries, Blackhole blackhole) {
+        for (GraqlMatch query : queries.queries) {
+            transaction.query().match(query, false).forEachRemaining(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 10)
+    @Measurement(iterations = 50)
+    public void plan(Queries queries, Blackhole blackhole) {
+        Disjunction disjunction = Disjunction.create(queries.queries.get(0).conjunction().normalise());
+        for (Conjunction conjunction : disjunction.conjunctions()) {
+            Conjunction resolved = transaction.logic().typeResolver().resolve(conjunction);
+            for (Structure structure : resolved.traversal(emptyList()).structure().asGraphs()) {
+                Planner planner = Planner.create(structure);
+                planner.tryOptimise(transaction.traversal().graph());
+                // the solver runs on the planner thread pool, while the query would continue with the warm start
+                while (planner.isGraph() && planner.asGraph().isOptimising()) Thread.yield();
+                blackhole.consume(planner.procedure());
+            }
+        }
+    }
+
+    /**
+     * The queries of the match and plan benchmarks, from every start entity,
+     * for each number of links away from it.
+     */
+    @State(Scope.Benchmark)
+    public static class Queries {
+
+        @Param({"1", "2", "3"})
+        public int hops;
+
+        private List<GraqlMatch> queries;
+
+        @Setup(Level.Trial)
+        public void setup(TraversalBenchmark benchmark) {
+            queries = new ArrayList<>(STARTS);
+            for (int i = 0; i < STARTS; i++) {
+                StringBuilder query = new StringBuilder();
+                query.append(String.format("match $x0 isa %s, has %s \"%s\";",
+                                           benchmark.starts.get(i).getType().getLabel().name(),
+                                           benchmark.startNameTypes.get(i).getLabel().name(),
+                                           benchmark.startNames.get(i)));
+                for (int hop = 1; hop <= hops; hop++) {
+                    query.append(String.format(" (%s: $x%d, %s: $x%d) isa %s;", SyntheticSchema.SOURCE, hop - 1,
+                                               SyntheticSchema.TARGET, hop, SyntheticSchema.LINK));
+                }
+                queries.add(Graql.parseQuery(query.toString()).asMatch());
+            }
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.logic.resolvable;
+
+import grakn.core.common.parameters.Arguments;
+import grakn.core.concept.ConceptManager;
+import grakn.core.logic.LogicManager;
+import grakn.core.logic.Rule;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.rocks.RocksSession;
+import grakn.core.rocks.RocksTransaction;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+import static grakn.common.collection.Collections.set;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests that the rules found for a concludable from the index of rules by the types they conclude are the same as the
+ * rules found by unifying the concludable with the conclusion of every rule.
+ */
+public class ApplicableRulesTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("applicable-rules-test");
+    private static final String database = "applicable-rules-test";
+    private static RocksGrakn grakn;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                transaction.query().define(Graql.parseQuery(
+                        "define " +
+                                "person sub entity, owns first-name, owns nickname, owns age, " +
+                                "    plays friendship:friend, plays marriage:spouse;" +
+                                "employee sub person;" +
+                                "friendship sub relation, relates friend;" +
+                                "close-friendship sub friendship;" +
+                                "marriage sub relation, relates spouse;" +
+                                "name sub attribute, value string, abstract;" +
+                                "first-name sub name;" +
+                                "nickname sub name;" +
+                                "age sub attribute, value long;" +
+                                "rule marriage-is-friendship: " +
+                                "    when { (spouse: $x, spouse: $y) isa marriage; } " +
+                                "    then { (friend: $x, friend: $y) isa friendship; };" +
+                                "rule young-friends-are-close: " +
+                                "    when { (friend: $x, friend: $y) isa friendship; $x has age 10; } " +
+                                "    then { (friend: $x, friend: $y) isa close-friendship; };" +
+                                "rule bob-is-a-name-of-every-person: " +
+                                "    when { $x isa person; $n \"bob\" isa first-name; } " +
+                                "    then { $x has $n; };" +
+                                "rule ten-year-olds-are-kids: " +
+                                "    when { $x isa person, has age 10; } " +
+                                "    then { $x has nickname \"kid\"; };" +
+                                "rule employees-are-workers: " +
+                                "    when { $x isa employee; } " +
+                                "    then { $x has first-name \"worker\"; };"
+                ).asDefine());
+                transaction.commit();
+            }
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        grakn.close();
+    }
+
+    private static final Set<String> CONJUNCTIONS = set(
+            "{ $r (friend: $a, friend: $b) isa friendship; }",
+            "{ $r (friend: $a, friend: $b) isa close-friendship; }",
+            "{ $r (spouse: $a) isa marriage; }",
+            "{ $r ($a) isa $t; }",
+            "{ $x isa person; $r (friend: $x) isa $t; }",
+            "{ $x has name $n; }",
+            "{ $x has nickname $n; }",
+            "{ $x has first-name \"worker\"; }",
+            "{ $x has $n; }",
+            "{ $x isa employee, has $n; }",
+            "{ $x isa friendship; }",
+            "{ $x isa close-friendship; }",
+            "{ $x isa $t; }",
+            "{ $n isa name; }",
+            "{ $n isa nickname; }",
+            "{ $n \"kid\"; }"
+    );
+
+    @Test
+    public void indexed_rules_are_the_rules_that_unify_with_each_concludable() {
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                final ConceptManager conceptMgr = transaction.concepts();
+                final LogicManager logicMgr = transaction.logic();
+                final Set<String> allRules = logicMgr.rules().map(Rule::getLabel).toSet();
+                boolean isNarrowed = false;
+                for (String conjunction : CONJUNCTIONS) {
+                    for (Concludable concludable : Concludable.create(resolvedConjunction(conjunction, logicMgr))) {
+                        final Set<String> fullScan = iterate(allRules).map(logicMgr::getRule)
+                                .filter(rule -> concludable.unify(rule.conclusion(), conceptMgr).hasNext())
+                                .map(Rule::getLabel).toSet();
+                        final Set<String> indexed = concludable.getApplicableRules(conceptMgr, logicMgr)
+                                .map(Rule::getLabel).toSet();
+                        assertEquals(conjunction, fullScan, indexed);
+                        final Set<String> candidates = logicMgr.rulesConcluding(concludable.concludedTypes(conceptMgr))
+                                .map(Rule::getLabel).toSet();
+                        assertTrue(conjunction, candidates.containsAll(fullScan));
+                        if (candidates.size() < allRules.size()) isNarrowed = true;
+                    }
+                }
+                // the index is only of use if some concludables are given fewer rules than there are
+                assertTrue(isNarrowed);
+            }
+        }
+    }
+
+    @Test
+    public void subtypes_of_the_concluded_types_are_included() {
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+            try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                final ConceptManager conceptMgr = transaction.concepts();
+                final LogicManager logicMgr = transaction.logic();
+                final Concludable friendship = iterate(Concludable.create(resolvedConjunction(
+                        "{ $r (friend: $a, friend: $b) isa friendship; }", logicMgr
+                ))).filter(Concludable::isRelation).next();
+                assertEquals(set("marriage-is-friendship", "young-friends-are-close"),
+                             friendship.getApplicableRules(conceptMgr, logicMgr).map(Rule::getLabel).toSet());
+
+                final Concludable name = iterate(Concludable.create(resolvedConjunction(
+                        "{ $x has name $n; }", logicMgr
+                ))).filter(Concludable::isHas).next();
+                assertEquals(set("bob-is-a-name-of-every-person", "ten-year-olds-are-kids", "employees-are-workers"),
+                             name.getApplicableRules(conceptMgr, logicMgr).map(Rule::getLabel).toSet());
+
+                final Concludable marriage = iterate(Concludable.create(resolvedConjunction(
+                        "{ $r (spouse: $a) isa marriage; }", logicMgr
+                ))).filter(Concludable::isRelation).next();
+                assertFalse(marriage.getApplicableRules(conceptMgr, logicMgr).hasNext());
+            }
+        }
+    }
+
+    private static Conjunction resolvedConjunction(String query, LogicManager logicMgr) {
+        final Conjunction conjunction = Disjunction.create(Graql.parsePattern(query).asConjunction().normalise())
+                .conjunctions().iterator().next();
+        return logicMgr.typeResolver().resolve(conjunction);
+    }
+}
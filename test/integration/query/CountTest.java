@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.query;
+
+import grakn.core.Grakn;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
+import grakn.core.graph.DataGraph;
+import grakn.core.graph.GraphManager;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.rocks.RocksTransaction;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CountTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("count-test");
+    private static final String database = "count-test";
+    private static final int PEOPLE = 100;
+    private static final long STATISTICS_TIMEOUT_MILLIS = 60_000;
+
+    @Test
+    public void counts_from_statistics_are_only_used_when_the_attribute_counts_are_exact()
+            throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().define(Graql.parseQuery(
+                            "define name sub attribute, value string; person sub entity, owns name;"
+                    ).asDefine());
+                    transaction.commit();
+                }
+            }
+
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    insertPeople(transaction, 0, PEOPLE);
+                    transaction.commit();
+                }
+
+                // the attributes and has edges committed are counted by the background counter, which may lag
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertCountsAreExact(transaction, PEOPLE);
+                }
+
+                // attributes written by a transaction are never in its statistics, so they are counted by traversal
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    insertPeople(transaction, PEOPLE, 10);
+                    assertFalse(statistics(transaction).isAttributeCountExact());
+                    assertCountsAreExact(transaction, PEOPLE + 10);
+                }
+
+                final long deadline = System.currentTimeMillis() + STATISTICS_TIMEOUT_MILLIS;
+                boolean isExact = false;
+                while (!isExact && System.currentTimeMillis() < deadline) {
+                    try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                        isExact = statistics(transaction).isAttributeCountExact();
+                    }
+                    if (!isExact) Thread.sleep(100);
+                }
+                assertTrue(isExact);
+
+                // once the statistics have caught up, counting from them gives the same counts as a traversal
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    final GraphManager graph = ((RocksTransaction) transaction).traversal().graph();
+                    assertEquals(PEOPLE, statistics(transaction).thingVertexCount(graph.schema().getType("name")));
+                    assertEquals(PEOPLE, count(transaction, "match $x isa name; count;", true));
+                    assertEquals(PEOPLE, count(transaction, "match $x isa name; count;", false));
+                    assertEquals(PEOPLE, count(transaction, "match $p isa person, has name $n; count;", true));
+                    assertEquals(PEOPLE, count(transaction, "match $p isa person, has name $n; count;", false));
+                    assertCountsAreExact(transaction, PEOPLE);
+                }
+            }
+        }
+    }
+
+    private static void insertPeople(Grakn.Transaction transaction, int first, int count) {
+        for (int i = first; i < first + count; i++) {
+            transaction.query().insert(Graql.parseQuery("insert $p isa person, has name \"person-" + i + "\";").asInsert());
+        }
+    }
+
+    private static void assertCountsAreExact(Grakn.Transaction transaction, long people) {
+        assertEquals(people, count(transaction, "match $x isa name; count;", true));
+        assertEquals(people, count(transaction, "match $x isa person; count;", true));
+        assertEquals(people, count(transaction, "match $p isa person, has name $n; count;", true));
+        // counting the answers one by one never uses the statistics
+        assertEquals(people, transaction.query().match(Graql.parseQuery("match $p isa person, has name $n;").asMatch())
+                .stream().count());
+    }
+
+    private static long count(Grakn.Transaction transaction, String query, boolean isExact) {
+        return transaction.query().match(
+                Graql.parseQuery(query).asMatchAggregate(), new Options.Query().exactCount(isExact)
+        ).asLong();
+    }
+
+    private static DataGraph.Statistics statistics(Grakn.Transaction transaction) {
+        return ((RocksTransaction) transaction).traversal().graph().data().stats();
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.query;
+
+import grakn.core.Grakn;
+import grakn.core.common.iterator.ResourceIterator;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SortTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("sort-test");
+    private static final String database = "sort-test";
+    private static final int PEOPLE = 1000;
+    private static final int BUFFER_SIZE = 64;
+
+    private static final List<Long> ages = new ArrayList<>();
+    private static Grakn grakn;
+    private static Grakn.Session session;
+
+    @BeforeClass
+    public static void setUp() throws IOException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                transaction.query().define(Graql.parseQuery(
+                        "define age sub attribute, value long; person sub entity, owns age;"
+                ).asDefine());
+                transaction.commit();
+            }
+        }
+        session = grakn.session(database, Arguments.Session.Type.DATA);
+        final Random random = new Random(0);
+        try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            for (int i = 0; i < PEOPLE; i++) {
+                final long age = random.nextInt(PEOPLE / 4);
+                ages.add(age);
+                transaction.query().insert(Graql.parseQuery("insert $x isa person, has age " + age + ";").asInsert());
+            }
+            transaction.commit();
+        }
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        session.close();
+        grakn.close();
+    }
+
+    @Test
+    public void sorts_answers_beyond_the_buffer_size_in_order() throws IOException {
+        final long runsBefore = spilledRuns();
+        final List<Long> expected = new ArrayList<>(ages);
+        expected.sort(Collections.reverseOrder());
+        try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+            assertEquals(expected, ages(transaction, "match $x isa person, has age $a; sort $a desc;", BUFFER_SIZE));
+            assertEquals(expected, ages(transaction, "match $x isa person, has age $a; sort $a desc;", PEOPLE * 2));
+            Collections.reverse(expected);
+            assertEquals(expected, ages(transaction, "match $x isa person, has age $a; sort $a asc;", BUFFER_SIZE));
+        }
+        // the runs of answers that are consumed are deleted as soon as they are merged
+        assertEquals(runsBefore, spilledRuns());
+    }
+
+    @Test
+    public void sorts_the_top_answers_within_the_limit() {
+        final List<Long> sorted = new ArrayList<>(ages);
+        sorted.sort(Collections.reverseOrder());
+        try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+            // the offset and the limit fit in the buffer, so only the top answers are kept
+            assertEquals(sorted.subList(10, 30), ages(
+                    transaction, "match $x isa person, has age $a; sort $a desc; offset 10; limit 20;", BUFFER_SIZE
+            ));
+            // the offset and the limit exceed the buffer, so every answer is sorted
+            assertEquals(sorted.subList(100, 300), ages(
+                    transaction, "match $x isa person, has age $a; sort $a desc; offset 100; limit 200;", BUFFER_SIZE
+            ));
+        }
+    }
+
+    @Test
+    public void spilled_runs_of_abandoned_answers_are_deleted_when_the_transaction_closes() throws IOException {
+        final long runsBefore = spilledRuns();
+        try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+            final ResourceIterator<ConceptMap> answers = transaction.query().match(
+                    Graql.parseQuery("match $x isa person, has age $a; sort $a desc;").asMatch(),
+                    new Options.Query().sortBufferSize(BUFFER_SIZE)
+            );
+            for (int i = 0; i < 10; i++) answers.next();
+            assertTrue(spilledRuns() > runsBefore);
+        }
+        assertEquals(runsBefore, spilledRuns());
+    }
+
+    private static List<Long> ages(Grakn.Transaction transaction, String query, int sortBufferSize) {
+        final List<Long> ages = new ArrayList<>();
+        transaction.query().match(Graql.parseQuery(query).asMatch(), new Options.Query().sortBufferSize(sortBufferSize))
+                .forEachRemaining(answer -> ages.add(answer.get("a").asAttribute().asLong().getValue()));
+        return ages;
+    }
+
+    private static long spilledRuns() throws IOException {
+        final Path temporary = Paths.get(System.getProperty("java.io.tmpdir"));
+        long runs = 0;
+        try (DirectoryStream<Path> paths = Files.newDirectoryStream(temporary, "grakn-sort-*.run")) {
+            for (Path ignored : paths) runs++;
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.reasoner;
+
+import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.concept.thing.Thing;
+import grakn.core.logic.LogicManager;
+import grakn.core.logic.resolvable.Concludable;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.rocks.RocksSession;
+import grakn.core.rocks.RocksTransaction;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import graql.lang.pattern.variable.Reference;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static grakn.common.collection.Collections.map;
+import static grakn.common.collection.Collections.pair;
+import static grakn.common.collection.Collections.set;
+import static grakn.core.common.iterator.Iterators.iterate;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReasonerCacheTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("reasoner-cache-test");
+    private static final String database = "reasoner-cache-test";
+    private static final int NODES = 5;
+    private static final String REACHABLE = "{ (from: $x, to: $y) isa reachable; }";
+    private static final long TIMEOUT_MILLIS = 60_000;
+
+    private static RocksGrakn grakn;
+    private static RocksSession session;
+
+    @BeforeClass
+    public static void setUp() throws IOException, InterruptedException {
+        Util.resetDirectory(directory);
+        grakn = RocksGrakn.open(directory);
+        grakn.databases().create(database);
+        try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+            try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                transaction.query().define(Graql.parseQuery(
+                        "define " +
+                                "name sub attribute, value string;" +
+                                "node sub entity, owns name, plays edge:from, plays edge:to, " +
+                                "    plays reachable:from, plays reachable:to;" +
+                                "edge sub relation, relates from, relates to;" +
+                                "reachable sub relation, relates from, relates to;" +
+                                "rule edges-are-reachable: " +
+                                "    when { (from: $x, to: $y) isa edge; } " +
+                                "    then { (from: $x, to: $y) isa reachable; };" +
+                                "rule reachable-is-transitive: " +
+                                "    when { (from: $x, to: $z) isa reachable; (from: $z, to: $y) isa reachable; } " +
+                                "    then { (from: $x, to: $y) isa reachable; };"
+                ).asDefine());
+                transaction.commit();
+            }
+        }
+        session = grakn.session(database, Arguments.Session.Type.DATA);
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            for (int i = 0; i < NODES; i++) {
+                transaction.query().insert(Graql.parseQuery("insert $x isa node, has name \"" + i + "\";").asInsert());
+            }
+            for (int i = 0; i + 1 < NODES; i++) {
+                transaction.query().insert(Graql.parseQuery(
+                        "match $x isa node, has name \"" + i + "\"; $y isa node, has name \"" + (i + 1) + "\";" +
+                                "insert (from: $x, to: $y) isa edge;"
+                ).asInsert());
+            }
+            transaction.commit();
+        }
+        awaitStatistics();
+    }
+
+    @AfterClass
+    public static void tearDown() {
+        session.close();
+        grakn.close();
+    }
+
+    @Test
+    public void snapshot_only_moves_on_with_commits_that_write_data() throws InterruptedException {
+        final long snapshot = snapshot();
+        assertEquals(snapshot, snapshot());
+
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            transaction.query().match(Graql.parseQuery("match $x isa node;").asMatch()).toList();
+            transaction.commit();
+        }
+        assertEquals(snapshot, snapshot());
+
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            transaction.query().insert(Graql.parseQuery("insert $x isa node;").asInsert());
+            transaction.commit();
+        }
+        assertTrue(snapshot() > snapshot);
+        awaitStatistics();
+    }
+
+    @Test
+    public void recursive_rules_give_the_same_answers_in_every_read_transaction() {
+        final Set<String> expected = new HashSet<>();
+        for (int i = 0; i < NODES; i++) {
+            for (int j = i + 1; j < NODES; j++) expected.add(i + "->" + j);
+        }
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+            assertEquals(expected, reachable(transaction));
+        }
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+            assertEquals(expected, reachable(transaction));
+        }
+        try (RocksTransaction transaction = session.transaction(
+                Arguments.Transaction.Type.READ, new Options.Transaction().reasonerCache(false))) {
+            assertEquals(expected, reachable(transaction));
+        }
+    }
+
+    @Test
+    public void answers_resolved_by_a_read_transaction_are_tabled_for_the_next() throws InterruptedException {
+        final Set<String> answers;
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+            answers = reachable(transaction);
+            // the answers are tabled by the resolvers once the query is done, which they are told asynchronously
+            final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+            while (!tabled(transaction).isPresent() && System.currentTimeMillis() < deadline) Thread.sleep(100);
+            assertTrue(tabled(transaction).isPresent());
+        }
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+            final Optional<List<ConceptMap>> tabled = tabled(transaction);
+            assertTrue(tabled.isPresent());
+            assertEquals(answers, pairs(transaction, tabled.get()));
+            assertEquals(answers, reachable(transaction));
+        }
+        // write transactions see their own data, so they never look up the answers of others
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+            assertFalse(tabled(transaction).isPresent());
+        }
+    }
+
+    @Test
+    public void answers_are_looked_up_by_alpha_equivalent_concludables_of_the_same_snapshot() {
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+            final Thing first = node(transaction, "0");
+            final Thing second = node(transaction, "1");
+            final Concludable tabled = concludable(REACHABLE, transaction.logic());
+            final Concludable renamed = concludable("{ (from: $a, to: $b) isa reachable; }", transaction.logic());
+            final ReasonerCache cache = new ReasonerCache();
+            cache.snapshot(1).table(tabled, new ConceptMap(), set(
+                    new ConceptMap(map(pair(Reference.named("x"), first), pair(Reference.named("y"), second)))
+            ));
+
+            final Optional<List<ConceptMap>> answers =
+                    cache.snapshot(1).answers(renamed, new ConceptMap(), transaction.concepts());
+            assertTrue(answers.isPresent());
+            assertEquals(1, answers.get().size());
+            assertEquals(first, answers.get().get(0).get("a"));
+            assertEquals(second, answers.get().get(0).get("b"));
+
+            // answers are only looked up for the bounds they were tabled for
+            final ConceptMap bounds = new ConceptMap(map(pair(Reference.named("x"), first)));
+            final ConceptMap renamedBounds = new ConceptMap(map(pair(Reference.named("a"), first)));
+            assertFalse(cache.snapshot(1).answers(renamed, renamedBounds, transaction.concepts()).isPresent());
+
+            // answers of one snapshot are not seen by the others, and are dropped once a later snapshot is tabled
+            assertFalse(cache.snapshot(2).answers(tabled, new ConceptMap(), transaction.concepts()).isPresent());
+            cache.snapshot(2).table(tabled, bounds, set());
+            assertFalse(cache.snapshot(1).answers(tabled, new ConceptMap(), transaction.concepts()).isPresent());
+            assertFalse(cache.snapshot(2).answers(renamed, new ConceptMap(), transaction.concepts()).isPresent());
+            final Optional<List<ConceptMap>> none =
+                    cache.snapshot(2).answers(renamed, renamedBounds, transaction.concepts());
+            assertTrue(none.isPresent());
+            assertTrue(none.get().isEmpty());
+        }
+    }
+
+    /**
+     * The background counter moves the snapshot on too, so it has to catch up before snapshots are compared
+     */
+    private static void awaitStatistics() throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (grakn.databases().get(database).statisticsLag() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(100);
+        }
+        assertEquals(0, grakn.databases().get(database).statisticsLag());
+    }
+
+    private static long snapshot() {
+        try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+            return transaction.traversal().graph().data().stats().snapshot();
+        }
+    }
+
+    private static Optional<List<ConceptMap>> tabled(RocksTransaction transaction) {
+        final Concludable concludable = concludable(REACHABLE, transaction.logic());
+        return transaction.reasoner().resolverRegistry().tabledAnswers(concludable, new ConceptMap());
+    }
+
+    private static Set<String> reachable(RocksTransaction transaction) {
+        return pairs(transaction, transaction.query().match(
+                Graql.parseQuery("match (from: $x, to: $y) isa reachable;").asMatch()
+        ).toList());
+    }
+
+    private static Set<String> pairs(RocksTransaction transaction, Collection<ConceptMap> answers) {
+        final Map<Thing, String> names = new HashMap<>();
+        transaction.query().match(Graql.parseQuery("match $x isa node, has name $n;").asMatch()).forEachRemaining(
+                answer -> names.put(answer.get("x").asThing(), answer.get("n").asAttribute().asString().getValue())
+        );
+        final Set<String> pairs = iterate(answers).map(
+                answer -> names.get(answer.get("x").asThing()) + "->" + names.get(answer.get("y").asThing())
+        ).toSet();
+        assertEquals("answers are not repeated", answers.size(), pairs.size());
+        return pairs;
+    }
+
+    private static Thing node(RocksTransaction transaction, String name) {
+        return transaction.query().match(Graql.parseQuery(
+                "match $x isa node, has name \"" + name + "\";"
+        ).asMatch()).next().get("x").asThing();
+    }
+
+    private static Concludable concludable(String query, LogicManager logicMgr) {
+        final Conjunction conjunction = Disjunction.create(Graql.parsePattern(query).asConjunction().normalise())
+                .conjunctions().iterator().next();
+        return iterate(Concludable.create(logicMgr.typeResolver().resolve(conjunction)))
+                .filter(Concludable::isRelation).next();
+    }
+}
@@ -83,9 +83,7 @@ public class ResolutionTest {
                 transaction.commit();
             }
         }
-        long atomicTraversalAnswerCount = 3L;
-        long conjunctionTraversalAnswerCount = 3L;
-        long answerCount = atomicTraversalAnswerCount + conjunctionTraversalAnswerCount;
+        long answerCount = 3L;
         Conjunction conjunctionPattern = parseConjunction("{ $p1 has age 24; }");
         createRootAndAssertResponses(conjunctionPattern, answerCount);
     }
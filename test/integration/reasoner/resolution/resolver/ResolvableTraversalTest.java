@@ -0,0 +1,113 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+package grakn.core.reasoner.resolution.resolver;
+
+import grakn.core.common.parameters.Arguments;
+import grakn.core.concept.ConceptManager;
+import grakn.core.concept.answer.ConceptMap;
+import grakn.core.concept.thing.Thing;
+import grakn.core.logic.LogicManager;
+import grakn.core.pattern.Conjunction;
+import grakn.core.pattern.Disjunction;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.rocks.RocksSession;
+import grakn.core.rocks.RocksTransaction;
+import grakn.core.test.integration.util.Util;
+import graql.lang.Graql;
+import graql.lang.pattern.variable.Reference;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Set;
+
+import static grakn.common.collection.Collections.map;
+import static grakn.common.collection.Collections.pair;
+import static grakn.common.collection.Collections.set;
+import static org.junit.Assert.assertEquals;
+
+public class ResolvableTraversalTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("resolvable-traversal-test");
+    private static final String database = "resolvable-traversal-test";
+
+    @Test
+    public void things_of_sibling_types_bound_to_the_same_variable_get_their_own_answers() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (RocksGrakn grakn = RocksGrakn.open(directory)) {
+            grakn.databases().create(database);
+            try (RocksSession session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().define(Graql.parseQuery(
+                            "define name sub attribute, value string;" +
+                                    "animal sub entity, abstract, owns name;" +
+                                    "dog sub animal;" +
+                                    "cat sub animal;"
+                    ).asDefine());
+                    transaction.commit();
+                }
+            }
+            try (RocksSession session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().insert(Graql.parseQuery("insert $x isa dog, has name \"rex\";").asInsert());
+                    transaction.query().insert(Graql.parseQuery("insert $x isa dog, has name \"fido\";").asInsert());
+                    transaction.query().insert(Graql.parseQuery("insert $x isa cat, has name \"tom\";").asInsert());
+                    transaction.commit();
+                }
+                try (RocksTransaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    final ConceptManager conceptMgr = transaction.concepts();
+                    final LogicManager logicMgr = transaction.logic();
+                    final ResolvableTraversal traversal = new ResolvableTraversal(
+                            conjunction("{ $x isa animal, has name $n; }", logicMgr),
+                            transaction.traversal(), conceptMgr, logicMgr
+                    );
+                    final Thing rex = animal(transaction, "rex");
+                    final Thing fido = animal(transaction, "fido");
+                    final Thing tom = animal(transaction, "tom");
+
+                    // the traversal bound to a dog is resolved first, and must not be reused for a cat
+                    assertEquals(set("rex"), names(traversal, rex));
+                    assertEquals(set("tom"), names(traversal, tom));
+                    assertEquals(set("fido"), names(traversal, fido));
+                    assertEquals(set("tom"), names(traversal, tom));
+                }
+            }
+        }
+    }
+
+    private static Thing animal(RocksTransaction transaction, String name) {
+        return transaction.query().match(Graql.parseQuery(
+                "match $x isa animal, has name \"" + name + "\";"
+        ).asMatch()).next().get("x").asThing();
+    }
+
+    private static Set<String> names(ResolvableTraversal traversal, Thing animal) {
+        final ConceptMap bounds = new ConceptMap(map(pair(Reference.named("x"), animal)));
+        return traversal.iterator(bounds).map(
+                answer -> answer.get("n").asAttribute().asString().getValue()
+        ).toSet();
+    }
+
+    private static Conjunction conjunction(String query, LogicManager logicMgr) {
+        final Conjunction conjunction = Disjunction.create(Graql.parsePattern(query).asConjunction().normalise())
+                .conjunctions().iterator().next();
+        return logicMgr.typeResolver().resolveLabels(conjunction);
+    }
+}
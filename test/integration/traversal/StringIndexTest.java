@@ -0,0 +1,164 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.traversal;
+
+import grakn.core.Grakn;
+import grakn.core.common.parameters.Arguments;
+import grakn.core.common.parameters.Options;
+import grakn.core.rocks.RocksGrakn;
+import grakn.core.test.integration.util.Util;
+import grakn.core.traversal.predicate.PredicateOperator.SubString.Literals;
+import graql.lang.Graql;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static grakn.common.collection.Collections.list;
+import static java.util.stream.Collectors.toSet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StringIndexTest {
+
+    private static final Path directory = Paths.get(System.getProperty("user.dir")).resolve("string-index-test");
+    private static final String database = "string-index-test";
+    private static final String ALPHABET = "abcdeABCDE";
+
+    @Test
+    public void literals_are_found_in_regular_expressions() {
+        final Literals anchored = Literals.of(Pattern.compile("^abc.*def"));
+        assertEquals("abc", anchored.prefix());
+        assertEquals(list("abc", "def"), anchored.subStrings());
+
+        final Literals optional = Literals.of(Pattern.compile("ab?c[xy]+d"));
+        assertEquals("a", optional.prefix());
+        assertEquals(list("a", "c", "d"), optional.subStrings());
+
+        final Literals escaped = Literals.of(Pattern.compile("x\\.y\\d{2,3}z$"));
+        assertEquals("x.y", escaped.prefix());
+        assertEquals(list("x.y", "z"), escaped.subStrings());
+
+        final Literals wildcard = Literals.of(Pattern.compile(".*abc"));
+        assertEquals("", wildcard.prefix());
+        assertEquals(list("abc"), wildcard.subStrings());
+
+        assertNull(Literals.of(Pattern.compile("abc|def")));
+        assertNull(Literals.of(Pattern.compile("(abc)+")));
+        assertNull(Literals.of(Pattern.compile("abc", Pattern.CASE_INSENSITIVE)));
+        assertNull(Literals.of(Pattern.compile("a\\Qb\\E")));
+    }
+
+    @Test
+    public void string_lookups_match_a_full_scan() throws IOException {
+        Util.resetDirectory(directory);
+
+        try (Grakn grakn = RocksGrakn.open(directory, new Options.Database().stringNGramIndex(true))) {
+            grakn.databases().create(database);
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.SCHEMA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().define(Graql.parseQuery("define name sub attribute, value string;").asDefine());
+                    transaction.commit();
+                }
+            }
+
+            final Random random = new Random(0);
+            try (Grakn.Session session = grakn.session(database, Arguments.Session.Type.DATA)) {
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    insertStrings(transaction, random, 500);
+                    assertLookupsMatchFullScan(transaction);
+                    transaction.commit();
+                }
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertLookupsMatchFullScan(transaction);
+                }
+
+                // lookups in a transaction merge the strings it has written with the strings in storage
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    insertStrings(transaction, random, 200);
+                    assertLookupsMatchFullScan(transaction);
+                    transaction.commit();
+                }
+
+                // deleted strings are deleted from every index of strings
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.WRITE)) {
+                    transaction.query().delete(Graql.parseQuery("match $x like \"^ab.*\"; $x isa name; delete $x isa name;").asDelete());
+                    transaction.query().delete(Graql.parseQuery("match $x contains \"cde\"; $x isa name; delete $x isa name;").asDelete());
+                    transaction.commit();
+                }
+                try (Grakn.Transaction transaction = session.transaction(Arguments.Transaction.Type.READ)) {
+                    assertTrue(values(transaction, "match $x like \"^ab.*\"; $x isa name;").isEmpty());
+                    assertTrue(values(transaction, "match $x contains \"cde\"; $x isa name;").isEmpty());
+                    assertFalse(values(transaction, "match $x isa name;").isEmpty());
+                    assertLookupsMatchFullScan(transaction);
+                }
+            }
+        }
+    }
+
+    private static void insertStrings(Grakn.Transaction transaction, Random random, int count) {
+        for (int i = 0; i < count; i++) {
+            final StringBuilder value = new StringBuilder();
+            final int length = 3 + random.nextInt(6);
+            for (int j = 0; j < length; j++) value.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            transaction.query().insert(Graql.parseQuery("insert $x \"" + value + "\" isa name;").asInsert());
+        }
+    }
+
+    private static void assertLookupsMatchFullScan(Grakn.Transaction transaction) {
+        final Set<String> all = values(transaction, "match $x isa name;");
+        final List<String> regexes = list("^ab.*", "abc.*", "ab?c.*", ".*cd.*e", "[aA]bc.*D", "A.*");
+        for (String regex : regexes) {
+            final Pattern pattern = Pattern.compile(regex);
+            assertEquals(filter(all, v -> pattern.matcher(v).matches()),
+                         values(transaction, "match $x like \"" + regex + "\"; $x isa name;"));
+        }
+        for (String subString : list("bcd", "BcD", "ab", "eeab", "a")) {
+            final String lowerCase = subString.toLowerCase();
+            assertEquals(filter(all, v -> v.toLowerCase().contains(lowerCase)),
+                         values(transaction, "match $x contains \"" + subString + "\"; $x isa name;"));
+        }
+        assertEquals(filter(all, v -> v.compareTo("b") >= 0 && v.compareTo("d") <= 0),
+                     values(transaction, "match $x >= \"b\"; $x <= \"d\"; $x isa name;"));
+        assertEquals(filter(all, v -> v.compareTo("Ca") > 0),
+                     values(transaction, "match $x > \"Ca\"; $x isa name;"));
+    }
+
+    private static Set<String> values(Grakn.Transaction transaction, String query) {
+        final List<String> values = new ArrayList<>();
+        transaction.query().match(Graql.parseQuery(query).asMatch())
+                .forEachRemaining(answer -> values.add(answer.get("x").asAttribute().asString().getValue()));
+        final Set<String> distinct = values.stream().collect(toSet());
+        assertEquals("answers are not repeated", values.size(), distinct.size());
+        return distinct;
+    }
+
+    private static Set<String> filter(Set<String> values, Predicate<String> predicate) {
+        return values.stream().filter(predicate).collect(toSet());
+    }
+}
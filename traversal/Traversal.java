@@ -38,6 +38,7 @@ import graql.lang.common.GraqlArg;
 import graql.lang.common.GraqlToken;
 import graql.lang.pattern.variable.Reference;
 
+import javax.annotation.Nullable;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -46,6 +47,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.regex.Pattern;
 
 import static grakn.common.collection.Collections.pair;
@@ -82,8 +84,34 @@ public class Traversal {
         filter = new ArrayList<>();
     }
 
+    private Traversal(Structure structure, Parameters parameters, List<Identifier.Variable.Name> filter) {
+        this.structure = structure;
+        this.parameters = parameters;
+        this.filter = filter;
+    }
+
+    public Structure structure() {
+        return structure;
+    }
+
+    /**
+     * Returns a traversal of the same structure, and so of the same plans, whose parameter values are replaced by
+     * the given function, so that a traversal can be built once and executed for different values.
+     */
+    public Traversal bind(UnaryOperator<Parameters.Value> binder) {
+        return new Traversal(structure, parameters.bind(binder), filter);
+    }
+
+    /**
+     * Returns a traversal of the same structure, and so of the same plans, whose things of the given identifiers are
+     * found by the given IIDs instead, so that a traversal can be built once and executed from different things.
+     */
+    public Traversal bind(Map<Identifier.Variable, VertexIID.Thing> iids) {
+        return new Traversal(structure, parameters.bind(iids), filter);
+    }
+
     void initialisePlanner(TraversalCache cache) {
-        planners = structure.asGraphs().stream().map(s -> cache.get(s, Planner::create)).collect(toList());
+        planners = structure.asGraphs().stream().map(cache::planner).collect(toList());
     }
 
     ResourceIterator<VertexMap> iterator(GraphManager graphMgr) {
@@ -103,6 +131,19 @@ public class Traversal {
         }
     }
 
+    /**
+     * Returns the answers in ascending order of the values of the attribute {@code id}, if the traversal is planned
+     * as a single procedure that produces them in that order, or null otherwise.
+     */
+    @Nullable
+    ResourceIterator<VertexMap> sortedIterator(GraphManager graphMgr, Identifier.Variable id) {
+        assert !planners.isEmpty();
+        if (planners.size() != 1) return null;
+        planners.get(0).tryOptimise(graphMgr);
+        if (!planners.get(0).procedure().iteratesInValueOrder(graphMgr, id)) return null;
+        return planners.get(0).procedure().iterator(graphMgr, parameters);
+    }
+
     Producer<VertexMap> producer(GraphManager graphMgr, int parallelisation) {
         assert !planners.isEmpty();
         if (planners.size() == 1) {
@@ -270,6 +311,28 @@ public class Traversal {
             values = new HashMap<>();
         }
 
+        private Parameters bind(UnaryOperator<Value> binder) {
+            Parameters bound = new Parameters();
+            bound.iid.putAll(iid);
+            values.forEach((key, vals) -> {
+                Set<Value> boundVals = new HashSet<>();
+                vals.forEach(value -> boundVals.add(binder.apply(value)));
+                bound.values.put(key, boundVals);
+            });
+            return bound;
+        }
+
+        private Parameters bind(Map<Identifier.Variable, VertexIID.Thing> iids) {
+            Parameters bound = new Parameters();
+            bound.iid.putAll(iid);
+            iids.forEach((identifier, thing) -> {
+                assert iid.containsKey(identifier);
+                bound.iid.put(identifier, thing);
+            });
+            bound.values.putAll(values);
+            return bound;
+        }
+
         public void putIID(Identifier.Variable identifier, VertexIID.Thing iid) {
             assert !this.iid.containsKey(identifier);
             this.iid.put(identifier, iid);
@@ -322,27 +385,27 @@ public class Traversal {
             private final Pattern regexPattern;
             private final int hash;
 
-            Value(boolean value) {
+            public Value(boolean value) {
                 this(BOOLEAN, value, null, null, null, null, null);
             }
 
-            Value(long value) {
+            public Value(long value) {
                 this(LONG, null, value, null, null, null, null);
             }
 
-            Value(double value) {
+            public Value(double value) {
                 this(DOUBLE, null, null, value, null, null, null);
             }
 
-            Value(LocalDateTime value) {
+            public Value(LocalDateTime value) {
                 this(DATETIME, null, null, null, value, null, null);
             }
 
-            Value(String value) {
+            public Value(String value) {
                 this(STRING, null, null, null, null, value, null);
             }
 
-            Value(Pattern regex) {
+            public Value(Pattern regex) {
                 this(STRING, null, null, null, null, null, regex);
             }
 
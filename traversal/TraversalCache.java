@@ -19,16 +19,31 @@
 package grakn.core.traversal;
 
 import grakn.core.common.cache.CommonCache;
+import grakn.core.traversal.planner.PlanStore;
 import grakn.core.traversal.planner.Planner;
 import grakn.core.traversal.structure.Structure;
 
+import javax.annotation.Nullable;
+
 public class TraversalCache extends CommonCache<Structure, Planner> {
 
+    private final PlanStore planStore;
+
     public TraversalCache() {
+        this((PlanStore) null);
+    }
+
+    public TraversalCache(@Nullable PlanStore planStore) {
         super();
+        this.planStore = planStore;
     }
 
     public TraversalCache(int size, int timeOutMinutes) {
         super(size, timeOutMinutes);
+        this.planStore = null;
+    }
+
+    public Planner planner(Structure structure) {
+        return get(structure, s -> Planner.create(s, planStore));
     }
 }
@@ -21,9 +21,12 @@ package grakn.core.traversal;
 import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.producer.Producer;
 import grakn.core.graph.GraphManager;
+import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.common.VertexMap;
 import grakn.core.traversal.procedure.GraphProcedure;
 
+import javax.annotation.Nullable;
+
 public class TraversalEngine {
 
     private final GraphManager graphMgr;
@@ -48,6 +51,12 @@ public class TraversalEngine {
         return traversal.iterator(graphMgr);
     }
 
+    @Nullable
+    public ResourceIterator<VertexMap> sortedIterator(Traversal traversal, Identifier.Variable id) {
+        traversal.initialisePlanner(cache);
+        return traversal.sortedIterator(graphMgr, id);
+    }
+
     public ResourceIterator<VertexMap> iterator(GraphProcedure procedure, Traversal.Parameters params) {
         return procedure.iterator(graphMgr, params);
     }
@@ -21,40 +21,94 @@ package grakn.core.traversal.common;
 import grakn.core.graph.vertex.Vertex;
 import graql.lang.pattern.variable.Reference;
 
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiConsumer;
 
 import static java.util.Collections.unmodifiableMap;
 
+/**
+ * An answer of a traversal. It is either backed by a map, or by an array of
+ * vertices aligned with an array of references that is shared by every answer
+ * of the same procedure, in which case the map is only materialised on demand.
+ */
 public class VertexMap {
 
-    private final Map<Reference, Vertex<?, ?>> map;
+    private final Reference[] references;
+    private final Vertex<?, ?>[] vertices;
+    private volatile Map<Reference, Vertex<?, ?>> map;
     private final int hash;
 
     public VertexMap(Map<Reference, Vertex<?, ?>> map) {
+        this.references = null;
+        this.vertices = null;
         this.map = unmodifiableMap(map);
-        this.hash = Objects.hash(this.map);
+        this.hash = 31 + this.map.hashCode();
+    }
+
+    private VertexMap(Reference[] references, Vertex<?, ?>[] vertices) {
+        assert references.length == vertices.length;
+        this.references = references;
+        this.vertices = vertices;
+        this.map = null;
+        // equal to the hash of an equivalent map-backed VertexMap, as specified by Map.hashCode()
+        int entriesHash = 0;
+        for (int i = 0; i < references.length; i++) {
+            entriesHash += references[i].hashCode() ^ vertices[i].hashCode();
+        }
+        this.hash = 31 + entriesHash;
     }
 
     public static VertexMap of(Map<Reference, Vertex<?, ?>> map) {
         return new VertexMap(map);
     }
 
+    /**
+     * @param references shared, unmodified references of the answer
+     * @param vertices   the vertices of the answer, owned by the new VertexMap
+     */
+    public static VertexMap of(Reference[] references, Vertex<?, ?>[] vertices) {
+        return new VertexMap(references, vertices);
+    }
+
     public Map<Reference, Vertex<?, ?>> map() {
+        if (map == null) {
+            Map<Reference, Vertex<?, ?>> materialised = new HashMap<>();
+            for (int i = 0; i < references.length; i++) materialised.put(references[i], vertices[i]);
+            map = unmodifiableMap(materialised);
+        }
         return map;
     }
 
     public Vertex<?, ?> get(Reference reference) {
-        return map.get(reference);
+        if (references == null) return map.get(reference);
+        for (int i = 0; i < references.length; i++) {
+            if (references[i].equals(reference)) return vertices[i];
+        }
+        return null;
     }
 
     public boolean containsKey(Reference reference) {
-        return map.containsKey(reference);
+        if (references == null) return map.containsKey(reference);
+        for (Reference ref : references) {
+            if (ref.equals(reference)) return true;
+        }
+        return false;
+    }
+
+    public VertexMap filter(Set<? extends Reference> references) {
+        Map<Reference, Vertex<?, ?>> filtered = new HashMap<>();
+        forEach((reference, vertex) -> {
+            if (references.contains(reference)) filtered.put(reference, vertex);
+        });
+        return new VertexMap(filtered);
     }
 
     public void forEach(BiConsumer<Reference, Vertex<?, ?>> action) {
-        map.forEach(action);
+        if (references == null) map.forEach(action);
+        else for (int i = 0; i < references.length; i++) action.accept(references[i], vertices[i]);
     }
 
     @Override
@@ -63,7 +117,10 @@ public class VertexMap {
         if (o == null || getClass() != o.getClass()) return false;
 
         VertexMap that = (VertexMap) o;
-        return this.map.equals(that.map);
+        if (this.hash != that.hash) return false;
+        else if (this.references != null && this.references == that.references) {
+            return Arrays.equals(this.vertices, that.vertices);
+        } else return this.map().equals(that.map());
     }
 
     @Override
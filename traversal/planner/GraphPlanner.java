@@ -22,6 +22,8 @@ import com.google.ortools.linearsolver.MPConstraint;
 import com.google.ortools.linearsolver.MPObjective;
 import com.google.ortools.linearsolver.MPSolver;
 import com.google.ortools.linearsolver.MPSolverParameters;
+import com.google.ortools.linearsolver.MPVariable;
+import grakn.common.collection.Pair;
 import grakn.core.common.concurrent.ManagedCountDownLatch;
 import grakn.core.common.exception.GraknException;
 import grakn.core.graph.GraphManager;
@@ -34,13 +36,19 @@ import grakn.core.traversal.structure.StructureVertex;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.annotation.Nullable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,19 +63,17 @@ import static com.google.ortools.linearsolver.MPSolverParameters.IncrementalityV
 import static com.google.ortools.linearsolver.MPSolverParameters.IntegerParam.INCREMENTALITY;
 import static com.google.ortools.linearsolver.MPSolverParameters.IntegerParam.PRESOLVE;
 import static com.google.ortools.linearsolver.MPSolverParameters.PresolveValues.PRESOLVE_ON;
+import static grakn.common.collection.Collections.pair;
+import static grakn.core.common.concurrent.ExecutorService.plannerThreadPool;
 import static grakn.core.common.exception.ErrorMessage.Internal.UNEXPECTED_PLANNING_ERROR;
+import static grakn.core.common.iterator.Iterators.iterate;
 
 public class GraphPlanner implements Planner {
 
-    // TODO: before we optimise for the first time, we can set the solver variables
-    //       with initial values, computed by a greedy algorithm. This would
-    //       allow the solver to skip the long processing to find the first
-    //       "feasible" plan. I.e. the solver will start optimising from a
-    //       "feasible" plan and get much more optimal at every cycle.
-
     private static final Logger LOG = LoggerFactory.getLogger(GraphPlanner.class);
 
     static final long TIME_LIMIT_MILLIS = 100;
+    static final long REPLAN_TIME_LIMIT_MILLIS = 1_000;
     static final double OBJECTIVE_COEFFICIENT_MAX_EXPONENT_DEFAULT = 3.0;
     static final double OBJECTIVE_PLANNER_COST_MAX_CHANGE = 0.2;
     static final double OBJECTIVE_VARIABLE_COST_MAX_CHANGE = 2.0;
@@ -79,19 +85,33 @@ public class GraphPlanner implements Planner {
     private final Set<PlannerEdge<?, ?>> edges;
     private final AtomicBoolean isOptimising;
     private final ManagedCountDownLatch procedureLatch;
+    private final PlanStore planStore;
+    private final long structureHash;
+    private final Structure structure;
+    private final Map<Identifier, String> canonicalVertices;
+    private final Map<PlannerEdge<?, ?>, String> canonicalEdges;
 
     protected volatile GraphProcedure procedure;
     private volatile MPSolver.ResultStatus resultStatus;
     private volatile boolean isUpToDate;
     private volatile long totalDuration;
     private volatile long snapshot;
+    private volatile long procedureTimestamp;
+    private volatile long solveMillis;
+    private volatile double procedureCost;
+    private volatile double costImprovement;
 
     volatile double totalCostPrevious;
     double totalCostNext;
     double branchingFactor;
     double costExponentUnit;
 
-    private GraphPlanner() {
+    private GraphPlanner(Structure structure, @Nullable PlanStore planStore) {
+        this.structure = structure;
+        this.planStore = planStore;
+        this.structureHash = planStore != null ? structure.canonicalHash() : 0L;
+        canonicalVertices = new HashMap<>();
+        canonicalEdges = new HashMap<>();
         solver = MPSolver.createSolver("SCIP");
         solver.objective().setMinimization();
         parameters = new MPSolverParameters();
@@ -111,9 +131,9 @@ public class GraphPlanner implements Planner {
         snapshot = -1L;
     }
 
-    static GraphPlanner create(Structure structure) {
+    static GraphPlanner create(Structure structure, @Nullable PlanStore planStore) {
         assert structure.vertices().size() > 1;
-        GraphPlanner planner = new GraphPlanner();
+        GraphPlanner planner = new GraphPlanner(structure, planStore);
         Set<StructureVertex<?>> registeredVertices = new HashSet<>();
         Set<StructureEdge<?, ?>> registeredEdges = new HashSet<>();
         structure.vertices().forEach(vertex -> planner.registerVertex(vertex, registeredVertices, registeredEdges));
@@ -184,6 +204,7 @@ public class GraphPlanner implements Planner {
         registeredVertices.add(structureVertex);
         List<StructureVertex<?>> adjacents = new ArrayList<>();
         PlannerVertex<?> vertex = vertex(structureVertex);
+        if (planStore != null) canonicalVertices.put(vertex.id(), structure.canonicalVertex(structureVertex));
         if (vertex.isThing()) vertex.asThing().props(structureVertex.asThing().props());
         else vertex.asType().props(structureVertex.asType().props());
         structureVertex.outs().forEach(structureEdge -> {
@@ -207,6 +228,7 @@ public class GraphPlanner implements Planner {
         PlannerVertex<?> from = vertex(structureEdge.from());
         PlannerVertex<?> to = vertex(structureEdge.to());
         PlannerEdge<?, ?> edge = PlannerEdge.of(from, to, structureEdge);
+        if (planStore != null) canonicalEdges.put(edge, structure.canonicalEdge(structureEdge));
         edges.add(edge);
         from.out(edge);
         to.in(edge);
@@ -327,43 +349,278 @@ public class GraphPlanner implements Planner {
         edges.forEach(e -> e.updateObjective(graph));
     }
 
-    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    /**
+     * Refreshes the objective with the latest statistics and, if the published
+     * procedure may no longer be the best one, schedules the solver on the planner
+     * thread pool. The calling query never waits for the solver: it continues with
+     * the published procedure, which is swapped atomically once a better one is found.
+     */
     void optimise(GraphManager graph) {
-        if (isOptimising.compareAndSet(false, true)) {
-            Instant s = Instant.now();
+        if (!isOptimising.compareAndSet(false, true)) return;
+        boolean isScheduled = false;
+        try {
             updateObjective(graph);
+            if (procedure == null) warmStart();
             if (!isUpToDate() || !isOptimal()) {
-                do {
-                    totalDuration += TIME_LIMIT_MILLIS;
-                    solver.setTimeLimit(totalDuration);
-                    Instant start = Instant.now();
-                    resultStatus = solver.solve(parameters);
-                    Instant finish = Instant.now();
-                    long timeElapsed = Duration.between(start, finish).toMillis();
-                    totalDuration -= (TIME_LIMIT_MILLIS - timeElapsed);
-                    if (isError()) {
-                        LOG.error(toString());
-                        LOG.error(solver.exportModelAsLpFormat());
-                        throw GraknException.of(UNEXPECTED_PLANNING_ERROR);
-                    }
-                } while (!isPlanned());
-                produceProcedure();
-                isUpToDate = true;
+                plannerThreadPool().execute(this::solve);
+                isScheduled = true;
             }
-            isOptimising.set(false);
+        } finally {
+            if (!isScheduled) isOptimising.set(false);
+        }
+    }
+
+    @SuppressWarnings("NonAtomicOperationOnVolatileField")
+    private void solve() {
+        try {
+            Instant s = Instant.now();
+            do {
+                totalDuration += TIME_LIMIT_MILLIS;
+                solver.setTimeLimit(totalDuration);
+                Instant start = Instant.now();
+                resultStatus = solver.solve(parameters);
+                Instant finish = Instant.now();
+                long timeElapsed = Duration.between(start, finish).toMillis();
+                totalDuration -= (TIME_LIMIT_MILLIS - timeElapsed);
+                if (isError()) {
+                    LOG.error(toString());
+                    LOG.error(solver.exportModelAsLpFormat());
+                    throw GraknException.of(UNEXPECTED_PLANNING_ERROR);
+                }
+            } while (!isOptimal() && Duration.between(s, Instant.now()).toMillis() < REPLAN_TIME_LIMIT_MILLIS);
             Instant e = Instant.now();
+            solveMillis = Duration.between(s, e).toMillis();
+            if (isPlanned()) {
+                // the procedure in use is costed again, as the objective may have changed since it was published
+                double costPrevious = procedure != null ? recordedCost() : Double.MAX_VALUE;
+                double costNext = objective().value();
+                if (costNext < costPrevious) {
+                    long agePrevious = planAgeMillis();
+                    produceProcedure();
+                    procedureCost = costNext;
+                    costImprovement = costPrevious > 0 && costPrevious < Double.MAX_VALUE
+                            ? (costPrevious - costNext) / costPrevious : 0;
+                    if (planStore != null) planStore.put(structureHash, plan());
+                    LOG.debug(String.format("Replaced a procedure of age %s (ms), with cost improvement of %.2f%%",
+                                            agePrevious, costImprovement * 100));
+                } else {
+                    procedureCost = costPrevious;
+                    costImprovement = 0;
+                    LOG.debug("Kept the procedure in use, as the new procedure is not cheaper");
+                }
+                isUpToDate = true;
+            }
             LOG.debug(String.format("Optimisation status: %s", resultStatus.name()));
-            LOG.debug(String.format("Optimisation duration: %s (ms)", Duration.between(s, e).toMillis()));
+            LOG.debug(String.format("Optimisation duration: %s (ms)", solveMillis));
+        } catch (Throwable e) {
+            LOG.error("Planner failed to optimise, the previous procedure will remain in use", e);
+        } finally {
+            isOptimising.set(false);
         }
     }
 
+    /**
+     * @return true if the solver is scheduled or running for this planner
+     */
+    public boolean isOptimising() {
+        return isOptimising.get();
+    }
+
+    /**
+     * @return the time in milliseconds since the procedure in use was published
+     */
+    public long planAgeMillis() {
+        return procedure == null ? 0 : System.currentTimeMillis() - procedureTimestamp;
+    }
+
+    /**
+     * @return the duration in milliseconds of the latest run of the solver
+     */
+    public long solveMillis() {
+        return solveMillis;
+    }
+
+    /**
+     * @return the relative reduction of the objective achieved by the latest
+     * procedure swap, where 0.25 means the new procedure was 25% cheaper
+     */
+    public double costImprovement() {
+        return costImprovement;
+    }
+
     private void produceProcedure() {
         vertices.values().forEach(PlannerVertex::recordValues);
         edges.forEach(PlannerEdge::recordValues);
+        publishProcedure();
+    }
+
+    private void publishProcedure() {
         procedure = GraphProcedure.create(this);
+        procedureTimestamp = System.currentTimeMillis();
         if (procedureLatch.getCount() > 0) procedureLatch.countDown();
     }
 
+    /**
+     * Publishes a feasible procedure before the solver has run, and hands the
+     * same assignment to the solver as its starting solution. The assignment is
+     * taken from a previously persisted plan for this structure if there is one,
+     * or is otherwise computed greedily from the current objective costs. If
+     * neither is possible, the first procedure is left to the solver.
+     */
+    private void warmStart() {
+        Plan persisted = planStore != null ? planStore.get(structureHash) : null;
+        if ((persisted == null || !applyPlan(persisted)) && !applyGreedyPlan()) return;
+        List<MPVariable> variables = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        recordedValues(variables, values);
+        double[] hintValues = new double[values.size()];
+        for (int i = 0; i < hintValues.length; i++) hintValues[i] = values.get(i);
+        solver.setHint(variables.toArray(new MPVariable[0]), hintValues);
+        procedureCost = recordedCost();
+        publishProcedure();
+    }
+
+    private void recordedValues(List<MPVariable> variables, List<Double> values) {
+        vertices.values().forEach(vertex -> vertex.hint(variables, values));
+        edges.forEach(edge -> {
+            edge.forward().hint(variables, values);
+            edge.backward().hint(variables, values);
+        });
+    }
+
+    /**
+     * @return the cost of the values last recorded by the vertices and edges, which are those of the procedure in
+     * use, under the current objective
+     */
+    private double recordedCost() {
+        List<MPVariable> variables = new ArrayList<>();
+        List<Double> values = new ArrayList<>();
+        recordedValues(variables, values);
+        double cost = 0;
+        for (int i = 0; i < values.size(); i++) cost += values.get(i) * objective().getCoefficient(variables.get(i));
+        return cost;
+    }
+
+    /**
+     * Orders the vertices by repeatedly visiting the unvisited vertex that is
+     * cheapest to reach from the visited ones, starting from the cheapest vertex.
+     * Every edge is then directed from the earlier to the later vertex, and edges
+     * are ordered by the position of the vertex they lead to, so that all edges
+     * into a vertex are traversed before any edge out of it. A vertex with an
+     * edge to itself always has an incoming edge, so it cannot be the start.
+     *
+     * @return false if no vertex can start the plan
+     */
+    private boolean applyGreedyPlan() {
+        List<PlannerVertex<?>> candidates = iterate(vertices.values()).filter(
+                v -> iterate(v.outs()).noneMatch(PlannerEdge.Directional::isSelfClosure)
+        ).toList();
+        if (candidates.isEmpty()) return false;
+        PlannerVertex<?> start = candidates.stream().min(
+                Comparator.<PlannerVertex<?>>comparingDouble(PlannerVertex::cost).thenComparing(v -> v.id().toString())
+        ).get();
+
+        Map<PlannerVertex<?>, Integer> positions = new HashMap<>();
+        positions.put(start, 0);
+        while (positions.size() < vertices.size()) {
+            PlannerEdge.Directional<?, ?> next = null;
+            for (PlannerVertex<?> visited : positions.keySet()) {
+                for (PlannerEdge.Directional<?, ?> edge : visited.outs()) {
+                    if (positions.containsKey(edge.to())) continue;
+                    if (next == null || edge.cost() < next.cost() ||
+                            (edge.cost() == next.cost() && edge.toString().compareTo(next.toString()) < 0)) {
+                        next = edge;
+                    }
+                }
+            }
+            assert next != null;
+            positions.put(next.to(), positions.size());
+        }
+
+        List<PlannerEdge.Directional<?, ?>> selected = new ArrayList<>();
+        for (PlannerEdge<?, ?> edge : edges) {
+            boolean isForward = positions.get(edge.forward().from()) <= positions.get(edge.forward().to());
+            selected.add(isForward ? edge.forward() : edge.backward());
+        }
+        selected.sort(Comparator.<PlannerEdge.Directional<?, ?>>comparingInt(e -> positions.get(e.to()))
+                              .thenComparing(PlannerEdge.Directional::isSelfClosure)
+                              .thenComparingDouble(PlannerEdge.Directional::cost)
+                              .thenComparing(PlannerEdge.Directional::toString));
+        assert isValidPlan(start, selected);
+        recordPlanValues(start, selected);
+        return true;
+    }
+
+    /**
+     * Re-applies a persisted plan by the canonical names of the vertices and edges
+     * of its structure. Vertices that cannot be told apart share a canonical name,
+     * so the plan is only applied if one of the vertices of its starting name
+     * can start it, and every edge leaves a vertex that the plan has reached.
+     */
+    private boolean applyPlan(Plan plan) {
+        if (plan.edges.size() != edges.size()) return false;
+        Map<String, LinkedList<PlannerEdge<?, ?>>> edgesByString = new HashMap<>();
+        edges.forEach(e -> edgesByString.computeIfAbsent(canonicalEdges.get(e), k -> new LinkedList<>()).add(e));
+        PlannerEdge.Directional<?, ?>[] selected = new PlannerEdge.Directional<?, ?>[edges.size()];
+        for (Pair<String, Integer> entry : plan.edges) {
+            LinkedList<PlannerEdge<?, ?>> candidates = edgesByString.get(entry.first());
+            int order = Math.abs(entry.second());
+            if (candidates == null || candidates.isEmpty() || order < 1 || order > selected.length) return false;
+            PlannerEdge<?, ?> edge = candidates.removeFirst();
+            selected[order - 1] = entry.second() > 0 ? edge.forward() : edge.backward();
+        }
+        for (PlannerEdge.Directional<?, ?> edge : selected) if (edge == null) return false;
+        List<PlannerEdge.Directional<?, ?>> orderedEdges = Arrays.asList(selected);
+        PlannerVertex<?> start = iterate(vertices.values())
+                .filter(v -> plan.start.equals(canonicalVertices.get(v.id())) && isValidPlan(v, orderedEdges))
+                .firstOrNull();
+        if (start == null) return false;
+        recordPlanValues(start, orderedEdges);
+        return true;
+    }
+
+    /**
+     * @return true if no edge leads back into the starting vertex, every edge leaves a vertex that an earlier edge
+     * has reached, and the edges reach every vertex
+     */
+    private boolean isValidPlan(PlannerVertex<?> start, List<PlannerEdge.Directional<?, ?>> orderedEdges) {
+        Set<PlannerVertex<?>> reached = new HashSet<>();
+        reached.add(start);
+        for (PlannerEdge.Directional<?, ?> edge : orderedEdges) {
+            if (edge.to().equals(start) || !reached.contains(edge.from())) return false;
+            reached.add(edge.to());
+        }
+        return reached.size() == vertices.size();
+    }
+
+    private void recordPlanValues(PlannerVertex<?> start, List<PlannerEdge.Directional<?, ?>> orderedEdges) {
+        for (PlannerEdge<?, ?> edge : edges) {
+            edge.forward().recordValues(false, 0);
+            edge.backward().recordValues(false, 0);
+        }
+        for (int i = 0; i < orderedEdges.size(); i++) orderedEdges.get(i).recordValues(true, i + 1);
+        for (PlannerVertex<?> vertex : vertices.values()) {
+            vertex.recordValues(vertex.equals(start),
+                                iterate(vertex.ins()).anyMatch(PlannerEdge.Directional::isSelected),
+                                iterate(vertex.outs()).anyMatch(PlannerEdge.Directional::isSelected));
+        }
+    }
+
+    /**
+     * Captures the current procedure as a plan that can be persisted and
+     * re-applied after a restart to a planner of any structure with the same
+     * canonical hash, whatever the names of its variables.
+     */
+    Plan plan() {
+        String start = canonicalVertices.get(iterate(vertices.values()).filter(PlannerVertex::isStartingVertex).firstOrNull().id());
+        List<Pair<String, Integer>> planEdges = new ArrayList<>();
+        for (PlannerEdge<?, ?> edge : edges) {
+            if (edge.forward().isSelected()) planEdges.add(pair(canonicalEdges.get(edge), edge.forward().orderNumber()));
+            else planEdges.add(pair(canonicalEdges.get(edge), -edge.backward().orderNumber()));
+        }
+        return new Plan(start, planEdges);
+    }
+
     @Override
     public String toString() {
         StringBuilder str = new StringBuilder();
@@ -384,4 +641,37 @@ public class GraphPlanner implements Planner {
         str.append("\n}");
         return str.toString();
     }
+
+    /**
+     * A solved traversal order, described only by the canonical names of the
+     * structure's vertices and edges, so that it can be written to disk.
+     * Each edge maps to its order number, negated if its backward direction was selected.
+     */
+    static class Plan {
+
+        private final String start;
+        private final List<Pair<String, Integer>> edges;
+
+        Plan(String start, List<Pair<String, Integer>> edges) {
+            this.start = start;
+            this.edges = edges;
+        }
+
+        void write(DataOutputStream output) throws IOException {
+            output.writeUTF(start);
+            output.writeInt(edges.size());
+            for (Pair<String, Integer> edge : edges) {
+                output.writeUTF(edge.first());
+                output.writeInt(edge.second());
+            }
+        }
+
+        static Plan read(DataInputStream input) throws IOException {
+            String start = input.readUTF();
+            int size = input.readInt();
+            List<Pair<String, Integer>> edges = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) edges.add(pair(input.readUTF(), input.readInt()));
+            return new Plan(start, edges);
+        }
+    }
 }
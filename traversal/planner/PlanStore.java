@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2021 Grakn Labs
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <https://www.gnu.org/licenses/>.
+ *
+ */
+
+package grakn.core.traversal.planner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * Keeps the latest solved plan of every graph structure a database has planned,
+ * keyed by the structure's canonical hash, and persists them to a single file so
+ * that planners created after a restart can start from their previous solution.
+ * The file is saved periodically while the database is open, and when it closes.
+ */
+public class PlanStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PlanStore.class);
+    private static final int FORMAT_VERSION = 2;
+
+    private final Path file;
+    private final ConcurrentMap<Long, GraphPlanner.Plan> plans;
+    private final AtomicBoolean isModified;
+
+    private PlanStore(Path file) {
+        this.file = file;
+        this.plans = new ConcurrentHashMap<>();
+        this.isModified = new AtomicBoolean(false);
+    }
+
+    public static PlanStore load(Path file) {
+        PlanStore store = new PlanStore(file);
+        if (!Files.exists(file)) return store;
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (input.readInt() != FORMAT_VERSION) return store;
+            int size = input.readInt();
+            for (int i = 0; i < size; i++) store.plans.put(input.readLong(), GraphPlanner.Plan.read(input));
+        } catch (IOException e) {
+            LOG.warn("Failed to load traversal plans from {}, planning will start cold", file, e);
+            store.plans.clear();
+        }
+        return store;
+    }
+
+    GraphPlanner.Plan get(long structureHash) {
+        return plans.get(structureHash);
+    }
+
+    void put(long structureHash, GraphPlanner.Plan plan) {
+        plans.put(structureHash, plan);
+        isModified.set(true);
+    }
+
+    public synchronized void save() {
+        if (!isModified.compareAndSet(true, false)) return;
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                Map<Long, GraphPlanner.Plan> snapshot = new HashMap<>(plans);
+                output.writeInt(FORMAT_VERSION);
+                output.writeInt(snapshot.size());
+                for (Map.Entry<Long, GraphPlanner.Plan> entry : snapshot.entrySet()) {
+                    output.writeLong(entry.getKey());
+                    entry.getValue().write(output);
+                }
+            }
+            Files.move(temporary, file, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Failed to save traversal plans to {}", file, e);
+        }
+    }
+}
@@ -23,6 +23,8 @@ import grakn.core.graph.GraphManager;
 import grakn.core.traversal.procedure.Procedure;
 import grakn.core.traversal.structure.Structure;
 
+import javax.annotation.Nullable;
+
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 
@@ -35,8 +37,12 @@ public interface Planner {
     }
 
     static Planner create(Structure structure) {
+        return create(structure, null);
+    }
+
+    static Planner create(Structure structure, @Nullable PlanStore planStore) {
         if (structure.vertices().size() == 1) return VertexPlanner.create(structure);
-        else return GraphPlanner.create(structure);
+        else return GraphPlanner.create(structure, planStore);
     }
 
     default boolean isVertex() { return false; }
@@ -33,6 +33,7 @@ import graql.lang.common.GraqlToken;
 
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -259,6 +260,27 @@ public abstract class PlannerEdge<VERTEX_FROM extends PlannerVertex<?>, VERTEX_T
             valueOrderNumber = (int) Math.round(varOrderNumber.solutionValue());
         }
 
+        double cost() {
+            return costNext;
+        }
+
+        void recordValues(boolean isSelected, int orderNumber) {
+            assert isSelected == (orderNumber > 0);
+            valueIsSelected = isSelected ? 1 : 0;
+            valueOrderNumber = orderNumber;
+        }
+
+        void hint(List<MPVariable> variables, List<Double> values) {
+            variables.add(varIsSelected);
+            values.add((double) valueIsSelected);
+            variables.add(varOrderNumber);
+            values.add((double) valueOrderNumber);
+            for (int i = 0; i < varOrderAssignment.length; i++) {
+                variables.add(varOrderAssignment[i]);
+                values.add(valueOrderNumber == i + 1 ? 1.0 : 0.0);
+            }
+        }
+
         public void setSelected() {
             valueIsSelected = 1;
         }
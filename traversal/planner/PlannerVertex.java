@@ -27,8 +27,10 @@ import grakn.core.graph.util.Encoding;
 import grakn.core.graph.vertex.TypeVertex;
 import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.graph.TraversalVertex;
+import grakn.core.traversal.predicate.Predicate;
 
 import javax.annotation.Nullable;
+import java.util.List;
 
 import static grakn.common.util.Objects.className;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
@@ -160,6 +162,29 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
         costPrevious = costNext;
     }
 
+    double cost() {
+        return costNext;
+    }
+
+    void recordValues(boolean isStartingVertex, boolean hasIncomingEdges, boolean hasOutgoingEdges) {
+        valueIsStartingVertex = isStartingVertex ? 1 : 0;
+        valueIsEndingVertex = hasOutgoingEdges ? 0 : 1;
+        valueHasIncomingEdges = hasIncomingEdges ? 1 : 0;
+        valueHasOutgoingEdges = hasOutgoingEdges ? 1 : 0;
+        assert (isStartingVertex() ^ hasIncomingEdges());
+    }
+
+    void hint(List<MPVariable> variables, List<Double> values) {
+        variables.add(varIsStartingVertex);
+        values.add((double) valueIsStartingVertex);
+        variables.add(varIsEndingVertex);
+        values.add((double) valueIsEndingVertex);
+        variables.add(varHasIncomingEdges);
+        values.add((double) valueHasIncomingEdges);
+        variables.add(varHasOutgoingEdges);
+        values.add((double) valueHasOutgoingEdges);
+    }
+
     void recordValues() {
         valueIsStartingVertex = (int) Math.round(varIsStartingVertex.solutionValue());
         valueIsEndingVertex = (int) Math.round(varIsEndingVertex.solutionValue());
@@ -222,7 +247,7 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
                 if (iterate(props().predicates()).anyMatch(p -> p.operator().equals(EQ))) {
                     setObjectiveCoefficient(props().types().size());
                 } else {
-                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(props().types()));
+                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(props().types()) * rangeSelectivity());
                 }
             } else if (!props().predicates().isEmpty()) {
                 ResourceIterator<TypeVertex> attTypes = iterate(props().predicates())
@@ -231,13 +256,35 @@ public abstract class PlannerVertex<PROPERTIES extends TraversalVertex.Propertie
                 if (iterate(props().predicates()).anyMatch(p -> p.operator().equals(EQ))) {
                     setObjectiveCoefficient(attTypes.count());
                 } else {
-                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(attTypes.stream()));
+                    setObjectiveCoefficient(graph.data().stats().thingVertexSum(attTypes.stream()) * rangeSelectivity());
                 }
             } else {
                 setObjectiveCoefficient(graph.data().stats().thingVertexTransitiveCount(graph.schema().rootThingType()));
             }
         }
 
+        /**
+         * Returns the fraction of attributes expected to be scanned when the range predicates of this vertex are
+         * answered by a range scan over sorted attribute values. The predicate values are parameters that the planner
+         * does not see, so the classic estimates of a third for an open range and a quarter for a closed one are used.
+         */
+        private double rangeSelectivity() {
+            boolean hasLower = false, hasUpper = false;
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                if (!isRangeScannable(predicate.valueType())) continue;
+                hasLower |= predicate.isLowerBound();
+                hasUpper |= predicate.isUpperBound();
+            }
+            if (hasLower && hasUpper) return 0.25;
+            else if (hasLower || hasUpper) return 1.0 / 3;
+            else return 1;
+        }
+
+        private static boolean isRangeScannable(Encoding.ValueType valueType) {
+            return valueType == Encoding.ValueType.LONG || valueType == Encoding.ValueType.DOUBLE ||
+                    valueType == Encoding.ValueType.DATETIME || valueType == Encoding.ValueType.STRING;
+        }
+
         @Override
         public boolean isThing() { return true; }
 
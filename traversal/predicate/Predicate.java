@@ -26,6 +26,10 @@ import graql.lang.common.GraqlToken;
 import java.util.Objects;
 
 import static grakn.core.graph.util.Encoding.ValueType.DOUBLE_PRECISION;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.GT;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.GTE;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.LT;
+import static grakn.core.traversal.predicate.PredicateOperator.Equality.LTE;
 
 public abstract class Predicate<PRED_OP extends PredicateOperator, PRED_ARG extends PredicateArgument> {
 
@@ -83,6 +87,18 @@ public abstract class Predicate<PRED_OP extends PredicateOperator, PRED_ARG exte
             return argument.apply(operator, vertex, value);
         }
 
+        public boolean isSubString() {
+            return operator.isSubString();
+        }
+
+        public boolean isLowerBound() {
+            return operator.equals(GT) || operator.equals(GTE);
+        }
+
+        public boolean isUpperBound() {
+            return operator.equals(LT) || operator.equals(LTE);
+        }
+
         public static class Numerical extends Value<PredicateOperator.Equality> {
 
             public Numerical(PredicateOperator.Equality operator, PredicateArgument.Value<PredicateOperator.Equality, ?> argument) {
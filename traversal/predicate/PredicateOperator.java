@@ -22,7 +22,11 @@ import grakn.core.common.exception.GraknException;
 import grakn.core.traversal.Traversal;
 import graql.lang.common.GraqlToken;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 import static grakn.common.collection.Collections.map;
 import static grakn.common.collection.Collections.pair;
@@ -207,5 +211,114 @@ public abstract class PredicateOperator {
         private static SubString of(GraqlToken.Predicate.SubString token) {
             return operators.get(token);
         }
+
+        /**
+         * The literal strings that every string matching a regular expression must contain, and the literal string
+         * that it must start with, as found by a conservative scan of the expression. Expressions with flags,
+         * groups, alternations or escapes other than the common character classes are not scanned.
+         */
+        public static class Literals {
+
+            private final String prefix;
+            private final List<String> subStrings;
+
+            private Literals(String prefix, List<String> subStrings) {
+                this.prefix = prefix;
+                this.subStrings = subStrings;
+            }
+
+            @Nullable
+            public static Literals of(Pattern regex) {
+                if (regex.flags() != 0) return null;
+                final String pattern = regex.pattern();
+                final List<String> subStrings = new ArrayList<>();
+                final StringBuilder run = new StringBuilder();
+                String prefix = null;
+                boolean lastIsLiteral = false;
+                int i = pattern.startsWith("^") ? 1 : 0;
+                while (i < pattern.length()) {
+                    final char c = pattern.charAt(i);
+                    if (c == '|' || c == '(' || c == ')' || c == '^') {
+                        return null;
+                    } else if (c == '$') {
+                        if (i != pattern.length() - 1) return null;
+                        i++;
+                        continue;
+                    } else if (c == '*' || c == '?' || c == '{' || c == '+') {
+                        // the atom before a quantifier may be absent, unless it is repeated at least once
+                        if (c != '+' && lastIsLiteral) {
+                            run.setLength(run.length() - 1);
+                            if (run.length() > 0 && Character.isHighSurrogate(run.charAt(run.length() - 1))) {
+                                run.setLength(run.length() - 1);
+                            }
+                        }
+                        i = skipQuantifier(pattern, i);
+                    } else if (c == '.') {
+                        i++;
+                    } else if (c == '[') {
+                        i = skipClass(pattern, i);
+                        if (i < 0) return null;
+                    } else if (c == '\\') {
+                        if (i + 1 == pattern.length()) return null;
+                        final char escaped = pattern.charAt(i + 1);
+                        i += 2;
+                        if (Character.isLetterOrDigit(escaped)) {
+                            if ("dDsSwWbB".indexOf(escaped) < 0) return null;
+                        } else {
+                            run.append(escaped);
+                            lastIsLiteral = true;
+                            continue;
+                        }
+                    } else {
+                        run.append(c);
+                        i++;
+                        lastIsLiteral = true;
+                        continue;
+                    }
+                    if (prefix == null) prefix = run.toString();
+                    if (run.length() > 0) subStrings.add(run.toString());
+                    run.setLength(0);
+                    lastIsLiteral = false;
+                }
+                if (prefix == null) prefix = run.toString();
+                if (run.length() > 0) subStrings.add(run.toString());
+                return new Literals(prefix, subStrings);
+            }
+
+            private static int skipQuantifier(String pattern, int i) {
+                if (pattern.charAt(i) == '{') i = pattern.indexOf('}', i);
+                if (i < 0) return pattern.length();
+                i++;
+                if (i < pattern.length() && (pattern.charAt(i) == '?' || pattern.charAt(i) == '+')) i++;
+                return i;
+            }
+
+            private static int skipClass(String pattern, int i) {
+                int depth = 0;
+                while (i < pattern.length()) {
+                    final char c = pattern.charAt(i);
+                    if (c == '\\') {
+                        i += 2;
+                        continue;
+                    } else if (c == '[') {
+                        depth++;
+                        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '^') i++;
+                        if (i + 1 < pattern.length() && pattern.charAt(i + 1) == ']') i++;
+                    } else if (c == ']' && --depth == 0) {
+                        return i + 1;
+                    }
+                    i++;
+                }
+                return -1;
+            }
+
+            public String prefix() {
+                return prefix;
+            }
+
+            public List<String> subStrings() {
+                return subStrings;
+            }
+        }
     }
 }
@@ -55,6 +55,9 @@ public class GraphProcedure implements Procedure {
     private final Map<Identifier, ProcedureVertex<?, ?>> vertices;
     private final ProcedureEdge<?, ?>[] edges;
     private ProcedureVertex<?, ?> startVertex;
+    private volatile Reference[] namedReferences;
+    private volatile int[] namedSlots;
+    private volatile Boolean hasUniqueAnswers;
 
     private GraphProcedure(int edgeSize) {
         vertices = new HashMap<>();
@@ -90,6 +93,56 @@ public class GraphProcedure implements Procedure {
         return vertices.get(identifier);
     }
 
+    /**
+     * Answers are unique when every vertex of an answer is either named, and
+     * therefore part of the answer, or a labelled type with a single value, and
+     * no role player edge picks one of several role instances between the same
+     * vertices. Every branch of the procedure then yields a distinct answer, and
+     * the answers do not need to be deduplicated.
+     */
+    public boolean hasUniqueAnswers() {
+        if (hasUniqueAnswers == null) {
+            hasUniqueAnswers = vertices.values().stream().allMatch(
+                    v -> v.id().isNamedReference() || (v.id().isVariable() && v.id().asVariable().reference().isLabel())
+            ) && Arrays.stream(edges).noneMatch(ProcedureEdge::isRolePlayer);
+        }
+        return hasUniqueAnswers;
+    }
+
+    public int vertexCount() {
+        return vertices.size();
+    }
+
+    /**
+     * @return the references of the named vertices, in the order in which
+     * {@link #namedSlots()} lists their slots
+     */
+    public Reference[] namedReferences() {
+        if (namedReferences == null) initialiseNamedSlots();
+        return namedReferences;
+    }
+
+    public int[] namedSlots() {
+        if (namedSlots == null) initialiseNamedSlots();
+        return namedSlots;
+    }
+
+    private void initialiseNamedSlots() {
+        List<ProcedureVertex<?, ?>> named = new ArrayList<>();
+        vertices.values().forEach(v -> {
+            if (v.id().isNamedReference()) named.add(v);
+        });
+        named.sort(Comparator.comparing(ProcedureVertex::slot));
+        Reference[] references = new Reference[named.size()];
+        int[] slots = new int[named.size()];
+        for (int i = 0; i < named.size(); i++) {
+            references[i] = named.get(i).id().asVariable().reference();
+            slots[i] = named.get(i).slot();
+        }
+        namedSlots = slots;
+        namedReferences = references;
+    }
+
     public ProcedureEdge<?, ?> edge(int pos) {
         return edges[pos - 1];
     }
@@ -151,13 +204,13 @@ public class GraphProcedure implements Procedure {
 
     private ProcedureVertex.Thing thingVertex(Identifier identifier, boolean isStart) {
         return vertices.computeIfAbsent(
-                identifier, id -> new ProcedureVertex.Thing(id, isStart)
+                identifier, id -> new ProcedureVertex.Thing(id, vertices.size(), isStart)
         ).asThing();
     }
 
     private ProcedureVertex.Type typeVertex(Identifier identifier, boolean isStart) {
         return vertices.computeIfAbsent(
-                identifier, id -> new ProcedureVertex.Type(id, isStart)
+                identifier, id -> new ProcedureVertex.Type(id, vertices.size(), isStart)
         ).asType();
     }
 
@@ -172,9 +225,16 @@ public class GraphProcedure implements Procedure {
     public ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params) {
         LOG.debug(params.toString());
         LOG.debug(this.toString());
-        return startVertex().iterator(graphMgr, params).flatMap(
+        ResourceIterator<VertexMap> answers = startVertex().iterator(graphMgr, params).flatMap(
                 sv -> new GraphIterator(graphMgr, sv, this, params)
-        ).distinct();
+        );
+        return hasUniqueAnswers() ? answers : answers.distinct();
+    }
+
+    @Override
+    public boolean iteratesInValueOrder(GraphManager graphMgr, Identifier.Variable id) {
+        return startVertex().id().equals(id) && startVertex().isThing() &&
+                startVertex().asThing().iteratesInValueOrder(graphMgr);
     }
 
     @Override
@@ -22,6 +22,7 @@ import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.producer.Producer;
 import grakn.core.graph.GraphManager;
 import grakn.core.traversal.Traversal;
+import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.common.VertexMap;
 
 public interface Procedure {
@@ -29,4 +30,10 @@ public interface Procedure {
     Producer<VertexMap> producer(GraphManager graphMgr, Traversal.Parameters params, int parallelisation);
 
     ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params);
+
+    /**
+     * Returns whether the answers of {@link #iterator} come in ascending order of the values of the attribute
+     * {@code id}, which holds when the procedure starts from {@code id} and iterates it in the order of storage.
+     */
+    boolean iteratesInValueOrder(GraphManager graphMgr, Identifier.Variable id);
 }
\ No newline at end of file
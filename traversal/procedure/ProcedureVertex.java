@@ -23,6 +23,7 @@ import grakn.core.common.iterator.ResourceIterator;
 import grakn.core.common.parameters.Label;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.edge.ThingEdge;
+import grakn.core.graph.iid.VertexIID;
 import grakn.core.graph.util.Encoding;
 import grakn.core.graph.vertex.AttributeVertex;
 import grakn.core.graph.vertex.ThingVertex;
@@ -32,6 +33,7 @@ import grakn.core.traversal.Traversal;
 import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.graph.TraversalVertex;
 import grakn.core.traversal.predicate.Predicate;
+import grakn.core.traversal.predicate.PredicateOperator;
 
 import javax.annotation.Nullable;
 import java.util.ArrayList;
@@ -44,6 +46,7 @@ import java.util.function.Function;
 
 import static grakn.common.collection.Collections.set;
 import static grakn.common.util.Objects.className;
+import static grakn.core.common.collection.Bytes.compareBytes;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_CAST;
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
 import static grakn.core.common.exception.ErrorMessage.TypeRead.TYPE_NOT_ATTRIBUTE_TYPE;
@@ -53,6 +56,7 @@ import static grakn.core.common.iterator.Iterators.link;
 import static grakn.core.common.iterator.Iterators.single;
 import static grakn.core.common.iterator.Iterators.tree;
 import static grakn.core.graph.util.Encoding.Edge.Type.SUB;
+import static grakn.core.graph.util.Encoding.ValueType.DOUBLE_PRECISION;
 import static grakn.core.graph.util.Encoding.ValueType.STRING;
 import static grakn.core.graph.util.Encoding.Vertex.Thing.ROLE;
 import static grakn.core.traversal.predicate.PredicateOperator.Equality.EQ;
@@ -63,11 +67,13 @@ public abstract class ProcedureVertex<
         > extends TraversalVertex<ProcedureEdge<?, ?>, PROPERTIES> {
 
     private final boolean isStartingVertex;
+    private final int slot;
     private final AtomicReference<Set<Integer>> dependedEdgeOrders;
     private ProcedureEdge<?, ?> iteratorEdge;
 
-    ProcedureVertex(Identifier identifier, boolean isStartingVertex) {
+    ProcedureVertex(Identifier identifier, int slot, boolean isStartingVertex) {
         super(identifier);
+        this.slot = slot;
         this.isStartingVertex = isStartingVertex;
         this.dependedEdgeOrders = new AtomicReference<>(null);
     }
@@ -84,6 +90,14 @@ public abstract class ProcedureVertex<
         return isStartingVertex;
     }
 
+    /**
+     * @return the dense index of this vertex within its procedure, used to
+     * address the vertex's answer in array-backed iterator state
+     */
+    public int slot() {
+        return slot;
+    }
+
     public Set<Integer> dependedEdgeOrders() {
         dependedEdgeOrders.compareAndSet(null, computeDependedEdgeOrders());
         return dependedEdgeOrders.get();
@@ -125,7 +139,11 @@ public abstract class ProcedureVertex<
     public static class Thing extends ProcedureVertex<ThingVertex, Properties.Thing> {
 
         Thing(Identifier identifier, boolean isStartingVertex) {
-            super(identifier, isStartingVertex);
+            this(identifier, 0, isStartingVertex);
+        }
+
+        Thing(Identifier identifier, int slot, boolean isStartingVertex) {
+            super(identifier, slot, isStartingVertex);
         }
 
         @Override
@@ -194,7 +212,7 @@ public abstract class ProcedureVertex<
                 } else {
                     attTypes = tree(graph.schema().rootAttributeType(), a -> a.ins().edge(SUB).from());
                 }
-                iter = attTypes.flatMap(t -> graph.data().get(t)).map(ThingVertex::asAttribute);
+                iter = attTypes.flatMap(t -> iterateFromType(graph, t, parameters)).map(ThingVertex::asAttribute);
             }
 
             if (props().predicates().isEmpty()) return iter;
@@ -222,13 +240,114 @@ public abstract class ProcedureVertex<
             if (eq.isPresent()) iter = iteratorOfAttributesWithTypes(graphMgr, parameters, eq.get());
             else iter = iterate(props().types().iterator())
                     .map(l -> assertTypeNotNull(graphMgr.schema().getType(l), l))
-                    .flatMap(t -> graphMgr.data().get(t));
+                    .flatMap(t -> iterateFromType(graphMgr, t, parameters));
 
             if (id().isVariable()) iter = filterReferableThings(iter);
             if (props().predicates().isEmpty()) return iter;
             else return filterPredicates(filterAttributes(iter), parameters, eq.orElse(null));
         }
 
+        /**
+         * Returns whether this vertex iterates attributes in ascending order of their values. The attributes of one
+         * type are iterated in the order of their keys, which is the order of their values for every value type
+         * with a fixed-size sorted encoding, unless the transaction has created attributes of the type.
+         */
+        public boolean iteratesInValueOrder(GraphManager graphMgr) {
+            if (props().types().size() != 1) return false;
+            final TypeVertex type = graphMgr.schema().getType(props().types().iterator().next());
+            if (type == null || !type.isAttributeType()) return false;
+            switch (type.valueType()) {
+                case LONG:
+                case DOUBLE:
+                case DATETIME:
+                    return !graphMgr.data().hasBufferedThings(type);
+                default:
+                    return false;
+            }
+        }
+
+        /**
+         * Iterates the instances of {@code type}. If it is an attribute type whose values are sorted in storage, and
+         * this vertex has range predicates on values comparable to it, only the attributes in the range are scanned.
+         * The predicates are still applied to every attribute afterwards, so the range only needs to contain them.
+         */
+        private ResourceIterator<ThingVertex> iterateFromType(GraphManager graphMgr, TypeVertex type,
+                                                              Traversal.Parameters parameters) {
+            if (!type.isAttributeType() || !id().isVariable()) return graphMgr.data().get(type);
+            else if (type.valueType().equals(STRING)) return iterateStringsFromType(graphMgr, type, parameters);
+            VertexIID.Attribute<?> lower = null, upper = null;
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                if (!predicate.isLowerBound() && !predicate.isUpperBound()) continue;
+                for (Traversal.Parameters.Value value : parameters.getValues(id().asVariable(), predicate)) {
+                    final VertexIID.Attribute<?> bound = rangeBound(type, value, predicate.isLowerBound());
+                    if (bound == null) continue;
+                    if (predicate.isLowerBound()) {
+                        if (lower == null || compareBytes(bound.bytes(), lower.bytes()) > 0) lower = bound;
+                    } else {
+                        if (upper == null || compareBytes(bound.bytes(), upper.bytes()) < 0) upper = bound;
+                    }
+                }
+            }
+            if (lower == null && upper == null) return graphMgr.data().get(type);
+            else return graphMgr.data().get(type, lower, upper).map(a -> a);
+        }
+
+        /**
+         * Iterates the string attributes of {@code type}, from the index of strings sorted by value if this vertex
+         * has a range predicate or a regular expression with a literal prefix, or otherwise from the n-gram index
+         * if it has substrings that every attribute must contain.
+         */
+        private ResourceIterator<ThingVertex> iterateStringsFromType(GraphManager graphMgr, TypeVertex type,
+                                                                     Traversal.Parameters parameters) {
+            String lower = null, upper = null, prefix = "";
+            final List<String> subStrings = new ArrayList<>();
+            for (Predicate.Value<?> predicate : props().predicates()) {
+                for (Traversal.Parameters.Value value : parameters.getValues(id().asVariable(), predicate)) {
+                    if (predicate.isSubString() && value.isString()) {
+                        subStrings.add(value.getString());
+                    } else if (predicate.isSubString() && value.isRegex()) {
+                        final PredicateOperator.SubString.Literals literals = PredicateOperator.SubString.Literals.of(value.getRegex());
+                        if (literals == null) continue;
+                        if (literals.prefix().length() > prefix.length()) prefix = literals.prefix();
+                        subStrings.addAll(literals.subStrings());
+                    } else if (value.isString() && predicate.isLowerBound()) {
+                        if (lower == null || value.getString().compareTo(lower) > 0) lower = value.getString();
+                    } else if (value.isString() && predicate.isUpperBound()) {
+                        if (upper == null || value.getString().compareTo(upper) < 0) upper = value.getString();
+                    }
+                }
+            }
+            if (!prefix.isEmpty()) return graphMgr.data().getStrings(type, prefix).map(a -> a);
+            else if (lower != null || upper != null) return graphMgr.data().getStrings(type, lower, upper).map(a -> a);
+            else if (!subStrings.isEmpty()) {
+                final ResourceIterator<AttributeVertex<String>> candidates = graphMgr.data().getStringCandidates(type, subStrings);
+                if (candidates != null) return candidates.map(a -> a);
+            }
+            return graphMgr.data().get(type);
+        }
+
+        @Nullable
+        private static VertexIID.Attribute<?> rangeBound(TypeVertex type, Traversal.Parameters.Value value,
+                                                         boolean isLowerBound) {
+            switch (type.valueType()) {
+                case LONG:
+                    if (!value.isLong()) return null;
+                    return new VertexIID.Attribute.Long(type.iid(), value.getLong());
+                case DOUBLE:
+                    if (!value.isLong() && !value.isDouble()) return null;
+                    // doubles within DOUBLE_PRECISION of each other compare as equal, so widen the bound to match
+                    final double bound = isLowerBound
+                            ? Math.nextDown(value.getDouble() - DOUBLE_PRECISION)
+                            : Math.nextUp(value.getDouble() + DOUBLE_PRECISION);
+                    return new VertexIID.Attribute.Double(type.iid(), bound);
+                case DATETIME:
+                    if (!value.isDateTime()) return null;
+                    return new VertexIID.Attribute.DateTime(type.iid(), value.getDateTime());
+                default:
+                    return null;
+            }
+        }
+
         ResourceIterator<? extends ThingVertex> filterReferableThings(ResourceIterator<? extends ThingVertex> iterator) {
             assert id().isVariable();
             return iterator.filter(v -> !v.encoding().equals(ROLE));
@@ -335,7 +454,11 @@ public abstract class ProcedureVertex<
     public static class Type extends ProcedureVertex<TypeVertex, Properties.Type> {
 
         Type(Identifier identifier, boolean isStartingVertex) {
-            super(identifier, isStartingVertex);
+            this(identifier, 0, isStartingVertex);
+        }
+
+        Type(Identifier identifier, int slot, boolean isStartingVertex) {
+            super(identifier, slot, isStartingVertex);
         }
 
         @Override
@@ -24,6 +24,7 @@ import grakn.core.common.producer.Producers;
 import grakn.core.graph.GraphManager;
 import grakn.core.graph.vertex.Vertex;
 import grakn.core.traversal.Traversal;
+import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.common.VertexMap;
 import grakn.core.traversal.planner.PlannerVertex;
 import graql.lang.pattern.variable.Reference;
@@ -94,6 +95,11 @@ public class VertexProcedure implements Procedure {
         return Producers.producer(iterator(graphMgr, params));
     }
 
+    @Override
+    public boolean iteratesInValueOrder(GraphManager graphMgr, Identifier.Variable id) {
+        return vertex.id().equals(id) && vertex.isThing() && vertex.asThing().iteratesInValueOrder(graphMgr);
+    }
+
     @Override
     public ResourceIterator<VertexMap> iterator(GraphManager graphMgr, Traversal.Parameters params) {
         LOG.debug(params.toString());
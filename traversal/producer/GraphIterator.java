@@ -38,7 +38,6 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 
 import static grakn.core.common.exception.ErrorMessage.Internal.ILLEGAL_STATE;
-import static java.util.stream.Collectors.toMap;
 
 public class GraphIterator implements ResourceIterator<VertexMap> {
 
@@ -46,30 +45,52 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
 
     private final GraphProcedure procedure;
     private final Traversal.Parameters parameters;
-    private final Map<Identifier, ResourceIterator<? extends Vertex<?, ?>>> iterators;
-    private final Map<Identifier, Vertex<?, ?>> answer;
+    private final ResourceIterator<? extends Vertex<?, ?>>[] iterators;
+    private final Vertex<?, ?>[] answer;
     private final Map<Identifier.Variable, Set<ThingVertex>> scoped;
-    private final Map<Identifier, ThingVertex> roles;
+    private final ThingVertex[] roles;
+    private final int[] namedSlots;
     private final SeekStack seekStack;
     private final int edgeCount;
+    private final int prefixEdgeCount;
     private final GraphManager graphMgr;
     private int computeNextSeekPos;
     private State state;
 
     enum State {INIT, EMPTY, FETCHED, COMPLETED}
 
+    private static Vertex<?, ?>[] startAnswer(GraphProcedure procedure, Vertex<?, ?> start) {
+        Vertex<?, ?>[] answer = new Vertex<?, ?>[procedure.vertexCount()];
+        answer[procedure.startVertex().slot()] = start;
+        return answer;
+    }
+
     public GraphIterator(GraphManager graphMgr, Vertex<?, ?> start,
                          GraphProcedure procedure, Traversal.Parameters parameters) {
-        assert procedure.edgesCount() > 0;
+        this(graphMgr, startAnswer(procedure, start), 0, procedure, parameters);
+    }
+
+    /**
+     * Creates an iterator over the answers that extend a partial answer, in which
+     * the start vertex and the destinations of the first {@code prefixEdgeCount}
+     * edges are already fixed and known to satisfy those edges. The prefix must
+     * not contain role player edges or scoped vertices, as their state is not
+     * carried over.
+     */
+    @SuppressWarnings("unchecked")
+    GraphIterator(GraphManager graphMgr, Vertex<?, ?>[] prefix, int prefixEdgeCount,
+                  GraphProcedure procedure, Traversal.Parameters parameters) {
+        assert procedure.edgesCount() > 0 && prefixEdgeCount <= procedure.edgesCount();
         this.graphMgr = graphMgr;
         this.procedure = procedure;
         this.parameters = parameters;
         this.edgeCount = procedure.edgesCount();
-        this.iterators = new HashMap<>();
+        this.prefixEdgeCount = prefixEdgeCount;
+        this.iterators = (ResourceIterator<? extends Vertex<?, ?>>[]) new ResourceIterator<?>[procedure.vertexCount()];
         this.scoped = new HashMap<>();
-        this.roles = new HashMap<>();
-        this.answer = new HashMap<>();
-        this.answer.put(procedure.startVertex().id(), start);
+        this.roles = new ThingVertex[procedure.vertexCount()];
+        this.answer = prefix.clone();
+        this.namedSlots = procedure.namedSlots();
         this.seekStack = new SeekStack(edgeCount);
         this.state = State.INIT;
     }
@@ -80,7 +101,7 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
             if (state == State.COMPLETED) return false;
             else if (state == State.FETCHED) return true;
             else if (state == State.INIT) {
-                if (computeFirst(1)) state = State.FETCHED;
+                if (prefixEdgeCount == edgeCount || computeFirst(prefixEdgeCount + 1)) state = State.FETCHED;
                 else state = State.COMPLETED;
             } else if (state == State.EMPTY) {
                 computeNextSeekPos = edgeCount;
@@ -98,32 +119,32 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
     }
 
     private boolean computeFirst(int pos) {
-        if (answer.containsKey(procedure.edge(pos).to().id())) return computeFirstClosure(pos);
+        if (answer[procedure.edge(pos).to().slot()] != null) return computeFirstClosure(pos);
         else return computeFirstBranch(pos);
     }
 
     private boolean computeFirstBranch(int pos) {
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
-        Identifier toID = edge.to().id();
-        ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer.get(edge.from().id()), edge);
+        int toSlot = edge.to().slot();
+        ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer[edge.from().slot()], edge);
 
         if (toIter.hasNext()) {
-            iterators.put(toID, toIter);
-            answer.put(toID, toIter.next());
+            iterators[toSlot] = toIter;
+            answer[toSlot] = toIter.next();
             if (pos == edgeCount) return true;
             while (!computeFirst(pos + 1)) {
                 if (pos == seekStack.peekLastPos()) {
                     seekStack.popLastPos();
-                    if (toIter.hasNext()) answer.put(toID, toIter.next());
+                    if (toIter.hasNext()) answer[toSlot] = toIter.next();
                     else {
                         backTrackCleanUp(pos);
-                        answer.remove(toID);
+                        answer[toSlot] = null;
                         seekStack.addSeeks(edge.from().dependedEdgeOrders());
                         return false;
                     }
                 } else {
                     backTrackCleanUp(pos);
-                    answer.remove(toID);
+                    answer[toSlot] = null;
                     toIter.recycle();
                     return false;
                 }
@@ -137,7 +158,7 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
 
     private boolean computeFirstClosure(int pos) {
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
-        if (isClosure(edge, answer.get(edge.from().id()), answer.get(edge.to().id()))) {
+        if (isClosure(edge, answer[edge.from().slot()], answer[edge.to().slot()])) {
             if (pos == edgeCount) return true;
             else return computeFirst(pos + 1);
         } else {
@@ -148,32 +169,32 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
     }
 
     private boolean computeNext(int pos) {
-        if (pos == 0) return false;
+        if (pos == prefixEdgeCount) return false;
 
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
-        Identifier toID = edge.to().id();
+        int toSlot = edge.to().slot();
 
         if (pos == computeNextSeekPos) {
             computeNextSeekPos = edgeCount;
         } else if (pos > computeNextSeekPos) {
-            if (!edge.isClosureEdge()) iterators.get(toID).recycle();
+            if (!edge.isClosureEdge()) iterators[toSlot].recycle();
             if (!backTrack(pos)) return false;
 
             if (edge.isClosureEdge()) {
-                Vertex<?, ?> fromVertex = answer.get(edge.from().id());
-                Vertex<?, ?> toVertex = answer.get(edge.to().id());
+                Vertex<?, ?> fromVertex = answer[edge.from().slot()];
+                Vertex<?, ?> toVertex = answer[toSlot];
                 if (isClosure(edge, fromVertex, toVertex)) return true;
                 else return computeNextClosure(pos);
             } else {
-                ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer.get(edge.from().id()), edge);
-                iterators.put(toID, toIter);
+                ResourceIterator<? extends Vertex<?, ?>> toIter = branch(answer[edge.from().slot()], edge);
+                iterators[toSlot] = toIter;
             }
         }
 
         if (edge.isClosureEdge()) {
             return computeNextClosure(pos);
-        } else if (iterators.get(toID).hasNext()) {
-            answer.put(toID, iterators.get(toID).next());
+        } else if (iterators[toSlot].hasNext()) {
+            answer[toSlot] = iterators[toSlot].next();
             return true;
         } else {
             return computeNextBranch(pos);
@@ -185,8 +206,8 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
         do {
 
             if (backTrack(pos)) {
-                Vertex<?, ?> fromVertex = answer.get(edge.from().id());
-                Vertex<?, ?> toVertex = answer.get(edge.to().id());
+                Vertex<?, ?> fromVertex = answer[edge.from().slot()];
+                Vertex<?, ?> toVertex = answer[edge.to().slot()];
                 if (isClosure(edge, fromVertex, toVertex)) return true;
             } else {
                 return false;
@@ -200,7 +221,7 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
 
         do {
             if (backTrack(pos)) {
-                Vertex<?, ?> fromVertex = answer.get(edge.from().id());
+                Vertex<?, ?> fromVertex = answer[edge.from().slot()];
                 newIter = branch(fromVertex, edge);
                 if (!newIter.hasNext()) {
                     assert !edge.from().ins().isEmpty();
@@ -210,8 +231,8 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
                 return false;
             }
         } while (!newIter.hasNext());
-        iterators.put(edge.to().id(), newIter);
-        answer.put(edge.to().id(), newIter.next());
+        iterators[edge.to().slot()] = newIter;
+        answer[edge.to().slot()] = newIter.next();
         return true;
     }
 
@@ -231,9 +252,9 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
             toIter = edge.branch(graphMgr, fromVertex, parameters).filter(role -> {
                 if (withinScope.contains(role.asThing())) return false;
                 else {
-                    removePreviousScopedRole(edge.to().id().asScoped().scope(), edge.to().id());
+                    removePreviousScopedRole(edge.to().id().asScoped().scope(), edge.to().slot());
                     withinScope.add(role.asThing());
-                    roles.put(edge.to().id(), role.asThing());
+                    roles[edge.to().slot()] = role.asThing();
                     return true;
                 }
             });
@@ -242,9 +263,9 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
             toIter = edge.asRolePlayer().branchEdge(graphMgr, fromVertex, parameters).filter(e -> {
                 if (withinScope.contains(e.optimised().get())) return false;
                 else {
-                    removePreviousScopedRole(edge.asRolePlayer().scope(), edge.to().id());
+                    removePreviousScopedRole(edge.asRolePlayer().scope(), edge.to().slot());
                     withinScope.add(e.optimised().get());
-                    roles.put(edge.to().id(), e.optimised().get());
+                    roles[edge.to().slot()] = e.optimised().get();
                     return true;
                 }
             }).map(e -> edge.direction().isForward() ? e.to() : e.from());
@@ -267,14 +288,16 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
     private void backTrackCleanUp(int pos) {
         ProcedureEdge<?, ?> edge = procedure.edge(pos);
         Identifier toId = edge.to().id();
-        if (roles.containsKey(toId)) {
-            if (edge.isRolePlayer()) removePreviousScopedRole(edge.asRolePlayer().scope(), toId);
-            else if (toId.isScoped()) removePreviousScopedRole(toId.asScoped().scope(), toId);
+        int toSlot = edge.to().slot();
+        if (roles[toSlot] != null) {
+            if (edge.isRolePlayer()) removePreviousScopedRole(edge.asRolePlayer().scope(), toSlot);
+            else if (toId.isScoped()) removePreviousScopedRole(toId.asScoped().scope(), toSlot);
         }
     }
 
-    private void removePreviousScopedRole(Identifier.Variable scope, Identifier toId) {
-        ThingVertex previousRole = roles.remove(toId);
+    private void removePreviousScopedRole(Identifier.Variable scope, int toSlot) {
+        ThingVertex previousRole = roles[toSlot];
+        roles[toSlot] = null;
         if (previousRole != null) {
             assert scoped.containsKey(scope);
             scoped.get(scope).remove(previousRole);
@@ -285,15 +308,13 @@ public class GraphIterator implements ResourceIterator<VertexMap> {
     public VertexMap next() {
         if (!hasNext()) throw new NoSuchElementException();
         state = State.EMPTY;
-        return toReferenceMap(answer);
+        return toReferenceMap();
     }
 
-    private VertexMap toReferenceMap(Map<Identifier, Vertex<?, ?>> answer) {
-        return VertexMap.of(
-                answer.entrySet().stream()
-                        .filter(e -> e.getKey().isNamedReference())
-                        .collect(toMap(k -> k.getKey().asVariable().reference(), Map.Entry::getValue))
-        );
+    private VertexMap toReferenceMap() {
+        Vertex<?, ?>[] vertices = new Vertex<?, ?>[namedSlots.length];
+        for (int i = 0; i < namedSlots.length; i++) vertices[i] = answer[namedSlots[i]];
+        return VertexMap.of(procedure.namedReferences(), vertices);
     }
 
     @Override
@@ -25,27 +25,46 @@ import grakn.core.graph.vertex.Vertex;
 import grakn.core.traversal.Traversal;
 import grakn.core.traversal.common.VertexMap;
 import grakn.core.traversal.procedure.GraphProcedure;
+import grakn.core.traversal.procedure.ProcedureEdge;
+import grakn.core.traversal.procedure.ProcedureVertex;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static grakn.core.common.concurrent.ExecutorService.forkJoinPool;
 import static java.util.concurrent.CompletableFuture.runAsync;
 
+/**
+ * Produces the answers of a GraphProcedure with up to {@code parallelisation}
+ * workers on the fork-join pool, which take branches of the traversal from a
+ * shared deque. A branch is either the iterator of start vertices, a partial
+ * answer together with the remaining destinations of its next edge, or a
+ * suspended GraphIterator.
+ *
+ * While there are fewer branches than workers, a worker splits the branch it
+ * takes at each following edge, up to the first edge that depends on role
+ * player state: it keeps one destination for itself and leaves the rest on the
+ * deque for idle workers to steal. This spreads a single highly connected start
+ * vertex across all workers. Once enough work is available, the worker runs a
+ * GraphIterator from the partial answer it holds.
+ */
 public class GraphProducer implements Producer<VertexMap> {
 
     private final int parallelisation;
     private final GraphManager graphMgr;
     private final GraphProcedure procedure;
     private final Traversal.Parameters params;
-    private final ResourceIterator<? extends Vertex<?, ?>> start;
-    private final ConcurrentHashMap.KeySetView<VertexMap, Boolean> produced;
+    private final int splittableEdgeCount;
+    private final Set<VertexMap> produced;
+    private final ConcurrentLinkedDeque<Branch> branches;
+    private final AtomicInteger branchCount;
+    private final AtomicInteger workers;
+    private final AtomicLong demand;
     private final AtomicBoolean isDone;
-    private final Map<ResourceIterator<VertexMap>, CompletableFuture<Void>> iteratorJobs;
-    private final Map<ResourceIterator<VertexMap>, Integer> iteratorRequested;
 
     public GraphProducer(GraphManager graphMgr, GraphProcedure procedure, Traversal.Parameters params, int parallelisation) {
         assert parallelisation > 0;
@@ -53,62 +72,108 @@ public class GraphProducer implements Producer<VertexMap> {
         this.procedure = procedure;
         this.params = params;
         this.parallelisation = parallelisation;
+        this.splittableEdgeCount = splittableEdgeCount(procedure);
+        this.produced = procedure.hasUniqueAnswers() ? null : ConcurrentHashMap.newKeySet();
+        this.branches = new ConcurrentLinkedDeque<>();
+        this.branchCount = new AtomicInteger(0);
+        this.workers = new AtomicInteger(0);
+        this.demand = new AtomicLong(0);
         this.isDone = new AtomicBoolean(false);
-        this.produced = ConcurrentHashMap.newKeySet();
-        this.start = procedure.startVertex().iterator(graphMgr, params);
-        this.iteratorJobs = new HashMap<>();
-        this.iteratorRequested = new HashMap<>();
+        push(new Start(procedure.startVertex().iterator(graphMgr, params)));
     }
 
-    @Override
-    public synchronized void produce(Queue<VertexMap> queue, int count) {
-        if (iteratorRequested.size() < parallelisation) {
-            for (int i = iteratorRequested.size(); i < parallelisation && start.hasNext(); i++) {
-                ResourceIterator<VertexMap> iterator =
-                        new GraphIterator(graphMgr, start.next(), procedure, params).distinct(produced);
-                iteratorRequested.put(iterator, 0);
-            }
-        }
-        if (iteratorRequested.size() == 0) {
-            done(queue);
-        } else {
-            int splitCount = (int) Math.ceil((double) count / iteratorRequested.size());
-            for (ResourceIterator<VertexMap> iterator : iteratorRequested.keySet()) {
-                assert iteratorRequested.containsKey(iterator);
-                iteratorRequested.computeIfPresent(iterator, (k, v) -> v + splitCount);
-                if (!iteratorJobs.containsKey(iterator)) {
-                    iteratorJobs.put(iterator, runAsync(() -> produceAsync(queue, iterator), forkJoinPool()));
-                }
-            }
+    private static int splittableEdgeCount(GraphProcedure procedure) {
+        int count = 0;
+        while (count < procedure.edgesCount()) {
+            ProcedureEdge<?, ?> edge = procedure.edge(count + 1);
+            ProcedureVertex<?, ?> to = edge.to();
+            if (edge.isRolePlayer() || to.id().isScoped() ||
+                    (!to.id().isNamedReference() && to.outs().isEmpty() && to.ins().size() == 1)) break;
+            count++;
         }
+        return count;
     }
 
-    private synchronized int take(ResourceIterator<VertexMap> iterator) {
-        int count = iteratorRequested.get(iterator);
-        iteratorRequested.put(iterator, 0);
-        return count;
+    @Override
+    public void produce(Queue<VertexMap> queue, int count) {
+        demand.addAndGet(count);
+        if (workers.get() == 0 && branchCount.get() == 0) done(queue);
+        else mayStartWorkers(queue);
     }
 
-    private synchronized void compensate(Queue<VertexMap> queue, ResourceIterator<VertexMap> iterator, int requested) {
-        iteratorJobs.remove(iterator);
-        int toCompensate = requested + take(iterator);
-        if (!iterator.hasNext()) iteratorRequested.remove(iterator);
-        if (toCompensate > 0) produce(queue, toCompensate);
+    private void mayStartWorkers(Queue<VertexMap> queue) {
+        int current;
+        while (!isDone.get() && demand.get() > 0 && (current = workers.get()) < parallelisation &&
+                current < branchCount.get()) {
+            if (workers.compareAndSet(current, current + 1)) runAsync(() -> work(queue), forkJoinPool());
+        }
     }
 
-    private void produceAsync(Queue<VertexMap> queue, ResourceIterator<VertexMap> iterator) {
+    private void work(Queue<VertexMap> queue) {
         try {
-            int requested;
-            int produced;
-            do {
-                requested = take(iterator);
-                produced = 0;
-                for (; produced < requested && iterator.hasNext(); produced++)
-                    queue.put(iterator.next());
-            } while (requested != 0 && iterator.hasNext());
-            compensate(queue, iterator, requested - produced);
+            Branch branch;
+            while (!isDone.get() && demand.get() > 0 && (branch = poll()) != null) {
+                branch.run(queue);
+            }
         } catch (Throwable e) {
             done(queue, e);
+        } finally {
+            if (workers.decrementAndGet() == 0 && branchCount.get() == 0) done(queue);
+            else mayStartWorkers(queue);
+        }
+    }
+
+    private void push(Branch branch) {
+        branchCount.incrementAndGet();
+        branches.addFirst(branch);
+    }
+
+    private Branch poll() {
+        Branch branch = branches.pollFirst();
+        if (branch != null) branchCount.decrementAndGet();
+        return branch;
+    }
+
+    private boolean isWorkScarce() {
+        return branchCount.get() < parallelisation;
+    }
+
+    private void extend(Queue<VertexMap> queue, Vertex<?, ?>[] answer, int pos) {
+        while (pos <= splittableEdgeCount && isWorkScarce()) {
+            ProcedureEdge<?, ?> edge = procedure.edge(pos);
+            Vertex<?, ?> fromVertex = answer[edge.from().slot()];
+            Vertex<?, ?> toVertex = answer[edge.to().slot()];
+            if (toVertex != null) {
+                if (!edge.isClosure(graphMgr, fromVertex, toVertex, params)) return;
+            } else {
+                ResourceIterator<? extends Vertex<?, ?>> destinations = edge.branch(graphMgr, fromVertex, params);
+                if (!destinations.hasNext()) return;
+                Vertex<?, ?>[] extended = withDestination(answer, edge, destinations.next());
+                if (destinations.hasNext()) push(new Destinations(answer, pos, destinations));
+                mayStartWorkers(queue);
+                answer = extended;
+            }
+            pos++;
+        }
+        iterate(queue, new GraphIterator(graphMgr, answer, pos - 1, procedure, params));
+    }
+
+    private static Vertex<?, ?>[] withDestination(Vertex<?, ?>[] answer, ProcedureEdge<?, ?> edge, Vertex<?, ?> destination) {
+        Vertex<?, ?>[] extended = answer.clone();
+        extended[edge.to().slot()] = destination;
+        return extended;
+    }
+
+    private void iterate(Queue<VertexMap> queue, GraphIterator iterator) {
+        while (iterator.hasNext()) {
+            if (demand.getAndDecrement() <= 0) {
+                demand.incrementAndGet();
+                push(new Suspended(iterator));
+                return;
+            }
+            VertexMap answer = iterator.next();
+            if (produced == null || produced.add(answer)) queue.put(answer);
+            else demand.incrementAndGet();
         }
     }
 
@@ -125,8 +190,89 @@ public class GraphProducer implements Producer<VertexMap> {
     }
 
     @Override
-    public synchronized void recycle() {
-        start.recycle();
-        iteratorJobs.keySet().forEach(ResourceIterator::recycle);
+    public void recycle() {
+        branches.forEach(Branch::recycle);
+    }
+
+    private abstract static class Branch {
+
+        abstract void run(Queue<VertexMap> queue);
+
+        abstract void recycle();
+    }
+
+    private class Start extends Branch {
+
+        private final ResourceIterator<? extends Vertex<?, ?>> starts;
+
+        private Start(ResourceIterator<? extends Vertex<?, ?>> starts) {
+            this.starts = starts;
+        }
+
+        @Override
+        void run(Queue<VertexMap> queue) {
+            if (!starts.hasNext()) return;
+            Vertex<?, ?>[] answer = new Vertex<?, ?>[procedure.vertexCount()];
+            answer[procedure.startVertex().slot()] = starts.next();
+            if (starts.hasNext()) {
+                branchCount.incrementAndGet();
+                branches.addLast(this);
+                mayStartWorkers(queue);
+            }
+            extend(queue, answer, 1);
+        }
+
+        @Override
+        void recycle() {
+            starts.recycle();
+        }
+    }
+
+    private class Destinations extends Branch {
+
+        private final Vertex<?, ?>[] answer;
+        private final int pos;
+        private final ResourceIterator<? extends Vertex<?, ?>> destinations;
+
+        private Destinations(Vertex<?, ?>[] answer, int pos, ResourceIterator<? extends Vertex<?, ?>> destinations) {
+            this.answer = answer;
+            this.pos = pos;
+            this.destinations = destinations;
+        }
+
+        @Override
+        void run(Queue<VertexMap> queue) {
+            ProcedureEdge<?, ?> edge = procedure.edge(pos);
+            Vertex<?, ?>[] extended = withDestination(answer, edge, destinations.next());
+            if (destinations.hasNext()) {
+                push(this);
+                mayStartWorkers(queue);
+            }
+            extend(queue, extended, pos + 1);
+        }
+
+        @Override
+        void recycle() {
+            destinations.recycle();
+        }
+    }
+
+    private class Suspended extends Branch {
+
+        private final GraphIterator iterator;
+
+        private Suspended(GraphIterator iterator) {
+            this.iterator = iterator;
+        }
+
+        @Override
+        void run(Queue<VertexMap> queue) {
+            iterate(queue, iterator);
+        }
+
+        @Override
+        void recycle() {
+            iterator.recycle();
+        }
     }
 }
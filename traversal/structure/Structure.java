@@ -18,14 +18,20 @@
 
 package grakn.core.traversal.structure;
 
+import grakn.core.common.exception.GraknException;
 import grakn.core.common.parameters.Label;
 import grakn.core.graph.util.Encoding;
 import grakn.core.traversal.common.Identifier;
 import grakn.core.traversal.graph.TraversalVertex;
 import grakn.core.traversal.predicate.Predicate;
+import graql.lang.common.GraqlToken;
 
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -33,6 +39,10 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
 public class Structure {
 
     // TODO: create vertex properties first, then the vertex itself, then edges
@@ -42,6 +52,8 @@ public class Structure {
     private final Map<Identifier, StructureVertex<?>> vertices;
     private final Set<StructureEdge<?, ?>> edges;
     private List<Structure> structures;
+    private Long canonicalHash;
+    private Map<StructureVertex<?>, Integer> canonicalColours;
 
     public Structure() {
         vertices = new HashMap<>();
@@ -156,6 +168,109 @@ public class Structure {
         adjacents.forEach(v -> splitGraph(v, newStructure, verticesToVisit, edgesToVisit));
     }
 
+    /**
+     * Returns a hash of this structure that does not depend on the order in which
+     * its vertices and edges were registered, on the names of its variables, nor
+     * on the JVM it is computed in, so that it can be used to key plans that
+     * outlive the server process, and are shared by queries that only differ by
+     * the names of their variables.
+     *
+     * @return a 64-bit digest of the canonical vertex and edge descriptions
+     */
+    public long canonicalHash() {
+        if (canonicalHash == null) {
+            String vertexStrings = vertices.values().stream()
+                    .map(v -> canonicalVertex(v) + " " + describe(v)).sorted().collect(joining(";"));
+            String edgeStrings = edges.stream().map(this::canonicalEdge).sorted().collect(joining(";"));
+            try {
+                MessageDigest digest = MessageDigest.getInstance("SHA-256");
+                digest.update(vertexStrings.getBytes(UTF_8));
+                digest.update((byte) '|');
+                digest.update(edgeStrings.getBytes(UTF_8));
+                canonicalHash = ByteBuffer.wrap(digest.digest()).getLong();
+            } catch (NoSuchAlgorithmException e) {
+                throw GraknException.of(e);
+            }
+        }
+        return canonicalHash;
+    }
+
+    /**
+     * @return the name of a vertex that does not depend on the names of the variables of this structure,
+     * which is shared by vertices that cannot be told apart by their properties and edges
+     */
+    public String canonicalVertex(StructureVertex<?> vertex) {
+        return "v" + canonicalColours().get(vertex);
+    }
+
+    /**
+     * @return the description of an edge between the canonical names of its vertices
+     */
+    public String canonicalEdge(StructureEdge<?, ?> edge) {
+        return String.format("(%s *--[%s]--> %s)", canonicalVertex(edge.from()), describe(edge), canonicalVertex(edge.to()));
+    }
+
+    /**
+     * Colours every vertex by its own description, and then repeatedly refines the colour of every vertex by the
+     * colours of its neighbours and the edges to them, until no colour is split any further. Colours are numbered
+     * by the order of their descriptions, so that isomorphic structures are coloured alike.
+     */
+    private Map<StructureVertex<?>, Integer> canonicalColours() {
+        if (canonicalColours == null) {
+            Map<StructureVertex<?>, String> descriptions = new HashMap<>();
+            vertices.values().forEach(v -> descriptions.put(v, describe(v)));
+            Map<StructureVertex<?>, Integer> colours = number(descriptions);
+            for (int i = 0; i < vertices.size(); i++) {
+                Map<StructureVertex<?>, String> refined = new HashMap<>();
+                for (StructureVertex<?> vertex : vertices.values()) {
+                    List<String> adjacents = new ArrayList<>();
+                    for (StructureEdge<?, ?> edge : vertex.outs()) {
+                        adjacents.add("out " + describe(edge) + " " + colours.get(edge.to()));
+                    }
+                    for (StructureEdge<?, ?> edge : vertex.ins()) {
+                        adjacents.add("in " + describe(edge) + " " + colours.get(edge.from()));
+                    }
+                    Collections.sort(adjacents);
+                    refined.put(vertex, colours.get(vertex) + " " + adjacents);
+                }
+                Map<StructureVertex<?>, Integer> next = number(refined);
+                boolean isSplit = new HashSet<>(next.values()).size() > new HashSet<>(colours.values()).size();
+                colours = next;
+                if (!isSplit) break;
+            }
+            canonicalColours = colours;
+        }
+        return canonicalColours;
+    }
+
+    private static Map<StructureVertex<?>, Integer> number(Map<StructureVertex<?>, String> descriptions) {
+        List<String> sorted = descriptions.values().stream().distinct().sorted().collect(toList());
+        Map<StructureVertex<?>, Integer> numbers = new HashMap<>();
+        descriptions.forEach((vertex, description) -> numbers.put(vertex, Collections.binarySearch(sorted, description)));
+        return numbers;
+    }
+
+    private static String describe(StructureVertex<?> vertex) {
+        String identifier;
+        if (vertex.id().isScoped()) identifier = "scoped";
+        else if (vertex.id().asVariable().reference().isLabel()) identifier = vertex.id().toString();
+        else if (vertex.id().isNamedReference()) identifier = "named";
+        else identifier = "anonymous";
+        return identifier + " " + (vertex.isThing() ? vertex.asThing().props() : vertex.asType().props());
+    }
+
+    private static String describe(StructureEdge<?, ?> edge) {
+        if (edge.isEqual()) return GraqlToken.Predicate.Equality.EQ.toString();
+        else if (edge.isPredicate()) return edge.asPredicate().predicate().toString();
+        else if (edge.asNative().isRolePlayer()) {
+            StructureEdge.Native.RolePlayer rolePlayer = edge.asNative().asRolePlayer();
+            return rolePlayer.encoding().name() + " " + rolePlayer.types().stream().map(Label::scopedName).sorted()
+                    .collect(toList()) + " " + rolePlayer.repetition();
+        } else {
+            return edge.asNative().encoding().name() + (edge.asNative().isTransitive() ? " transitive" : "");
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
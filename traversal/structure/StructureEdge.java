@@ -198,6 +198,10 @@ public abstract class StructureEdge<VERTEX_FROM extends StructureVertex<?>, VERT
                 return roleTypes;
             }
 
+            public int repetition() {
+                return repetition;
+            }
+
             @Override
             public boolean isRolePlayer() { return true; }
 